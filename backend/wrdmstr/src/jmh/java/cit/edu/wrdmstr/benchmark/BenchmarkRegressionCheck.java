@@ -0,0 +1,84 @@
+package cit.edu.wrdmstr.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result with a stored baseline and fails when a benchmark got slower
+ * by more than the allowed fraction, beyond both runs' error margins. With no baseline
+ * yet, the current result becomes the baseline.
+ *
+ * Arguments: current result, baseline file, allowed slowdown (e.g. 0.15).
+ */
+public class BenchmarkRegressionCheck {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    record Score(double value, double error, String unit) {}
+
+    public static void main(String[] args) throws Exception {
+        File current = new File(args[0]);
+        File baseline = new File(args[1]);
+        double allowed = args.length > 2 ? Double.parseDouble(args[2]) : 0.15;
+
+        if (!baseline.exists()) {
+            if (baseline.getParentFile() != null) baseline.getParentFile().mkdirs();
+            Files.copy(current.toPath(), baseline.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("No benchmark baseline; saved current results to " + baseline);
+            return;
+        }
+
+        Map<String, Score> before = scores(MAPPER.readTree(baseline));
+        Map<String, Score> after = scores(MAPPER.readTree(current));
+        int regressions = 0;
+
+        System.out.printf("%-70s %12s %12s %8s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, Score> entry : after.entrySet()) {
+            Score now = entry.getValue();
+            Score then = before.get(entry.getKey());
+            if (then == null) {
+                System.out.printf("%-70s %12s %12.3f %8s%n", entry.getKey(), "-", now.value(), "new");
+                continue;
+            }
+            double change = (now.value() - then.value()) / then.value();
+            boolean regressed = isRegression(then, now, allowed);
+            if (regressed) regressions++;
+            System.out.printf("%-70s %12.3f %12.3f %+7.1f%%%s%n", entry.getKey(), then.value(), now.value(),
+                    change * 100, regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            throw new IllegalStateException(regressions + " benchmark(s) slower than baseline by more than "
+                    + Math.round(allowed * 100) + "%");
+        }
+    }
+
+    /**
+     * Average-time scores: higher is slower. A regression is a slowdown beyond the
+     * allowance that the confidence intervals don't explain.
+     */
+    static boolean isRegression(Score baseline, Score current, double allowed) {
+        double limit = baseline.value() * (1 + allowed);
+        return current.value() > limit
+                && current.value() - current.error() > baseline.value() + baseline.error();
+    }
+
+    // Keyed by benchmark name plus its parameters
+    static Map<String, Score> scores(JsonNode results) {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            result.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            JsonNode metric = result.path("primaryMetric");
+            scores.put(key.toString(), new Score(metric.path("score").asDouble(),
+                    metric.path("scoreError").asDouble(0), metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+}
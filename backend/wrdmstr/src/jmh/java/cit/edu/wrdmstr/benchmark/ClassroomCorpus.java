@@ -0,0 +1,62 @@
+package cit.edu.wrdmstr.benchmark;
+
+import cit.edu.wrdmstr.entity.WordBankItem;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shared inputs for the benchmarks: classroom chat messages and word banks of a given
+ * size. Word banks start with words that occur in the corpus, so detection finds real
+ * matches, and are padded from the academic word list used by vocabulary analysis.
+ */
+public final class ClassroomCorpus {
+    private static final List<String> TOPIC_WORDS = List.of(
+            "market", "explore", "observe", "predict", "compare", "collaborate", "analyze", "evaluate",
+            "describe", "interpret", "demonstrate", "protect", "bridge", "boat", "river", "price",
+            "weather", "festival", "volunteer", "shelter");
+
+    private ClassroomCorpus() {}
+
+    public static List<String> messages() {
+        List<String> messages = new ArrayList<>();
+        for (String line : lines("/corpus/classroom-messages.txt")) {
+            if (!line.isBlank() && !line.startsWith("#")) messages.add(line);
+        }
+        return messages;
+    }
+
+    public static List<String> wordBank(int size) {
+        Set<String> words = new LinkedHashSet<>(TOPIC_WORDS.subList(0, Math.min(size, TOPIC_WORDS.size())));
+        for (String line : lines("/vocabulary/academic-words.txt")) {
+            if (words.size() >= size) break;
+            String word = line.trim().toLowerCase();
+            if (!word.isEmpty() && !word.startsWith("#")) words.add(word);
+        }
+        return new ArrayList<>(words);
+    }
+
+    public static List<WordBankItem> wordBankItems(int size) {
+        List<WordBankItem> items = new ArrayList<>();
+        for (String word : wordBank(size)) items.add(new WordBankItem(word, null));
+        return items;
+    }
+
+    private static List<String> lines(String resource) {
+        try (InputStream in = ClassroomCorpus.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing benchmark resource " + resource);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            return reader.lines().map(String::trim).toList();
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException("Could not read " + resource, e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package cit.edu.wrdmstr.benchmark;
+
+import cit.edu.wrdmstr.entity.WordBankItem;
+import cit.edu.wrdmstr.service.MessageEvaluation;
+import cit.edu.wrdmstr.service.gameplay.OptimizedTextProcessor;
+import cit.edu.wrdmstr.service.gameplay.ProfanityFilterService;
+import cit.edu.wrdmstr.service.gameplay.VocabularyAnalysisService;
+import cit.edu.wrdmstr.service.gameplay.WordDetectionService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-message CPU cost of the local text checks run on every chat message. Each
+ * invocation handles the next message of the classroom corpus, so scores are the average
+ * over the whole mix of clean, misspelled, Taglish and spam messages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+@State(Scope.Thread)
+public class TextProcessingBenchmark {
+
+    @Param({"5", "20", "80"})
+    private int wordBankSize;
+
+    private List<String> messages;
+    private List<WordBankItem> wordBankItems;
+    private MessageEvaluation noAiWordBankResult;
+    private int next;
+
+    private ProfanityFilterService profanityFilter;
+    private WordDetectionService wordDetection;
+    private VocabularyAnalysisService vocabularyAnalysis;
+    private OptimizedTextProcessor textProcessor;
+    private Map<?, ?> textProcessorCache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        messages = ClassroomCorpus.messages();
+        wordBankItems = ClassroomCorpus.wordBankItems(wordBankSize);
+        // Word-bank detection with the AI part answered by the combined evaluation, as in a live game
+        noAiWordBankResult = MessageEvaluation.parse("{\"wordBankUsed\":[]}", List.of()).orElseThrow();
+
+        profanityFilter = new ProfanityFilterService();
+        wordDetection = new WordDetectionService();
+
+        vocabularyAnalysis = new VocabularyAnalysisService();
+        ReflectionTestUtils.setField(vocabularyAnalysis, "commonWordsFile", "/vocabulary/common-words.txt");
+        ReflectionTestUtils.setField(vocabularyAnalysis, "academicWordsFile", "/vocabulary/academic-words.txt");
+        ReflectionTestUtils.setField(vocabularyAnalysis, "minWordLength", 3);
+        ReflectionTestUtils.setField(vocabularyAnalysis, "advancedWordLength", 7);
+        vocabularyAnalysis.init();
+
+        textProcessor = new OptimizedTextProcessor();
+        textProcessorCache = (Map<?, ?>) ReflectionTestUtils.getField(textProcessor, "analysisCache");
+    }
+
+    private String nextMessage() {
+        String message = messages.get(next);
+        next = (next + 1) % messages.size();
+        return message;
+    }
+
+    @Benchmark
+    public Object profanityFilter() {
+        return profanityFilter.filter(nextMessage());
+    }
+
+    @Benchmark
+    public Object detectWordBankUsageLocal() {
+        return wordDetection.detectWordBankUsage(nextMessage(), wordBankItems, noAiWordBankResult);
+    }
+
+    @Benchmark
+    public void extractTextVariations(Blackhole bh) {
+        String message = nextMessage();
+        List<String> detected = wordDetection.detectWordBankUsage(message, wordBankItems, noAiWordBankResult);
+        bh.consume(wordDetection.extractTextVariations(message, detected));
+    }
+
+    @Benchmark
+    public Object analyzeVocabulary() {
+        return vocabularyAnalysis.analyzeVocabulary(nextMessage());
+    }
+
+    @Benchmark
+    public Object analyzeTextCached() {
+        return textProcessor.analyzeText(nextMessage());
+    }
+
+    @Benchmark
+    public Object analyzeTextUncached() {
+        // Start every pass over the corpus with an empty cache so each message is a miss
+        if (next == 0) textProcessorCache.clear();
+        return textProcessor.analyzeText(nextMessage());
+    }
+}
@@ -0,0 +1,112 @@
+package cit.edu.wrdmstr.benchmark.db;
+
+import cit.edu.wrdmstr.WrdmstrApplication;
+import cit.edu.wrdmstr.entity.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows inserted per second on the chat and scoring write paths, against the database the
+ * loadtest profile points at. One invocation writes what a scored chat message writes:
+ * the message, its score records and the vocabulary result, in one transaction. Compare
+ * batchSize=1 (a round trip per row) with the configured batch size.
+ *
+ * Needs a session with at least one player (run ClassroomLoadHarness once):
+ * mvn -Pbenchmark verify -DskipTests -Djmh.include=WritePathInsertBenchmark -Djmh.exclude=none
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WritePathInsertBenchmark {
+    private static final String MARKER = "jmh-write-path";
+    // One chat message, five score records, one vocabulary result
+    private static final int ROWS_PER_MESSAGE = 7;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private EntityManagerFactory entityManagerFactory;
+    private JdbcTemplate jdbcTemplate;
+    private Long sessionId;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(WrdmstrApplication.class,
+                "--spring.profiles.active=loadtest",
+                "--server.port=0",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "--spring.jpa.properties.hibernate.generate_statistics=false");
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<Map<String, Object>> players = jdbcTemplate.queryForList(
+                "SELECT session_id, user_id FROM player_sessions LIMIT 1");
+        if (players.isEmpty()) {
+            throw new IllegalStateException("No player sessions in the database; run ClassroomLoadHarness first");
+        }
+        sessionId = ((Number) players.get(0).get("session_id")).longValue();
+        userId = ((Number) players.get(0).get("user_id")).longValue();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM score_records WHERE reason = ?", MARKER);
+        jdbcTemplate.update("DELETE FROM vocabulary_results WHERE feedback = ?", MARKER);
+        jdbcTemplate.update("DELETE FROM chat_messages WHERE content = ?", MARKER);
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_MESSAGE)
+    public void scoredChatMessage() {
+        transactionTemplate.executeWithoutResult(status -> {
+            EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+            GameSessionEntity session = em.getReference(GameSessionEntity.class, sessionId);
+            UserEntity user = em.getReference(UserEntity.class, userId);
+            Date now = new Date();
+
+            ChatMessageEntity message = new ChatMessageEntity();
+            message.setSession(session);
+            message.setSender(user);
+            message.setContent(MARKER);
+            message.setTimestamp(now);
+            em.persist(message);
+
+            for (int i = 0; i < ROWS_PER_MESSAGE - 2; i++) {
+                ScoreRecordEntity score = new ScoreRecordEntity();
+                score.setSession(session);
+                score.setUser(user);
+                score.setPoints(i + 1);
+                score.setReason(MARKER);
+                score.setTimestamp(now);
+                em.persist(score);
+            }
+
+            VocabularyResultEntity vocabulary = new VocabularyResultEntity();
+            vocabulary.setGameSession(session);
+            vocabulary.setStudent(user);
+            vocabulary.setVocabularyScore(5);
+            vocabulary.setFeedback(MARKER);
+            vocabulary.setCreatedAt(now);
+            em.persist(vocabulary);
+        });
+    }
+}
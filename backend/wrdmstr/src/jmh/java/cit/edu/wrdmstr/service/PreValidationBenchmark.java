@@ -0,0 +1,40 @@
+package cit.edu.wrdmstr.service;
+
+import cit.edu.wrdmstr.benchmark.ClassroomCorpus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The spam checks AIService runs before every AI call (too short, repeated characters,
+ * word spam, keyboard mashing). Lives in the service package to reach the
+ * package-private check directly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+@State(Scope.Thread)
+public class PreValidationBenchmark {
+
+    private List<String> messages;
+    private AIService aiService;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        messages = ClassroomCorpus.messages();
+        PerformanceMetricsService metrics = new PerformanceMetricsService();
+        aiService = new AIService(new RestTemplate(), metrics, new AIRequestScheduler(metrics));
+    }
+
+    @Benchmark
+    public String preValidationReason() {
+        String message = messages.get(next);
+        next = (next + 1) % messages.size();
+        return aiService.preValidationReason(message);
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.context.annotation.Bean;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
@@ -22,6 +23,19 @@ public class AsyncConfig {
         return executor;
     }
 
+    // Class-wide AI jobs (FeedbackJobService), kept off aiTaskExecutor so calls waiting for a
+    // background slot in AIRequestScheduler never hold threads interactive grading needs
+    @Bean("aiBackgroundExecutor")
+    public TaskExecutor aiBackgroundExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("AiBackground-");
+        executor.initialize();
+        return executor;
+    }
+
     @Bean("gameProcessingExecutor")
     public TaskExecutor gameProcessingExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -33,6 +47,20 @@ public class AsyncConfig {
         return executor;
     }
     
+    // Drains session mailboxes (SessionMailboxes); one thread per busy session at a time.
+    // A drain that cannot be queued runs on the sender so the session never stalls.
+    @Bean("gameActorExecutor")
+    public TaskExecutor gameActorExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("GameActor-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
     @Bean("chatProcessingExecutor")
     public TaskExecutor chatProcessingExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -55,6 +83,20 @@ public class AsyncConfig {
         return executor;
     }
     
+    // Outbound mail delivery; small on purpose since each task holds an SMTP connection
+    @Bean("mailExecutor")
+    public TaskExecutor mailExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("Mail-");
+        // Rejections surface as TaskRejectedException; MailQueueService hands the work back to the poll
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
     @Bean("backgroundProcessingExecutor")
     public TaskExecutor backgroundProcessingExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -0,0 +1,69 @@
+package cit.edu.wrdmstr.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves the feedback texts of chat messages written before chat_message_details existed
+ * out of chat_messages. Each detail row takes its message's id (both draw from the
+ * chat_messages sequence, so they cannot clash with new details) and the old columns are
+ * cleared so the rows shrink. Works in chunks and only touches unmigrated rows, so it is
+ * safe on every start and on several nodes at once. Once it logs nothing the old columns
+ * can be dropped.
+ *
+ * Runs after the schema migrations and the EntityManagerFactory, before scheduled tasks start.
+ */
+@Component
+public class ChatMessageDetailMigrator {
+    private static final Logger log = LoggerFactory.getLogger(ChatMessageDetailMigrator.class);
+
+    static final int CHUNK_SIZE = 1000;
+    private static final String UNMIGRATED = "detail_id IS NULL AND (grammar_feedback IS NOT NULL "
+            + "OR word_variations IS NOT NULL OR vocabulary_feedback IS NOT NULL)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChatMessageDetailMigrator(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        try {
+            Integer legacyColumns = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.columns "
+                    + "WHERE table_schema = DATABASE() AND table_name = 'chat_messages' "
+                    + "AND column_name IN ('grammar_feedback', 'word_variations', 'vocabulary_feedback')", Integer.class);
+            if (legacyColumns == null || legacyColumns < 3) {
+                return;
+            }
+            long started = System.currentTimeMillis();
+            int migrated = 0;
+            List<Long> ids;
+            while (!(ids = jdbcTemplate.queryForList("SELECT id FROM chat_messages WHERE " + UNMIGRATED
+                    + " ORDER BY id LIMIT " + CHUNK_SIZE, Long.class)).isEmpty()) {
+                String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+                Object[] args = ids.toArray();
+                jdbcTemplate.update("INSERT IGNORE INTO chat_message_details "
+                        + "(id, grammar_feedback, word_variations, vocabulary_feedback) "
+                        + "SELECT id, grammar_feedback, word_variations, vocabulary_feedback FROM chat_messages "
+                        + "WHERE id IN (" + in + ")", args);
+                jdbcTemplate.update("UPDATE chat_messages SET detail_id = id, grammar_feedback = NULL, "
+                        + "word_variations = NULL, vocabulary_feedback = NULL WHERE id IN (" + in + ")", args);
+                migrated += ids.size();
+            }
+            if (migrated > 0) {
+                log.info("[DB-INIT] Moved feedback of {} chat messages to chat_message_details in {} ms",
+                        migrated, System.currentTimeMillis() - started);
+            }
+        } catch (Exception e) {
+            log.warn("[DB-INIT] Could not migrate chat message details: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package cit.edu.wrdmstr.config;
+
+import cit.edu.wrdmstr.service.PerformanceMetricsService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-client payload encoding for STOMP messages. JSON stays the default; a client on the
+ * native WebSocket endpoint can send {@code payload-encoding:cbor} in its CONNECT frame and
+ * receives every MESSAGE payload as CBOR in a binary frame, marked with the same header.
+ * SockJS cannot carry binary frames, so the header is ignored there.
+ *
+ * Broadcasts are still serialized to JSON once by SimpMessagingTemplate; the broker hands
+ * the same payload array to every subscriber, so each broadcast is transcoded once and the
+ * result shared by all CBOR subscribers.
+ */
+@Component
+public class CompactPayloadCodec implements ChannelInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(CompactPayloadCodec.class);
+
+    public static final String ENCODING_HEADER = "payload-encoding";
+    public static final String CBOR = "cbor";
+    static final String NATIVE_TRANSPORT_ATTRIBUTE = "wordmaster.nativeTransport";
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final CBORMapper cborMapper = new CBORMapper();
+    private final PerformanceMetricsService performanceMetricsService;
+
+    // Encoding by STOMP session id, only for sessions that asked for one
+    private final Map<String, String> sessionEncodings = new ConcurrentHashMap<>();
+    // Weak keys compare by identity, which is what a shared broadcast payload needs
+    private final Cache<byte[], byte[]> encoded = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(256)
+            .build();
+
+    public CompactPayloadCodec(PerformanceMetricsService performanceMetricsService) {
+        this.performanceMetricsService = performanceMetricsService;
+    }
+
+    /**
+     * Marks sessions opened on the native WebSocket endpoint, the only ones that may
+     * negotiate a binary encoding.
+     */
+    public HandshakeInterceptor nativeTransportMarker() {
+        return new HandshakeInterceptor() {
+            @Override
+            public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                           WebSocketHandler wsHandler, Map<String, Object> attributes) {
+                attributes.put(NATIVE_TRANSPORT_ATTRIBUTE, Boolean.TRUE);
+                return true;
+            }
+
+            @Override
+            public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                       WebSocketHandler wsHandler, Exception exception) {
+                // No-op
+            }
+        };
+    }
+
+    /**
+     * Inbound side: records the encoding a client asks for on CONNECT and forgets it on
+     * DISCONNECT.
+     */
+    public ChannelInterceptor negotiation() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                if (accessor == null || accessor.getSessionId() == null) {
+                    return message;
+                }
+                if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+                    String requested = accessor.getFirstNativeHeader(ENCODING_HEADER);
+                    Map<String, Object> attributes = accessor.getSessionAttributes();
+                    boolean nativeTransport = attributes != null && Boolean.TRUE.equals(attributes.get(NATIVE_TRANSPORT_ATTRIBUTE));
+                    if (CBOR.equalsIgnoreCase(requested) && nativeTransport) {
+                        sessionEncodings.put(accessor.getSessionId(), CBOR);
+                    }
+                } else if (StompCommand.DISCONNECT.equals(accessor.getCommand())) {
+                    sessionEncodings.remove(accessor.getSessionId());
+                }
+                return message;
+            }
+        };
+    }
+
+    /**
+     * Outbound side: re-encodes JSON MESSAGE payloads for sessions that negotiated CBOR.
+     * The content type becomes application/octet-stream so the frame goes out as binary.
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (sessionEncodings.isEmpty() || !(message.getPayload() instanceof byte[] json)) {
+            return message;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null || !CBOR.equals(sessionEncodings.get(sessionId))
+                || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        MimeType contentType = accessor.getContentType();
+        if (contentType != null && !MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            return message;
+        }
+        byte[] cbor;
+        try {
+            cbor = encoded.get(json, this::toCbor);
+        } catch (RuntimeException e) {
+            logger.debug("Sending JSON to session {}: {}", sessionId, e.getMessage());
+            return message;
+        }
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        accessor.setNativeHeader(ENCODING_HEADER, CBOR);
+        return MessageBuilder.createMessage(cbor, accessor.getMessageHeaders());
+    }
+
+    byte[] toCbor(byte[] json) {
+        try {
+            JsonNode tree = jsonMapper.readTree(json);
+            byte[] cbor = cborMapper.writeValueAsBytes(tree);
+            performanceMetricsService.recordEncodedPayload(CBOR, json.length, cbor.length);
+            return cbor;
+        } catch (IOException e) {
+            throw new IllegalStateException("Payload is not JSON", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package cit.edu.wrdmstr.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the pooled id generators for high-volume tables past the ids those tables
+ * already hold. These tables used AUTO_INCREMENT ids before; the pooled optimizer hands
+ * out the block ending at the stored value, so the stored value must be at least the
+ * current max id plus one block. Only ever raises the value, so it is safe on every start.
+ *
+ * Runs after the schema migrations and the EntityManagerFactory, before scheduled tasks start.
+ */
+@Component
+public class IdSequenceInitializer {
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    // Must match the @TableGenerator allocationSize on these entities
+    static final int ALLOCATION_SIZE = 50;
+    static final List<String> POOLED_TABLES = List.of(
+            "score_records", "chat_messages", "progress_snapshots", "player_cards", "vocabulary_results");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequences() {
+        for (String table : POOLED_TABLES) {
+            try {
+                jdbcTemplate.update("INSERT IGNORE INTO id_sequences (sequence_name, next_val) VALUES (?, 0)", table);
+                int raised = jdbcTemplate.update("UPDATE id_sequences SET next_val = "
+                        + "(SELECT COALESCE(MAX(id), 0) FROM " + table + ") + ? "
+                        + "WHERE sequence_name = ? AND COALESCE(next_val, 0) < "
+                        + "(SELECT COALESCE(MAX(id), 0) FROM " + table + ") + ?",
+                        ALLOCATION_SIZE + 1, table, ALLOCATION_SIZE + 1);
+                if (raised > 0) {
+                    log.info("[DB-INIT] Raised id sequence for {} past existing ids", table);
+                }
+            } catch (Exception e) {
+                log.warn("[DB-INIT] Could not align id sequence for {}: {}", table, e.getMessage());
+            }
+        }
+    }
+}
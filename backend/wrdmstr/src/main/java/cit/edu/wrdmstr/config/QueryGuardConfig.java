@@ -0,0 +1,53 @@
+package cit.edu.wrdmstr.config;
+
+import cit.edu.wrdmstr.service.monitoring.QueryCounter;
+import cit.edu.wrdmstr.service.monitoring.QueryGuard;
+import cit.edu.wrdmstr.service.monitoring.QueryScope;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.support.ScheduledTaskObservationContext;
+
+/**
+ * Wires statement counting into Hibernate and into @Scheduled tasks. HTTP requests are
+ * covered by QueryCountFilter and STOMP messages by WebSocketConfig.
+ */
+@Configuration
+public class QueryGuardConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingInspector() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCounter());
+    }
+
+    /**
+     * Scheduled tasks are observed by Boot; count statements between start and stop of
+     * each run, named after the task method.
+     */
+    @Bean
+    public ObservationHandler<ScheduledTaskObservationContext> scheduledTaskQueryGuard(QueryGuard queryGuard) {
+        return new ObservationHandler<>() {
+            @Override
+            public void onStart(ScheduledTaskObservationContext context) {
+                QueryScope scope = queryGuard.begin("scheduled",
+                        context.getTargetClass().getSimpleName() + "." + context.getMethod().getName());
+                if (scope != null) {
+                    context.put(QueryScope.class, scope);
+                }
+            }
+
+            @Override
+            public void onStop(ScheduledTaskObservationContext context) {
+                queryGuard.finish(context.get(QueryScope.class));
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return context instanceof ScheduledTaskObservationContext;
+            }
+        };
+    }
+}
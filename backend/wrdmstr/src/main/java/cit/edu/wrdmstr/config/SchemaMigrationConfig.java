@@ -0,0 +1,27 @@
+package cit.edu.wrdmstr.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The schema is versioned as Flyway migrations in db/schema, applied at startup before the
+ * EntityManagerFactory, which only validates it. Version 1 creates the tables; a database
+ * Hibernate's schema update built before migrations existed has no history table and is
+ * baselined there, so it gets every later version. Flyway takes a database lock, so nodes
+ * starting together apply each version once.
+ */
+@Configuration
+public class SchemaMigrationConfig {
+
+    static final String LOCATION = "classpath:db/schema";
+
+    @Bean
+    public FlywayConfigurationCustomizer schemaMigrationSettings() {
+        return configuration -> configuration
+                .locations(LOCATION)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .baselineDescription("Hibernate schema");
+    }
+}
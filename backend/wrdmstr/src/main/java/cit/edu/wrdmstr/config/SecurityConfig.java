@@ -65,7 +65,9 @@ public class SecurityConfig {
                 "/api/auth/**",
                 "/login/oauth2/code/azure",
                 "/api/**",
-                "/ws/**"
+                "/ws/**",
+                "/ws-native",
+                "/dev/**"
             )
         )
         .sessionManagement(session -> session
@@ -77,9 +79,11 @@ public class SecurityConfig {
             // Admin public endpoints (login and registration)
             .requestMatchers("/api/admin/users/login", "/api/admin/users/register", "/api/admin/users/create-first").permitAll()
             .requestMatchers("/api/admin/**").hasAuthority("ADMIN")
-            .requestMatchers("/ws/**").permitAll()
+            .requestMatchers("/ws/**", "/ws-native").permitAll()
             .requestMatchers("/api/sessions/**").authenticated()
             .requestMatchers("/api/export/**").permitAll()
+            // Load-test stand-ins; these handlers exist only under the loadtest profile
+            .requestMatchers("/dev/gemini/**", "/dev/loadtest/**").permitAll()
             .anyRequest().authenticated());
 
         http.authenticationProvider(authenticationProvider());
@@ -117,6 +121,7 @@ public class SecurityConfig {
         source.registerCorsConfiguration("/api/**", configuration);
         source.registerCorsConfiguration("/ws/**", configuration);
         source.registerCorsConfiguration("/ws", configuration);
+        source.registerCorsConfiguration("/ws-native", configuration);
         return source;
     }
 
@@ -0,0 +1,263 @@
+package cit.edu.wrdmstr.config;
+
+import cit.edu.wrdmstr.service.PerformanceMetricsService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps one slow client from holding up a classroom's broadcasts. Messages to superseding
+ * destinations (timer ticks, state snapshots) are coalesced per session, latest wins:
+ * <ul>
+ *   <li>a message still waiting in the outbound queue is dropped when a newer one for the
+ *       same session and destination is queued behind it;</li>
+ *   <li>while a session has lag-threshold or more messages buffered but not yet written to
+ *       its socket, new ones are parked, one per destination, and re-sent once it drains.</li>
+ * </ul>
+ * A message sent with the native header {@code coalesce:false} is a state change rather
+ * than a superseding update (a timer reset, pause or resume): it is never dropped or
+ * parked, and a message parked for its destination before it is discarded as stale.
+ * Everything else is delivered in order. A session that stays behind past the transport's
+ * send-time or send-buffer limit is closed by Spring, and the client reconnects and resyncs.
+ */
+@Component
+public class SlowConsumerGuard implements ExecutorChannelInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(SlowConsumerGuard.class);
+
+    private static final byte[] MESSAGE_FRAME = "MESSAGE\n".getBytes(StandardCharsets.UTF_8);
+
+    public static final String COALESCE_HEADER = "coalesce";
+
+    private final PerformanceMetricsService performanceMetricsService;
+    private final List<String> coalescedDestinations;
+    private final int lagThreshold;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final Map<String, SessionBacklog> sessions = new ConcurrentHashMap<>();
+
+    private MessageChannel redeliveryChannel;
+
+    public SlowConsumerGuard(PerformanceMetricsService performanceMetricsService,
+                             @Value("${wordmaster.websocket.slow-consumer.coalesce:/topic/game/*/timer,/topic/game/*/state,/topic/game/*/players}")
+                             List<String> coalescedDestinations,
+                             @Value("${wordmaster.websocket.slow-consumer.lag-threshold:16}") int lagThreshold) {
+        this.performanceMetricsService = performanceMetricsService;
+        this.coalescedDestinations = coalescedDestinations;
+        this.lagThreshold = lagThreshold;
+    }
+
+    @Autowired
+    public void setRedeliveryChannel(@Lazy @Qualifier("clientOutboundChannel") MessageChannel redeliveryChannel) {
+        this.redeliveryChannel = redeliveryChannel;
+    }
+
+    @PostConstruct
+    void registerGauges() {
+        performanceMetricsService.gauge("wordmaster.stomp.session.buffered.max",
+                "Most messages any one session has buffered but not yet written to its socket",
+                () -> sessions.values().stream().mapToInt(s -> s.buffered.get()).max().orElse(0));
+        performanceMetricsService.gauge("wordmaster.stomp.session.lagging",
+                "Sessions at or above the slow-consumer lag threshold",
+                () -> sessions.values().stream().filter(s -> s.buffered.get() >= lagThreshold).count());
+    }
+
+    private static final class SessionBacklog {
+        // MESSAGE frames handed to the session but not yet written to the socket
+        final AtomicInteger buffered = new AtomicInteger();
+        // Newest queued message per coalesced destination
+        final Map<String, Message<?>> latest = new ConcurrentHashMap<>();
+        // Held back while the session is lagging, one per coalesced destination
+        final Map<String, Message<?>> parked = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Wraps each raw session so frames written to the socket are counted.
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                sessionStarted(session.getId());
+                super.afterConnectionEstablished(new CountingSession(session));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SessionBacklog backlog = backlogFor(message);
+        String destination = coalescedDestination(message);
+        if (backlog != null && destination != null) {
+            backlog.latest.put(destination, message);
+        }
+        return message;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        SessionBacklog backlog = backlogFor(message);
+        String destination = matchedDestination(message);
+        if (backlog == null || destination == null) {
+            return message;
+        }
+        if (isStateChange(message)) {
+            backlog.parked.remove(destination);
+            return message;
+        }
+        if (backlog.latest.get(destination) != message) {
+            performanceMetricsService.recordSlowConsumer("superseded", destination);
+            return null;
+        }
+        if (backlog.buffered.get() >= lagThreshold) {
+            backlog.parked.put(destination, message);
+            backlog.latest.remove(destination, message);
+            performanceMetricsService.recordSlowConsumer("parked", destination);
+            return null;
+        }
+        backlog.parked.remove(destination);
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        SessionBacklog backlog = backlogFor(message);
+        if (backlog == null) {
+            return;
+        }
+        String destination = coalescedDestination(message);
+        if (destination != null) {
+            backlog.latest.remove(destination, message);
+        }
+        if (ex == null) {
+            backlog.buffered.incrementAndGet();
+        }
+    }
+
+    int getBuffered(String sessionId) {
+        SessionBacklog backlog = sessions.get(sessionId);
+        return backlog != null ? backlog.buffered.get() : 0;
+    }
+
+    void sessionStarted(String sessionId) {
+        sessions.putIfAbsent(sessionId, new SessionBacklog());
+    }
+
+    /**
+     * A MESSAGE frame reached the socket; once the session is below the threshold again,
+     * re-send what was parked.
+     */
+    void frameWritten(String sessionId) {
+        SessionBacklog backlog = sessions.get(sessionId);
+        if (backlog == null) {
+            return;
+        }
+        int buffered = backlog.buffered.updateAndGet(n -> Math.max(0, n - 1));
+        if (buffered < lagThreshold && !backlog.parked.isEmpty() && redeliveryChannel != null) {
+            for (String destination : List.copyOf(backlog.parked.keySet())) {
+                Message<?> parked = backlog.parked.remove(destination);
+                if (parked != null) {
+                    redeliveryChannel.send(parked);
+                }
+            }
+        }
+    }
+
+    private SessionBacklog backlogFor(Message<?> message) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return null;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        return sessionId != null ? sessions.get(sessionId) : null;
+    }
+
+    private String coalescedDestination(Message<?> message) {
+        return isStateChange(message) ? null : matchedDestination(message);
+    }
+
+    private static boolean isStateChange(Message<?> message) {
+        return "false".equals(SimpMessageHeaderAccessor.getFirstNativeHeader(COALESCE_HEADER, message.getHeaders()));
+    }
+
+    private String matchedDestination(Message<?> message) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null) {
+            return null;
+        }
+        for (String pattern : coalescedDestinations) {
+            if (matcher.match(pattern, destination)) {
+                return destination;
+            }
+        }
+        return null;
+    }
+
+    static boolean isMessageFrame(WebSocketMessage<?> frame) {
+        if (frame instanceof TextMessage text) {
+            return text.getPayload().startsWith("MESSAGE\n");
+        }
+        if (frame instanceof BinaryMessage binary) {
+            ByteBuffer payload = binary.getPayload();
+            if (payload.remaining() < MESSAGE_FRAME.length) {
+                return false;
+            }
+            for (int i = 0; i < MESSAGE_FRAME.length; i++) {
+                if (payload.get(payload.position() + i) != MESSAGE_FRAME[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private class CountingSession extends WebSocketSessionDecorator {
+        CountingSession(WebSocketSession session) {
+            super(session);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            super.sendMessage(message);
+            if (isMessageFrame(message)) {
+                try {
+                    frameWritten(getId());
+                } catch (RuntimeException e) {
+                    logger.warn("Could not re-send parked messages for session {}: {}", getId(), e.getMessage());
+                }
+            }
+        }
+    }
+}
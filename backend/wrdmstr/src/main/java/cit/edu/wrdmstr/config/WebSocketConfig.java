@@ -5,13 +5,19 @@ import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 import org.springframework.web.socket.server.HandshakeInterceptor;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.http.HttpHeaders;
 import cit.edu.wrdmstr.service.JwtService;
+import cit.edu.wrdmstr.service.PerformanceMetricsService;
+import cit.edu.wrdmstr.service.monitoring.QueryCounter;
+import cit.edu.wrdmstr.service.monitoring.QueryGuard;
+import cit.edu.wrdmstr.service.monitoring.QueryScope;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
 import java.security.Principal;
 
@@ -21,8 +27,13 @@ import java.util.List;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.stomp.StompCommand;
@@ -36,10 +47,87 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private PerformanceMetricsService performanceMetricsService;
+
+    @Autowired
+    private QueryGuard queryGuard;
+
+    @Autowired
+    private CompactPayloadCodec payloadCodec;
+
+    @Autowired
+    private SlowConsumerGuard slowConsumerGuard;
+
+    // Outbound delivery to clients. Spring's default queue is unbounded; a broadcast to a
+    // classroom is one task per subscriber, so size the pool for a few classrooms at once.
+    @Value("${wordmaster.websocket.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${wordmaster.websocket.outbound.max-pool-size:16}")
+    private int outboundMaxPoolSize;
+
+    @Value("${wordmaster.websocket.outbound.queue-capacity:2147483647}")
+    private int outboundQueueCapacity;
+
+    // Per-session send limits; a client this far behind is disconnected and resyncs on reconnect
+    @Value("${wordmaster.websocket.send-time-limit-ms:5000}")
+    private int sendTimeLimitMs;
+
+    @Value("${wordmaster.websocket.send-buffer-size-limit:262144}")
+    private int sendBufferSizeLimit;
+
+    @Value("${wordmaster.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    // With more than one backend node, broadcasts must go through an external STOMP broker
+    // (RabbitMQ / ActiveMQ) so subscribers connected to any node receive them.
+    @Value("${wordmaster.websocket.relay.enabled:false}")
+    private boolean relayEnabled;
+
+    @Value("${wordmaster.websocket.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${wordmaster.websocket.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${wordmaster.websocket.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${wordmaster.websocket.relay.passcode:guest}")
+    private String relayPasscode;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic", "/queue");
+        if (relayEnabled) {
+            config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    // Resolve convertAndSendToUser for users connected to another node
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+        } else {
+            config.enableSimpleBroker("/topic", "/queue");
+        }
         config.setApplicationDestinationPrefixes("/app");
+
+        // Size of everything the server publishes, by destination
+        config.configureBrokerChannel().interceptors(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                if (message.getPayload() instanceof byte[] payload) {
+                    String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+                    if (destination != null) {
+                        performanceMetricsService.recordBroadcast(destination, payload.length);
+                    }
+                }
+                return message;
+            }
+        });
     }
 
     @Override
@@ -53,6 +141,36 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .addInterceptors(new JwtHandshakeInterceptor(jwtService))
                 .setHandshakeHandler(new CustomHandshakeHandler())
                 .withSockJS();
+
+        // Plain WebSocket without the SockJS fallback. Frames are compressed with
+        // permessage-deflate when the browser offers it, and clients here may negotiate
+        // binary CBOR payloads (see CompactPayloadCodec).
+        registry.addEndpoint("/ws-native")
+                .setAllowedOrigins(
+                    "http://localhost:5173",
+                    "http://localhost:3000",
+                    "https://wordmaster-nu.vercel.app"
+                )
+                .addInterceptors(new JwtHandshakeInterceptor(jwtService), payloadCodec.nativeTransportMarker())
+                .setHandshakeHandler(new CustomHandshakeHandler());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(outboundCorePoolSize)
+                .maxPoolSize(outboundMaxPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+        // The guard compares message identity, so it must see the message after re-encoding
+        registration.interceptors(payloadCodec, slowConsumerGuard);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(slowConsumerGuard::decorate);
     }
 
     @Override
@@ -68,9 +186,9 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                         String token = authHeaders.get(0);
                         if (token != null && token.startsWith("Bearer ")) {
                             token = token.substring(7);
-                            if (jwtService.validateToken(token)) {
-                                String username = jwtService.extractUsername(token);
-                                Authentication auth = new UsernamePasswordAuthenticationToken(username, null, null);
+                            JwtService.VerifiedToken verified = jwtService.authenticate(token);
+                            if (verified != null) {
+                                Authentication auth = new UsernamePasswordAuthenticationToken(verified.username(), null, null);
                                 accessor.setUser(auth);
                             }
                         }
@@ -78,6 +196,25 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 }
                 return message;
             }
+        }, payloadCodec.negotiation(), new ExecutorChannelInterceptor() {
+            // Count statements per @MessageMapping call, on the thread that runs it
+            @Override
+            public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+                if (handler instanceof SimpAnnotationMethodMessageHandler
+                        && SimpMessageType.MESSAGE.equals(SimpMessageHeaderAccessor.getMessageType(message.getHeaders()))) {
+                    queryGuard.begin("stomp", PerformanceMetricsService.foldIds(
+                            SimpMessageHeaderAccessor.getDestination(message.getHeaders())));
+                }
+                return message;
+            }
+
+            @Override
+            public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+                QueryScope scope = QueryCounter.current();
+                if (handler instanceof SimpAnnotationMethodMessageHandler && scope != null && "stomp".equals(scope.getKind())) {
+                    queryGuard.finish(scope);
+                }
+            }
         });
     }
 
@@ -131,9 +268,9 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 }
 
                 // Validate token and set principal
-                if (token != null && jwtService.validateToken(token)) {
-                    String username = jwtService.extractUsername(token);
-                    Authentication auth = new UsernamePasswordAuthenticationToken(username, null, null);
+                JwtService.VerifiedToken verified = token != null ? jwtService.authenticate(token) : null;
+                if (verified != null) {
+                    Authentication auth = new UsernamePasswordAuthenticationToken(verified.username(), null, null);
                     attributes.put("principal", auth);
                     return true;
                 }
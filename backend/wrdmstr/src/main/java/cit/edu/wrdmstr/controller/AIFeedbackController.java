@@ -16,10 +16,10 @@ import org.springframework.web.bind.annotation.RestController;
 import cit.edu.wrdmstr.entity.ChatMessageEntity;
 import cit.edu.wrdmstr.entity.PlayerSessionEntity;
 import cit.edu.wrdmstr.entity.UserEntity;
-import cit.edu.wrdmstr.repository.ChatMessageEntityRepository;
 import cit.edu.wrdmstr.repository.PlayerSessionEntityRepository;
 import cit.edu.wrdmstr.repository.UserRepository;
 import cit.edu.wrdmstr.service.AIService;
+import cit.edu.wrdmstr.service.SessionHistoryService;
 
 @RestController
 @RequestMapping("/api/ai-feedback")
@@ -27,17 +27,17 @@ import cit.edu.wrdmstr.service.AIService;
 public class AIFeedbackController {
 
     private final AIService aiService;
-    private final ChatMessageEntityRepository chatRepository;
+    private final SessionHistoryService sessionHistoryService;
     private final PlayerSessionEntityRepository playerRepository;
     private final UserRepository userRepository;
     
     @Autowired
     public AIFeedbackController(AIService aiService, 
-                                ChatMessageEntityRepository chatRepository, 
+                                SessionHistoryService sessionHistoryService, 
                                 PlayerSessionEntityRepository playerRepository,
                                 UserRepository userRepository) {
         this.aiService = aiService;
-        this.chatRepository = chatRepository;
+        this.sessionHistoryService = sessionHistoryService;
         this.playerRepository = playerRepository;
         this.userRepository = userRepository;
     }
@@ -57,7 +57,7 @@ public class AIFeedbackController {
                 .orElseThrow(() -> new RuntimeException("Student not found"));
             
             // Get sample messages from student
-            List<ChatMessageEntity> messages = chatRepository.findBySessionIdAndSenderIdOrderByTimestampAsc(
+            List<ChatMessageEntity> messages = sessionHistoryService.getMessages(
                 sessionId, studentId);
             
             // Sample up to 5 messages for analysis
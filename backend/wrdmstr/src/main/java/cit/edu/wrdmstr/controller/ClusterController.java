@@ -0,0 +1,30 @@
+package cit.edu.wrdmstr.controller;
+
+import cit.edu.wrdmstr.service.cluster.SessionOwnershipService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cluster")
+public class ClusterController {
+
+    @Autowired
+    private SessionOwnershipService sessionOwnership;
+
+    /**
+     * Which node runs a live session, so clients and the load balancer can route the
+     * session's REST and WebSocket traffic there.
+     */
+    @GetMapping("/sessions/{sessionId}/owner")
+    public ResponseEntity<Map<String, Object>> getSessionOwner(@PathVariable Long sessionId) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("sessionId", sessionId);
+        body.put("ownerNode", sessionOwnership.ownerOf(sessionId).orElse(null));
+        body.put("servedBy", sessionOwnership.getNodeId());
+        return ResponseEntity.ok(body);
+    }
+}
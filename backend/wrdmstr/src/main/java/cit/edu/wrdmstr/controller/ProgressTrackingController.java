@@ -4,6 +4,7 @@ import cit.edu.wrdmstr.dto.*;
 import cit.edu.wrdmstr.entity.*;
 import cit.edu.wrdmstr.repository.UserRepository;
 import cit.edu.wrdmstr.service.ProgressTrackingService;
+import cit.edu.wrdmstr.service.SessionSummaryService;
 import cit.edu.wrdmstr.service.UserService;
 import cit.edu.wrdmstr.service.gameplay.GameSessionService;
 import org.apache.velocity.exception.ResourceNotFoundException;
@@ -30,6 +31,7 @@ public class ProgressTrackingController {
     @Autowired private ProgressTrackingService progressService;
     @Autowired private GameSessionService gameSessionService;
     @Autowired private UserService userService;
+    @Autowired private SessionSummaryService sessionSummaryService;
 
     // Student Endpoints
 
@@ -41,6 +43,7 @@ public class ProgressTrackingController {
             logger.info("Logging in Student {}", student.getEmail());
             List<GameSessionEntity> sessions = gameSessionService.getSessionsByStudentId(student.getId());
             logger.info("Sessions Found {}", sessions.size());
+            Map<Long, SessionSummaryEntity> summaries = sessionSummaryService.getSummariesBySession(student.getId());
             List<GameSessionProgressDTO> result = sessions.stream()
                     .map(session -> {
                         GameSessionProgressDTO dto = new GameSessionProgressDTO();
@@ -49,6 +52,11 @@ public class ProgressTrackingController {
                         dto.setContentTitle(session.getContent() != null ?
                                 session.getContent().getTitle() : "No Title");
                         dto.setStartedAt(session.getStartedAt());
+                        SessionSummaryEntity summary = summaries.get(session.getId());
+                        if (summary != null) {
+                            dto.setFinalScore(summary.getFinalScore());
+                            dto.setProgress(toProgressDTO(summary));
+                        }
                         return dto;
                     })
                     .collect(Collectors.toList());
@@ -121,15 +129,13 @@ public class ProgressTrackingController {
 
             List<PlayerSessionEntity> players = session.getPlayers();
             List<StudentProgressSummaryDTO> result = new ArrayList<>();
+            Map<Long, SessionSummaryEntity> summaries = sessionSummaryService.getSummariesByStudent(sessionId);
 
             for (PlayerSessionEntity player : players) {
                 StudentProgressSummaryDTO summary = new StudentProgressSummaryDTO();
                 summary.setStudentId(player.getUser().getId());
                 summary.setStudentName(player.getUser().getFname() + " " + player.getUser().getLname());
 
-                StudentProgress progress = progressService.getStudentProgress(
-                        player.getUser().getId(), sessionId);
-
                 GameSessionProgressDTO sessionProgress = new GameSessionProgressDTO();
                 sessionProgress.setSessionId(session.getId());
                 sessionProgress.setSessionCode(session.getSessionCode());
@@ -137,14 +143,15 @@ public class ProgressTrackingController {
                         session.getContent().getTitle() : "No Title");
                 sessionProgress.setStartedAt(session.getStartedAt());
 
-                StudentProgressDTO progressDTO = new StudentProgressDTO();
-                progressDTO.setTurnCompletionRate(progress.getTurnCompletionRate());
-                progressDTO.setAvgResponseTime(progress.getAvgResponseTime());
-                progressDTO.setGrammarAccuracy(progress.getGrammarAccuracy());
-                progressDTO.setWordBombUsageRate(progress.getWordBombUsageRate());
-                progressDTO.setComprehensionScore(progress.getComprehensionScore());
-
-                sessionProgress.setProgress(progressDTO);
+                SessionSummaryEntity sessionSummary = summaries.get(player.getUser().getId());
+                if (sessionSummary != null) {
+                    sessionProgress.setFinalScore(sessionSummary.getFinalScore());
+                    sessionProgress.setProgress(toProgressDTO(sessionSummary));
+                } else {
+                    StudentProgress progress = progressService.getStudentProgress(
+                            player.getUser().getId(), sessionId);
+                    sessionProgress.setProgress(toProgressDTO(progress));
+                }
                 summary.setSessions(Collections.singletonList(sessionProgress));
 
                 result.add(summary);
@@ -175,12 +182,10 @@ public class ProgressTrackingController {
             StudentProgressSummaryDTO summary = new StudentProgressSummaryDTO();
             summary.setStudentId(student.getId());
             summary.setStudentName(student.getFname() + " " + student.getLname());
+            Map<Long, SessionSummaryEntity> summaries = sessionSummaryService.getSummariesBySession(studentId);
 
             List<GameSessionProgressDTO> sessionProgressList = sessions.stream()
                     .map(session -> {
-                        StudentProgress progress = progressService.getStudentProgress(
-                                student.getId(), session.getId());
-
                         GameSessionProgressDTO dto = new GameSessionProgressDTO();
                         dto.setSessionId(session.getId());
                         dto.setSessionCode(session.getSessionCode());
@@ -188,14 +193,15 @@ public class ProgressTrackingController {
                                 session.getContent().getTitle() : "No Title");
                         dto.setStartedAt(session.getStartedAt());
 
-                        StudentProgressDTO progressDTO = new StudentProgressDTO();
-                        progressDTO.setTurnCompletionRate(progress.getTurnCompletionRate());
-                        progressDTO.setAvgResponseTime(progress.getAvgResponseTime());
-                        progressDTO.setGrammarAccuracy(progress.getGrammarAccuracy());
-                        progressDTO.setWordBombUsageRate(progress.getWordBombUsageRate());
-                        progressDTO.setComprehensionScore(progress.getComprehensionScore());
-
-                        dto.setProgress(progressDTO);
+                        SessionSummaryEntity sessionSummary = summaries.get(session.getId());
+                        if (sessionSummary != null) {
+                            dto.setFinalScore(sessionSummary.getFinalScore());
+                            dto.setProgress(toProgressDTO(sessionSummary));
+                        } else {
+                            StudentProgress progress = progressService.getStudentProgress(
+                                    student.getId(), session.getId());
+                            dto.setProgress(toProgressDTO(progress));
+                        }
                         return dto;
                     })
                     .collect(Collectors.toList());
@@ -209,4 +215,30 @@ public class ProgressTrackingController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
\ No newline at end of file
+
+    private StudentProgressDTO toProgressDTO(StudentProgress progress) {
+        StudentProgressDTO progressDTO = new StudentProgressDTO();
+        progressDTO.setTurnCompletionRate(progress.getTurnCompletionRate());
+        progressDTO.setAvgResponseTime(progress.getAvgResponseTime());
+        progressDTO.setGrammarAccuracy(progress.getGrammarAccuracy());
+        progressDTO.setWordBombUsageRate(progress.getWordBombUsageRate());
+        progressDTO.setComprehensionScore(progress.getComprehensionScore());
+        return progressDTO;
+    }
+
+    // Finished sessions are served from the StudentProgress values the summary copied at game end
+    private StudentProgressDTO toProgressDTO(SessionSummaryEntity summary) {
+        if (summary.getProgressGrammarAccuracy() == null || summary.getProgressComprehensionScore() == null) {
+            // Written before the progress values were copied into summaries
+            return toProgressDTO(progressService.getStudentProgress(
+                    summary.getStudent().getId(), summary.getGameSession().getId()));
+        }
+        StudentProgressDTO progressDTO = new StudentProgressDTO();
+        progressDTO.setTurnCompletionRate(summary.getTurnCompletionRate());
+        progressDTO.setAvgResponseTime(summary.getAvgResponseTime());
+        progressDTO.setGrammarAccuracy(summary.getProgressGrammarAccuracy());
+        progressDTO.setWordBombUsageRate(summary.getWordBombUsageRate());
+        progressDTO.setComprehensionScore(summary.getProgressComprehensionScore());
+        return progressDTO;
+    }
+}
@@ -2,6 +2,7 @@ package cit.edu.wrdmstr.controller;
 
 import cit.edu.wrdmstr.dto.TeacherFeedbackDTO;
 import cit.edu.wrdmstr.entity.UserEntity;
+import cit.edu.wrdmstr.service.FeedbackJobService;
 import cit.edu.wrdmstr.service.TeacherFeedbackService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -22,6 +23,9 @@ public class TeacherFeedbackController {
     @Autowired
     private TeacherFeedbackService feedbackService;
 
+    @Autowired
+    private FeedbackJobService feedbackJobService;
+
     @Autowired
     private UserService userService;
 
@@ -67,6 +71,28 @@ public class TeacherFeedbackController {
         return ResponseEntity.ok(feedbackService.generateAISuggestedFeedback(sessionId, studentId));
     }
 
+    /**
+     * Start generating AI-suggested feedback drafts for every student in a session.
+     * Per-student progress is sent to the teacher on /user/queue/feedback-jobs.
+     */
+    @PostMapping("/generate/{sessionId}/class")
+    public ResponseEntity<Map<String, Object>> startClassFeedbackJob(
+            @PathVariable Long sessionId,
+            Authentication auth) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .body(feedbackJobService.startClassFeedback(sessionId, auth));
+    }
+
+    /**
+     * Get progress of a class feedback job
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getClassFeedbackJob(
+            @PathVariable String jobId,
+            Authentication auth) {
+        return ResponseEntity.ok(feedbackJobService.getJobStatus(jobId, auth));
+    }
+
     /**
      * Get performance summary for all students in a session
      */
@@ -7,6 +7,7 @@ import cit.edu.wrdmstr.entity.WordBankItem;
 import cit.edu.wrdmstr.repository.ContentRepository;
 import cit.edu.wrdmstr.repository.WordBankItemRepository;
 import cit.edu.wrdmstr.service.AIService;
+import cit.edu.wrdmstr.service.ContentCatalog;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -30,6 +31,9 @@ public class WordBankController {
     @Autowired
     private AIService aiService;
 
+    @Autowired
+    private ContentCatalog contentCatalog;
+
     @GetMapping("/content/{contentId}")
     public ResponseEntity<List<WordBankItemDTO>> getWordBankForContent(@PathVariable Long contentId) {
         List<WordBankItem> items = wordBankRepository.findByContentDataContentId(contentId);
@@ -57,13 +61,16 @@ public class WordBankController {
         wordBankItem.setContentData(contentData);
         
         WordBankItem savedItem = wordBankRepository.save(wordBankItem);
-        
+        contentCatalog.invalidate(contentId);
+
         return ResponseEntity.ok(new WordBankItemDTO(savedItem.getId(), savedItem.getWord()));
     }
     
     @DeleteMapping("/{wordId}")
     public ResponseEntity<Void> removeWordFromBank(@PathVariable Long wordId) {
         wordBankRepository.deleteById(wordId);
+        // The owning content isn't known here without loading the item
+        contentCatalog.invalidateAll();
         return ResponseEntity.ok().build();
     }
 
@@ -0,0 +1,90 @@
+package cit.edu.wrdmstr.controller.loadtest;
+
+import cit.edu.wrdmstr.service.TokenEstimator;
+import cit.edu.wrdmstr.service.loadtest.GeminiStandIn;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local stand-in for Gemini's generateContent endpoint, active only under the
+ * {@code loadtest} profile. Point {@code ai.api.url} here to run games without the real
+ * model. Replies are delayed without holding a request thread, so simulated AI latency
+ * does not eat into the server's own thread pool.
+ */
+@RestController
+@Profile("loadtest")
+@RequestMapping("/dev/gemini/v1beta/models")
+public class GeminiStandInController {
+
+    @Autowired
+    private GeminiStandIn standIn;
+
+    @PostMapping("/{model}:generateContent")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> generateContent(
+            @PathVariable String model,
+            @RequestBody Map<String, Object> request) {
+        String prompt = promptOf(request);
+        long delay = standIn.sampleLatencyMs();
+        GeminiStandIn.Outcome outcome = standIn.sampleOutcome();
+
+        return CompletableFuture.supplyAsync(() -> {
+            switch (outcome) {
+                case ERROR:
+                    return error(HttpStatus.INTERNAL_SERVER_ERROR, "INTERNAL", "An internal error has occurred.");
+                case THROTTLED:
+                    return error(HttpStatus.TOO_MANY_REQUESTS, "RESOURCE_EXHAUSTED", "Resource has been exhausted.");
+                default:
+                    return ResponseEntity.ok(reply(standIn.answer(prompt), prompt));
+            }
+        }, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String promptOf(Map<String, Object> request) {
+        Object contents = request.get("contents");
+        if (!(contents instanceof List<?> list) || list.isEmpty()) {
+            return "";
+        }
+        Object parts = ((Map<String, Object>) list.get(0)).get("parts");
+        if (!(parts instanceof List<?> partList) || partList.isEmpty()) {
+            return "";
+        }
+        Object text = ((Map<String, Object>) partList.get(0)).get("text");
+        return text == null ? "" : text.toString();
+    }
+
+    private static Map<String, Object> reply(String text, String prompt) {
+        Map<String, Object> content = new HashMap<>();
+        content.put("role", "model");
+        content.put("parts", List.of(Map.of("text", text)));
+
+        Map<String, Object> candidate = new HashMap<>();
+        candidate.put("content", content);
+        candidate.put("finishReason", "STOP");
+        candidate.put("index", 0);
+
+        Map<String, Object> usage = new HashMap<>();
+        usage.put("promptTokenCount", TokenEstimator.estimate(prompt));
+        usage.put("candidatesTokenCount", TokenEstimator.estimate(text));
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("candidates", List.of(candidate));
+        body.put("usageMetadata", usage);
+        return body;
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String code, String message) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("code", status.value());
+        error.put("message", message);
+        error.put("status", code);
+        return ResponseEntity.status(status).body(Map.of("error", error));
+    }
+}
@@ -0,0 +1,92 @@
+package cit.edu.wrdmstr.controller.loadtest;
+
+import cit.edu.wrdmstr.service.gameplay.SessionMailboxes;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
+import org.springframework.web.socket.messaging.StompSubProtocolHandler;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Server-side counters for the classroom load harness, active only under the
+ * {@code loadtest} profile. The harness reads them before and after a run and reports
+ * the difference. Query counts need {@code hibernate.generate_statistics=true}, which the
+ * loadtest profile turns on.
+ */
+@RestController
+@Profile("loadtest")
+@RequestMapping("/dev/loadtest")
+public class LoadTestStatsController {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private WebSocketMessageBrokerStats brokerStats;
+
+    @Autowired
+    private SessionMailboxes mailboxes;
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> db = new HashMap<>();
+        db.put("statements", statistics.getPrepareStatementCount());
+        db.put("queries", statistics.getQueryExecutionCount());
+        db.put("entityLoads", statistics.getEntityLoadCount());
+        db.put("entityInserts", statistics.getEntityInsertCount());
+        db.put("entityUpdates", statistics.getEntityUpdateCount());
+        db.put("transactions", statistics.getTransactionCount());
+
+        Map<String, Object> broker = new HashMap<>();
+        broker.put("sessions", sessionStats(brokerStats.getWebSocketSessionStats()));
+        broker.put("stomp", stompStats(brokerStats.getStompSubProtocolStats()));
+        broker.put("inbound", brokerStats.getClientInboundExecutorStatsInfo());
+        broker.put("outbound", brokerStats.getClientOutboundExecutorStatsInfo());
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("db", db);
+        body.put("broker", broker);
+        // Per-session command counts and run times; the metrics registry only has them per command
+        body.put("mailboxes", mailboxes.snapshot());
+        body.put("timestamp", System.currentTimeMillis());
+        return ResponseEntity.ok(body);
+    }
+
+    private Map<String, Object> sessionStats(SubProtocolWebSocketHandler.Stats stats) {
+        Map<String, Object> sessions = new HashMap<>();
+        if (stats == null) {
+            return sessions;
+        }
+        sessions.put("total", stats.getTotalSessions());
+        sessions.put("webSocket", stats.getWebSocketSessions());
+        sessions.put("httpStreaming", stats.getHttpStreamingSessions());
+        sessions.put("httpPolling", stats.getHttpPollingSessions());
+        sessions.put("limitExceeded", stats.getLimitExceededSessions());
+        sessions.put("noMessagesReceived", stats.getNoMessagesReceivedSessions());
+        sessions.put("transportErrors", stats.getTransportErrorSessions());
+        return sessions;
+    }
+
+    private Map<String, Object> stompStats(StompSubProtocolHandler.Stats stats) {
+        Map<String, Object> stomp = new HashMap<>();
+        if (stats == null) {
+            return stomp;
+        }
+        stomp.put("connect", stats.getTotalConnect());
+        stomp.put("connected", stats.getTotalConnected());
+        stomp.put("disconnect", stats.getTotalDisconnect());
+        return stomp;
+    }
+}
@@ -9,6 +9,7 @@ public class GameSessionProgressDTO {
     private String sessionCode;
     private String contentTitle;
     private Date startedAt;
+    private Integer finalScore;
     private StudentProgressDTO progress;
 
     // Getters and setters
@@ -45,6 +46,14 @@ public class GameSessionProgressDTO {
         this.startedAt = startedAt;
     }
 
+    public Integer getFinalScore() {
+        return finalScore;
+    }
+
+    public void setFinalScore(Integer finalScore) {
+        this.finalScore = finalScore;
+    }
+
     public StudentProgressDTO getProgress() {
         return progress;
     }
@@ -0,0 +1,39 @@
+package cit.edu.wrdmstr.dto;
+
+/**
+ * Incremental waiting-room change. Clients apply these to the list they fetched from
+ * {@code GET /api/waiting-room/content/{id}/students} instead of receiving the whole
+ * room (with every profile picture) on each join.
+ */
+public class WaitingRoomEventDTO {
+    private String type; // JOIN | LEAVE | CLEAR
+    private Long userId;
+    private UserDto student; // JOIN only
+
+    public WaitingRoomEventDTO() {}
+
+    public WaitingRoomEventDTO(String type, Long userId, UserDto student) {
+        this.type = type;
+        this.userId = userId;
+        this.student = student;
+    }
+
+    public static WaitingRoomEventDTO join(UserDto student) {
+        return new WaitingRoomEventDTO("JOIN", student.getId(), student);
+    }
+
+    public static WaitingRoomEventDTO leave(Long userId) {
+        return new WaitingRoomEventDTO("LEAVE", userId, null);
+    }
+
+    public static WaitingRoomEventDTO clear() {
+        return new WaitingRoomEventDTO("CLEAR", null, null);
+    }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public UserDto getStudent() { return student; }
+    public void setStudent(UserDto student) { this.student = student; }
+}
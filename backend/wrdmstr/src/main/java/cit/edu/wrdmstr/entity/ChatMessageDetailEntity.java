@@ -0,0 +1,67 @@
+package cit.edu.wrdmstr.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+
+/**
+ * The long feedback texts of a chat message, kept out of chat_messages so that scans over
+ * the game and analytics columns stay narrow. Loaded on first access through
+ * {@link ChatMessageEntity}'s getters; a page of messages loads its details in batches.
+ *
+ * Ids come from the chat_messages sequence, so rows migrated from chat_messages keep their
+ * message's id without clashing with new ones.
+ */
+@Entity
+@Table(name = "chat_message_details")
+@BatchSize(size = 50)
+public class ChatMessageDetailEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "chat_message_details_id")
+    @TableGenerator(name = "chat_message_details_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "chat_messages", allocationSize = 50)
+    private Long id;
+
+    @Lob
+    @Column(name = "grammar_feedback", columnDefinition = "TEXT")
+    private String grammarFeedback;
+
+    @Lob
+    @Column(name = "word_variations", columnDefinition = "TEXT")
+    private String wordVariations;
+
+    @Lob
+    @Column(name = "vocabulary_feedback", columnDefinition = "TEXT")
+    private String vocabularyFeedback;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getGrammarFeedback() {
+        return grammarFeedback;
+    }
+
+    public void setGrammarFeedback(String grammarFeedback) {
+        this.grammarFeedback = grammarFeedback;
+    }
+
+    public String getWordVariations() {
+        return wordVariations;
+    }
+
+    public void setWordVariations(String wordVariations) {
+        this.wordVariations = wordVariations;
+    }
+
+    public String getVocabularyFeedback() {
+        return vocabularyFeedback;
+    }
+
+    public void setVocabularyFeedback(String vocabularyFeedback) {
+        this.vocabularyFeedback = vocabularyFeedback;
+    }
+}
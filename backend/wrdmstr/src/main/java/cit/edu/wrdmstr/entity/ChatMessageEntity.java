@@ -6,11 +6,22 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+/**
+ * One chat message. The row holds only what gameplay and analytics filter and count on;
+ * the feedback texts live in {@link ChatMessageDetailEntity} and are loaded when one of
+ * their getters is first called.
+ */
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages", indexes = {
+        @Index(name = "idx_chat_session_time", columnList = "session_id, timestamp"),
+        @Index(name = "idx_chat_session_sender_time", columnList = "session_id, user_id, timestamp"),
+        @Index(name = "idx_chat_session_status", columnList = "session_id, grammar_status")
+})
 public class ChatMessageEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "chat_messages_id")
+    @TableGenerator(name = "chat_messages_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "chat_messages", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -25,12 +36,9 @@ public class ChatMessageEntity {
     private String content;
 
     @Enumerated(EnumType.STRING)
+    @Column(name = "grammar_status")
     private MessageStatus grammarStatus;
 
-    @Lob
-    @Column(name = "grammar_feedback", columnDefinition = "TEXT")
-    private String grammarFeedback;
-
     @Column(name = "contains_word_bomb")
     private boolean containsWordBomb = false;
 
@@ -42,10 +50,6 @@ public class ChatMessageEntity {
     @Column(name = "word_used", columnDefinition = "TEXT")
     private String wordUsed;
 
-    @Lob
-    @Column(name = "word_variations", columnDefinition = "TEXT")
-    private String wordVariations; // Actual text variations found (e.g., "saw, ate, photos")
-
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "player_session_id")
     private PlayerSessionEntity playerSession;  // Additional connection to player sessio
@@ -56,9 +60,10 @@ public class ChatMessageEntity {
     @Column(name = "vocabulary_score")
     private Integer vocabularyScore;
 
-    @Lob
-    @Column(name = "vocabulary_feedback", columnDefinition = "TEXT")
-    private String vocabularyFeedback;
+    // No FK constraint, so bulk deletes can remove details before or after their messages
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "detail_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private ChatMessageDetailEntity detail;
 
     // Getters and setters
 
@@ -114,11 +119,13 @@ public class ChatMessageEntity {
     }
 
     public String getGrammarFeedback() {
-        return grammarFeedback;
+        return detail != null ? detail.getGrammarFeedback() : null;
     }
 
     public void setGrammarFeedback(String grammarFeedback) {
-        this.grammarFeedback = grammarFeedback;
+        if (grammarFeedback != null || detail != null) {
+            detail().setGrammarFeedback(grammarFeedback);
+        }
     }
 
     public boolean isContainsWordBomb() {
@@ -165,12 +172,15 @@ public class ChatMessageEntity {
         this.wordUsed = wordUsed;
     }
 
+    // Actual text variations found (e.g., "saw, ate, photos")
     public String getWordVariations() {
-        return wordVariations;
+        return detail != null ? detail.getWordVariations() : null;
     }
 
     public void setWordVariations(String wordVariations) {
-        this.wordVariations = wordVariations;
+        if (wordVariations != null || detail != null) {
+            detail().setWordVariations(wordVariations);
+        }
     }
 
     public Integer getVocabularyScore() {
@@ -182,10 +192,19 @@ public class ChatMessageEntity {
     }
 
     public String getVocabularyFeedback() {
-        return vocabularyFeedback;
+        return detail != null ? detail.getVocabularyFeedback() : null;
     }
 
     public void setVocabularyFeedback(String vocabularyFeedback) {
-        this.vocabularyFeedback = vocabularyFeedback;
+        if (vocabularyFeedback != null || detail != null) {
+            detail().setVocabularyFeedback(vocabularyFeedback);
+        }
+    }
+
+    private ChatMessageDetailEntity detail() {
+        if (detail == null) {
+            detail = new ChatMessageDetailEntity();
+        }
+        return detail;
     }
 }
\ No newline at end of file
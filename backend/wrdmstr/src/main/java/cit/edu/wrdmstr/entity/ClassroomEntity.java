@@ -7,6 +7,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Digits;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -21,6 +22,12 @@ public class ClassroomEntity {
     private String description;
     private String enrollmentCode;
 
+    // Set when the classroom is deleted; PurgeService reclaims its rows afterwards
+    @JsonIgnore
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "deleted_at")
+    private Date deletedAt;
+
     @JsonBackReference("user-classrooms")
     @ManyToOne
     @JoinColumn(name = "teacher_id")
@@ -145,4 +152,12 @@ public class ClassroomEntity {
     public void setStudents(Set<UserEntity> students) {
         this.students = students;
     }
+
+    public Date getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Date deletedAt) {
+        this.deletedAt = deletedAt;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package cit.edu.wrdmstr.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -58,6 +59,12 @@ public class ContentEntity {
     @Column(name = "updated_at")
     private Date updatedAt;
 
+    // Set when the content is deleted; PurgeService reclaims its rows afterwards
+    @JsonIgnore
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "deleted_at")
+    private Date deletedAt;
+
 
     @PrePersist
     protected void onCreate() {
@@ -166,4 +173,12 @@ public class ContentEntity {
     public void setUpdatedAt(Date updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Date getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Date deletedAt) {
+        this.deletedAt = deletedAt;
+    }
 }
@@ -0,0 +1,82 @@
+package cit.edu.wrdmstr.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Append-only journal entry for a live game. Replayed on top of the session's latest
+ * snapshot ({@link GameStateCheckpointEntity}) to rebuild its in-memory state after
+ * a restart; entries covered by a snapshot are compacted away.
+ */
+@Entity
+@Table(name = "game_session_events",
+       indexes = @Index(name = "idx_game_event_session_seq", columnList = "session_id, seq"))
+public class GameSessionEventEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Column(name = "seq", nullable = false)
+    private long seq;
+
+    @Column(name = "event_type", nullable = false, length = 32)
+    private String eventType;
+
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+
+    // Epoch millis; also tells recovery when the session was last seen alive
+    @Column(name = "created_at", nullable = false)
+    private long createdAt;
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(Long sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,201 @@
+package cit.edu.wrdmstr.entity;
+
+import jakarta.persistence.*;
+
+import java.util.Date;
+
+/**
+ * Compact snapshot of a live game's in-memory state, taken every few journal events.
+ * Recovery loads it and replays the {@link GameSessionEventEntity} rows after
+ * {@code lastEventSeq}. Players, content info and the background image are not
+ * stored here; they are reloaded from their own tables.
+ */
+@Entity
+@Table(name = "game_state_checkpoints")
+public class GameStateCheckpointEntity {
+    @Id
+    @Column(name = "session_id")
+    private Long sessionId;
+
+    @Column(name = "status", nullable = false)
+    private String status;
+
+    @Column(name = "current_player_id")
+    private Long currentPlayerId;
+
+    @Column(name = "current_turn")
+    private int currentTurn;
+
+    @Column(name = "total_turns")
+    private int totalTurns;
+
+    @Column(name = "time_per_turn")
+    private int timePerTurn;
+
+    @Column(name = "current_cycle")
+    private int currentCycle;
+
+    @Column(name = "configured_turn_cycles")
+    private int configuredTurnCycles;
+
+    @Column(name = "story_prompt", columnDefinition = "TEXT")
+    private String storyPrompt;
+
+    @Column(name = "used_words", columnDefinition = "TEXT")
+    private String usedWords;
+
+    // Wall-clock start of the current turn, so a new owner resumes the countdown
+    @Column(name = "last_turn_time")
+    private long lastTurnTime;
+
+    @Column(name = "paused")
+    private boolean paused;
+
+    @Column(name = "paused_remaining_time")
+    private int pausedRemainingTime;
+
+    @Column(name = "owner_node")
+    private String ownerNode;
+
+    @Column(name = "last_event_seq")
+    private long lastEventSeq;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "updated_at")
+    private Date updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        this.updatedAt = new Date();
+    }
+
+    // Getters and setters
+    public Long getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(Long sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getCurrentPlayerId() {
+        return currentPlayerId;
+    }
+
+    public void setCurrentPlayerId(Long currentPlayerId) {
+        this.currentPlayerId = currentPlayerId;
+    }
+
+    public int getCurrentTurn() {
+        return currentTurn;
+    }
+
+    public void setCurrentTurn(int currentTurn) {
+        this.currentTurn = currentTurn;
+    }
+
+    public int getTotalTurns() {
+        return totalTurns;
+    }
+
+    public void setTotalTurns(int totalTurns) {
+        this.totalTurns = totalTurns;
+    }
+
+    public int getTimePerTurn() {
+        return timePerTurn;
+    }
+
+    public void setTimePerTurn(int timePerTurn) {
+        this.timePerTurn = timePerTurn;
+    }
+
+    public int getCurrentCycle() {
+        return currentCycle;
+    }
+
+    public void setCurrentCycle(int currentCycle) {
+        this.currentCycle = currentCycle;
+    }
+
+    public int getConfiguredTurnCycles() {
+        return configuredTurnCycles;
+    }
+
+    public void setConfiguredTurnCycles(int configuredTurnCycles) {
+        this.configuredTurnCycles = configuredTurnCycles;
+    }
+
+    public String getStoryPrompt() {
+        return storyPrompt;
+    }
+
+    public void setStoryPrompt(String storyPrompt) {
+        this.storyPrompt = storyPrompt;
+    }
+
+    public String getUsedWords() {
+        return usedWords;
+    }
+
+    public void setUsedWords(String usedWords) {
+        this.usedWords = usedWords;
+    }
+
+    public long getLastTurnTime() {
+        return lastTurnTime;
+    }
+
+    public void setLastTurnTime(long lastTurnTime) {
+        this.lastTurnTime = lastTurnTime;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    public int getPausedRemainingTime() {
+        return pausedRemainingTime;
+    }
+
+    public void setPausedRemainingTime(int pausedRemainingTime) {
+        this.pausedRemainingTime = pausedRemainingTime;
+    }
+
+    public String getOwnerNode() {
+        return ownerNode;
+    }
+
+    public void setOwnerNode(String ownerNode) {
+        this.ownerNode = ownerNode;
+    }
+
+    public long getLastEventSeq() {
+        return lastEventSeq;
+    }
+
+    public void setLastEventSeq(long lastEventSeq) {
+        this.lastEventSeq = lastEventSeq;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
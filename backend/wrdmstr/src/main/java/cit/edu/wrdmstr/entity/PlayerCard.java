@@ -6,7 +6,9 @@ import jakarta.persistence.*;
 @Table(name = "player_cards")
 public class PlayerCard {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "player_cards_id")
+    @TableGenerator(name = "player_cards_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "player_cards", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
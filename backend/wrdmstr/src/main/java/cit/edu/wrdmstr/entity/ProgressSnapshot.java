@@ -8,7 +8,9 @@ import java.util.Date;
 @Table(name = "progress_snapshots")
 public class ProgressSnapshot {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "progress_snapshots_id")
+    @TableGenerator(name = "progress_snapshots_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "progress_snapshots", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -8,7 +8,9 @@ import java.util.Date;
 @Table(name = "score_records")
 public class ScoreRecordEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "score_records_id")
+    @TableGenerator(name = "score_records_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "score_records", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,84 @@
+package cit.edu.wrdmstr.entity;
+
+import jakarta.persistence.*;
+
+import java.util.Date;
+
+/**
+ * Chat and score history of a finished session, moved out of chat_messages and
+ * score_records by SessionHistoryService. Each column holds gzip-compressed JSON lines,
+ * one record per line. The session's summary rows stay where they are.
+ */
+@Entity
+@Table(name = "session_archives")
+public class SessionArchiveEntity {
+    @Id
+    @Column(name = "session_id")
+    private Long sessionId;
+
+    @Column(name = "message_count", nullable = false)
+    private int messageCount;
+
+    @Column(name = "score_count", nullable = false)
+    private int scoreCount;
+
+    @Lob
+    @Column(name = "messages", columnDefinition = "LONGBLOB")
+    private byte[] messages;
+
+    @Lob
+    @Column(name = "scores", columnDefinition = "LONGBLOB")
+    private byte[] scores;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "archived_at", nullable = false)
+    private Date archivedAt;
+
+    public Long getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(Long sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    public void setMessageCount(int messageCount) {
+        this.messageCount = messageCount;
+    }
+
+    public int getScoreCount() {
+        return scoreCount;
+    }
+
+    public void setScoreCount(int scoreCount) {
+        this.scoreCount = scoreCount;
+    }
+
+    public byte[] getMessages() {
+        return messages;
+    }
+
+    public void setMessages(byte[] messages) {
+        this.messages = messages;
+    }
+
+    public byte[] getScores() {
+        return scores;
+    }
+
+    public void setScores(byte[] scores) {
+        this.scores = scores;
+    }
+
+    public Date getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(Date archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
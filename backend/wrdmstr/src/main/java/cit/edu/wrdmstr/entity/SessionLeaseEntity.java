@@ -0,0 +1,61 @@
+package cit.edu.wrdmstr.entity;
+
+import jakarta.persistence.*;
+
+import java.util.Date;
+
+/**
+ * Which backend node currently runs a live session's timer. Rows are claimed and
+ * renewed with conditional updates, so an expired lease can be taken over by any node.
+ */
+@Entity
+@Table(name = "session_leases")
+public class SessionLeaseEntity {
+    @Id
+    @Column(name = "session_id")
+    private Long sessionId;
+
+    @Column(name = "owner_node", nullable = false)
+    private String ownerNode;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "expires_at", nullable = false)
+    private Date expiresAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "acquired_at")
+    private Date acquiredAt;
+
+    // Getters and setters
+    public Long getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(Long sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public String getOwnerNode() {
+        return ownerNode;
+    }
+
+    public void setOwnerNode(String ownerNode) {
+        this.ownerNode = ownerNode;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Date expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Date getAcquiredAt() {
+        return acquiredAt;
+    }
+
+    public void setAcquiredAt(Date acquiredAt) {
+        this.acquiredAt = acquiredAt;
+    }
+}
@@ -0,0 +1,324 @@
+package cit.edu.wrdmstr.entity;
+
+import jakarta.persistence.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Per-student results for a finished game session. Written once when the game ends
+ * so that history, feedback and export views read a single row instead of
+ * re-aggregating chat messages and score records. Everything except the
+ * comprehension score (submitted after the game) is frozen at insert time. Rows written
+ * while messages were still waiting on grammar analysis are marked partial and replaced
+ * once that analysis lands.
+ */
+@Entity
+@Table(name = "session_summaries",
+       uniqueConstraints = @UniqueConstraint(name = "uk_session_summary_student",
+                                             columnNames = {"session_id", "student_id"}),
+       indexes = @Index(name = "idx_session_summary_partial", columnList = "partial_results"))
+public class SessionSummaryEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "session_id", nullable = false, updatable = false)
+    private GameSessionEntity gameSession;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false, updatable = false)
+    private UserEntity student;
+
+    @Column(name = "role_name", updatable = false)
+    private String roleName;
+
+    @Column(name = "final_score", updatable = false)
+    private int finalScore;
+
+    @Column(name = "message_count", updatable = false)
+    private int messageCount;
+
+    @Column(name = "perfect_count", updatable = false)
+    private int perfectCount;
+
+    @Column(name = "minor_errors_count", updatable = false)
+    private int minorErrorsCount;
+
+    @Column(name = "major_errors_count", updatable = false)
+    private int majorErrorsCount;
+
+    @Column(name = "pending_count", updatable = false)
+    private int pendingCount;
+
+    @Column(name = "partial_results", nullable = false, updatable = false)
+    private boolean partial;
+
+    @Column(name = "grammar_streak", updatable = false)
+    private int grammarStreak;
+
+    @Column(name = "word_bank_usage_count", updatable = false)
+    private int wordBankUsageCount;
+
+    @Lob
+    @Column(name = "used_words", columnDefinition = "TEXT", updatable = false)
+    private String usedWords;
+
+    @Column(name = "role_appropriate_count", updatable = false)
+    private int roleAppropriateCount;
+
+    @Column(name = "vocabulary_score", updatable = false)
+    private int vocabularyScore;
+
+    @Column(name = "vocabulary_level", updatable = false)
+    private String vocabularyLevel;
+
+    @Column(name = "turn_completion_rate", updatable = false)
+    private double turnCompletionRate;
+
+    @Column(name = "avg_response_time", updatable = false)
+    private double avgResponseTime;
+
+    @Column(name = "word_bomb_usage_rate", updatable = false)
+    private double wordBombUsageRate;
+
+    // StudentProgress.grammarAccuracy at game end: partial credit for minor and major errors.
+    // Null on rows written before it was stored.
+    @Column(name = "progress_grammar_accuracy", updatable = false)
+    private Double progressGrammarAccuracy;
+
+    // StudentProgress.comprehensionScore at game end (role-appropriate share), not the quiz score
+    @Column(name = "progress_comprehension_score", updatable = false)
+    private Double progressComprehensionScore;
+
+    @Column(name = "comprehension_score")
+    private Double comprehensionScore;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Date createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = new Date();
+    }
+
+    /**
+     * Accuracy over assessed messages only; PENDING messages are excluded the same
+     * way {@code GrammarResultEntity} does it.
+     */
+    public double getGrammarAccuracy() {
+        int assessed = perfectCount + minorErrorsCount + majorErrorsCount;
+        return assessed > 0 ? (double) perfectCount / assessed * 100.0 : 0.0;
+    }
+
+    public double getRoleAppropriateRate() {
+        return messageCount > 0 ? (double) roleAppropriateCount / messageCount * 100.0 : 0.0;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public GameSessionEntity getGameSession() {
+        return gameSession;
+    }
+
+    public void setGameSession(GameSessionEntity gameSession) {
+        this.gameSession = gameSession;
+    }
+
+    public UserEntity getStudent() {
+        return student;
+    }
+
+    public void setStudent(UserEntity student) {
+        this.student = student;
+    }
+
+    public String getRoleName() {
+        return roleName;
+    }
+
+    public void setRoleName(String roleName) {
+        this.roleName = roleName;
+    }
+
+    public int getFinalScore() {
+        return finalScore;
+    }
+
+    public void setFinalScore(int finalScore) {
+        this.finalScore = finalScore;
+    }
+
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    public void setMessageCount(int messageCount) {
+        this.messageCount = messageCount;
+    }
+
+    public int getPerfectCount() {
+        return perfectCount;
+    }
+
+    public void setPerfectCount(int perfectCount) {
+        this.perfectCount = perfectCount;
+    }
+
+    public int getMinorErrorsCount() {
+        return minorErrorsCount;
+    }
+
+    public void setMinorErrorsCount(int minorErrorsCount) {
+        this.minorErrorsCount = minorErrorsCount;
+    }
+
+    public int getMajorErrorsCount() {
+        return majorErrorsCount;
+    }
+
+    public void setMajorErrorsCount(int majorErrorsCount) {
+        this.majorErrorsCount = majorErrorsCount;
+    }
+
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    public void setPendingCount(int pendingCount) {
+        this.pendingCount = pendingCount;
+    }
+
+    public boolean isPartial() {
+        return partial;
+    }
+
+    public void setPartial(boolean partial) {
+        this.partial = partial;
+    }
+
+    public int getGrammarStreak() {
+        return grammarStreak;
+    }
+
+    public void setGrammarStreak(int grammarStreak) {
+        this.grammarStreak = grammarStreak;
+    }
+
+    public int getWordBankUsageCount() {
+        return wordBankUsageCount;
+    }
+
+    public void setWordBankUsageCount(int wordBankUsageCount) {
+        this.wordBankUsageCount = wordBankUsageCount;
+    }
+
+    public String getUsedWords() {
+        return usedWords;
+    }
+
+    public void setUsedWords(String usedWords) {
+        this.usedWords = usedWords;
+    }
+
+    public List<String> getUsedWordsList() {
+        if (usedWords == null || usedWords.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return List.of(usedWords.split(","));
+    }
+
+    public void setUsedWordsList(List<String> words) {
+        this.usedWords = words == null || words.isEmpty() ? "" : String.join(",", words);
+    }
+
+    public int getRoleAppropriateCount() {
+        return roleAppropriateCount;
+    }
+
+    public void setRoleAppropriateCount(int roleAppropriateCount) {
+        this.roleAppropriateCount = roleAppropriateCount;
+    }
+
+    public int getVocabularyScore() {
+        return vocabularyScore;
+    }
+
+    public void setVocabularyScore(int vocabularyScore) {
+        this.vocabularyScore = vocabularyScore;
+    }
+
+    public String getVocabularyLevel() {
+        return vocabularyLevel;
+    }
+
+    public void setVocabularyLevel(String vocabularyLevel) {
+        this.vocabularyLevel = vocabularyLevel;
+    }
+
+    public double getTurnCompletionRate() {
+        return turnCompletionRate;
+    }
+
+    public void setTurnCompletionRate(double turnCompletionRate) {
+        this.turnCompletionRate = turnCompletionRate;
+    }
+
+    public double getAvgResponseTime() {
+        return avgResponseTime;
+    }
+
+    public void setAvgResponseTime(double avgResponseTime) {
+        this.avgResponseTime = avgResponseTime;
+    }
+
+    public double getWordBombUsageRate() {
+        return wordBombUsageRate;
+    }
+
+    public void setWordBombUsageRate(double wordBombUsageRate) {
+        this.wordBombUsageRate = wordBombUsageRate;
+    }
+
+    public Double getProgressGrammarAccuracy() {
+        return progressGrammarAccuracy;
+    }
+
+    public void setProgressGrammarAccuracy(Double progressGrammarAccuracy) {
+        this.progressGrammarAccuracy = progressGrammarAccuracy;
+    }
+
+    public Double getProgressComprehensionScore() {
+        return progressComprehensionScore;
+    }
+
+    public void setProgressComprehensionScore(Double progressComprehensionScore) {
+        this.progressComprehensionScore = progressComprehensionScore;
+    }
+
+    public Double getComprehensionScore() {
+        return comprehensionScore;
+    }
+
+    public void setComprehensionScore(Double comprehensionScore) {
+        this.comprehensionScore = comprehensionScore;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -119,6 +119,11 @@ public class UserEntity {
     @Column(nullable = false, columnDefinition = "BOOLEAN DEFAULT TRUE")
     private boolean active = true;
 
+    // Signed into every JWT; raising it revokes the user's outstanding tokens
+    @JsonIgnore
+    @Column(name = "token_version", nullable = false, columnDefinition = "INT DEFAULT 0")
+    private int tokenVersion = 0;
+
    // @JsonManagedReference("user-classrooms")
     @OneToMany(mappedBy = "teacher", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ClassroomEntity> taughtClassrooms = new ArrayList<>();
@@ -218,6 +223,14 @@ public class UserEntity {
         this.role = role;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
 
 
 }
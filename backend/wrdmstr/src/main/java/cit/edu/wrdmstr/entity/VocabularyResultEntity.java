@@ -9,7 +9,9 @@ import java.util.List;
 @Table(name = "vocabulary_results")
 public class VocabularyResultEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "vocabulary_results_id")
+    @TableGenerator(name = "vocabulary_results_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "vocabulary_results", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
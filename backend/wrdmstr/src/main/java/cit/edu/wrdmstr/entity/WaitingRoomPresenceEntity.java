@@ -0,0 +1,92 @@
+package cit.edu.wrdmstr.entity;
+
+import jakarta.persistence.*;
+
+import java.util.Date;
+
+/**
+ * One student waiting for a content's game to start. Shared by all backend nodes
+ * when {@code wordmaster.cluster.store=database}.
+ */
+@Entity
+@Table(name = "waiting_room_presence",
+       uniqueConstraints = @UniqueConstraint(name = "uk_waiting_room_user",
+                                             columnNames = {"content_id", "user_id"}))
+public class WaitingRoomPresenceEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "content_id", nullable = false)
+    private Long contentId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private UserEntity user;
+
+    @Column(name = "display_name")
+    private String displayName;
+
+    @Column(name = "node_id")
+    private String nodeId;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "joined_at", nullable = false)
+    private Date joinedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (joinedAt == null) {
+            joinedAt = new Date();
+        }
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getContentId() {
+        return contentId;
+    }
+
+    public void setContentId(Long contentId) {
+        this.contentId = contentId;
+    }
+
+    public UserEntity getUser() {
+        return user;
+    }
+
+    public void setUser(UserEntity user) {
+        this.user = user;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public void setDisplayName(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public Date getJoinedAt() {
+        return joinedAt;
+    }
+
+    public void setJoinedAt(Date joinedAt) {
+        this.joinedAt = joinedAt;
+    }
+}
@@ -12,6 +12,8 @@ public interface ChatMessageEntityRepository extends JpaRepository<ChatMessageEn
     List<ChatMessageEntity> findBySessionIdOrderByTimestampAsc(Long sessionId);
 
     List<ChatMessageEntity> findBySessionIdAndSenderIdOrderByTimestampAsc(Long sessionId, Long senderId);
+
+    List<ChatMessageEntity> findTop5BySessionIdAndSenderIdOrderByTimestampAsc(Long sessionId, Long senderId);
     
     // Add a method to find by session and sender without ordering
     List<ChatMessageEntity> findBySessionIdAndSenderId(Long sessionId, Long senderId);
@@ -23,6 +25,8 @@ public interface ChatMessageEntityRepository extends JpaRepository<ChatMessageEn
     List<ChatMessageEntity> findByGrammarStatus(@Param("sessionId") Long sessionId,
                                           @Param("status") ChatMessageEntity.MessageStatus status);
 
+    long countBySessionIdAndGrammarStatus(Long sessionId, ChatMessageEntity.MessageStatus grammarStatus);
+
     @Query("SELECT cm FROM ChatMessageEntity cm WHERE cm.session.id = :sessionId AND cm.playerSession.role.id = :roleId")
     List<ChatMessageEntity> findByRoleId(@Param("sessionId") Long sessionId,
                                    @Param("roleId") Long roleId);
@@ -5,15 +5,30 @@ import cit.edu.wrdmstr.entity.ClassroomEntity;
 import cit.edu.wrdmstr.entity.StudentEnrollmentEntity;
 import cit.edu.wrdmstr.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ClassroomRepository extends JpaRepository<ClassroomEntity, Long> {
-    Optional<ClassroomEntity> findByEnrollmentCode(String enrollmentCode);
-    List<ClassroomEntity> findByTeacher(UserEntity teacher);
+    // Lookups leave out classrooms that are deleted but not yet purged
+    @Query("SELECT c FROM ClassroomEntity c WHERE c.enrollmentCode = :enrollmentCode AND c.deletedAt IS NULL")
+    Optional<ClassroomEntity> findByEnrollmentCode(@Param("enrollmentCode") String enrollmentCode);
+
+    @Query("SELECT c FROM ClassroomEntity c WHERE c.teacher = :teacher AND c.deletedAt IS NULL")
+    List<ClassroomEntity> findByTeacher(@Param("teacher") UserEntity teacher);
+
     boolean existsByEnrollmentCode(String enrollmentCode);
 
-}
\ No newline at end of file
+    @Modifying
+    @Query("UPDATE ClassroomEntity c SET c.deletedAt = :now WHERE c.id = :id AND c.deletedAt IS NULL")
+    int markDeleted(@Param("id") Long id, @Param("now") Date now);
+
+    @Query("SELECT c.id FROM ClassroomEntity c WHERE c.deletedAt IS NOT NULL")
+    List<Long> findDeletedIds();
+}
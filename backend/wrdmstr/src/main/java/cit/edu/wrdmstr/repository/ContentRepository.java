@@ -4,19 +4,42 @@ import cit.edu.wrdmstr.entity.ClassroomEntity;
 import cit.edu.wrdmstr.entity.ContentEntity;
 import cit.edu.wrdmstr.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
 import java.util.List;
 
 @Repository
 public interface ContentRepository extends JpaRepository<ContentEntity, Long> {
-    List<ContentEntity> findByCreator(UserEntity creator);
-    List<ContentEntity> findByCreatorAndPublished(UserEntity creator, boolean published);
-    List<ContentEntity> findByPublished(boolean published);
+    // Listings leave out content that is deleted but not yet purged
+    @Query("SELECT c FROM ContentEntity c WHERE c.creator = :creator AND c.deletedAt IS NULL")
+    List<ContentEntity> findByCreator(@Param("creator") UserEntity creator);
+
+    @Query("SELECT c FROM ContentEntity c WHERE c.creator = :creator AND c.published = :published AND c.deletedAt IS NULL")
+    List<ContentEntity> findByCreatorAndPublished(@Param("creator") UserEntity creator, @Param("published") boolean published);
+
+    @Query("SELECT c FROM ContentEntity c WHERE c.published = :published AND c.deletedAt IS NULL")
+    List<ContentEntity> findByPublished(@Param("published") boolean published);
     
     // Add new methods for classroom content
-    List<ContentEntity> findByClassroom(ClassroomEntity classroom);
-    List<ContentEntity> findByClassroomAndPublished(ClassroomEntity classroom, boolean published);
+    @Query("SELECT c FROM ContentEntity c WHERE c.classroom = :classroom AND c.deletedAt IS NULL")
+    List<ContentEntity> findByClassroom(@Param("classroom") ClassroomEntity classroom);
+
+    @Query("SELECT c FROM ContentEntity c WHERE c.classroom = :classroom AND c.published = :published AND c.deletedAt IS NULL")
+    List<ContentEntity> findByClassroomAndPublished(@Param("classroom") ClassroomEntity classroom, @Param("published") boolean published);
+
+    @Modifying
+    @Query("UPDATE ContentEntity c SET c.deletedAt = :now, c.published = false WHERE c.id = :id AND c.deletedAt IS NULL")
+    int markDeleted(@Param("id") Long id, @Param("now") Date now);
 
+    @Modifying
+    @Query("UPDATE ContentEntity c SET c.deletedAt = :now, c.published = false " +
+           "WHERE c.classroom.id = :classroomId AND c.deletedAt IS NULL")
+    int markDeletedByClassroom(@Param("classroomId") Long classroomId, @Param("now") Date now);
 
+    @Query("SELECT c.id FROM ContentEntity c WHERE c.deletedAt IS NOT NULL")
+    List<Long> findDeletedIds();
 }
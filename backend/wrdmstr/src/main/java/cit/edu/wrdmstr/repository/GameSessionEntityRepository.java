@@ -1,10 +1,12 @@
 package cit.edu.wrdmstr.repository;
 
 import cit.edu.wrdmstr.entity.GameSessionEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +24,10 @@ public interface GameSessionEntityRepository extends JpaRepository<GameSessionEn
     List<GameSessionEntity> findActiveSessionsByContent(@Param("contentId") Long contentId);
 
     List<GameSessionEntity> findByContentIdAndStatus(Long contentId, GameSessionEntity.SessionStatus status);
+
+    // Sessions that ended before the cutoff and still have their history in the hot tables, oldest first
+    @Query("SELECT g.id FROM GameSessionEntity g WHERE g.status = 'COMPLETED' AND g.endedAt < :cutoff " +
+           "AND NOT EXISTS (SELECT a.sessionId FROM SessionArchiveEntity a WHERE a.sessionId = g.id) " +
+           "ORDER BY g.endedAt")
+    List<Long> findArchivableSessionIds(@Param("cutoff") Date cutoff, Pageable page);
 }
@@ -0,0 +1,23 @@
+package cit.edu.wrdmstr.repository;
+
+import cit.edu.wrdmstr.entity.GameSessionEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GameSessionEventRepository extends JpaRepository<GameSessionEventEntity, Long> {
+    List<GameSessionEventEntity> findBySessionIdAndSeqGreaterThanOrderBySeqAsc(Long sessionId, long seq);
+
+    @Modifying
+    @Query("DELETE FROM GameSessionEventEntity e WHERE e.sessionId = :sessionId AND e.seq <= :seq")
+    int deleteUpTo(@Param("sessionId") Long sessionId, @Param("seq") long seq);
+
+    @Modifying
+    @Query("DELETE FROM GameSessionEventEntity e WHERE e.sessionId = :sessionId")
+    int deleteBySessionId(@Param("sessionId") Long sessionId);
+}
@@ -0,0 +1,9 @@
+package cit.edu.wrdmstr.repository;
+
+import cit.edu.wrdmstr.entity.GameStateCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GameStateCheckpointRepository extends JpaRepository<GameStateCheckpointEntity, Long> {
+}
@@ -7,4 +7,5 @@ import java.util.Optional;
 public interface OtpVerificationRepository extends JpaRepository<OtpVerification, Long> {
     Optional<OtpVerification> findByEmailAndOtpAndVerifiedFalse(String email, String otp);
     Optional<OtpVerification> findByEmailAndVerifiedFalse(String email);
+    Optional<OtpVerification> findTopByEmailOrderByIdDesc(String email);
 }
\ No newline at end of file
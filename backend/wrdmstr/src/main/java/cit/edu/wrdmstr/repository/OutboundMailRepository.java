@@ -0,0 +1,59 @@
+package cit.edu.wrdmstr.repository;
+
+import cit.edu.wrdmstr.entity.OutboundMailEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboundMailRepository extends JpaRepository<OutboundMailEntity, Long> {
+
+    @Query("SELECT m.id FROM OutboundMailEntity m " +
+           "WHERE m.status = cit.edu.wrdmstr.entity.OutboundMailEntity.Status.PENDING " +
+           "AND m.nextAttemptAt <= :now ORDER BY m.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Move a due row to SENDING. Returns 0 when another worker or node got there first.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE OutboundMailEntity m " +
+           "SET m.status = cit.edu.wrdmstr.entity.OutboundMailEntity.Status.SENDING, m.claimedAt = :now " +
+           "WHERE m.id = :id AND m.status = cit.edu.wrdmstr.entity.OutboundMailEntity.Status.PENDING")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Return claimed rows that never reached a worker to the queue.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboundMailEntity m " +
+           "SET m.status = cit.edu.wrdmstr.entity.OutboundMailEntity.Status.PENDING, m.claimedAt = null " +
+           "WHERE m.id IN :ids AND m.status = cit.edu.wrdmstr.entity.OutboundMailEntity.Status.SENDING")
+    int release(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Return rows whose worker died mid-send to the queue.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboundMailEntity m " +
+           "SET m.status = cit.edu.wrdmstr.entity.OutboundMailEntity.Status.PENDING, m.claimedAt = null " +
+           "WHERE m.status = cit.edu.wrdmstr.entity.OutboundMailEntity.Status.SENDING AND m.claimedAt < :cutoff")
+    int requeueStale(@Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboundMailEntity m " +
+           "WHERE m.status = cit.edu.wrdmstr.entity.OutboundMailEntity.Status.SENT AND m.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
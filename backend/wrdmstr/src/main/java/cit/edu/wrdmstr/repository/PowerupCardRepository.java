@@ -8,6 +8,7 @@ import java.util.List;
 
 public interface PowerupCardRepository extends JpaRepository<PowerupCard, Long> {
     List<PowerupCard> findByContentData(ContentData contentData);
+    List<PowerupCard> findByContentDataContentId(Long contentId);
     List<PowerupCard> findByRarity(String rarity);
     List<PowerupCard> findByTriggerCondition(String triggerCondition);
 }
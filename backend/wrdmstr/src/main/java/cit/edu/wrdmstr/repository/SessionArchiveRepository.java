@@ -0,0 +1,17 @@
+package cit.edu.wrdmstr.repository;
+
+import cit.edu.wrdmstr.entity.SessionArchiveEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SessionArchiveRepository extends JpaRepository<SessionArchiveEntity, Long> {
+    // Each column on its own, so reading chat history never loads the score blob and back
+    @Query("SELECT a.messages FROM SessionArchiveEntity a WHERE a.sessionId = :sessionId")
+    byte[] findMessages(@Param("sessionId") Long sessionId);
+
+    @Query("SELECT a.scores FROM SessionArchiveEntity a WHERE a.sessionId = :sessionId")
+    byte[] findScores(@Param("sessionId") Long sessionId);
+}
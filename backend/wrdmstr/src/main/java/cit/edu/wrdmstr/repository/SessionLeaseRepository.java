@@ -0,0 +1,44 @@
+package cit.edu.wrdmstr.repository;
+
+import cit.edu.wrdmstr.entity.SessionLeaseEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.Optional;
+
+@Repository
+public interface SessionLeaseRepository extends JpaRepository<SessionLeaseEntity, Long> {
+
+    /**
+     * Renew our own lease or take over an expired one. Returns 0 when another node
+     * holds a live lease or no row exists yet. Leaves the persistence context alone:
+     * the caller may be a game command holding managed entities with lazy associations.
+     */
+    @Modifying
+    @Query("UPDATE SessionLeaseEntity l SET l.ownerNode = :nodeId, l.expiresAt = :expiresAt " +
+           "WHERE l.sessionId = :sessionId AND (l.ownerNode = :nodeId OR l.expiresAt < :now)")
+    int claim(@Param("sessionId") Long sessionId,
+              @Param("nodeId") String nodeId,
+              @Param("expiresAt") Date expiresAt,
+              @Param("now") Date now);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO session_leases (session_id, owner_node, expires_at, acquired_at) " +
+                   "VALUES (:sessionId, :nodeId, :expiresAt, :now)", nativeQuery = true)
+    int insertIfAbsent(@Param("sessionId") Long sessionId,
+                       @Param("nodeId") String nodeId,
+                       @Param("expiresAt") Date expiresAt,
+                       @Param("now") Date now);
+
+    @Modifying
+    @Query("DELETE FROM SessionLeaseEntity l WHERE l.sessionId = :sessionId AND l.ownerNode = :nodeId")
+    int release(@Param("sessionId") Long sessionId, @Param("nodeId") String nodeId);
+
+    // Read past the persistence context, which may hold a lease row from before a claim
+    @Query("SELECT l.ownerNode FROM SessionLeaseEntity l WHERE l.sessionId = :sessionId AND l.expiresAt > :now")
+    Optional<String> findLiveOwner(@Param("sessionId") Long sessionId, @Param("now") Date now);
+}
@@ -0,0 +1,32 @@
+package cit.edu.wrdmstr.repository;
+
+import cit.edu.wrdmstr.entity.SessionSummaryEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SessionSummaryRepository extends JpaRepository<SessionSummaryEntity, Long> {
+    List<SessionSummaryEntity> findByGameSessionId(Long gameSessionId);
+    List<SessionSummaryEntity> findByStudentId(Long studentId);
+    List<SessionSummaryEntity> findByGameSessionIdIn(Collection<Long> gameSessionIds);
+    Optional<SessionSummaryEntity> findByGameSessionIdAndStudentId(Long gameSessionId, Long studentId);
+    boolean existsByGameSessionId(Long gameSessionId);
+    void deleteByGameSessionId(Long sessionId);
+
+    @Query("SELECT DISTINCT s.gameSession.id FROM SessionSummaryEntity s WHERE s.partial = true")
+    List<Long> findPartialSessionIds();
+
+    @Modifying
+    @Query("UPDATE SessionSummaryEntity s SET s.comprehensionScore = :score " +
+           "WHERE s.gameSession.id = :sessionId AND s.student.id = :studentId")
+    int updateComprehensionScore(@Param("sessionId") Long sessionId,
+                                 @Param("studentId") Long studentId,
+                                 @Param("score") Double score);
+}
@@ -3,6 +3,8 @@ package cit.edu.wrdmstr.repository;
 
 import cit.edu.wrdmstr.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
@@ -14,5 +16,8 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
     boolean existsByEmail(String email);
     boolean existsByRole(String role);
 
+    @Query("SELECT u.tokenVersion FROM UserEntity u WHERE u.email = :email")
+    Optional<Integer> findTokenVersionByEmail(@Param("email") String email);
+
 
 }
\ No newline at end of file
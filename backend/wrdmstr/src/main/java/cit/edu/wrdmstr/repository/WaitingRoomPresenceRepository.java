@@ -0,0 +1,37 @@
+package cit.edu.wrdmstr.repository;
+
+import cit.edu.wrdmstr.entity.WaitingRoomPresenceEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface WaitingRoomPresenceRepository extends JpaRepository<WaitingRoomPresenceEntity, Long> {
+
+    @Query("SELECT p FROM WaitingRoomPresenceEntity p JOIN FETCH p.user " +
+           "WHERE p.contentId = :contentId ORDER BY p.joinedAt ASC")
+    List<WaitingRoomPresenceEntity> findByContentIdWithUser(@Param("contentId") Long contentId);
+
+    // The unique key makes a concurrent join from another node a no-op instead of an error
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO waiting_room_presence (content_id, user_id, display_name, node_id, joined_at) " +
+                   "VALUES (:contentId, :userId, :displayName, :nodeId, :joinedAt)", nativeQuery = true)
+    int insertIfAbsent(@Param("contentId") Long contentId,
+                       @Param("userId") Long userId,
+                       @Param("displayName") String displayName,
+                       @Param("nodeId") String nodeId,
+                       @Param("joinedAt") Date joinedAt);
+
+    @Modifying
+    @Query("DELETE FROM WaitingRoomPresenceEntity p WHERE p.contentId = :contentId AND p.user.id = :userId")
+    int deleteByContentIdAndUserId(@Param("contentId") Long contentId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM WaitingRoomPresenceEntity p WHERE p.contentId = :contentId")
+    int deleteByContentId(@Param("contentId") Long contentId);
+}
@@ -1,32 +1,31 @@
 package cit.edu.wrdmstr.security;
 
 import cit.edu.wrdmstr.service.JwtService;
-import cit.edu.wrdmstr.service.UserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserService userService;
 
     @Autowired
-    public JwtAuthenticationFilter(JwtService jwtService, @Lazy UserService userService) {
+    public JwtAuthenticationFilter(JwtService jwtService) {
         this.jwtService = jwtService;
-        this.userService = userService;
     }
 
     @Override
@@ -37,7 +36,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
 
         // Check if Authorization header is present and has the correct format
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -48,16 +46,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Extract JWT token from the header
         jwt = authHeader.substring(7);
 
-        // Extract username from JWT token
-        username = jwtService.extractUsername(jwt);
+        // Verify signature, expiry and token version; the principal comes from the signed
+        // claims, so an authenticated request does not load the user
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            JwtService.VerifiedToken verified = jwtService.authenticate(jwt);
+            if (verified != null) {
+                List<SimpleGrantedAuthority> authorities = verified.role() != null
+                        ? List.of(new SimpleGrantedAuthority(verified.role()))
+                        : List.of();
+                UserDetails userDetails = new User(verified.username(), "", authorities);
 
-        // If username is present and no authentication is set in SecurityContext
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // Load user details
-            UserDetails userDetails = userService.loadUserByUsername(username);
-
-            // Validate token
-            if (jwtService.isTokenValid(jwt, userDetails)) {
                 // Create authentication token
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
@@ -0,0 +1,184 @@
+package cit.edu.wrdmstr.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Admission control for outbound AI calls. Every request to the model API waits here for
+ * one of {@code max-concurrency} slots, in a queue per priority class:
+ *
+ * - INTERACTIVE: calls a student's turn waits on (grammar, role check, word detection,
+ *   message evaluation, short-answer grading, story prompts). May use every slot.
+ * - BACKGROUND: heavy generation a teacher or a job waits on (content, roles,
+ *   comprehension questions, feedback, word enrichment). Never uses the
+ *   {@code reserved-interactive} slots, and is only admitted while no interactive call is
+ *   queued, so it backs off as soon as gameplay needs the capacity.
+ *
+ * A request that is not admitted by its deadline fails with
+ * {@link DeadlineExceededException}; AIService then answers with the task's fallback.
+ */
+@Component
+public class AIRequestScheduler {
+
+    public enum Priority { INTERACTIVE, BACKGROUND }
+
+    static final Set<String> BACKGROUND_TASKS = Set.of(
+            "content_generation", "role_generation", "comprehension_questions",
+            "generate_feedback", "word_enrichment", "generate_vocabulary_exercises");
+
+    public static class DeadlineExceededException extends RuntimeException {
+        public DeadlineExceededException(String message) {
+            super(message);
+        }
+    }
+
+    private final PerformanceMetricsService performanceMetricsService;
+
+    // Initialized to the property defaults for instances built outside Spring (tests, benchmarks)
+    @Value("${wordmaster.ai.scheduler.max-concurrency:16}")
+    private int maxConcurrency = 16;
+
+    @Value("${wordmaster.ai.scheduler.reserved-interactive:6}")
+    private int reservedInteractive = 6;
+
+    @Value("${wordmaster.ai.scheduler.interactive-deadline-ms:4000}")
+    private long interactiveDeadlineMs = 4000;
+
+    @Value("${wordmaster.ai.scheduler.background-deadline-ms:120000}")
+    private long backgroundDeadlineMs = 120000;
+
+    // Guarded by this
+    private int inFlight;
+    private final Map<Priority, Deque<CompletableFuture<Void>>> queues = new EnumMap<>(Map.of(
+            Priority.INTERACTIVE, new ArrayDeque<>(),
+            Priority.BACKGROUND, new ArrayDeque<>()));
+
+    public AIRequestScheduler(PerformanceMetricsService performanceMetricsService) {
+        this.performanceMetricsService = performanceMetricsService;
+    }
+
+    @PostConstruct
+    void registerGauges() {
+        performanceMetricsService.gauge("wordmaster.ai.scheduler.in-flight", "AI calls holding a scheduler slot",
+                this::getInFlight);
+        performanceMetricsService.gauge("wordmaster.ai.scheduler.queued.interactive",
+                "Interactive AI calls waiting for a slot", () -> getQueued(Priority.INTERACTIVE));
+        performanceMetricsService.gauge("wordmaster.ai.scheduler.queued.background",
+                "Background AI calls waiting for a slot", () -> getQueued(Priority.BACKGROUND));
+    }
+
+    public static Priority priorityOf(String task) {
+        return task != null && BACKGROUND_TASKS.contains(task) ? Priority.BACKGROUND : Priority.INTERACTIVE;
+    }
+
+    /**
+     * When a request for {@code task} starting now must have been admitted, in
+     * System.nanoTime() terms. Taken once per request so retries share the budget.
+     */
+    public long deadlineFor(String task) {
+        long deadlineMs = priorityOf(task) == Priority.INTERACTIVE ? interactiveDeadlineMs : backgroundDeadlineMs;
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+    }
+
+    /**
+     * Run {@code call} once {@code task}'s class is admitted, holding a slot while it runs.
+     */
+    public <T> T run(String task, long deadlineNanos, Supplier<T> call) {
+        Priority priority = priorityOf(task);
+        long waitStart = System.nanoTime();
+        boolean admitted = false;
+        try {
+            acquire(priority, deadlineNanos);
+            admitted = true;
+        } finally {
+            performanceMetricsService.recordAiAdmission(priority.name().toLowerCase(),
+                    System.nanoTime() - waitStart, admitted);
+        }
+        try {
+            return call.get();
+        } finally {
+            release();
+        }
+    }
+
+    private void acquire(Priority priority, long deadlineNanos) {
+        CompletableFuture<Void> ticket;
+        synchronized (this) {
+            if (queues.get(priority).isEmpty() && admissible(priority)) {
+                inFlight++;
+                return;
+            }
+            ticket = new CompletableFuture<>();
+            queues.get(priority).add(ticket);
+        }
+        try {
+            ticket.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            abandon(priority, ticket);
+            throw new DeadlineExceededException(priority.name().toLowerCase() + " AI call not admitted before its deadline");
+        } catch (InterruptedException e) {
+            abandon(priority, ticket);
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException("Interrupted waiting for an AI slot");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Give up a ticket; if the slot was granted in the meantime, hand it on.
+     */
+    private synchronized void abandon(Priority priority, CompletableFuture<Void> ticket) {
+        if (!queues.get(priority).remove(ticket)) {
+            inFlight--;
+            dispatch();
+        }
+    }
+
+    private synchronized void release() {
+        inFlight--;
+        dispatch();
+    }
+
+    private void dispatch() {
+        Deque<CompletableFuture<Void>> interactive = queues.get(Priority.INTERACTIVE);
+        while (!interactive.isEmpty() && admissible(Priority.INTERACTIVE)) {
+            inFlight++;
+            interactive.poll().complete(null);
+        }
+        Deque<CompletableFuture<Void>> background = queues.get(Priority.BACKGROUND);
+        while (!background.isEmpty() && admissible(Priority.BACKGROUND)) {
+            inFlight++;
+            background.poll().complete(null);
+        }
+    }
+
+    private boolean admissible(Priority priority) {
+        if (priority == Priority.INTERACTIVE) {
+            return inFlight < maxConcurrency;
+        }
+        // Background work is deferred while gameplay is waiting or the shared slots are taken
+        return queues.get(Priority.INTERACTIVE).isEmpty()
+                && inFlight < Math.max(1, maxConcurrency - reservedInteractive);
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued(Priority priority) {
+        return queues.get(priority).size();
+    }
+}
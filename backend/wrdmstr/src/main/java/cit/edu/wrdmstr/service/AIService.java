@@ -19,6 +19,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.Arrays;
@@ -65,15 +66,19 @@ public class AIService {
     private String apiUrl;
 
     private final PerformanceMetricsService performanceMetricsService;
+    // Every model API request waits here for a slot; see AIRequestScheduler for the classes
+    private final AIRequestScheduler requestScheduler;
     // Lazily created longer-timeout RestTemplate for heavy generation tasks
     private volatile RestTemplate longTimeoutRestTemplate;
 
     @Value("${ai.http.read-timeout.long:8000}")
     private int longReadTimeoutMs;
 
-    public AIService(RestTemplate restTemplate, PerformanceMetricsService performanceMetricsService) {
+    public AIService(RestTemplate restTemplate, PerformanceMetricsService performanceMetricsService,
+                     AIRequestScheduler requestScheduler) {
         this.restTemplate = restTemplate;
         this.performanceMetricsService = performanceMetricsService;
+        this.requestScheduler = requestScheduler;
     }
 
     // Asynchronous warm-up to reduce first-call latency (role_check & minimal tasks)
@@ -229,13 +234,156 @@ public class AIService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Cheap local spam checks run before grammar/role calls. Returns the rejection
+     * reason, or null when the message should go to the model.
+     */
+    String preValidationReason(String msg) {
+        String lower = msg.toLowerCase();
+        // Too short messages are often spam
+        if (msg.length() < 3) {
+            return "Too short";
+        }
+        // Repeated characters (aaaa, bbbb, etc.)
+        if (lower.matches(".*([a-z])\\1{4,}.*")) {
+            return "Repeated chars";
+        }
+        // Word spam: most words are the same
+        String[] words = lower.split("\\s+");
+        if (words.length >= 3) {
+            String firstWord = words[0];
+            int sameCount = 0;
+            for (String word : words) {
+                if (word.equals(firstWord)) sameCount++;
+            }
+            if (sameCount >= 3 || (words.length >= 4 && sameCount >= words.length * 0.6)) {
+                return "Word spam";
+            }
+        }
+        // Keyboard mashing patterns
+        if (lower.matches(".*(qwert|asdf|zxcv|hjkl|uiop|fgh|cvbn|rewq|fdsa).*")) {
+            return "Keyboard mash";
+        }
+        return null;
+    }
+
+    /**
+     * Local role heuristics run after {@link #preValidationReason}: 2-3 words with no
+     * sentence structure, Tagalog words, claiming another role, or numbers and maths.
+     * Returns the NOT APPROPRIATE reason, or null when the model should decide.
+     */
+    String roleHeuristicReason(String msg, String role) {
+        String lower = msg.toLowerCase();
+        String[] words = lower.split("\\s+");
+
+        // 5. Check for non-sentence (no coherent structure)
+        // If it's just 2-3 random words with no verb/connector, likely spam
+        if (words.length == 2 || words.length == 3) {
+            // Common word bank spam patterns: just nouns with no sentence structure
+            boolean hasVerb = false;
+            String[] commonVerbs = {"is", "are", "was", "were", "can", "will", "have", "has", "do", "does", "am"};
+            for (String word : words) {
+                for (String verb : commonVerbs) {
+                    if (word.startsWith(verb)) {
+                        hasVerb = true;
+                        break;
+                    }
+                }
+            }
+            // If no verb and words don't form a phrase, likely word bank spam
+            if (!hasVerb && !lower.matches(".*(to|the|a|an|in|on|at|for|with).*")) {
+                return "Not a sentence";
+            }
+        }
+
+        // Simple Tagalog token detection
+        String[] tagalogHints = {"ang","ng","mga","ako","ikaw","sila","hindi","bakit","sana","po","ba","natin"};
+        for (String h : tagalogHints) {
+            // If clearly Tagalog or mixed -> immediate NOT APPROPRIATE
+            if (lower.matches(".*\\b" + h + "\\b.*")) {
+                return "Please use English";
+            }
+        }
+        // Role self-claim mismatch heuristic: e.g. user role = witness but text says 'as the reporter'
+        String normalizedRole = role == null ? "" : role.toLowerCase().replaceAll("[^a-z ]", "").trim();
+        if (!normalizedRole.isEmpty()) {
+            // Patterns: 'as the <role>' or 'i am the <role>'
+            Pattern claimPat = Pattern.compile("\\b(as the|i am the) ([a-z ]{2,30})");
+            Matcher m = claimPat.matcher(lower);
+            if (m.find()) {
+                String claimed = m.group(2).trim();
+                // Only flag if claimed role does NOT overlap with actual role token(s)
+                if (!claimed.contains(normalizedRole) && !normalizedRole.contains(claimed)) {
+                    return "Wrong role";
+                }
+            }
+        }
+        // Reject numeric / math style content (digits with operators or >=30% digits)
+        int digitCount = 0;
+        for (char c : lower.toCharArray()) if (Character.isDigit(c)) digitCount++;
+        if (digitCount > 0) {
+            double ratio = (double) digitCount / Math.max(1, lower.length());
+            if (ratio >= 0.3 || lower.matches(".*[0-9]+[ ]*[-+*/=].*")) {
+                return "Use words only";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Grammar, role, vocabulary and word-bank checks for one chat message in a single
+     * model call. Empty when the message fails the local spam checks or the reply can't
+     * be parsed; callers then use the per-task methods, which stay the fallback path. The
+     * local role heuristics override the model's role verdict.
+     */
+    public Optional<MessageEvaluation> evaluateMessage(String text, String role, String context,
+                                                       List<String> wordBank, String studentName) {
+        if (text == null || text.trim().isEmpty() || preValidationReason(text.trim()) != null) {
+            return Optional.empty();
+        }
+        Map<String, Object> request = new HashMap<>();
+        request.put("task", "message_evaluation");
+        request.put("text", text);
+        if (role != null) request.put("role", role);
+        if (context != null && !context.isBlank()) request.put("context", context);
+        request.put("wordBank", wordBank != null ? wordBank : Collections.emptyList());
+        request.put("studentName", studentName);
+        // The role_check task applies these before the model; keep them ahead of its verdict here too
+        String roleReason = role != null ? roleHeuristicReason(text.trim(), role) : null;
+        try {
+            Optional<MessageEvaluation> evaluation = MessageEvaluation.parse(callAIModel(request).getResult(), wordBank);
+            if (roleReason != null) {
+                evaluation.ifPresent(MessageEvaluation::rejectRole);
+                logger.info("Role heuristics rejected message: {}", roleReason);
+            }
+            return evaluation;
+        } catch (Exception e) {
+            logger.warn("message_evaluation failed, falling back to per-task checks: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     /**
      * Call the AI API with the given request
      */
-        public AIResponse callAIModel(Map<String, Object> request) {
+    public AIResponse callAIModel(Map<String, Object> request) {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            AIResponse response = callAIModelUntimed(request);
+            ok = true;
+            return response;
+        } finally {
+            performanceMetricsService.recordAiTask((String) request.get("task"), System.nanoTime() - start, ok);
+        }
+    }
+
+        private AIResponse callAIModelUntimed(Map<String, Object> request) {
             int maxRetries = 3;
             int retryDelay = 1200; // slightly lower base
             String taskName = (String) request.get("task");
+            // Admission deadline for all attempts of this request
+            long deadline = requestScheduler.deadlineFor(taskName);
             boolean cacheableRoleCheck = "role_check".equals(taskName);
             // For ultra-low latency on role_check keep only 1 retry (total 1 attempt) to avoid 10s stalls
             if (cacheableRoleCheck) {
@@ -263,156 +411,35 @@ public class AIService {
             String textToCheck = (String) request.getOrDefault("text", "");
             if (textToCheck != null && !textToCheck.trim().isEmpty()) {
                 String msg = textToCheck.trim();
-                String lower = msg.toLowerCase();
-                
-                // 1. Check minimum length - too short messages are often spam
-                if (msg.length() < 3) {
-                    AIResponse fast = new AIResponse();
-                    if ("grammar_status_check".equals(taskName)) {
-                        fast.setResult("MAJOR_ERRORS");
-                    } else if (cacheableRoleCheck) {
-                        fast.setResult("NOT APPROPRIATE - Too short");
-                    }
-                    if (fast.getResult() != null) {
-                        if (cacheableRoleCheck) performanceMetricsService.recordRoleCheck(System.currentTimeMillis()-startMs);
-                        logger.info("Message too short, rejecting");
-                        return fast;
-                    }
-                }
-                
-                // 2. Repeated characters (aaaa, bbbb, etc.)
-                if (lower.matches(".*([a-z])\\1{4,}.*")) {
-                    AIResponse fast = new AIResponse();
-                    if ("grammar_status_check".equals(taskName)) {
-                        fast.setResult("MAJOR_ERRORS");
-                    } else if (cacheableRoleCheck) {
-                        fast.setResult("NOT APPROPRIATE - Repeated chars");
-                    }
-                    if (fast.getResult() != null) {
-                        if (cacheableRoleCheck) performanceMetricsService.recordRoleCheck(System.currentTimeMillis()-startMs);
-                        logger.info("Repeated characters detected");
-                        return fast;
-                    }
-                }
-                
-                // 3. Word spam detection - optimized
-                String[] words = lower.split("\\s+");
-                if (words.length >= 3) {
-                    // Quick check: if most words are the same
-                    String firstWord = words[0];
-                    int sameCount = 0;
-                    for (String word : words) {
-                        if (word.equals(firstWord)) sameCount++;
-                    }
-                    if (sameCount >= 3 || (words.length >= 4 && sameCount >= words.length * 0.6)) {
-                        AIResponse fast = new AIResponse();
-                        if ("grammar_status_check".equals(taskName)) {
-                            fast.setResult("MAJOR_ERRORS");
-                        } else if (cacheableRoleCheck) {
-                            fast.setResult("NOT APPROPRIATE - Word spam");
-                        }
-                        if (fast.getResult() != null) {
-                            if (cacheableRoleCheck) performanceMetricsService.recordRoleCheck(System.currentTimeMillis()-startMs);
-                            logger.info("Word spam detected");
-                            return fast;
-                        }
-                    }
-                }
                 
-                // 4. Keyboard mashing patterns - consolidated check
-                if (lower.matches(".*(qwert|asdf|zxcv|hjkl|uiop|fgh|cvbn|rewq|fdsa).*")) {
+                // 1-4. Too short, repeated characters, word spam, keyboard mashing
+                String spamReason = preValidationReason(msg);
+                if (spamReason != null) {
                     AIResponse fast = new AIResponse();
                     if ("grammar_status_check".equals(taskName)) {
                         fast.setResult("MAJOR_ERRORS");
                     } else if (cacheableRoleCheck) {
-                        fast.setResult("NOT APPROPRIATE - Keyboard mash");
+                        fast.setResult("NOT APPROPRIATE - " + spamReason);
                     }
                     if (fast.getResult() != null) {
                         if (cacheableRoleCheck) performanceMetricsService.recordRoleCheck(System.currentTimeMillis()-startMs);
-                        logger.info("Keyboard mashing detected");
+                        logger.info("Pre-validation rejected message: {}", spamReason);
                         return fast;
                     }
                 }
-                
-                // 5. Check for non-sentence (no coherent structure)
-                // If it's just 2-3 random words with no verb/connector, likely spam
-                if (words.length == 2 || words.length == 3) {
-                    // Common word bank spam patterns: just nouns with no sentence structure
-                    boolean hasVerb = false;
-                    String[] commonVerbs = {"is", "are", "was", "were", "can", "will", "have", "has", "do", "does", "am"};
-                    for (String word : words) {
-                        for (String verb : commonVerbs) {
-                            if (word.startsWith(verb)) {
-                                hasVerb = true;
-                                break;
-                            }
-                        }
-                    }
-                    // If no verb and words don't form a phrase, likely word bank spam
-                    if (!hasVerb && !lower.matches(".*(to|the|a|an|in|on|at|for|with).*")) {
-                        AIResponse fast = new AIResponse();
-                        if (cacheableRoleCheck) {
-                            fast.setResult("NOT APPROPRIATE - Not a sentence");
-                        }
-                        if (fast.getResult() != null) {
-                            if (cacheableRoleCheck) performanceMetricsService.recordRoleCheck(System.currentTimeMillis()-startMs);
-                            logger.info("No sentence structure detected");
-                            return fast;
-                        }
-                    }
-                }
             }
             
-            // Role-check specific heuristics
+            // 5+. Role-check specific heuristics: no sentence structure, Tagalog, wrong role, numbers
             if (cacheableRoleCheck) {
                 String msg = ((String) request.getOrDefault("text", "")).trim();
-                String lower = msg.toLowerCase();
-                String role = ((String) request.getOrDefault("role", "")).toLowerCase().replaceAll("[^a-z ]", "").trim();
-                // Simple Tagalog token detection
-                String[] tagalogHints = {"ang","ng","mga","ako","ikaw","sila","hindi","bakit","sana","po","ba","natin"};
-                boolean hasTagalog = false;
-                for (String h : tagalogHints) {
-                    if (lower.matches(".*\\b" + h + "\\b.*")) { hasTagalog = true; break; }
-                }
-                // If clearly Tagalog or mixed -> immediate NOT APPROPRIATE
-                if (hasTagalog) {
+                String roleReason = roleHeuristicReason(msg, (String) request.get("role"));
+                if (roleReason != null) {
                     AIResponse fast = new AIResponse();
-                    fast.setResult("NOT APPROPRIATE - Please use English");
+                    fast.setResult("NOT APPROPRIATE - " + roleReason);
                     performanceMetricsService.recordRoleCheck(System.currentTimeMillis()-startMs);
+                    logger.info("Role heuristics rejected message: {}", roleReason);
                     return fast;
                 }
-                // Role self-claim mismatch heuristic: e.g. user role = witness but text says 'as the reporter'
-                if (!role.isEmpty()) {
-                    // Patterns: 'as the <role>' or 'i am the <role>'
-                    Pattern claimPat = Pattern.compile("\\b(as the|i am the) ([a-z ]{2,30})");
-                    Matcher m = claimPat.matcher(lower);
-                    if (m.find()) {
-                        String claimed = m.group(2).trim();
-                        // Only flag if claimed role does NOT overlap with actual role token(s)
-                        if (!claimed.contains(role) && !role.contains(claimed)) {
-                            AIResponse fast = new AIResponse();
-                            fast.setResult("NOT APPROPRIATE - Wrong role");
-                            performanceMetricsService.recordRoleCheck(System.currentTimeMillis()-startMs);
-                            return fast;
-                        }
-                    }
-                }
-                // Reject numeric / math style content (digits with operators or >=30% digits)
-                // Using indexOf for more efficient digit detection instead of regex
-                if (lower.indexOf('0') >= 0 || lower.indexOf('1') >= 0 || lower.indexOf('2') >= 0 || 
-                    lower.indexOf('3') >= 0 || lower.indexOf('4') >= 0 || lower.indexOf('5') >= 0 ||
-                    lower.indexOf('6') >= 0 || lower.indexOf('7') >= 0 || lower.indexOf('8') >= 0 ||
-                    lower.indexOf('9') >= 0) {
-                    int digitCount = 0;
-                    for (char c : lower.toCharArray()) if (Character.isDigit(c)) digitCount++;
-                    double ratio = (double) digitCount / Math.max(1, lower.length());
-                    if (ratio >= 0.3 || lower.matches(".*[0-9]+[ ]*[-+*/=].*")) {
-                        AIResponse fast = new AIResponse();
-                        fast.setResult("NOT APPROPRIATE - Use words only");
-                        performanceMetricsService.recordRoleCheck(System.currentTimeMillis()-startMs);
-                        return fast;
-                    }
-                }
                 // Removed the "short clean English" heuristic shortcut that was too lenient
                 // Now ALL messages go through AI role check for better accuracy
                 // This allows AI to properly detect gibberish, nonsense, and off-topic content
@@ -424,6 +451,9 @@ public class AIService {
                     Map<String, Object> content = new HashMap<>();
 
                     String prompt = buildPromptFromRequest(request);
+                    if (attempt == 1) {
+                        performanceMetricsService.recordPromptTokens(taskName, TokenEstimator.estimate(prompt));
+                    }
                     Map<String, Object> textPart = new HashMap<>();
                     textPart.put("text", prompt);
 
@@ -433,6 +463,10 @@ public class AIService {
 
                     Map<String, Object> geminiRequest = new HashMap<>();
                     geminiRequest.put("contents", Collections.singletonList(content));
+                    if ("message_evaluation".equals(taskName)) {
+                        // Structured output so the reply parses as JSON without cleanup
+                        geminiRequest.put("generationConfig", Map.of("responseMimeType", "application/json"));
+                    }
 
                     // Add API key as query parameter
                     String fullUrl = apiUrl + "?key=" + apiKey;
@@ -444,11 +478,11 @@ public class AIService {
                         if (cacheableRoleCheck) {
                             final String finalFullUrl = fullUrl;
                             final Map<String, Object> finalPayload = geminiRequest;
-                            Future<Map<String, Object>> future = aiExecutor.submit(() -> {
+                            Future<Map<String, Object>> future = aiExecutor.submit(() -> requestScheduler.run(taskName, deadline, () -> {
                                 @SuppressWarnings("unchecked")
                                 Map<String, Object> resp = restTemplate.postForObject(finalFullUrl, finalPayload, Map.class);
                                 return resp;
-                            });
+                            }));
                             try {
                                 response = future.get(1200, TimeUnit.MILLISECONDS); // Reduced from 1500ms to 1200ms
                             } catch (TimeoutException te) {
@@ -466,6 +500,7 @@ public class AIService {
                                 "generate_feedback".equals(taskName) ||
                                 "comprehension_questions".equals(taskName) ||
                                 "vocabulary_check".equals(taskName) ||
+                                "message_evaluation".equals(taskName) ||
                                 "role_generation".equals(taskName)
                             );
                             RestTemplate client = longTask ? getLongTimeoutRestTemplate() : restTemplate;
@@ -473,7 +508,8 @@ public class AIService {
                                 logger.debug("Using long-timeout RestTemplate (readTimeout={}ms) for task {}", longReadTimeoutMs, taskName);
                             }
                             @SuppressWarnings("unchecked")
-                            Map<String, Object> resp = client.postForObject(fullUrl, geminiRequest, Map.class);
+                            Map<String, Object> resp = requestScheduler.run(taskName, deadline,
+                                    () -> client.postForObject(fullUrl, geminiRequest, Map.class));
                             response = resp;
                         }
 
@@ -580,6 +616,11 @@ public class AIService {
                             case "role_generation":
                                 errorResponse.setResult("- Discussion Leader\n- Researcher\n- Note Taker\n- Presenter\n- Facilitator");
                                 break;
+                            case "message_evaluation":
+                            case "evaluate_short_answers":
+                                // No result: callers fall back to the per-task checks
+                                errorResponse.setResult(null);
+                                break;
                             default:
                                 errorResponse.setResult("Please continue practicing in English. You're making wonderful progress!");
                         }
@@ -638,6 +679,11 @@ public class AIService {
                         case "role_generation":
                             errorResponse.setResult("- Discussion Leader\n- Researcher\n- Note Taker\n- Presenter\n- Facilitator");
                             break;
+                        case "message_evaluation":
+                        case "evaluate_short_answers":
+                            // No result: callers fall back to the per-task checks
+                            errorResponse.setResult(null);
+                            break;
                         default:
                             errorResponse.setResult("Please continue practicing in English. You're making wonderful progress!");
                     }
@@ -726,9 +772,14 @@ public class AIService {
                     // Include previous story for continuity
                     @SuppressWarnings("unchecked")
                     List<String> previousElements = (List<String>) request.get("previousStory");
+                    String storySummary = (String) request.get("storySummary");
+                    if (storySummary != null && !storySummary.isEmpty()) {
+                        prompt.append("STORY SO FAR (summary): ").append(storySummary).append("\n\n");
+                    }
                     if (previousElements != null && !previousElements.isEmpty()) {
+                        // Already limited to the latest parts by StoryContextManager
                         prompt.append("PREVIOUS STORY PARTS:\n");
-                        for (int i = Math.max(0, previousElements.size() - 2); i < previousElements.size(); i++) {
+                        for (int i = 0; i < previousElements.size(); i++) {
                             prompt.append("Part ").append(i + 1).append(": ").append(previousElements.get(i)).append("\n");
                         }
                         prompt.append("\n");
@@ -935,6 +986,22 @@ public class AIService {
                     
                     return questionsPrompt.toString();
 
+                // All short answers of one comprehension submission, graded in one call
+                case "evaluate_short_answers":
+                    StringBuilder gradingPrompt = new StringBuilder();
+                    gradingPrompt.append("Grade short answers from a Grade 8-9 Filipino student's English comprehension check.\n");
+                    gradingPrompt.append("An answer is CORRECT if it means the same as the expected answer, even with different ");
+                    gradingPrompt.append("wording or small grammar and spelling mistakes. Otherwise it is INCORRECT.\n\n");
+                    int itemNumber = 1;
+                    for (Object item : (List<?>) request.getOrDefault("items", Collections.emptyList())) {
+                        Map<?, ?> shortAnswer = (Map<?, ?>) item;
+                        gradingPrompt.append(itemNumber++).append(". Question: ").append(shortAnswer.get("question")).append("\n");
+                        gradingPrompt.append("   Expected: ").append(shortAnswer.get("expectedAnswer")).append("\n");
+                        gradingPrompt.append("   Student: \"").append(shortAnswer.get("studentAnswer")).append("\"\n");
+                    }
+                    gradingPrompt.append("\nReply with ONLY one line per answer, in order, like:\n1: CORRECT\n2: INCORRECT");
+                    return gradingPrompt.toString();
+
                 case "vocabulary_check":
                     String studentName2 = (String) request.get("studentName");
                     return "Analyze Grade 8-9 Filipino student's English vocabulary usage:\n\n" +
@@ -958,6 +1025,30 @@ public class AIService {
                         "- Base recommendations on actual usage patterns\n" +
                         "- Be encouraging but specific";
                     
+                // Combined grammar + role + vocabulary + word bank check for one chat message
+                case "message_evaluation":
+                    String evalName = (String) request.get("studentName");
+                    return "Evaluate one chat message from a Grade 8-9 Filipino student practicing English.\n\n" +
+                        (evalName != null && !evalName.trim().isEmpty() ? "Student: " + evalName + "\n" : "") +
+                        "Role: " + request.getOrDefault("role", "student") +
+                        " | Context: " + request.getOrDefault("context", "general lesson") + "\n" +
+                        "Message: \"" + request.get("text") + "\"\n" +
+                        "Word Bank: " + request.get("wordBank") + "\n\n" +
+                        "1. grammar.status: PERFECT (perfect grammar, coherent sentence), MINOR_ERRORS (1-2 small errors, " +
+                        "still understandable) or MAJOR_ERRORS (gibberish, spam, non-English, incoherent, or 3+ errors).\n" +
+                        "2. role.appropriate: true unless the message is gibberish/spam, not a coherent sentence, claims a " +
+                        "DIFFERENT role, is not English (Tagalog/Filipino), or is completely unrelated to the context. " +
+                        "Be LENIENT on role/topic matching.\n" +
+                        "3. vocabulary.level: Basic, Intermediate or Advanced. vocabulary.strengths, vocabulary.improvements " +
+                        "and vocabulary.recommendations: 2 items each, max 2 sentences, quoting exact words from the message.\n" +
+                        "4. wordBankUsed: BASE word bank words used in the message, including tense, plural and word-form " +
+                        "variations (ran = run, books = book, saw = see). Only words from the Word Bank. Empty list if none.\n\n" +
+                        "Reply with ONLY this JSON:\n" +
+                        "{\"grammar\":{\"status\":\"\"}," +
+                        "\"role\":{\"appropriate\":true}," +
+                        "\"vocabulary\":{\"level\":\"\",\"strengths\":[],\"improvements\":[],\"recommendations\":[]}," +
+                        "\"wordBankUsed\":[]}";
+
                 case "language_validation":
                     return "You are helping Grade 8-9 Filipino students practice ENGLISH communication.\n" +
                         "Text to check: \"" + request.get("text") + "\"\n\n" +
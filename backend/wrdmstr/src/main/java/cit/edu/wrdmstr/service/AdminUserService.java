@@ -26,6 +26,9 @@ public class AdminUserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
     @Autowired
     public AdminUserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
@@ -92,6 +95,15 @@ public class AdminUserService {
         if (updateDto.getLname() != null) {
             user.setLname(updateDto.getLname());
         }
+        // Tokens carry the email and role; log the user out when either, the password or
+        // the active flag changes
+        boolean revoke = (updateDto.getEmail() != null && !updateDto.getEmail().equals(user.getEmail()))
+                || (updateDto.getRole() != null && !updateDto.getRole().equals(user.getRole()))
+                || (updateDto.getNewPassword() != null && !updateDto.getNewPassword().isEmpty())
+                || Boolean.FALSE.equals(updateDto.isActive());
+        if (revoke) {
+            tokenVersionService.revoke(user);
+        }
         if (updateDto.getEmail() != null && !updateDto.getEmail().equals(user.getEmail())) {
             if (userRepository.existsByEmail(updateDto.getEmail())) {
                 throw new IllegalArgumentException("Email is already in use by another account");
@@ -122,6 +134,7 @@ public class AdminUserService {
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
 
         user.setActive(false);
+        tokenVersionService.revoke(user);
         userRepository.save(user);
     }
 
@@ -148,7 +161,7 @@ public class AdminUserService {
             throw new IllegalStateException("Cannot delete user with existing classrooms. Reassign classrooms first.");
         }
 
-
+        tokenVersionService.revoke(user);
         userRepository.deleteById(userId);
     }
 
@@ -35,6 +35,8 @@ public class CardService {
 
     @Autowired
     private ContentRepository contentRepository;
+    @Autowired
+    private ContentCatalog contentCatalog;
     private final Random random = new Random();
     // File: src/main/java/cit/edu/wrdmstr/service/CardService.java
     @Transactional
@@ -49,9 +51,7 @@ public class CardService {
             return;
         }
 
-        List<PowerupCard> availableCards = cardRepository.findByContentData(
-                player.getSession().getContent().getContentData()
-        );
+        List<PowerupCard> availableCards = contentCatalog.get(player.getSession().getContent().getId()).getCards();
 
         if (availableCards.isEmpty()) {
             logger.warn("No cards available for content {}. Cannot assign cards to player {}.",
@@ -120,6 +120,7 @@ public class CardService {
             cardRepository.save(card);
         }
 
+        contentCatalog.invalidate(contentId);
         logger.info("Generated {} cards for content {}", newCards.size(), contentId);
     }
 
@@ -234,9 +235,7 @@ public class CardService {
     @Transactional
     private PlayerCard drawReplacementCard(PlayerSessionEntity player) {
         try {
-            List<PowerupCard> availableCards = cardRepository.findByContentData(
-                    player.getSession().getContent().getContentData()
-            );
+            List<PowerupCard> availableCards = contentCatalog.get(player.getSession().getContent().getId()).getCards();
 
             if (!availableCards.isEmpty()) {
                 PowerupCard newCard = availableCards.get(random.nextInt(availableCards.size()));
@@ -3,21 +3,11 @@ package cit.edu.wrdmstr.service;
 import cit.edu.wrdmstr.dto.ClassroomDto;
 import cit.edu.wrdmstr.dto.UserDto;
 import cit.edu.wrdmstr.entity.ClassroomEntity;
-import cit.edu.wrdmstr.entity.ContentEntity;
-import cit.edu.wrdmstr.entity.GameSessionEntity;
 import cit.edu.wrdmstr.entity.StudentEnrollmentEntity;
 import cit.edu.wrdmstr.entity.UserEntity;
-import cit.edu.wrdmstr.repository.ChatMessageEntityRepository;
 import cit.edu.wrdmstr.repository.ClassroomRepository;
-import cit.edu.wrdmstr.repository.ComprehensionResultRepository;
-import cit.edu.wrdmstr.repository.ContentRepository;
-import cit.edu.wrdmstr.repository.GameSessionEntityRepository;
-import cit.edu.wrdmstr.repository.GrammarResultRepository;
-import cit.edu.wrdmstr.repository.PlayerSessionEntityRepository;
 import cit.edu.wrdmstr.repository.StudentEnrollmentRepository;
-import cit.edu.wrdmstr.repository.TeacherFeedbackRepository;
 import cit.edu.wrdmstr.repository.UserRepository;
-import cit.edu.wrdmstr.repository.VocabularyResultRepository;
 import cit.edu.wrdmstr.service.interfaces.IClassroomService;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,7 +18,6 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
@@ -41,14 +30,7 @@ public class ClassroomService implements IClassroomService {
     private final ClassroomRepository classroomRepository;
     private final UserRepository userRepository;
     private final StudentEnrollmentRepository enrollmentRepository;
-    private final ContentRepository contentRepository;
-    private final GameSessionEntityRepository gameSessionRepository;
-    private final GrammarResultRepository grammarResultRepository;
-    private final VocabularyResultRepository vocabularyResultRepository;
-    private final ComprehensionResultRepository comprehensionResultRepository;
-    private final TeacherFeedbackRepository teacherfeedbackRepository;
-    private final PlayerSessionEntityRepository playerSessionRepository;
-    private final ChatMessageEntityRepository chatmessageRepository;
+    private final PurgeService purgeService;
     private static final String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
     private static final int CODE_LENGTH = 8;
 
@@ -56,25 +38,11 @@ public class ClassroomService implements IClassroomService {
     public ClassroomService(ClassroomRepository classroomRepository,
                             UserRepository userRepository,
                             StudentEnrollmentRepository enrollmentRepository,
-                            ContentRepository contentRepository,
-                            GameSessionEntityRepository gameSessionRepository,
-                            GrammarResultRepository grammarResultRepository,
-                            VocabularyResultRepository vocabularyResultRepository,
-                            ComprehensionResultRepository comprehensionResultRepository,
-                            TeacherFeedbackRepository teacherfeedbackRepository,
-                            PlayerSessionEntityRepository playerSessionRepository,
-                            ChatMessageEntityRepository chatmessageRepository) {
+                            PurgeService purgeService) {
         this.classroomRepository = classroomRepository;
         this.userRepository = userRepository;
         this.enrollmentRepository = enrollmentRepository;
-        this.contentRepository = contentRepository;
-        this.gameSessionRepository = gameSessionRepository;
-        this.grammarResultRepository = grammarResultRepository;
-        this.vocabularyResultRepository = vocabularyResultRepository;
-        this.comprehensionResultRepository = comprehensionResultRepository;
-        this.teacherfeedbackRepository = teacherfeedbackRepository;
-        this.playerSessionRepository = playerSessionRepository;
-        this.chatmessageRepository = chatmessageRepository;
+        this.purgeService = purgeService;
     }
 
     // Create a new classroom
@@ -175,6 +143,7 @@ public class ClassroomService implements IClassroomService {
             return enrollmentRepository.findByStudent(user)
                     .stream()
                     .map(StudentEnrollmentEntity::getClassroom)
+                    .filter(classroom -> classroom.getDeletedAt() == null)
                     .map(ClassroomDto::new)
                     .collect(Collectors.toList());
         }
@@ -252,52 +221,8 @@ public class ClassroomService implements IClassroomService {
             throw new RuntimeException("Only the classroom teacher can delete the classroom");
         }
 
-        // First, delete all content and their associated game sessions
-        List<ContentEntity> contents = new ArrayList<>(classroom.getContents());
-        for (ContentEntity content : contents) {
-            // Delete all game sessions for this content
-            List<GameSessionEntity> sessions = gameSessionRepository.findByContentId(content.getId());
-            for (GameSessionEntity session : sessions) {
-                Long sessionId = session.getId();
-                
-                // IMPORTANT: Clear the current_player reference first
-                session.setCurrentPlayer(null);
-                gameSessionRepository.save(session);
-                
-                // Delete all related data
-                grammarResultRepository.deleteByGameSessionId(sessionId);
-                vocabularyResultRepository.deleteByGameSessionId(sessionId);
-                comprehensionResultRepository.deleteByGameSessionId(sessionId);
-                teacherfeedbackRepository.deleteByGameSessionId(sessionId);
-                
-                // Delete chat messages
-                chatmessageRepository.deleteBySessionId(sessionId);
-                
-                // Now delete player sessions (after clearing the foreign key reference)
-                playerSessionRepository.deleteBySessionId(sessionId);
-                
-                // Delete the session itself
-                gameSessionRepository.delete(session);
-            }
-            
-            // Remove content from classroom
-            classroom.removeContent(content);
-            contentRepository.delete(content);
-        }
-        
-        // Clear all student enrollments
-        List<StudentEnrollmentEntity> enrollments = new ArrayList<>(classroom.getEnrollments());
-        for (StudentEnrollmentEntity enrollment : enrollments) {
-            enrollmentRepository.delete(enrollment);
-        }
-        classroom.getEnrollments().clear();
-        classroom.getStudents().clear();
-        
-        // Save classroom to persist the cleared relationships
-        classroomRepository.save(classroom);
-        
-        // Finally delete the classroom
-        classroomRepository.delete(classroom);
+        // Contents, sessions and enrollments go with it
+        purgeService.deleteClassroom(classroomId);
     }
 
     // Helper method to get authenticated user
@@ -310,6 +235,7 @@ public class ClassroomService implements IClassroomService {
     // Helper method to get classroom by ID
     private ClassroomEntity getClassroomById(Long classroomId) {
         return classroomRepository.findById(classroomId)
+                .filter(classroom -> classroom.getDeletedAt() == null)
                 .orElseThrow(() -> new RuntimeException("Classroom not found"));
     }
 
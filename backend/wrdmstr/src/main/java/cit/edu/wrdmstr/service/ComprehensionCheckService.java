@@ -11,12 +11,22 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,7 +44,16 @@ public class ComprehensionCheckService {
     @Autowired private AIService aiService;
     @Autowired private ObjectMapper objectMapper;
     @Autowired private ComprehensionResultRepository comprehensionResultRepository;
-    @Autowired private StoryPromptService storyPromptService;
+    @Autowired private StoryContextManager storyContextManager;
+    @Autowired @Qualifier("aiTaskExecutor") private Executor aiTaskExecutor;
+
+    // How long a submission waits for AI-graded answers before returning the rest
+    @Value("${wordmaster.comprehension.inline-grading-ms:4000}")
+    private long inlineGradingMs;
+
+    // After this, answers the AI has not graded are compared with the expected answer
+    @Value("${wordmaster.comprehension.grading-deadline-ms:20000}")
+    private long gradingDeadlineMs;
     
     
     /**
@@ -64,8 +83,8 @@ public class ComprehensionCheckService {
                         .orElseThrow(() -> new RuntimeException("Student not found"));
             }
 
-            // Use story prompts instead of chat messages
-            String storyContent = storyPromptService.getStoryPromptsAsText(sessionId);
+            // Use story prompts instead of chat messages, held to the comprehension prompt budget
+            String storyContent = storyContextManager.forComprehension(sessionId);
             
             List<Map<String, Object>> questions;
             
@@ -174,15 +193,43 @@ public class ComprehensionCheckService {
     }
     
     /**
-     * Grade comprehension answers and calculate percentage
+     * Grading of one submission. Multiple choice and true/false answers are graded at once;
+     * short answers go to the AI in one batch call. {@link #getResult()} is what was known
+     * when grading returned: pending short answers are marked {@code pending} and counted as
+     * not yet correct. {@link #getCompletion()} completes with the final result.
+     */
+    public static final class GradingRun {
+        private final Map<String, Object> result;
+        private final CompletableFuture<Map<String, Object>> completion;
+
+        GradingRun(Map<String, Object> result, CompletableFuture<Map<String, Object>> completion) {
+            this.result = result;
+            this.completion = completion;
+        }
+
+        public Map<String, Object> getResult() { return result; }
+        public CompletableFuture<Map<String, Object>> getCompletion() { return completion; }
+        public boolean isComplete() { return ((Number) result.get("pendingAnswers")).intValue() == 0; }
+    }
+
+    /**
+     * Grade comprehension answers and calculate percentage, waiting for every AI-graded answer
      */
     public Map<String, Object> gradeComprehensionAnswers(
             List<Map<String, Object>> questions, 
             List<Map<String, Object>> answers) {
-        
+        return startGrading(questions, answers).getCompletion().join();
+    }
+
+    /**
+     * Grade comprehension answers, waiting at most the inline grading time for the AI
+     */
+    public GradingRun startGrading(List<Map<String, Object>> questions, List<Map<String, Object>> answers) {
         int totalQuestions = questions.size();
-        int correctAnswers = 0;
         List<Map<String, Object>> gradedAnswers = new ArrayList<>();
+        // Index into gradedAnswers of each short answer sent to the AI, in batch order
+        List<Integer> shortAnswerIndexes = new ArrayList<>();
+        List<Map<String, Object>> shortAnswerItems = new ArrayList<>();
         
         for (Map<String, Object> answer : answers) {
             int questionId = ((Number) answer.get("questionId")).intValue();
@@ -205,20 +252,6 @@ public class ComprehensionCheckService {
                     isCorrect = studentAnswer.equals(correctAnswer);
                 } else if ("true_false".equals(questionType)) {
                     isCorrect = studentAnswer.equalsIgnoreCase(correctAnswer);
-                } else if ("short_answer".equals(questionType)) {
-                    // For short answers, we'll need to use AI to evaluate
-                    Map<String, Object> request = new HashMap<>();
-                    request.put("task", "evaluate_short_answer");
-                    request.put("question", question.get("question"));
-                    request.put("expectedAnswer", correctAnswer);
-                    request.put("studentAnswer", studentAnswer);
-                    
-                    String evaluation = aiService.callAIModel(request).getResult();
-                    isCorrect = evaluation.toLowerCase().contains("correct");
-                }
-                
-                if (isCorrect) {
-                    correctAnswers++;
                 }
                 
                 // Add to graded answers - ensure isCorrect is stored as boolean
@@ -226,9 +259,126 @@ public class ComprehensionCheckService {
                 gradedAnswer.put("isCorrect", isCorrect);
                 gradedAnswer.put("correctAnswer", correctAnswer);
                 gradedAnswer.put("questionText", question.get("question")); // Add question text for reference
+                if ("short_answer".equals(questionType)) {
+                    // Graded by the AI below
+                    gradedAnswer.put("pending", true);
+                    shortAnswerIndexes.add(gradedAnswers.size());
+                    Map<String, Object> item = new HashMap<>();
+                    item.put("question", question.get("question"));
+                    item.put("expectedAnswer", correctAnswer);
+                    item.put("studentAnswer", studentAnswer);
+                    shortAnswerItems.add(item);
+                }
                 gradedAnswers.add(gradedAnswer);
             }
         }
+
+        if (shortAnswerItems.isEmpty()) {
+            Map<String, Object> result = summarizeGrading(totalQuestions, gradedAnswers);
+            return new GradingRun(result, CompletableFuture.completedFuture(result));
+        }
+
+        CompletableFuture<Map<String, Object>> completion = evaluateShortAnswers(shortAnswerItems)
+            .thenApply(verdicts -> {
+                List<Map<String, Object>> finalAnswers = new ArrayList<>();
+                for (Map<String, Object> gradedAnswer : gradedAnswers) {
+                    finalAnswers.add(new HashMap<>(gradedAnswer));
+                }
+                for (int i = 0; i < shortAnswerIndexes.size(); i++) {
+                    Map<String, Object> gradedAnswer = finalAnswers.get(shortAnswerIndexes.get(i));
+                    gradedAnswer.remove("pending");
+                    gradedAnswer.put("isCorrect", verdicts.get(i));
+                }
+                return summarizeGrading(totalQuestions, finalAnswers);
+            });
+
+        try {
+            return new GradingRun(completion.get(inlineGradingMs, TimeUnit.MILLISECONDS), completion);
+        } catch (TimeoutException e) {
+            logger.info("{} short answers still being graded after {} ms; sending the rest later",
+                shortAnswerItems.size(), inlineGradingMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Short answer grading failed: {}", e.getMessage(), e);
+        }
+        return new GradingRun(summarizeGrading(totalQuestions, gradedAnswers), completion);
+    }
+
+    /**
+     * One AI call for every short answer of a submission, bounded by the grading deadline.
+     * Answers the AI does not grade in time (or at all) fall back to a plain comparison with
+     * the expected answer.
+     */
+    private CompletableFuture<List<Boolean>> evaluateShortAnswers(List<Map<String, Object>> items) {
+        Map<String, Object> request = new HashMap<>();
+        request.put("task", "evaluate_short_answers");
+        request.put("items", items);
+
+        CompletableFuture<String> call;
+        try {
+            call = CompletableFuture.supplyAsync(() -> aiService.callAIModel(request).getResult(), aiTaskExecutor);
+        } catch (RejectedExecutionException e) {
+            logger.warn("AI executor saturated, grading {} short answers without the AI", items.size());
+            call = CompletableFuture.completedFuture(null);
+        }
+        return call
+            .completeOnTimeout(null, gradingDeadlineMs, TimeUnit.MILLISECONDS)
+            .exceptionally(e -> {
+                logger.warn("Short answer grading call failed: {}", e.getMessage());
+                return null;
+            })
+            .thenApply(response -> {
+                Map<Integer, Boolean> verdicts = parseShortAnswerVerdicts(response);
+                List<Boolean> results = new ArrayList<>();
+                for (int i = 0; i < items.size(); i++) {
+                    Boolean verdict = verdicts.get(i + 1);
+                    if (verdict == null) {
+                        Map<String, Object> item = items.get(i);
+                        verdict = matchesExpectedAnswer((String) item.get("studentAnswer"), (String) item.get("expectedAnswer"));
+                    }
+                    results.add(verdict);
+                }
+                return results;
+            });
+    }
+
+    private static final Pattern VERDICT_LINE = Pattern.compile("^\\s*(\\d+)\\s*[:.)-]\\s*(INCORRECT|CORRECT)\\b", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+
+    /**
+     * Parse "1: CORRECT" / "2: INCORRECT" lines, keyed by item number
+     */
+    static Map<Integer, Boolean> parseShortAnswerVerdicts(String response) {
+        Map<Integer, Boolean> verdicts = new HashMap<>();
+        if (response == null) {
+            return verdicts;
+        }
+        Matcher matcher = VERDICT_LINE.matcher(response);
+        while (matcher.find()) {
+            verdicts.put(Integer.parseInt(matcher.group(1)), "CORRECT".equalsIgnoreCase(matcher.group(2)));
+        }
+        return verdicts;
+    }
+
+    static boolean matchesExpectedAnswer(String studentAnswer, String expectedAnswer) {
+        if (studentAnswer == null || expectedAnswer == null) {
+            return false;
+        }
+        String student = studentAnswer.toLowerCase().replaceAll("[^a-z0-9 ]", " ").replaceAll("\\s+", " ").trim();
+        String expected = expectedAnswer.toLowerCase().replaceAll("[^a-z0-9 ]", " ").replaceAll("\\s+", " ").trim();
+        return !expected.isEmpty() && (student.equals(expected) || (" " + student + " ").contains(" " + expected + " "));
+    }
+
+    static Map<String, Object> summarizeGrading(int totalQuestions, List<Map<String, Object>> gradedAnswers) {
+        int correctAnswers = 0;
+        int pendingAnswers = 0;
+        for (Map<String, Object> gradedAnswer : gradedAnswers) {
+            if (Boolean.TRUE.equals(gradedAnswer.get("pending"))) {
+                pendingAnswers++;
+            } else if (Boolean.TRUE.equals(gradedAnswer.get("isCorrect"))) {
+                correctAnswers++;
+            }
+        }
         
         // Calculate percentage
         double percentage = totalQuestions > 0 ? (double) correctAnswers / totalQuestions * 100 : 0;
@@ -237,6 +387,7 @@ public class ComprehensionCheckService {
         Map<String, Object> result = new HashMap<>();
         result.put("totalQuestions", totalQuestions);
         result.put("correctAnswers", correctAnswers);
+        result.put("pendingAnswers", pendingAnswers);
         result.put("percentage", Math.round(percentage * 100.0) / 100.0); // Round to 2 decimal places
         result.put("gradedAnswers", gradedAnswers);
         
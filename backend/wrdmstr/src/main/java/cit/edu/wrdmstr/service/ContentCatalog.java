@@ -0,0 +1,163 @@
+package cit.edu.wrdmstr.service;
+
+import cit.edu.wrdmstr.entity.*;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * In-memory snapshots of the reference data a game reads on every turn: a content's word
+ * bank, roles, power-up cards and game config. A snapshot is loaded once and kept until
+ * the content is edited, published, unpublished or deleted on this node; the TTL bounds
+ * how long another node can serve a snapshot of an edited content.
+ *
+ * Snapshot entities are detached and shared between threads. Read them; never modify or
+ * save them.
+ *
+ * A cache miss is loaded through a short-lived read-only session of its own, on the
+ * caller's JDBC connection when the caller is in a transaction. It never suspends the
+ * caller's transaction or takes a second pooled connection while holding one.
+ */
+@Service
+public class ContentCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(ContentCatalog.class);
+
+    @Autowired private PerformanceMetricsService performanceMetricsService;
+
+    private final SessionFactory sessionFactory;
+    private final DataSource dataSource;
+    private final Cache<Long, ContentSnapshot> snapshots;
+
+    public ContentCatalog(EntityManagerFactory entityManagerFactory, DataSource dataSource,
+                          @Value("${wordmaster.content-catalog.ttl-minutes:30}") long ttlMinutes) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.dataSource = dataSource;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(500)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+    }
+
+    @PostConstruct
+    void monitorCache() {
+        performanceMetricsService.monitorCache(snapshots, "content_catalog");
+    }
+
+    public static final class ContentSnapshot {
+        private final Long contentId;
+        private final Date version;
+        private final String title;
+        private final String description;
+        private final String backgroundImage;
+        private final List<WordBankItem> wordBank;
+        private final List<Role> roles;
+        private final List<PowerupCard> cards;
+        private final Integer studentsPerGroup;
+        private final Integer timePerTurn;
+        private final Integer turnCycles;
+
+        ContentSnapshot(ContentEntity content, List<WordBankItem> wordBank, List<Role> roles, List<PowerupCard> cards) {
+            GameConfig config = content.getGameConfig();
+            ContentData data = content.getContentData();
+            this.contentId = content.getId();
+            this.version = content.getUpdatedAt();
+            this.title = content.getTitle();
+            this.description = content.getDescription() != null ? content.getDescription() : "";
+            this.backgroundImage = data != null ? data.getBackgroundImage() : null;
+            this.wordBank = List.copyOf(wordBank);
+            this.roles = List.copyOf(roles);
+            this.cards = List.copyOf(cards);
+            this.studentsPerGroup = config != null ? config.getStudentsPerGroup() : null;
+            this.timePerTurn = config != null ? config.getTimePerTurn() : null;
+            this.turnCycles = config != null ? config.getTurnCycles() : null;
+        }
+
+        public Long getContentId() { return contentId; }
+        public Date getVersion() { return version; }
+        public String getTitle() { return title; }
+        public String getDescription() { return description; }
+        public String getBackgroundImage() { return backgroundImage; }
+        public List<WordBankItem> getWordBank() { return wordBank; }
+        public List<Role> getRoles() { return roles; }
+        public List<PowerupCard> getCards() { return cards; }
+        public Integer getStudentsPerGroup() { return studentsPerGroup; }
+        public Integer getTimePerTurn() { return timePerTurn; }
+        public Integer getTurnCycles() { return turnCycles; }
+    }
+
+    public ContentSnapshot get(Long contentId) {
+        return snapshots.get(contentId, this::load);
+    }
+
+    /**
+     * Drop the snapshot once the current transaction commits, so a reader in between
+     * cannot cache the old rows again.
+     */
+    public void invalidate(Long contentId) {
+        if (contentId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    snapshots.invalidate(contentId);
+                }
+            });
+        } else {
+            snapshots.invalidate(contentId);
+        }
+    }
+
+    public void invalidateAll() {
+        snapshots.invalidateAll();
+    }
+
+    private ContentSnapshot load(Long contentId) {
+        ContentSnapshot snapshot;
+        // The transaction's connection if there is one, otherwise a pooled one for the load only
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        // Own persistence context, so snapshots never belong to the caller's session
+        try (Session session = sessionFactory.withOptions().connection(connection).openSession()) {
+            session.setDefaultReadOnly(true);
+            ContentEntity content = session.get(ContentEntity.class, contentId);
+            if (content == null) {
+                throw new EntityNotFoundException("Content not found with id: " + contentId);
+            }
+            snapshot = new ContentSnapshot(content,
+                    byContent(session, WordBankItem.class, contentId),
+                    byContent(session, Role.class, contentId),
+                    byContent(session, PowerupCard.class, contentId));
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        logger.debug("Loaded content snapshot {} (version {}): {} words, {} roles, {} cards", contentId,
+                snapshot.getVersion(), snapshot.getWordBank().size(), snapshot.getRoles().size(), snapshot.getCards().size());
+        return snapshot;
+    }
+
+    private static <T> List<T> byContent(Session session, Class<T> type, Long contentId) {
+        return session.createSelectionQuery("FROM " + type.getSimpleName() + " e WHERE e.contentData.content.id = :contentId", type)
+                .setParameter("contentId", contentId)
+                .getResultList();
+    }
+}
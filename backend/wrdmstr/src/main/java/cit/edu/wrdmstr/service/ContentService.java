@@ -12,10 +12,6 @@ import cit.edu.wrdmstr.repository.ScoreRecordEntityRepository;
 import cit.edu.wrdmstr.service.AIService;
 import cit.edu.wrdmstr.repository.UserRepository;
 import cit.edu.wrdmstr.repository.WordBankItemRepository;
-import cit.edu.wrdmstr.repository.GrammarResultRepository;
-import cit.edu.wrdmstr.repository.VocabularyResultRepository;
-import cit.edu.wrdmstr.repository.ComprehensionResultRepository;
-import cit.edu.wrdmstr.repository.TeacherFeedbackRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.AccessDeniedException;
@@ -49,13 +45,9 @@ public class ContentService {
     private final RoleRepository roleRepository;
     private final ContentRepository contentDataRepository;
     @Autowired
-    private GrammarResultRepository grammarResultRepository;
+    private ContentCatalog contentCatalog;
     @Autowired
-    private VocabularyResultRepository vocabularyResultRepository;
-    @Autowired
-    private ComprehensionResultRepository comprehensionResultRepository;
-    @Autowired
-    private TeacherFeedbackRepository teacherFeedbackRepository;
+    private PurgeService purgeService;
     
     @Autowired
     public ContentService(ContentRepository contentRepository,
@@ -97,6 +89,7 @@ public class ContentService {
     public ContentDTO getContentById(Long id, Authentication auth) {
         UserEntity user = getAuthenticatedUser(auth);
         ContentEntity content = contentRepository.findById(id)
+                .filter(c -> c.getDeletedAt() == null)
                 .orElseThrow(() -> new EntityNotFoundException("Content not found with id: " + id));
 
         if (!(content.getCreator().getId()==(user.getId())) &&
@@ -173,6 +166,7 @@ public class ContentService {
     public ContentDTO updateContent(Long id, ContentDTO contentDTO, Authentication auth) {
         UserEntity user = getAuthenticatedUser(auth);
         ContentEntity content = contentRepository.findById(id)
+                .filter(c -> c.getDeletedAt() == null)
                 .orElseThrow(() -> new EntityNotFoundException("Content not found with id: " + id));
 
         if (!(content.getCreator().getId() == user.getId())) {
@@ -278,6 +272,7 @@ public class ContentService {
 
         // Final save
         ContentEntity updatedContent = contentRepository.save(content);
+        contentCatalog.invalidate(id);
         return convertToDTO(updatedContent);
     }
 
@@ -285,6 +280,7 @@ public class ContentService {
     public void deleteContent(Long id, Authentication auth) {
         UserEntity user = getAuthenticatedUser(auth);
         ContentEntity content = contentRepository.findById(id)
+                .filter(c -> c.getDeletedAt() == null)
                 .orElseThrow(() -> new EntityNotFoundException("Content not found with id: " + id));
 
         // Permission check
@@ -294,83 +290,15 @@ public class ContentService {
         }
 
         logger.info("Starting deletion of content ID: {}", id);
-
-        try {
-            // First, clean up all game sessions and their related data
-            List<GameSessionEntity> sessions = gameSessionRepository.findByContentId(content.getId());
-            for (GameSessionEntity session : sessions) {
-                Long sessionId = session.getId();
-                
-                // Delete assessment results first
-                grammarResultRepository.deleteByGameSessionId(sessionId);
-                vocabularyResultRepository.deleteByGameSessionId(sessionId);
-                comprehensionResultRepository.deleteByGameSessionId(sessionId);
-                teacherFeedbackRepository.deleteByGameSessionId(sessionId);
-                
-                // Get player session IDs BEFORE deleting anything
-                List<Long> playerSessionIds = session.getPlayers().stream()
-                        .map(PlayerSessionEntity::getId)
-                        .collect(Collectors.toList());
-                
-                // Delete player cards first
-
-                
-                // Clear and delete chat messages
-                chatMessageRepository.deleteBySessionId(sessionId);
-                
-                // Clear current player reference BEFORE deleting player sessions
-                session.setCurrentPlayer(null);
-                gameSessionRepository.save(session);
-                
-                // Clear the players collection to prevent cascade issues
-                session.getPlayers().clear();
-                gameSessionRepository.save(session);
-                
-                // Now delete player sessions using repository method
-                playerSessionRepository.deleteBySessionId(sessionId);
-                
-                // Clear score records - get fresh list after player deletion
-                session = gameSessionRepository.findById(sessionId).orElse(null);
-                if (session != null) {
-                    List<ScoreRecordEntity> scores = new ArrayList<>(session.getScores());
-                    session.getScores().clear();
-                    gameSessionRepository.save(session);
-                    scoreRecordRepository.deleteAll(scores);
-                }
-                
-                // Finally delete the session
-                gameSessionRepository.delete(session);
-            }
-            
-            // Now handle the content data cleanup
-            ContentData contentData = content.getContentData();
-            if (contentData != null) {
-                // Clear word bank and roles to prevent cascade issues
-                contentData.getWordBank().clear();
-                contentData.getRoles().clear();
-                
-                // Clear the bidirectional relationship
-                content.setContentData(null);
-                contentData.setContent(null);
-                
-                // Save the content to break the relationship
-                contentRepository.save(content);
-            }
-            
-            // Delete the content itself
-            contentRepository.delete(content);
-            
-            logger.info("Content with ID: {} deleted successfully", id);
-        } catch (Exception e) {
-            logger.error("Error deleting content with ID: {}", id, e);
-            throw e;
-        }
+        purgeService.deleteContent(id);
+        logger.info("Content with ID: {} deleted", id);
     }
 
     @Transactional
     public ContentDTO publishContent(Long id, Authentication auth) {
         UserEntity user = getAuthenticatedUser(auth);
         ContentEntity content = contentRepository.findById(id)
+                .filter(c -> c.getDeletedAt() == null)
                 .orElseThrow(() -> new EntityNotFoundException("Content not found with id: " + id));
 
         if (!(content.getCreator().getId() ==(user.getId()))) {
@@ -378,6 +306,7 @@ public class ContentService {
         }
 
         content.setPublished(true);
+        contentCatalog.invalidate(id);
         return convertToDTO(contentRepository.save(content));
     }
 
@@ -385,6 +314,7 @@ public class ContentService {
     public ContentDTO unpublishContent(Long id, Authentication auth) {
         UserEntity user = getAuthenticatedUser(auth);
         ContentEntity content = contentRepository.findById(id)
+                .filter(c -> c.getDeletedAt() == null)
                 .orElseThrow(() -> new EntityNotFoundException("Content not found with id: " + id));
 
         if (!(content.getCreator().getId() ==(user.getId()))) {
@@ -392,6 +322,7 @@ public class ContentService {
         }
 
         content.setPublished(false);
+        contentCatalog.invalidate(id);
         return convertToDTO(contentRepository.save(content));
     }
 
@@ -28,10 +28,7 @@ public class ExcelExportService {
     private PlayerSessionEntityRepository playerSessionRepository;
     
     @Autowired
-    private ChatMessageEntityRepository chatMessageRepository;
-    
-    @Autowired
-    private ScoreRecordEntityRepository scoreRepository;
+    private SessionHistoryService sessionHistoryService;
 
     @Autowired
     private UserRepository userRepository;
@@ -39,6 +36,9 @@ public class ExcelExportService {
     @Autowired
     private ContentRepository contentRepository;
 
+    @Autowired
+    private SessionSummaryService sessionSummaryService;
+
     private UserEntity getAuthenticatedUser(Authentication authentication) {
         String email = authentication.getName();
         return userRepository.findByEmail(email)
@@ -167,6 +167,10 @@ public class ExcelExportService {
         
         currentRow++; // Empty row
         
+        // Finished sessions have per-student summary rows; load them in one query
+        Map<String, SessionSummaryEntity> summaries = sessionSummaryService.getSummaries(
+            sessions.stream().map(GameSessionEntity::getId).collect(Collectors.toList()));
+        
         // Get all unique students across all sessions
         Set<UserEntity> allStudents = new HashSet<>();
         Map<Long, List<PlayerSessionEntity>> studentSessions = new HashMap<>();
@@ -295,13 +299,13 @@ public class ExcelExportService {
                 highestScoreCell.setCellStyle(numberStyle);
                 
                 // Grammar accuracy
-                double grammarAccuracy = calculateGrammarAccuracy(student.getId(), playerSessions);
+                double grammarAccuracy = calculateGrammarAccuracy(student.getId(), playerSessions, summaries);
                 Cell grammarCell = dataRow.createCell(colIndex++);
                 grammarCell.setCellValue(Math.round(grammarAccuracy * 100.0) / 100.0);
                 grammarCell.setCellStyle(numberStyle);
                 
                 // Word bank usage count
-                int wordBankUsage = calculateWordBankUsage(student.getId(), playerSessions);
+                int wordBankUsage = calculateWordBankUsage(student.getId(), playerSessions, summaries);
                 Cell wordBankCell = dataRow.createCell(colIndex++);
                 wordBankCell.setCellValue(wordBankUsage);
                 wordBankCell.setCellStyle(numberStyle);
@@ -351,13 +355,21 @@ public class ExcelExportService {
         sheet.createFreezePane(4, currentRow - sortedStudents.size());
     }
     
-    private double calculateGrammarAccuracy(Long studentId, List<PlayerSessionEntity> playerSessions) {
+    private double calculateGrammarAccuracy(Long studentId, List<PlayerSessionEntity> playerSessions,
+                                            Map<String, SessionSummaryEntity> summaries) {
         int totalMessages = 0;
         int perfectMessages = 0;
         
         for (PlayerSessionEntity session : playerSessions) {
-            List<ChatMessageEntity> messages = chatMessageRepository
-                .findBySessionIdAndSenderId(session.getSession().getId(), studentId);
+            SessionSummaryEntity summary = summaries.get(
+                SessionSummaryService.key(session.getSession().getId(), studentId));
+            if (summary != null) {
+                totalMessages += summary.getMessageCount();
+                perfectMessages += summary.getPerfectCount();
+                continue;
+            }
+            List<ChatMessageEntity> messages = sessionHistoryService
+                .getMessages(session.getSession().getId(), studentId);
             
             totalMessages += messages.size();
             perfectMessages += (int) messages.stream()
@@ -368,11 +380,18 @@ public class ExcelExportService {
         return totalMessages > 0 ? (perfectMessages * 100.0) / totalMessages : 0.0;
     }
     
-    private int calculateWordBankUsage(Long studentId, List<PlayerSessionEntity> playerSessions) {
+    private int calculateWordBankUsage(Long studentId, List<PlayerSessionEntity> playerSessions,
+                                       Map<String, SessionSummaryEntity> summaries) {
         int totalUsage = 0;
         
         for (PlayerSessionEntity session : playerSessions) {
-            totalUsage += (int) scoreRepository.findBySessionIdAndUserId(
+            SessionSummaryEntity summary = summaries.get(
+                SessionSummaryService.key(session.getSession().getId(), studentId));
+            if (summary != null) {
+                totalUsage += summary.getWordBankUsageCount();
+                continue;
+            }
+            totalUsage += (int) sessionHistoryService.getScores(
                 session.getSession().getId(), studentId).stream()
                 .filter(s -> s.getReason() != null && s.getReason().contains("word bank"))
                 .count();
@@ -451,25 +470,17 @@ public class ExcelExportService {
         }
         
         List<PlayerSessionEntity> players = playerSessionRepository.findBySessionId(session.getId());
+        Map<Long, SessionSummaryEntity> summaries = sessionSummaryService.getSummariesByStudent(session.getId());
         
         for (PlayerSessionEntity player : players) {
             Row row = sheet.createRow(currentRow++);
             int colIdx = 0;
             
             // Get statistics
-            List<ChatMessageEntity> messages = chatMessageRepository
-                .findBySessionIdAndSenderId(session.getId(), player.getUser().getId());
-            
-            Map<String, Long> grammarStats = messages.stream()
-                .collect(Collectors.groupingBy(
-                    msg -> msg.getGrammarStatus().toString(),
-                    Collectors.counting()
-                ));
-            
-            long wordBankUsage = scoreRepository.findBySessionIdAndUserId(
-                session.getId(), player.getUser().getId()).stream()
-                .filter(s -> s.getReason() != null && s.getReason().contains("word bank"))
-                .count();
+            PlayerStats stats = getPlayerStats(session, player, summaries.get(player.getUser().getId()));
+            int messageCount = stats.messageCount();
+            Map<String, Long> grammarStats = stats.grammarStats();
+            long wordBankUsage = stats.wordBankUsage();
             
             Optional<TeacherFeedbackEntity> feedback = feedbackRepository
                 .findByGameSessionIdAndStudentId(session.getId(), player.getUser().getId());
@@ -479,14 +490,14 @@ public class ExcelExportService {
             row.createCell(colIdx++).setCellValue(player.getUser().getEmail());
             row.createCell(colIdx++).setCellValue(player.getRole() != null ? player.getRole().getName() : "N/A");
             row.createCell(colIdx++).setCellValue(player.getTotalScore());
-            row.createCell(colIdx++).setCellValue(messages.size());
+            row.createCell(colIdx++).setCellValue(messageCount);
             row.createCell(colIdx++).setCellValue(grammarStats.getOrDefault("PERFECT", 0L));
             row.createCell(colIdx++).setCellValue(grammarStats.getOrDefault("MINOR_ERRORS", 0L));
             row.createCell(colIdx++).setCellValue(grammarStats.getOrDefault("MAJOR_ERRORS", 0L));
             
             // Grammar accuracy
-            double accuracy = messages.isEmpty() ? 0 : 
-                (grammarStats.getOrDefault("PERFECT", 0L) * 100.0) / messages.size();
+            double accuracy = messageCount == 0 ? 0 : 
+                (grammarStats.getOrDefault("PERFECT", 0L) * 100.0) / messageCount;
             row.createCell(colIdx++).setCellValue(Math.round(accuracy * 100.0) / 100.0);
             
             row.createCell(colIdx++).setCellValue(wordBankUsage);
@@ -515,6 +526,39 @@ public class ExcelExportService {
         }
     }
 
+    private record PlayerStats(int messageCount, Map<String, Long> grammarStats, long wordBankUsage) {}
+
+    /**
+     * Per-player sheet statistics, read from the session summary when the game has
+     * finished and aggregated from chat messages and score records otherwise.
+     */
+    private PlayerStats getPlayerStats(GameSessionEntity session, PlayerSessionEntity player,
+                                       SessionSummaryEntity summary) {
+        if (summary != null) {
+            Map<String, Long> grammarStats = new HashMap<>();
+            grammarStats.put("PERFECT", (long) summary.getPerfectCount());
+            grammarStats.put("MINOR_ERRORS", (long) summary.getMinorErrorsCount());
+            grammarStats.put("MAJOR_ERRORS", (long) summary.getMajorErrorsCount());
+            grammarStats.put("PENDING", (long) summary.getPendingCount());
+            return new PlayerStats(summary.getMessageCount(), grammarStats, summary.getWordBankUsageCount());
+        }
+
+        List<ChatMessageEntity> messages = sessionHistoryService
+            .getMessages(session.getId(), player.getUser().getId());
+        
+        Map<String, Long> grammarStats = messages.stream()
+            .collect(Collectors.groupingBy(
+                msg -> msg.getGrammarStatus().toString(),
+                Collectors.counting()
+            ));
+        
+        long wordBankUsage = sessionHistoryService.getScores(
+            session.getId(), player.getUser().getId()).stream()
+            .filter(s -> s.getReason() != null && s.getReason().contains("word bank"))
+            .count();
+        return new PlayerStats(messages.size(), grammarStats, wordBankUsage);
+    }
+
     private String calculateOverallGrade(double avgScore) {
         if (avgScore >= 95) return "A+";
         if (avgScore >= 90) return "A";
@@ -594,25 +638,16 @@ public class ExcelExportService {
         }
         
         List<PlayerSessionEntity> players = playerSessionRepository.findBySessionId(session.getId());
+        Map<Long, SessionSummaryEntity> summaries = sessionSummaryService.getSummariesByStudent(session.getId());
         int rowNum = 5;
         
         for (PlayerSessionEntity player : players) {
             Row row = sheet.createRow(rowNum++);
             
             // Get statistics
-            List<ChatMessageEntity> messages = chatMessageRepository
-                .findBySessionIdAndSenderId(session.getId(), player.getUser().getId());
-            
-            Map<String, Long> grammarStats = messages.stream()
-                .collect(Collectors.groupingBy(
-                    msg -> msg.getGrammarStatus().toString(),
-                    Collectors.counting()
-                ));
-            
-            long wordBankUsage = scoreRepository.findBySessionIdAndUserId(
-                session.getId(), player.getUser().getId()).stream()
-                .filter(s -> s.getReason() != null && s.getReason().contains("word bank"))
-                .count();
+            PlayerStats stats = getPlayerStats(session, player, summaries.get(player.getUser().getId()));
+            Map<String, Long> grammarStats = stats.grammarStats();
+            long wordBankUsage = stats.wordBankUsage();
             
             Optional<TeacherFeedbackEntity> feedback = feedbackRepository
                 .findByGameSessionIdAndStudentId(session.getId(), player.getUser().getId());
@@ -622,7 +657,7 @@ public class ExcelExportService {
             row.createCell(1).setCellValue(player.getUser().getEmail());
             row.createCell(2).setCellValue(player.getRole() != null ? player.getRole().getName() : "N/A");
             row.createCell(3).setCellValue(player.getTotalScore());
-            row.createCell(4).setCellValue(messages.size());
+            row.createCell(4).setCellValue(stats.messageCount());
             row.createCell(5).setCellValue(wordBankUsage);
             row.createCell(6).setCellValue(player.getGrammarStreak());
             row.createCell(7).setCellValue(grammarStats.getOrDefault("PERFECT", 0L));
@@ -0,0 +1,202 @@
+package cit.edu.wrdmstr.service;
+
+import cit.edu.wrdmstr.dto.TeacherFeedbackDTO;
+import cit.edu.wrdmstr.service.TeacherFeedbackService.ClassFeedbackPlan;
+import cit.edu.wrdmstr.service.TeacherFeedbackService.FeedbackInput;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates suggested feedback for a whole class as a background job. The session aggregate
+ * is planned once, then at most {@code concurrency} generate_feedback calls run at a time on
+ * the background AI executor; each finished call starts the next student. Every draft is saved as soon
+ * as it is ready and announced to the teacher on /user/queue/feedback-jobs, so the class is
+ * done in roughly the time of its slowest few calls instead of one call per student.
+ */
+@Service
+public class FeedbackJobService {
+    private static final Logger logger = LoggerFactory.getLogger(FeedbackJobService.class);
+
+    static final String PROGRESS_QUEUE = "/queue/feedback-jobs";
+
+    @Autowired private TeacherFeedbackService teacherFeedbackService;
+    @Autowired private AIService aiService;
+    @Autowired private SimpMessagingTemplate messagingTemplate;
+    @Autowired @Qualifier("aiBackgroundExecutor") private Executor aiBackgroundExecutor;
+
+    @Value("${wordmaster.feedback-job.concurrency:4}")
+    private int concurrency;
+
+    // Finished jobs stay queryable for a while so a reconnecting teacher can catch up
+    private final Cache<String, FeedbackJob> jobs = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofHours(1))
+            .maximumSize(500)
+            .build();
+    // Running job per session, so a double click does not start a second one
+    private final Map<Long, FeedbackJob> runningBySession = new ConcurrentHashMap<>();
+
+    private static final class FeedbackJob {
+        final String jobId = UUID.randomUUID().toString();
+        final ClassFeedbackPlan plan;
+        final Queue<FeedbackInput> pending;
+        final AtomicInteger completed = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final long startedAt = System.currentTimeMillis();
+        volatile long finishedAt;
+
+        FeedbackJob(ClassFeedbackPlan plan) {
+            this.plan = plan;
+            this.pending = new ConcurrentLinkedQueue<>(plan.students());
+        }
+
+        int total() {
+            return plan.students().size();
+        }
+
+        boolean isDone() {
+            return completed.get() + failed.get() >= total();
+        }
+    }
+
+    /**
+     * Starts generating drafts for every student in the session without feedback, or returns
+     * the job already running for the session.
+     */
+    public Map<String, Object> startClassFeedback(Long sessionId, Authentication auth) {
+        ClassFeedbackPlan plan = teacherFeedbackService.planClassFeedback(sessionId, auth);
+        FeedbackJob job = new FeedbackJob(plan);
+        FeedbackJob running = runningBySession.putIfAbsent(sessionId, job);
+        if (running != null) {
+            return status(running);
+        }
+        jobs.put(job.jobId, job);
+        logger.info("Feedback job {} for session {}: {} students, {} already reviewed",
+                job.jobId, sessionId, job.total(), plan.alreadyReviewed());
+
+        if (job.total() == 0) {
+            finish(job);
+            return status(job);
+        }
+        for (int i = 0; i < Math.min(Math.max(1, concurrency), job.total()); i++) {
+            launchNext(job);
+        }
+        return status(job);
+    }
+
+    /**
+     * Progress of a job started by the caller.
+     */
+    public Map<String, Object> getJobStatus(String jobId, Authentication auth) {
+        FeedbackJob job = jobs.getIfPresent(jobId);
+        if (job == null || !job.plan.teacherEmail().equals(auth.getName())) {
+            throw new RuntimeException("Feedback job not found");
+        }
+        return status(job);
+    }
+
+    private void launchNext(FeedbackJob job) {
+        FeedbackInput input = job.pending.poll();
+        if (input == null) {
+            return;
+        }
+        try {
+            CompletableFuture
+                .supplyAsync(() -> aiService.callAIModel(TeacherFeedbackService.feedbackRequest(input)).getResult(), aiBackgroundExecutor)
+                .thenApply(suggestion -> teacherFeedbackService.saveSuggestedDraft(job.plan.sessionId(), input, suggestion))
+                .whenComplete((draft, ex) -> {
+                    studentFinished(job, input, draft, ex);
+                    launchNext(job);
+                });
+        } catch (RuntimeException e) {
+            // Executor saturated: count the student as failed and move on to the next
+            studentFinished(job, input, null, e);
+            launchNext(job);
+        }
+    }
+
+    private void studentFinished(FeedbackJob job, FeedbackInput input, TeacherFeedbackDTO draft, Throwable error) {
+        if (error != null || draft == null) {
+            logger.warn("Feedback job {}: no draft for student {}: {}", job.jobId, input.studentId(),
+                    error != null ? error.getMessage() : "empty suggestion");
+        }
+        // Counting and publishing together keep the teacher's progress events in order,
+        // with the job's final event last
+        synchronized (job) {
+            if (error == null && draft != null) {
+                job.completed.incrementAndGet();
+            } else {
+                job.failed.incrementAndGet();
+            }
+
+            Map<String, Object> event = status(job);
+            event.put("studentId", input.studentId());
+            event.put("studentName", input.studentName());
+            event.put("studentStatus", draft != null ? "COMPLETED" : "FAILED");
+            if (draft != null) {
+                event.put("feedback", draft);
+            }
+            publish(job, event);
+
+            if (job.isDone()) {
+                finish(job);
+            }
+        }
+    }
+
+    private void finish(FeedbackJob job) {
+        synchronized (job) {
+            if (job.finishedAt != 0) {
+                return;
+            }
+            // Released before the job reports COMPLETED, so a new request after that starts afresh
+            runningBySession.remove(job.plan.sessionId(), job);
+            job.finishedAt = System.currentTimeMillis();
+        }
+        publish(job, status(job));
+        logger.info("Feedback job {} finished in {} ms: {} drafts, {} failed",
+                job.jobId, job.finishedAt - job.startedAt, job.completed.get(), job.failed.get());
+    }
+
+    private void publish(FeedbackJob job, Map<String, Object> event) {
+        try {
+            messagingTemplate.convertAndSendToUser(job.plan.teacherEmail(), PROGRESS_QUEUE, event);
+        } catch (Exception e) {
+            logger.debug("Could not send feedback job progress for {}: {}", job.jobId, e.getMessage());
+        }
+    }
+
+    private Map<String, Object> status(FeedbackJob job) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("jobId", job.jobId);
+        status.put("sessionId", job.plan.sessionId());
+        status.put("status", job.finishedAt != 0 ? "COMPLETED" : "RUNNING");
+        status.put("total", job.total());
+        status.put("completed", job.completed.get());
+        status.put("failed", job.failed.get());
+        status.put("alreadyReviewed", job.plan.alreadyReviewed());
+        status.put("startedAt", job.startedAt);
+        if (job.finishedAt != 0) {
+            status.put("finishedAt", job.finishedAt);
+        }
+        return status;
+    }
+}
@@ -1,15 +1,21 @@
 package cit.edu.wrdmstr.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -24,6 +30,64 @@ public class JwtService {
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Autowired
+    private PerformanceMetricsService performanceMetricsService;
+
+    // Signature-checked claims by raw token, so a polled token is parsed once
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtService(@Value("${wordmaster.auth.token-cache-minutes:5}") long tokenCacheMinutes) {
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(tokenCacheMinutes))
+                .recordStats()
+                .build();
+    }
+
+    @PostConstruct
+    void monitorCache() {
+        performanceMetricsService.monitorCache(verifiedTokens, "jwt_tokens");
+    }
+
+    /**
+     * Claims of a token whose signature has been checked. Tokens issued before versions
+     * were signed carry no "ver" claim and count as version 0.
+     */
+    public record VerifiedToken(String username, String role, int version, Date expiresAt) {
+        public boolean isExpired() {
+            return expiresAt != null && expiresAt.before(new Date());
+        }
+    }
+
+    /**
+     * Verify the token without loading the user: signature and expiry, then the signed
+     * version against the user's current one. Returns null if the token must be rejected.
+     */
+    public VerifiedToken authenticate(String token) {
+        VerifiedToken verified = verifiedTokens.getIfPresent(token);
+        if (verified == null) {
+            try {
+                Claims claims = extractAllClaims(token);
+                Number version = claims.get("ver", Number.class);
+                verified = new VerifiedToken(claims.getSubject(), claims.get("role", String.class),
+                        version != null ? version.intValue() : 0, claims.getExpiration());
+            } catch (JwtException | IllegalArgumentException e) {
+                return null;
+            }
+            verifiedTokens.put(token, verified);
+        }
+        if (verified.username() == null || verified.isExpired()) {
+            return null;
+        }
+        if (verified.version() != tokenVersionService.currentVersion(verified.username())) {
+            return null;
+        }
+        return verified;
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -52,6 +116,8 @@ public class JwtService {
             extraClaims.put("role", role);
         }
         
+        extraClaims.putIfAbsent("ver", tokenVersionService.storedVersion(userDetails.getUsername()));
+
         return Jwts.builder()
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
@@ -0,0 +1,237 @@
+package cit.edu.wrdmstr.service;
+
+import cit.edu.wrdmstr.entity.OutboundMailEntity;
+import cit.edu.wrdmstr.repository.OutboundMailRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Persistent outbound mail queue. Request threads only insert a row; a small worker pool
+ * claims due rows and delivers them in batches, one SMTP connection per batch, retrying
+ * failures with exponential backoff. Claims are conditional updates, so several backend
+ * nodes can drain the same table.
+ */
+@Service
+public class MailQueueService {
+    private static final Logger logger = LoggerFactory.getLogger(MailQueueService.class);
+
+    @Autowired
+    private OutboundMailRepository mailRepository;
+
+    @Autowired(required = false)
+    private JavaMailSender mailSender;
+
+    @Autowired
+    @Qualifier("mailExecutor")
+    private TaskExecutor mailExecutor;
+
+    @Value("${wordmaster.mail.from:}")
+    private String from;
+
+    // Messages sent over one SMTP connection
+    @Value("${wordmaster.mail.batch-size:20}")
+    private int batchSize;
+
+    @Value("${wordmaster.mail.workers:2}")
+    private int workers;
+
+    @Value("${wordmaster.mail.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${wordmaster.mail.retry-base-seconds:30}")
+    private long retryBaseSeconds;
+
+    @Value("${wordmaster.mail.stale-claim-minutes:10}")
+    private long staleClaimMinutes;
+
+    @Value("${wordmaster.mail.keep-sent-days:7}")
+    private long keepSentDays;
+
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(30);
+
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final AtomicBoolean wakePending = new AtomicBoolean(false);
+
+    public boolean isEnabled() {
+        return mailSender != null;
+    }
+
+    /**
+     * Store a rendered message for delivery and return immediately.
+     */
+    public void enqueue(String to, String subject, String textBody, String htmlBody) {
+        OutboundMailEntity mail = new OutboundMailEntity();
+        mail.setRecipient(to);
+        mail.setSubject(subject);
+        mail.setTextBody(textBody);
+        mail.setHtmlBody(htmlBody);
+        mailRepository.save(mail);
+
+        // Don't make the user wait for the next poll; one pending wake-up is enough
+        if (isEnabled() && wakePending.compareAndSet(false, true)) {
+            try {
+                mailExecutor.execute(() -> {
+                    wakePending.set(false);
+                    drain();
+                });
+            } catch (TaskRejectedException e) {
+                // The poll delivers this one; later enqueues must still be able to wake the pool
+                wakePending.set(false);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${wordmaster.mail.poll-ms:1000}")
+    public void drain() {
+        if (!isEnabled() || !draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> dueIds = mailRepository.findDueIds(now, PageRequest.of(0, batchSize * workers));
+            List<Long> claimed = new ArrayList<>();
+            for (Long id : dueIds) {
+                if (mailRepository.claim(id, now) > 0) {
+                    claimed.add(id);
+                }
+            }
+            for (int i = 0; i < claimed.size(); i += batchSize) {
+                List<Long> batch = claimed.subList(i, Math.min(i + batchSize, claimed.size()));
+                List<Long> ids = new ArrayList<>(batch);
+                try {
+                    mailExecutor.execute(() -> sendBatch(ids));
+                } catch (TaskRejectedException e) {
+                    // Workers are saturated; hand the rows back for the next poll
+                    mailRepository.release(ids);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to drain mail queue", e);
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    private void sendBatch(List<Long> ids) {
+        List<OutboundMailEntity> mails = mailRepository.findAllById(ids);
+        Map<MimeMessage, OutboundMailEntity> byMessage = new IdentityHashMap<>();
+        for (OutboundMailEntity mail : mails) {
+            try {
+                byMessage.put(toMimeMessage(mail), mail);
+            } catch (Exception e) {
+                // Unbuildable messages will never succeed
+                markFailed(mail, e, true);
+            }
+        }
+        if (byMessage.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Exception> failures = Collections.emptyMap();
+        try {
+            // JavaMailSender opens a single transport for the whole array
+            mailSender.send(byMessage.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                failures = allFailed(byMessage.keySet(), e);
+            }
+        } catch (Exception e) {
+            failures = allFailed(byMessage.keySet(), e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<MimeMessage, OutboundMailEntity> entry : byMessage.entrySet()) {
+            OutboundMailEntity mail = entry.getValue();
+            Exception error = failures.get(entry.getKey());
+            if (error == null) {
+                mail.setStatus(OutboundMailEntity.Status.SENT);
+                mail.setSentAt(now);
+                mail.setAttempts(mail.getAttempts() + 1);
+                mailRepository.save(mail);
+            } else {
+                markFailed(mail, error, false);
+            }
+        }
+        logger.debug("Mail batch of {} sent, {} failed", byMessage.size(), failures.size());
+    }
+
+    private MimeMessage toMimeMessage(OutboundMailEntity mail) throws Exception {
+        MimeMessage message = mailSender.createMimeMessage();
+        boolean html = mail.getHtmlBody() != null;
+        MimeMessageHelper helper = new MimeMessageHelper(message, html);
+        if (from != null && !from.isBlank()) {
+            helper.setFrom(from);
+        }
+        helper.setTo(mail.getRecipient());
+        helper.setSubject(mail.getSubject());
+        if (html) {
+            helper.setText(mail.getTextBody() != null ? mail.getTextBody() : "", mail.getHtmlBody());
+        } else {
+            helper.setText(mail.getTextBody(), false);
+        }
+        return message;
+    }
+
+    private Map<Object, Exception> allFailed(Collection<MimeMessage> messages, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        messages.forEach(m -> failures.put(m, e));
+        return failures;
+    }
+
+    private void markFailed(OutboundMailEntity mail, Exception error, boolean permanent) {
+        int attempts = mail.getAttempts() + 1;
+        mail.setAttempts(attempts);
+        String message = String.valueOf(error.getMessage());
+        mail.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+        mail.setClaimedAt(null);
+        if (permanent || attempts >= maxAttempts) {
+            mail.setStatus(OutboundMailEntity.Status.FAILED);
+            logger.error("Giving up on mail {} to {} after {} attempts: {}",
+                    mail.getId(), mail.getRecipient(), attempts, message);
+        } else {
+            mail.setStatus(OutboundMailEntity.Status.PENDING);
+            mail.setNextAttemptAt(LocalDateTime.now().plus(
+                    retryDelay(attempts, Duration.ofSeconds(retryBaseSeconds), MAX_RETRY_DELAY)));
+            logger.warn("Mail {} to {} failed (attempt {}), will retry: {}",
+                    mail.getId(), mail.getRecipient(), attempts, message);
+        }
+        mailRepository.save(mail);
+    }
+
+    /**
+     * Doubling delay after each failed attempt: base, 2*base, 4*base, ... up to cap.
+     */
+    static Duration retryDelay(int attempts, Duration base, Duration cap) {
+        int shift = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration delay = base.multipliedBy(1L << shift);
+        return delay.compareTo(cap) > 0 ? cap : delay;
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void housekeeping() {
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = mailRepository.requeueStale(now.minusMinutes(staleClaimMinutes));
+        if (requeued > 0) {
+            logger.warn("Requeued {} mails left in SENDING by a stopped worker", requeued);
+        }
+        mailRepository.deleteSentBefore(now.minusDays(keepSentDays));
+    }
+}
@@ -0,0 +1,52 @@
+package cit.edu.wrdmstr.service;
+
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * Email bodies for {@link MailQueueService}. The static markup is assembled once at
+ * class load; rendering a message only splices in the per-recipient values.
+ */
+public final class MailTemplates {
+
+    private static final String OTP_HTML_HEAD =
+            "<div style='font-family:\"Press Start 2P\", Arial, sans-serif; background:#f9f9f9; padding:32px; border-radius:16px; max-width:480px; margin:auto; box-shadow:0 8px 32px rgba(95,75,139,0.15);'>" +
+            "<div style='text-align:center;'>" +
+            "<img src='https://i.imgur.com/hoX8bE1.png' alt='WordMaster Logo' style='height:60px; margin-bottom:16px;'/>" +
+            "<h2 style='color:#5F4B8B; margin-bottom:8px; font-family:\"Press Start 2P\", Arial, sans-serif;'>WORDMASTER</h2>" +
+            "</div>" +
+            "<p style='color:#4a5568; font-size:16px; text-align:center; margin-bottom:24px;'>Hi <b>";
+
+    private static final String OTP_HTML_MIDDLE =
+            "</b>,<br>To proceed further with your registration, please enter the OTP below.</p>" +
+            "<div style='background:#5F4B8B; color:white; font-size:28px; font-family:\"Press Start 2P\", Arial, sans-serif; border-radius:8px; padding:16px 0; text-align:center; letter-spacing:2px; margin-bottom:16px;'>";
+
+    private static final String OTP_HTML_TAIL =
+            "</div>" +
+            "<p style='color:#4a5568; font-size:14px; text-align:center; margin-bottom:24px;'>This OTP will only be valid for <b>5 minutes</b>.</p>" +
+            "<hr style='border:none; border-top:1px solid #eee; margin:24px 0;'/>" +
+            "<p style='font-size:12px; color:#888; text-align:center;'>If you did not request this, please ignore this email.<br>For help, contact us at <a href='mailto:citu.wordmaster@gmail.com' style='color:#5F4B8B;'>citu.wordmaster@gmail.com</a></p>" +
+            "<div style='text-align:center; margin-top:24px; color:#5F4B8B; font-size:13px;'>Cheers,<br>WordMaster Team</div>" +
+            "</div>";
+
+    public static final String OTP_SUBJECT = "Your WordMaster OTP Code";
+    public static final String PASSWORD_RESET_SUBJECT = "WordMaster - Password Reset Code";
+
+    private MailTemplates() {}
+
+    public static String otpHtml(String userName, String otp) {
+        return OTP_HTML_HEAD + HtmlUtils.htmlEscape(userName) + OTP_HTML_MIDDLE + otp + OTP_HTML_TAIL;
+    }
+
+    public static String otpText(String userName, String otp) {
+        return "Hi " + userName + ",\n\n" +
+                "Your WordMaster OTP code is: " + otp + "\n" +
+                "This code will expire in 5 minutes.\n\n" +
+                "If you did not request this, please ignore this email.\n" +
+                "For help, contact us at support@wordmaster.com";
+    }
+
+    public static String passwordResetText(String code) {
+        return "Your password reset code is: " + code + "\n\n" +
+                "This code will expire in 15 minutes. If you did not request this, please ignore this email.";
+    }
+}
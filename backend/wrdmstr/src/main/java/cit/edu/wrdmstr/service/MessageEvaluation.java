@@ -0,0 +1,161 @@
+package cit.edu.wrdmstr.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Typed result of the combined {@code message_evaluation} AI task: grammar status, role
+ * verdict, vocabulary feedback and detected word-bank words for one chat message. Any
+ * section the model left out or garbled is null, and callers run the matching per-task
+ * check for just that section.
+ */
+public class MessageEvaluation {
+    private static final Logger logger = LoggerFactory.getLogger(MessageEvaluation.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private String grammarStatus; // PERFECT | MINOR_ERRORS | MAJOR_ERRORS
+    private Boolean roleAppropriate;
+    private String vocabularyFeedback;
+    private List<String> wordBankUsed;
+    private boolean reused;
+
+    /**
+     * Grammar status and role verdict taken from a near-duplicate message instead of the
+     * model. There is no vocabulary feedback, and no word-bank words beyond local matches.
+     */
+    public static MessageEvaluation reused(String grammarStatus, Boolean roleAppropriate) {
+        MessageEvaluation result = new MessageEvaluation();
+        result.grammarStatus = grammarStatus;
+        result.roleAppropriate = roleAppropriate;
+        result.wordBankUsed = Collections.emptyList();
+        result.reused = true;
+        return result;
+    }
+
+    public boolean hasGrammar() { return grammarStatus != null; }
+    public boolean hasRoleVerdict() { return roleAppropriate != null; }
+    public boolean hasVocabularyFeedback() { return vocabularyFeedback != null; }
+    public boolean hasWordBankUsage() { return wordBankUsed != null; }
+    public boolean isReused() { return reused; }
+
+    // A local heuristic ruled the message out of role, whatever the model said
+    void rejectRole() { roleAppropriate = false; }
+
+    public String getGrammarStatus() { return grammarStatus; }
+    public Boolean getRoleAppropriate() { return roleAppropriate; }
+    public String getVocabularyFeedback() { return vocabularyFeedback; }
+    public List<String> getWordBankUsed() { return wordBankUsed; }
+
+    /**
+     * Parse the model's JSON reply. Word-bank entries are kept only if they are in
+     * {@code wordBank} and are returned in the word bank's own spelling.
+     */
+    public static Optional<MessageEvaluation> parse(String raw, List<String> wordBank) {
+        if (raw == null) {
+            return Optional.empty();
+        }
+        int start = raw.indexOf('{');
+        int end = raw.lastIndexOf('}');
+        if (start < 0 || end <= start) {
+            return Optional.empty();
+        }
+
+        JsonNode root;
+        try {
+            root = MAPPER.readTree(raw.substring(start, end + 1));
+        } catch (Exception e) {
+            logger.warn("Unparseable message_evaluation response: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        MessageEvaluation result = new MessageEvaluation();
+
+        JsonNode grammar = root.path("grammar");
+        String status = grammar.path("status").asText("").toUpperCase();
+        if (status.contains("PERFECT")) {
+            result.grammarStatus = "PERFECT";
+        } else if (status.contains("MAJOR")) {
+            result.grammarStatus = "MAJOR_ERRORS";
+        } else if (status.contains("MINOR")) {
+            result.grammarStatus = "MINOR_ERRORS";
+        }
+
+        JsonNode role = root.path("role");
+        JsonNode appropriate = role.path("appropriate");
+        if (appropriate.isBoolean()) {
+            result.roleAppropriate = appropriate.asBoolean();
+        } else if (appropriate.isTextual()) {
+            String verdict = appropriate.asText().trim().toUpperCase();
+            if (verdict.startsWith("NOT") || verdict.equals("FALSE")) {
+                result.roleAppropriate = false;
+            } else if (verdict.startsWith("APPROPRIATE") || verdict.equals("TRUE")) {
+                result.roleAppropriate = true;
+            }
+        }
+
+        result.vocabularyFeedback = formatVocabulary(root.path("vocabulary"));
+
+        JsonNode used = root.path("wordBankUsed");
+        if (used.isArray()) {
+            Map<String, String> bank = new LinkedHashMap<>();
+            if (wordBank != null) {
+                for (String word : wordBank) {
+                    if (word != null) bank.putIfAbsent(word.toLowerCase(), word);
+                }
+            }
+            Set<String> detected = new LinkedHashSet<>();
+            for (JsonNode node : used) {
+                String canonical = bank.get(node.asText("").trim().toLowerCase());
+                if (canonical != null) detected.add(canonical);
+            }
+            result.wordBankUsed = new ArrayList<>(detected);
+        }
+
+        if (!result.hasGrammar() && !result.hasRoleVerdict()
+                && !result.hasVocabularyFeedback() && !result.hasWordBankUsage()) {
+            return Optional.empty();
+        }
+        return Optional.of(result);
+    }
+
+    // Render in the same numbered layout the vocabulary_check task produces
+    private static String formatVocabulary(JsonNode vocabulary) {
+        String level = textOrNull(vocabulary.path("level"));
+        if (level == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("1. VOCABULARY LEVEL: ").append(level).append("\n\n");
+        appendSection(sb, 2, "STRENGTHS", vocabulary.path("strengths"));
+        appendSection(sb, 3, "AREAS FOR IMPROVEMENT", vocabulary.path("improvements"));
+        appendSection(sb, 4, "TEACHING RECOMMENDATIONS", vocabulary.path("recommendations"));
+        return sb.toString().trim();
+    }
+
+    private static void appendSection(StringBuilder sb, int number, String title, JsonNode items) {
+        if (!items.isArray() || items.isEmpty()) {
+            return;
+        }
+        sb.append(number).append(". ").append(title).append(":\n");
+        int i = 1;
+        for (JsonNode item : items) {
+            String text = item.asText("").trim();
+            if (!text.isEmpty()) {
+                sb.append("   ").append(number).append('.').append(i++).append(". ").append(text).append('\n');
+            }
+        }
+        sb.append('\n');
+    }
+
+    private static String textOrNull(JsonNode node) {
+        if (node == null || node.isMissingNode() || node.isNull()) {
+            return null;
+        }
+        String text = node.asText("").trim();
+        return text.isEmpty() ? null : text;
+    }
+}
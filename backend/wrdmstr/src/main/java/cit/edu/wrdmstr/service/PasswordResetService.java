@@ -7,8 +7,6 @@ import cit.edu.wrdmstr.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -30,8 +28,11 @@ public class PasswordResetService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    @Autowired(required = false)
-    private JavaMailSender mailSender;
+    @Autowired
+    private MailQueueService mailQueueService;
+
+    @Autowired
+    private TokenVersionService tokenVersionService;
 
     public boolean changePassword(String email, String currentPassword, String newPassword) {
         logger.info("Changing password for user: {}", email);
@@ -83,21 +84,11 @@ public class PasswordResetService {
 
         logger.info("Reset code generated for user: {}", email);
 
-        // Send email with code if mail sender is configured
-        if (mailSender != null) {
-            try {
-                SimpleMailMessage message = new SimpleMailMessage();
-                message.setTo(email);
-                message.setSubject("WordMaster - Password Reset Code");
-                message.setText("Your password reset code is: " + code + "\n\n" +
-                        "This code will expire in 15 minutes. If you did not request this, please ignore this email.");
-
-                mailSender.send(message);
-                logger.info("Reset code email sent to: {}", email);
-            } catch (Exception e) {
-                logger.error("Failed to send reset code email", e);
-                // Still return true since the code was generated successfully
-            }
+        // Queue the email if mail is configured; delivery happens off the request thread
+        if (mailQueueService.isEnabled()) {
+            mailQueueService.enqueue(email, MailTemplates.PASSWORD_RESET_SUBJECT,
+                    MailTemplates.passwordResetText(code), null);
+            logger.info("Reset code email queued for: {}", email);
         } else {
             logger.warn("JavaMailSender not configured, skipping email send");
             // For development, log the code
@@ -132,8 +123,9 @@ public class PasswordResetService {
             return false;
         }
 
-        // Update password
+        // Update password and log out sessions that used the old one
         user.setPassword(passwordEncoder.encode(newPassword));
+        tokenVersionService.revoke(user);
         userRepository.save(user);
 
         // Delete used token
@@ -1,29 +1,211 @@
 package cit.edu.wrdmstr.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 @Service
 public class PerformanceMetricsService {
     private static final Logger logger = LoggerFactory.getLogger(PerformanceMetricsService.class);
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
 
-    // No direct dependency injections to avoid circular references
+    // No direct dependency injections to avoid circular references. Meters go to the
+    // global registry until Spring provides the actuator one (tests construct this directly).
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
 
     private final LongAdder roleCheckCount = new LongAdder();
     private final LongAdder roleCheckTotalMs = new LongAdder();
     private final AtomicLong roleCheckMaxMs = new AtomicLong();
 
+    // Estimated prompt tokens per AI task, to watch prompt growth over a game
+    private static class PromptStats {
+        final LongAdder count = new LongAdder();
+        final LongAdder totalTokens = new LongAdder();
+        final AtomicLong maxTokens = new AtomicLong();
+    }
+    private final Map<String, PromptStats> promptStats = new ConcurrentHashMap<>();
+
     @Value("${ai.latency.logging.enabled:true}")
     private boolean latencyLoggingEnabled;
 
     public PerformanceMetricsService() {}
 
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * One AIService call, by task; outcome is ok or error.
+     */
+    public void recordAiTask(String task, long nanos, boolean ok) {
+        Timer.builder("wordmaster.ai.task")
+                .description("AIService.callAIModel latency per task, including retries and local short-circuits")
+                .tag("task", task != null ? task : "unknown")
+                .tag("outcome", ok ? "ok" : "error")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Time an AI call waited for an AIRequestScheduler slot, by priority class; outcome is
+     * admitted or deadline.
+     */
+    public void recordAiAdmission(String priority, long waitNanos, boolean admitted) {
+        Timer.builder("wordmaster.ai.scheduler.wait")
+                .description("Time AI calls waited for a slot before reaching the model API")
+                .tag("priority", priority)
+                .tag("outcome", admitted ? "admitted" : "deadline")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record a ChatService.sendMessage stage that began at {@code startNanos}; returns now,
+     * the start of the next stage.
+     */
+    public long recordChatStage(String stage, long startNanos) {
+        long now = System.nanoTime();
+        Timer.builder("wordmaster.chat.stage")
+                .description("Time spent in each stage of handling a chat message")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /**
+     * Game loop timings: {@code submit} (word submission to turn handed on), {@code advance}
+     * (starting the next turn) and {@code tick} (one pass of the turn timer).
+     */
+    public void recordGameStep(String step, long nanos) {
+        Timer.builder("wordmaster.game.step")
+                .description("Turn submission, turn advancement and timer tick latency")
+                .tag("step", step)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * One command through a session mailbox: time spent queued behind the session's
+     * earlier commands, and time spent running.
+     */
+    public void recordMailboxCommand(String command, long waitNanos, long runNanos) {
+        Timer.builder("wordmaster.game.mailbox.wait")
+                .description("Time a game command waited in its session's mailbox")
+                .tag("command", command)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+        Timer.builder("wordmaster.game.mailbox.run")
+                .description("Time a game command ran once it reached the head of its session's mailbox")
+                .tag("command", command)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(runNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Size of one message the server publishes to the broker, grouped by destination with
+     * ids folded (/topic/game/42/turn counts as /topic/game/{id}/turn).
+     */
+    public void recordBroadcast(String destination, int bytes) {
+        String channel = foldIds(destination);
+        DistributionSummary.builder("wordmaster.stomp.broadcast.size")
+                .description("Payload size of server-side STOMP broadcasts")
+                .baseUnit("bytes")
+                .tag("destination", channel)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    /**
+     * Outbound payload size after re-encoding for clients that negotiated a compact
+     * encoding, next to the JSON size it replaced.
+     */
+    public void recordEncodedPayload(String encoding, int jsonBytes, int encodedBytes) {
+        DistributionSummary.builder("wordmaster.stomp.payload.size")
+                .description("STOMP payload size before and after per-client re-encoding")
+                .baseUnit("bytes")
+                .tag("encoding", "json")
+                .register(meterRegistry)
+                .record(jsonBytes);
+        DistributionSummary.builder("wordmaster.stomp.payload.size")
+                .description("STOMP payload size before and after per-client re-encoding")
+                .baseUnit("bytes")
+                .tag("encoding", encoding)
+                .register(meterRegistry)
+                .record(encodedBytes);
+    }
+
+    /**
+     * A message to a slow STOMP session that was dropped because a newer one superseded it
+     * ({@code superseded}) or held back until the session drained ({@code parked}).
+     */
+    public void recordSlowConsumer(String outcome, String destination) {
+        Counter.builder("wordmaster.stomp.coalesced")
+                .description("Outbound messages coalesced for slow STOMP sessions")
+                .tag("outcome", outcome)
+                .tag("destination", foldIds(destination))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordPurgedRows(String table, int rows) {
+        Counter.builder("wordmaster.purge.rows")
+                .description("Rows removed by content and classroom purges")
+                .tag("table", table)
+                .register(meterRegistry)
+                .increment(rows);
+    }
+
+    /**
+     * SQL statements issued by one HTTP request, STOMP message or scheduled task.
+     */
+    public void recordStatements(String kind, String name, int statements) {
+        DistributionSummary.builder("wordmaster.db.statements")
+                .description("SQL statements per unit of work")
+                .tag("kind", kind)
+                .tag("name", foldIds(name))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statements);
+    }
+
+    public static String foldIds(String path) {
+        return path == null ? "unknown" : ID_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+
+    public void gauge(String name, String description, Supplier<Number> value) {
+        Gauge.builder(name, value).description(description).register(meterRegistry);
+    }
+
+    /**
+     * Hit/miss/eviction stats for a hand-built Caffeine cache (it must have recordStats()).
+     */
+    public void monitorCache(Cache<?, ?> cache, String name) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
     // Called externally by AIService after each role_check
     public void recordRoleCheck(long ms) {
         roleCheckCount.increment();
@@ -31,9 +213,26 @@ public class PerformanceMetricsService {
         roleCheckMaxMs.accumulateAndGet(ms, Math::max);
     }
 
+    // Called by AIService with TokenEstimator's estimate for each prompt it sends
+    public void recordPromptTokens(String task, int tokens) {
+        PromptStats stats = promptStats.computeIfAbsent(task != null ? task : "unknown", t -> new PromptStats());
+        stats.count.increment();
+        stats.totalTokens.add(tokens);
+        stats.maxTokens.accumulateAndGet(tokens, Math::max);
+    }
+
     @Scheduled(fixedDelayString = "${ai.latency.logging.interval-ms:60000}")
     public void report() {
         if (!latencyLoggingEnabled) return;
+        promptStats.forEach((task, stats) -> {
+            long prompts = stats.count.sumThenReset();
+            long tokens = stats.totalTokens.sumThenReset();
+            long maxTokens = stats.maxTokens.getAndSet(0);
+            if (prompts > 0) {
+                logger.info("[AI METRICS] prompt task={} count={} avgTokens={} maxTokens={}",
+                        task, prompts, tokens / prompts, maxTokens);
+            }
+        });
         long count = roleCheckCount.sumThenReset();
         long total = roleCheckTotalMs.sumThenReset();
         long max = roleCheckMaxMs.getAndSet(0);
@@ -23,6 +23,9 @@ public class ProfileService implements IProfileService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
     @Autowired
     public ProfileService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
@@ -127,6 +130,7 @@ public class ProfileService implements IProfileService {
 
         // Soft delete the account
         user.setActive(false);
+        tokenVersionService.revoke(user);
         userRepository.save(user);
 
         // Return success message
@@ -179,6 +183,10 @@ public class ProfileService implements IProfileService {
         // Update the user's profile
         user.setFname(setupDto.getFname().trim());
         user.setLname(setupDto.getLname().trim());
+        if (!roleUpperCase.equals(user.getRole())) {
+            // Tokens carry the role; the caller issues a fresh one
+            tokenVersionService.revoke(user);
+        }
         user.setRole(roleUpperCase); // store role in uppercase
 
         // Save and return the updated user
@@ -0,0 +1,247 @@
+package cit.edu.wrdmstr.service;
+
+import cit.edu.wrdmstr.repository.ClassroomRepository;
+import cit.edu.wrdmstr.repository.ContentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deletes contents and classrooms together with everything that hangs off them.
+ *
+ * Deleting first marks the row (deleted_at), which hides it from listings and enrollment
+ * at once. The rows are then reclaimed with set-based deletes in child-to-parent order: a
+ * chunk of game sessions per transaction, then the contents' reference data, then the
+ * classroom. With {@code wordmaster.purge.deferred} the request returns right after
+ * marking and {@link #reclaimDeleted()} does the rest; it also finishes purges cut short
+ * by a failure or restart. Every step is idempotent, so a purge can be re-run at any point.
+ */
+@Service
+public class PurgeService {
+    private static final Logger logger = LoggerFactory.getLogger(PurgeService.class);
+
+    // A null table is a step that only updates rows and is not counted
+    private record Step(String table, String jpql) {}
+
+    // :ids are game session IDs
+    private static final List<Step> SESSION_STEPS = List.of(
+        new Step("message_reactions", "DELETE FROM MessageReactionEntity r WHERE r.message.id IN " +
+                "(SELECT m.id FROM ChatMessageEntity m WHERE m.session.id IN :ids)"),
+        new Step("chat_message_details", "DELETE FROM ChatMessageDetailEntity d WHERE d.id IN " +
+                "(SELECT m.detail.id FROM ChatMessageEntity m WHERE m.session.id IN :ids)"),
+        new Step("chat_messages", "DELETE FROM ChatMessageEntity m WHERE m.session.id IN :ids"),
+        new Step("player_cards", "DELETE FROM PlayerCard pc WHERE pc.playerSession.id IN " +
+                "(SELECT p.id FROM PlayerSessionEntity p WHERE p.session.id IN :ids)"),
+        new Step("progress_snapshots", "DELETE FROM ProgressSnapshot ps WHERE ps.progress.id IN " +
+                "(SELECT sp.id FROM StudentProgress sp WHERE sp.session.id IN :ids)"),
+        new Step("student_progress", "DELETE FROM StudentProgress sp WHERE sp.session.id IN :ids"),
+        new Step("grammar_results", "DELETE FROM GrammarResultEntity g WHERE g.gameSession.id IN :ids"),
+        new Step("vocabulary_results", "DELETE FROM VocabularyResultEntity v WHERE v.gameSession.id IN :ids"),
+        new Step("comprehension_results", "DELETE FROM ComprehensionResultEntity c WHERE c.gameSession.id IN :ids"),
+        new Step("teacher_feedback", "DELETE FROM TeacherFeedbackEntity f WHERE f.gameSession.id IN :ids"),
+        new Step("session_summaries", "DELETE FROM SessionSummaryEntity s WHERE s.gameSession.id IN :ids"),
+        new Step("score_records", "DELETE FROM ScoreRecordEntity s WHERE s.session.id IN :ids"),
+        new Step("session_archives", "DELETE FROM SessionArchiveEntity a WHERE a.sessionId IN :ids"),
+        new Step("game_session_events", "DELETE FROM GameSessionEventEntity e WHERE e.sessionId IN :ids"),
+        new Step("game_state_checkpoints", "DELETE FROM GameStateCheckpointEntity c WHERE c.sessionId IN :ids"),
+        new Step("session_leases", "DELETE FROM SessionLeaseEntity l WHERE l.sessionId IN :ids"),
+        new Step(null, "UPDATE GameSessionEntity s SET s.currentPlayer = null WHERE s.id IN :ids"),
+        new Step("player_sessions", "DELETE FROM PlayerSessionEntity p WHERE p.session.id IN :ids"),
+        new Step("game_sessions", "DELETE FROM GameSessionEntity s WHERE s.id IN :ids"));
+
+    // :ids are content IDs; runs once the contents have no sessions left
+    private static final List<Step> CONTENT_STEPS = List.of(
+        new Step("waiting_room_presence", "DELETE FROM WaitingRoomPresenceEntity p WHERE p.contentId IN :ids"),
+        new Step("game_config", "DELETE FROM GameConfig g WHERE g.content.id IN :ids"),
+        new Step("word_bank_items", "DELETE FROM WordBankItem w WHERE w.contentData.id IN " +
+                "(SELECT d.id FROM ContentData d WHERE d.content.id IN :ids)"),
+        new Step("powerup_cards", "DELETE FROM PowerupCard c WHERE c.contentData.id IN " +
+                "(SELECT d.id FROM ContentData d WHERE d.content.id IN :ids)"),
+        new Step("roles", "DELETE FROM Role r WHERE r.contentData.id IN " +
+                "(SELECT d.id FROM ContentData d WHERE d.content.id IN :ids)"),
+        new Step("content_data", "DELETE FROM ContentData d WHERE d.content.id IN :ids"),
+        new Step("content_entity", "DELETE FROM ContentEntity c WHERE c.id IN :ids"));
+
+    @PersistenceContext private EntityManager entityManager;
+    @Autowired private ContentRepository contentRepository;
+    @Autowired private ClassroomRepository classroomRepository;
+    @Autowired private ContentCatalog contentCatalog;
+    @Autowired private PerformanceMetricsService performanceMetricsService;
+
+    @Value("${wordmaster.purge.deferred:false}")
+    private boolean deferred;
+
+    @Value("${wordmaster.purge.sessions-per-transaction:25}")
+    private int sessionsPerTransaction;
+
+    private final TransactionTemplate chunkTransaction;
+    // Purges running on this node, by target
+    private final Map<String, PurgeProgress> running = new ConcurrentHashMap<>();
+
+    public PurgeService(PlatformTransactionManager transactionManager) {
+        // Each chunk commits on its own, whatever transaction the caller is in
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    void registerGauges() {
+        performanceMetricsService.gauge("wordmaster.purge.sessions.remaining",
+                "Game sessions still to be purged by purges running on this node",
+                () -> running.values().stream().mapToInt(PurgeProgress::remaining).sum());
+    }
+
+    private static final class PurgeProgress {
+        final String target;
+        final int sessionsTotal;
+        final long startedAt = System.currentTimeMillis();
+        volatile int sessionsPurged;
+        volatile long rows;
+
+        PurgeProgress(String target, int sessionsTotal) {
+            this.target = target;
+            this.sessionsTotal = sessionsTotal;
+        }
+
+        int remaining() {
+            return sessionsTotal - sessionsPurged;
+        }
+    }
+
+    /**
+     * Deletes a content. The caller has checked permissions.
+     */
+    public void deleteContent(Long contentId) {
+        chunkTransaction.executeWithoutResult(status -> contentRepository.markDeleted(contentId, new Date()));
+        contentCatalog.invalidate(contentId);
+        if (!deferred) {
+            purgeContent(contentId);
+        }
+    }
+
+    /**
+     * Deletes a classroom with all of its contents. The caller has checked permissions.
+     */
+    public void deleteClassroom(Long classroomId) {
+        chunkTransaction.executeWithoutResult(status -> {
+            Date now = new Date();
+            classroomRepository.markDeleted(classroomId, now);
+            contentRepository.markDeletedByClassroom(classroomId, now);
+        });
+        if (!deferred) {
+            purgeClassroom(classroomId);
+        }
+    }
+
+    /**
+     * Reclaims everything marked deleted, classrooms first since they take their contents
+     * with them.
+     */
+    @Scheduled(fixedDelayString = "${wordmaster.purge.reclaim-interval-ms:60000}", initialDelay = 30000)
+    public void reclaimDeleted() {
+        for (Long classroomId : classroomRepository.findDeletedIds()) {
+            try {
+                purgeClassroom(classroomId);
+            } catch (RuntimeException e) {
+                logger.warn("Purge of classroom {} failed, will retry: {}", classroomId, e.getMessage());
+            }
+        }
+        for (Long contentId : contentRepository.findDeletedIds()) {
+            try {
+                purgeContent(contentId);
+            } catch (RuntimeException e) {
+                logger.warn("Purge of content {} failed, will retry: {}", contentId, e.getMessage());
+            }
+        }
+    }
+
+    public void purgeContent(Long contentId) {
+        purge("content " + contentId, List.of(contentId), null);
+    }
+
+    public void purgeClassroom(Long classroomId) {
+        List<Long> contentIds = entityManager
+            .createQuery("SELECT c.id FROM ContentEntity c WHERE c.classroom.id = :id", Long.class)
+            .setParameter("id", classroomId)
+            .getResultList();
+        purge("classroom " + classroomId, contentIds, classroomId);
+    }
+
+    private void purge(String target, List<Long> contentIds, Long classroomId) {
+        List<Long> sessionIds = contentIds.isEmpty() ? List.of() : entityManager
+            .createQuery("SELECT s.id FROM GameSessionEntity s WHERE s.content.id IN :ids ORDER BY s.id", Long.class)
+            .setParameter("ids", contentIds)
+            .getResultList();
+        PurgeProgress progress = new PurgeProgress(target, sessionIds.size());
+        if (running.putIfAbsent(target, progress) != null) {
+            logger.debug("Purge of {} already running on this node", target);
+            return;
+        }
+        try {
+            int chunk = Math.max(1, sessionsPerTransaction);
+            for (int from = 0; from < sessionIds.size(); from += chunk) {
+                List<Long> ids = sessionIds.subList(from, Math.min(from + chunk, sessionIds.size()));
+                chunkTransaction.executeWithoutResult(status -> run(SESSION_STEPS, ids, progress));
+                progress.sessionsPurged += ids.size();
+                logger.info("Purge of {}: {}/{} sessions, {} rows", target,
+                        progress.sessionsPurged, progress.sessionsTotal, progress.rows);
+            }
+            chunkTransaction.executeWithoutResult(status -> {
+                if (!contentIds.isEmpty()) {
+                    run(CONTENT_STEPS, contentIds, progress);
+                }
+                if (classroomId != null) {
+                    purgeClassroomRows(classroomId, progress);
+                }
+            });
+            contentIds.forEach(contentCatalog::invalidate);
+            logger.info("Purged {} in {} ms: {} sessions, {} rows", target,
+                    System.currentTimeMillis() - progress.startedAt, progress.sessionsTotal, progress.rows);
+        } finally {
+            running.remove(target, progress);
+        }
+    }
+
+    private void run(List<Step> steps, List<Long> ids, PurgeProgress progress) {
+        for (Step step : steps) {
+            int rows = entityManager.createQuery(step.jpql()).setParameter("ids", ids).executeUpdate();
+            count(step.table(), rows, progress);
+        }
+    }
+
+    private void purgeClassroomRows(Long classroomId, PurgeProgress progress) {
+        count("classroom_students", entityManager
+            .createNativeQuery("DELETE FROM classroom_students WHERE classroom_id = :id")
+            .setParameter("id", classroomId)
+            .executeUpdate(), progress);
+        count("student_enrollment", entityManager
+            .createQuery("DELETE FROM StudentEnrollmentEntity e WHERE e.classroom.id = :id")
+            .setParameter("id", classroomId)
+            .executeUpdate(), progress);
+        count("classroom", entityManager
+            .createQuery("DELETE FROM ClassroomEntity c WHERE c.id = :id")
+            .setParameter("id", classroomId)
+            .executeUpdate(), progress);
+    }
+
+    private void count(String table, int rows, PurgeProgress progress) {
+        if (table != null && rows > 0) {
+            progress.rows += rows;
+            performanceMetricsService.recordPurgedRows(table, rows);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package cit.edu.wrdmstr.service;
+
+import cit.edu.wrdmstr.entity.*;
+import cit.edu.wrdmstr.repository.ChatMessageEntityRepository;
+import cit.edu.wrdmstr.repository.GameSessionEntityRepository;
+import cit.edu.wrdmstr.repository.ScoreRecordEntityRepository;
+import cit.edu.wrdmstr.repository.SessionArchiveRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Chat and score history of a session, wherever it lives. Finished sessions older than
+ * {@code wordmaster.archive.after-days} have their chat messages, reactions and score records
+ * moved into one gzip-compressed row in session_archives; the session, its players and its
+ * summary rows stay in the hot tables. Readers ask this service instead of the repositories
+ * and get the same entities back either way: archived records are decompressed as a stream
+ * and rebuilt as transient entities whose session, sender and player are references.
+ *
+ * Entities rebuilt from an archive are read-only. Never save them.
+ */
+@Service
+public class SessionHistoryService {
+    private static final Logger logger = LoggerFactory.getLogger(SessionHistoryService.class);
+
+    // Codec for the archive columns; plain Jackson so the format never follows web config
+    private static final ObjectMapper ARCHIVE_MAPPER = new ObjectMapper();
+
+    public record ArchivedReaction(Long id, Long userId, String emoji) {}
+
+    public record ArchivedMessage(Long id, Long senderId, Long playerSessionId, String content,
+                                  ChatMessageEntity.MessageStatus grammarStatus, String grammarFeedback,
+                                  boolean containsWordBomb, boolean roleAppropriate, Date timestamp,
+                                  String wordUsed, String wordVariations, Integer vocabularyScore,
+                                  String vocabularyFeedback, List<ArchivedReaction> reactions) {}
+
+    public record ArchivedScore(Long id, Long userId, int points, String reason, Date timestamp) {}
+
+    @PersistenceContext private EntityManager entityManager;
+    @Autowired private ChatMessageEntityRepository chatMessageRepository;
+    @Autowired private ScoreRecordEntityRepository scoreRepository;
+    @Autowired private GameSessionEntityRepository gameSessionRepository;
+    @Autowired private SessionArchiveRepository archiveRepository;
+    @Autowired @Lazy private SessionSummaryService sessionSummaryService;
+    @Autowired @Lazy private SessionHistoryService self;
+    @Autowired private PerformanceMetricsService performanceMetricsService;
+
+    @Value("${wordmaster.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${wordmaster.archive.after-days:30}")
+    private int afterDays;
+
+    @Value("${wordmaster.archive.batch-size:20}")
+    private int batchSize;
+
+    // Only "archived" is cached: an archive is never moved back, while a hot session may be archived any time
+    private final Cache<Long, Boolean> archived = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofHours(6))
+            .recordStats()
+            .build();
+
+    @PostConstruct
+    void monitorCache() {
+        performanceMetricsService.monitorCache(archived, "session_archived");
+    }
+
+    // ---- Reads ----
+
+    @Transactional(readOnly = true)
+    public List<ChatMessageEntity> getMessages(Long sessionId) {
+        List<ChatMessageEntity> hot = chatMessageRepository.findBySessionIdOrderByTimestampAsc(sessionId);
+        if (!hot.isEmpty() || !isArchived(sessionId)) {
+            return hot;
+        }
+        return readMessages(sessionId, m -> true);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ChatMessageEntity> getMessages(Long sessionId, Long senderId) {
+        List<ChatMessageEntity> hot = chatMessageRepository.findBySessionIdAndSenderIdOrderByTimestampAsc(sessionId, senderId);
+        if (!hot.isEmpty() || !isArchived(sessionId)) {
+            return hot;
+        }
+        return readMessages(sessionId, m -> senderId.equals(m.senderId()));
+    }
+
+    // A sender's first five messages, the sample the feedback prompts use
+    @Transactional(readOnly = true)
+    public List<ChatMessageEntity> getOpeningMessages(Long sessionId, Long senderId) {
+        List<ChatMessageEntity> hot = chatMessageRepository.findTop5BySessionIdAndSenderIdOrderByTimestampAsc(sessionId, senderId);
+        if (!hot.isEmpty() || !isArchived(sessionId)) {
+            return hot;
+        }
+        List<ChatMessageEntity> messages = readMessages(sessionId, m -> senderId.equals(m.senderId()));
+        return messages.subList(0, Math.min(5, messages.size()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScoreRecordEntity> getScores(Long sessionId) {
+        List<ScoreRecordEntity> hot = scoreRepository.findBySessionIdOrderByTimestampAsc(sessionId);
+        if (!hot.isEmpty() || !isArchived(sessionId)) {
+            return hot;
+        }
+        return readScores(sessionId, s -> true);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScoreRecordEntity> getScores(Long sessionId, Long userId) {
+        List<ScoreRecordEntity> hot = scoreRepository.findBySessionIdAndUserId(sessionId, userId);
+        if (!hot.isEmpty() || !isArchived(sessionId)) {
+            return hot;
+        }
+        return readScores(sessionId, s -> userId.equals(s.userId()));
+    }
+
+    public boolean isArchived(Long sessionId) {
+        if (archived.getIfPresent(sessionId) != null) {
+            return true;
+        }
+        if (archiveRepository.existsById(sessionId)) {
+            archived.put(sessionId, Boolean.TRUE);
+            return true;
+        }
+        return false;
+    }
+
+    private List<ChatMessageEntity> readMessages(Long sessionId, Predicate<ArchivedMessage> filter) {
+        GameSessionEntity session = entityManager.getReference(GameSessionEntity.class, sessionId);
+        return decode(archiveRepository.findMessages(sessionId), ArchivedMessage.class, filter).stream()
+            .map(m -> toEntity(m, session))
+            .collect(Collectors.toList());
+    }
+
+    private List<ScoreRecordEntity> readScores(Long sessionId, Predicate<ArchivedScore> filter) {
+        GameSessionEntity session = entityManager.getReference(GameSessionEntity.class, sessionId);
+        return decode(archiveRepository.findScores(sessionId), ArchivedScore.class, filter).stream()
+            .map(s -> toEntity(s, session))
+            .collect(Collectors.toList());
+    }
+
+    private ChatMessageEntity toEntity(ArchivedMessage archivedMessage, GameSessionEntity session) {
+        ChatMessageEntity message = new ChatMessageEntity();
+        message.setId(archivedMessage.id());
+        message.setSession(session);
+        message.setSender(entityManager.getReference(UserEntity.class, archivedMessage.senderId()));
+        if (archivedMessage.playerSessionId() != null) {
+            message.setPlayerSession(entityManager.getReference(PlayerSessionEntity.class, archivedMessage.playerSessionId()));
+        }
+        message.setContent(archivedMessage.content());
+        message.setGrammarStatus(archivedMessage.grammarStatus());
+        message.setGrammarFeedback(archivedMessage.grammarFeedback());
+        message.setContainsWordBomb(archivedMessage.containsWordBomb());
+        message.setRoleAppropriate(archivedMessage.roleAppropriate());
+        message.setTimestamp(archivedMessage.timestamp());
+        message.setWordUsed(archivedMessage.wordUsed());
+        message.setWordVariations(archivedMessage.wordVariations());
+        message.setVocabularyScore(archivedMessage.vocabularyScore());
+        message.setVocabularyFeedback(archivedMessage.vocabularyFeedback());
+        if (archivedMessage.reactions() != null) {
+            for (ArchivedReaction archivedReaction : archivedMessage.reactions()) {
+                MessageReactionEntity reaction = new MessageReactionEntity();
+                reaction.setId(archivedReaction.id());
+                reaction.setMessage(message);
+                reaction.setUser(entityManager.getReference(UserEntity.class, archivedReaction.userId()));
+                reaction.setEmoji(archivedReaction.emoji());
+                message.getReactions().add(reaction);
+            }
+        }
+        return message;
+    }
+
+    private ScoreRecordEntity toEntity(ArchivedScore archivedScore, GameSessionEntity session) {
+        ScoreRecordEntity score = new ScoreRecordEntity();
+        score.setId(archivedScore.id());
+        score.setSession(session);
+        score.setUser(entityManager.getReference(UserEntity.class, archivedScore.userId()));
+        score.setPoints(archivedScore.points());
+        score.setReason(archivedScore.reason());
+        score.setTimestamp(archivedScore.timestamp());
+        return score;
+    }
+
+    // ---- Archiving ----
+
+    @Scheduled(fixedDelayString = "${wordmaster.archive.interval-ms:3600000}", initialDelay = 120000)
+    public void archiveFinishedSessions() {
+        if (!enabled) return;
+        Date cutoff = new Date(System.currentTimeMillis() - Duration.ofDays(afterDays).toMillis());
+        List<Long> sessionIds = gameSessionRepository.findArchivableSessionIds(cutoff, PageRequest.of(0, Math.max(1, batchSize)));
+        for (Long sessionId : sessionIds) {
+            try {
+                self.archiveSession(sessionId);
+            } catch (RuntimeException e) {
+                logger.warn("Archiving session {} failed, will retry: {}", sessionId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Moves one finished session's chat and score history into session_archives. Summaries
+     * are settled first so nothing that reads them needs the raw rows afterwards, and no
+     * partial summary is left to be rebuilt once those rows are gone.
+     */
+    @Transactional
+    public void archiveSession(Long sessionId) {
+        if (archiveRepository.existsById(sessionId)) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        sessionSummaryService.settleSessionSummaries(sessionId);
+
+        Map<Long, List<ArchivedReaction>> reactionsByMessage = entityManager
+            .createQuery("SELECT r FROM MessageReactionEntity r WHERE r.message.session.id = :id", MessageReactionEntity.class)
+            .setParameter("id", sessionId)
+            .getResultList().stream()
+            .collect(Collectors.groupingBy(r -> r.getMessage().getId(),
+                Collectors.mapping(r -> new ArchivedReaction(r.getId(), r.getUser().getId(), r.getEmoji()), Collectors.toList())));
+
+        List<ArchivedMessage> messages = chatMessageRepository.findBySessionIdOrderByTimestampAsc(sessionId).stream()
+            .map(m -> new ArchivedMessage(m.getId(), m.getSender().getId(),
+                m.getPlayerSession() != null ? m.getPlayerSession().getId() : null,
+                m.getContent(), m.getGrammarStatus(), m.getGrammarFeedback(), m.isContainsWordBomb(),
+                m.isRoleAppropriate(), m.getTimestamp(), m.getWordUsed(), m.getWordVariations(),
+                m.getVocabularyScore(), m.getVocabularyFeedback(),
+                reactionsByMessage.getOrDefault(m.getId(), List.of())))
+            .collect(Collectors.toList());
+        List<ArchivedScore> scores = scoreRepository.findBySessionIdOrderByTimestampAsc(sessionId).stream()
+            .map(s -> new ArchivedScore(s.getId(), s.getUser().getId(), s.getPoints(), s.getReason(), s.getTimestamp()))
+            .collect(Collectors.toList());
+
+        SessionArchiveEntity archive = new SessionArchiveEntity();
+        archive.setSessionId(sessionId);
+        archive.setMessageCount(messages.size());
+        archive.setScoreCount(scores.size());
+        archive.setMessages(encode(messages));
+        archive.setScores(encode(scores));
+        archive.setArchivedAt(new Date());
+        archiveRepository.save(archive);
+        entityManager.flush();
+        // The loaded rows would otherwise be flushed back after the bulk deletes below
+        entityManager.clear();
+
+        entityManager.createQuery("DELETE FROM MessageReactionEntity r WHERE r.message.id IN " +
+                "(SELECT m.id FROM ChatMessageEntity m WHERE m.session.id = :id)")
+            .setParameter("id", sessionId).executeUpdate();
+        entityManager.createQuery("DELETE FROM ChatMessageDetailEntity d WHERE d.id IN " +
+                "(SELECT m.detail.id FROM ChatMessageEntity m WHERE m.session.id = :id)")
+            .setParameter("id", sessionId).executeUpdate();
+        entityManager.createQuery("DELETE FROM ChatMessageEntity m WHERE m.session.id = :id")
+            .setParameter("id", sessionId).executeUpdate();
+        entityManager.createQuery("DELETE FROM ScoreRecordEntity s WHERE s.session.id = :id")
+            .setParameter("id", sessionId).executeUpdate();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                archived.put(sessionId, Boolean.TRUE);
+            }
+        });
+        logger.info("Archived session {} in {} ms: {} messages, {} score records, {} bytes",
+                sessionId, System.currentTimeMillis() - started, messages.size(), scores.size(),
+                archive.getMessages().length + archive.getScores().length);
+    }
+
+    // ---- Codec: gzip-compressed JSON, one record per line ----
+
+    static <T> byte[] encode(List<T> records) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes);
+             SequenceWriter writer = ARCHIVE_MAPPER.writer().withRootValueSeparator("\n").writeValues(gzip)) {
+            for (T record : records) {
+                writer.write(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write session archive", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // Decompresses and parses one record at a time, keeping only those the filter accepts
+    static <T> List<T> decode(byte[] archive, Class<T> type, Predicate<T> filter) {
+        List<T> records = new ArrayList<>();
+        if (archive == null || archive.length == 0) {
+            return records;
+        }
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(archive));
+             MappingIterator<T> iterator = ARCHIVE_MAPPER.readerFor(type).readValues(gzip)) {
+            while (iterator.hasNextValue()) {
+                T record = iterator.nextValue();
+                if (filter.test(record)) {
+                    records.add(record);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read session archive", e);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,300 @@
+package cit.edu.wrdmstr.service;
+
+import cit.edu.wrdmstr.entity.*;
+import cit.edu.wrdmstr.repository.*;
+import cit.edu.wrdmstr.service.gameplay.VocabularyAnalysisService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Materializes per-student session results when a game ends and serves them to the
+ * read side (history, teacher feedback, Excel export). Finished sessions are then a
+ * primary-key lookup instead of a scan over chat_messages and score_records.
+ * <p>
+ * Grammar analysis runs after a message is sent, so a game can end with messages still
+ * PENDING. Summaries written then are marked partial and rewritten by
+ * {@link #refreshPartialSummaries()} once the analysis has finished.
+ */
+@Service
+@Transactional
+public class SessionSummaryService {
+    private static final Logger logger = LoggerFactory.getLogger(SessionSummaryService.class);
+
+    @Autowired private SessionSummaryRepository summaryRepository;
+    @Autowired private GameSessionEntityRepository gameSessionRepository;
+    @Autowired private PlayerSessionEntityRepository playerSessionRepository;
+    @Autowired private ChatMessageEntityRepository chatMessageRepository;
+    @Autowired private SessionHistoryService sessionHistoryService;
+    @Autowired private VocabularyResultRepository vocabResultRepository;
+    @Autowired private ComprehensionResultRepository comprehensionResultRepository;
+    @Autowired private StudentProgressRepository progressRepository;
+    @Autowired private VocabularyAnalysisService vocabularyAnalysisService;
+
+    // How long a partial summary waits for analysis that may never finish
+    @Value("${wordmaster.summary.pending-grace-ms:600000}")
+    private long pendingGraceMs;
+
+    private final TransactionTemplate refreshTransaction;
+
+    public SessionSummaryService(PlatformTransactionManager transactionManager) {
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Write one summary row per player. Safe to call more than once: players that
+     * already have a summary are skipped so the rows stay immutable.
+     */
+    public void writeSessionSummaries(Long sessionId) {
+        write(sessionId, Collections.emptyMap(), false);
+    }
+
+    /**
+     * Rewrites the summaries of sessions that ended with messages still being analysed,
+     * each session in its own transaction.
+     */
+    @Scheduled(fixedDelayString = "${wordmaster.summary.refresh-interval-ms:30000}", initialDelay = 30000)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void refreshPartialSummaries() {
+        for (Long sessionId : summaryRepository.findPartialSessionIds()) {
+            try {
+                refreshTransaction.executeWithoutResult(status -> refreshPartial(sessionId));
+            } catch (RuntimeException e) {
+                logger.warn("Refresh of summaries for session {} failed, will retry: {}", sessionId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Replaces a session's partial summaries once none of its messages is PENDING, or once
+     * the grace period is over; messages still PENDING then stay counted as pending.
+     * The comprehension score, filled in after the game, is carried over.
+     */
+    boolean refreshPartial(Long sessionId) {
+        List<SessionSummaryEntity> existing = summaryRepository.findByGameSessionId(sessionId);
+        if (existing.stream().noneMatch(SessionSummaryEntity::isPartial)) {
+            return false;
+        }
+        long pending = chatMessageRepository.countBySessionIdAndGrammarStatus(
+            sessionId, ChatMessageEntity.MessageStatus.PENDING);
+        long graceStart = System.currentTimeMillis() - pendingGraceMs;
+        boolean expired = existing.stream().allMatch(s -> s.getCreatedAt().getTime() < graceStart);
+        if (pending > 0 && !expired) {
+            return false;
+        }
+
+        rewrite(sessionId, existing);
+        return true;
+    }
+
+    /**
+     * Final summaries for a session whose history is about to be archived, after which
+     * no analysis can land: partial rows are rewritten now and missing ones are written
+     * with whatever is still PENDING counted as pending.
+     */
+    public void settleSessionSummaries(Long sessionId) {
+        List<SessionSummaryEntity> existing = summaryRepository.findByGameSessionId(sessionId);
+        if (existing.stream().anyMatch(SessionSummaryEntity::isPartial)) {
+            rewrite(sessionId, existing);
+        } else {
+            write(sessionId, Collections.emptyMap(), true);
+        }
+    }
+
+    private void rewrite(Long sessionId, List<SessionSummaryEntity> existing) {
+        Map<Long, Double> comprehensionScores = new HashMap<>();
+        for (SessionSummaryEntity summary : existing) {
+            if (summary.getComprehensionScore() != null) {
+                comprehensionScores.put(summary.getStudent().getId(), summary.getComprehensionScore());
+            }
+        }
+        summaryRepository.deleteAll(existing);
+        // Inserts would otherwise be flushed ahead of the deletes and hit the unique key
+        summaryRepository.flush();
+        write(sessionId, comprehensionScores, true);
+    }
+
+    private void write(Long sessionId, Map<Long, Double> comprehensionScores, boolean settle) {
+        GameSessionEntity session = gameSessionRepository.findById(sessionId)
+            .orElseThrow(() -> new RuntimeException("Session not found"));
+
+        Set<Long> summarized = summaryRepository.findByGameSessionId(sessionId).stream()
+            .map(s -> s.getStudent().getId())
+            .collect(Collectors.toSet());
+
+        List<PlayerSessionEntity> players = playerSessionRepository.findBySessionId(sessionId);
+        if (players.isEmpty() || summarized.size() >= players.size()) {
+            return;
+        }
+
+        // One pass over each source table for the whole session, grouped in memory
+        // Through the history service, so a session already archived is read from its archive
+        Map<Long, List<ChatMessageEntity>> messagesBySender = sessionHistoryService
+            .getMessages(sessionId).stream()
+            .collect(Collectors.groupingBy(m -> m.getSender().getId()));
+        Map<Long, List<ScoreRecordEntity>> scoresByUser = sessionHistoryService
+            .getScores(sessionId).stream()
+            .collect(Collectors.groupingBy(s -> s.getUser().getId()));
+        Map<Long, VocabularyResultEntity> vocabByStudent = vocabResultRepository
+            .findByGameSessionId(sessionId).stream()
+            .collect(Collectors.toMap(v -> v.getStudent().getId(), Function.identity(), (a, b) -> b));
+        Map<Long, ComprehensionResultEntity> comprehensionByStudent = comprehensionResultRepository
+            .findByGameSessionId(sessionId).stream()
+            .collect(Collectors.toMap(c -> c.getStudent().getId(), Function.identity(), (a, b) -> b));
+        Map<Long, StudentProgress> progressByStudent = progressRepository
+            .findBySessionId(sessionId).stream()
+            .collect(Collectors.toMap(p -> p.getStudent().getId(), Function.identity(), (a, b) -> b));
+
+        List<SessionSummaryEntity> summaries = new ArrayList<>();
+        for (PlayerSessionEntity player : players) {
+            Long studentId = player.getUser().getId();
+            if (!summarized.add(studentId)) {
+                continue;
+            }
+            SessionSummaryEntity summary = buildSummary(session, player,
+                messagesBySender.getOrDefault(studentId, Collections.emptyList()),
+                scoresByUser.getOrDefault(studentId, Collections.emptyList()),
+                vocabByStudent.get(studentId),
+                comprehensionByStudent.get(studentId),
+                progressByStudent.get(studentId));
+            summary.setPartial(!settle && summary.getPendingCount() > 0);
+            if (summary.getComprehensionScore() == null) {
+                summary.setComprehensionScore(comprehensionScores.get(studentId));
+            }
+            summaries.add(summary);
+        }
+
+        summaryRepository.saveAll(summaries);
+        logger.info("Wrote {} session summaries for session {}", summaries.size(), sessionId);
+    }
+
+    private SessionSummaryEntity buildSummary(GameSessionEntity session, PlayerSessionEntity player,
+                                              List<ChatMessageEntity> messages,
+                                              List<ScoreRecordEntity> scores,
+                                              VocabularyResultEntity vocabResult,
+                                              ComprehensionResultEntity comprehension,
+                                              StudentProgress progress) {
+        SessionSummaryEntity summary = new SessionSummaryEntity();
+        summary.setGameSession(session);
+        summary.setStudent(player.getUser());
+        summary.setRoleName(player.getRole() != null ? player.getRole().getName() : null);
+        summary.setFinalScore(player.getTotalScore());
+        summary.setGrammarStreak(player.getGrammarStreak());
+        summary.setMessageCount(messages.size());
+
+        int perfect = 0, minor = 0, major = 0, pending = 0, roleAppropriate = 0;
+        // One entry per use, in message order, as the feedback view listed them before summaries
+        List<String> usedWords = new ArrayList<>();
+        StringBuilder allText = new StringBuilder();
+        for (ChatMessageEntity msg : messages) {
+            if (msg.getGrammarStatus() != null) {
+                switch (msg.getGrammarStatus()) {
+                    case PERFECT -> perfect++;
+                    case MINOR_ERRORS -> minor++;
+                    case MAJOR_ERRORS -> major++;
+                    case PENDING -> pending++;
+                }
+            }
+            if (msg.isRoleAppropriate()) {
+                roleAppropriate++;
+            }
+            if (msg.getWordUsed() != null && !msg.getWordUsed().isEmpty()) {
+                usedWords.addAll(Arrays.asList(msg.getWordUsed().split(", ")));
+            }
+            if (msg.getContent() != null) {
+                allText.append(msg.getContent()).append(' ');
+            }
+        }
+        summary.setPerfectCount(perfect);
+        summary.setMinorErrorsCount(minor);
+        summary.setMajorErrorsCount(major);
+        summary.setPendingCount(pending);
+        summary.setRoleAppropriateCount(roleAppropriate);
+        summary.setUsedWordsList(usedWords);
+
+        // Same definition the feedback and export views used when aggregating on the fly
+        summary.setWordBankUsageCount((int) scores.stream()
+            .filter(s -> s.getReason() != null && s.getReason().contains("word bank"))
+            .count());
+
+        summary.setVocabularyScore(vocabResult != null ? vocabResult.getVocabularyScore() : 0);
+        summary.setVocabularyLevel(allText.length() > 0
+            ? (String) vocabularyAnalysisService.analyzeVocabulary(allText.toString()).get("vocabularyLevel")
+            : null);
+
+        if (progress != null) {
+            summary.setTurnCompletionRate(progress.getTurnCompletionRate());
+            summary.setAvgResponseTime(progress.getAvgResponseTime());
+            summary.setWordBombUsageRate(progress.getWordBombUsageRate());
+            // The progress views' own definitions, which differ from the counts above
+            summary.setProgressGrammarAccuracy(progress.getGrammarAccuracy());
+            summary.setProgressComprehensionScore(progress.getComprehensionScore());
+        } else {
+            summary.setProgressGrammarAccuracy(0.0);
+            summary.setProgressComprehensionScore(0.0);
+        }
+        if (comprehension != null) {
+            summary.setComprehensionScore(comprehension.getComprehensionPercentage());
+        }
+        return summary;
+    }
+
+    /**
+     * The comprehension quiz is taken after the game ends, so its score is the one
+     * column filled in later.
+     */
+    public void recordComprehensionScore(Long sessionId, Long studentId, double percentage) {
+        summaryRepository.updateComprehensionScore(sessionId, studentId, percentage);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<SessionSummaryEntity> findSummary(Long sessionId, Long studentId) {
+        return summaryRepository.findByGameSessionIdAndStudentId(sessionId, studentId);
+    }
+
+    /**
+     * Summaries for one session keyed by student ID.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, SessionSummaryEntity> getSummariesByStudent(Long sessionId) {
+        return summaryRepository.findByGameSessionId(sessionId).stream()
+            .collect(Collectors.toMap(s -> s.getStudent().getId(), Function.identity(), (a, b) -> a));
+    }
+
+    /**
+     * Summaries for one student keyed by session ID.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, SessionSummaryEntity> getSummariesBySession(Long studentId) {
+        return summaryRepository.findByStudentId(studentId).stream()
+            .collect(Collectors.toMap(s -> s.getGameSession().getId(), Function.identity(), (a, b) -> a));
+    }
+
+    /**
+     * Summaries for several sessions keyed by "sessionId:studentId".
+     */
+    @Transactional(readOnly = true)
+    public Map<String, SessionSummaryEntity> getSummaries(Collection<Long> sessionIds) {
+        if (sessionIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return summaryRepository.findByGameSessionIdIn(sessionIds).stream()
+            .collect(Collectors.toMap(s -> key(s.getGameSession().getId(), s.getStudent().getId()),
+                                      Function.identity(), (a, b) -> a));
+    }
+
+    public static String key(Long sessionId, Long studentId) {
+        return sessionId + ":" + studentId;
+    }
+}
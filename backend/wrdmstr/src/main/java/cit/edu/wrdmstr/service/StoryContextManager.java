@@ -0,0 +1,192 @@
+package cit.edu.wrdmstr.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded story context for AI prompts. The most recent story elements are passed
+ * verbatim; older ones are represented by one-sentence digests, computed once per
+ * element as the story grows. Each task has a token budget, so a turn late in a long
+ * game sends about as much context as an early one.
+ */
+@Service
+public class StoryContextManager {
+    private static final Logger logger = LoggerFactory.getLogger(StoryContextManager.class);
+    private static final Pattern SENTENCE_END = Pattern.compile("(?<=[.!?])\\s+");
+
+    @Autowired
+    private StoryPromptService storyPromptService;
+
+    @Autowired
+    private PerformanceMetricsService performanceMetricsService;
+
+    @Value("${wordmaster.ai.context.keep-recent:2}")
+    private int keepRecent;
+
+    @Value("${wordmaster.ai.context.story-prompt-tokens:350}")
+    private int storyPromptBudget;
+
+    @Value("${wordmaster.ai.context.comprehension-tokens:1200}")
+    private int comprehensionBudget;
+
+    // Digests of each session's story elements, in turn order
+    private final Cache<Long, List<String>> digests = Caffeine.newBuilder()
+            .maximumSize(2000)
+            .expireAfterAccess(Duration.ofHours(3))
+            .recordStats()
+            .build();
+
+    @PostConstruct
+    void monitorCache() {
+        performanceMetricsService.monitorCache(digests, "story_digests");
+    }
+
+    public static class StoryContext {
+        private final String summary;
+        private final List<String> recent;
+        private final int estimatedTokens;
+
+        public StoryContext(String summary, List<String> recent) {
+            this.summary = summary;
+            this.recent = recent;
+            int tokens = TokenEstimator.estimate(summary);
+            for (String element : recent) tokens += TokenEstimator.estimate(element);
+            this.estimatedTokens = tokens;
+        }
+
+        public String getSummary() { return summary; }
+        public List<String> getRecent() { return recent; }
+        public int getEstimatedTokens() { return estimatedTokens; }
+    }
+
+    /**
+     * Context for the next story_prompt: a few latest elements verbatim plus a digest of
+     * everything earlier.
+     */
+    public StoryContext forStoryPrompt(Long sessionId) {
+        List<String> elements = loadElements(sessionId);
+        StoryContext context = window(elements, digestsFor(sessionId, elements), keepRecent, storyPromptBudget);
+        logger.debug("Story context for session {}: {} elements -> {} verbatim, ~{} tokens",
+                sessionId, elements.size(), context.getRecent().size(), context.getEstimatedTokens());
+        return context;
+    }
+
+    /**
+     * Story text for comprehension_questions, in the StoryPromptService text layout but
+     * held to the comprehension budget. Empty when the session has no story yet.
+     */
+    public String forComprehension(Long sessionId) {
+        List<String> elements = loadElements(sessionId);
+        if (elements.isEmpty()) {
+            return "";
+        }
+        StoryContext context = window(elements, digestsFor(sessionId, elements), elements.size(), comprehensionBudget);
+
+        StringBuilder text = new StringBuilder("STORY PROGRESSION:\n\n");
+        if (!context.getSummary().isEmpty()) {
+            text.append("Earlier in the story: ").append(context.getSummary()).append("\n\n");
+        }
+        int firstTurn = elements.size() - context.getRecent().size() + 1;
+        for (int i = 0; i < context.getRecent().size(); i++) {
+            text.append("Turn ").append(firstTurn + i).append(": ").append(context.getRecent().get(i)).append("\n\n");
+        }
+        return text.toString();
+    }
+
+    private List<String> loadElements(Long sessionId) {
+        List<String> elements = new ArrayList<>();
+        for (Map<String, Object> element : storyPromptService.getStoryPrompts(sessionId)) {
+            Object prompt = element.get("prompt");
+            if (prompt != null) elements.add(prompt.toString());
+        }
+        return elements;
+    }
+
+    // Only elements added since the last call are digested
+    private List<String> digestsFor(Long sessionId, List<String> elements) {
+        List<String> known = digests.get(sessionId, id -> new ArrayList<>());
+        synchronized (known) {
+            if (known.size() > elements.size()) {
+                known.clear(); // story was reset
+            }
+            for (int i = known.size(); i < elements.size(); i++) {
+                known.add(digest(elements.get(i)));
+            }
+            return new ArrayList<>(known);
+        }
+    }
+
+    /**
+     * One-sentence digest of a story element: its first statement, without the closing
+     * question that only invited the players to act.
+     */
+    static String digest(String element) {
+        String text = element == null ? "" : element.replaceAll("\\s+", " ").trim();
+        for (String sentence : SENTENCE_END.split(text)) {
+            if (!sentence.isEmpty() && !sentence.endsWith("?")) {
+                return sentence;
+            }
+        }
+        return text;
+    }
+
+    /**
+     * Choose how many trailing elements to keep verbatim and fill the rest of the budget
+     * with digests of earlier ones (the opening digest first, then the latest that fit).
+     */
+    static StoryContext window(List<String> elements, List<String> digests, int keepRecent, int budget) {
+        int n = elements.size();
+        int start = Math.max(0, n - Math.max(1, keepRecent));
+
+        // Verbatim elements may use up to three quarters of the budget
+        int recentBudget = budget * 3 / 4;
+        int recentTokens = 0;
+        for (int i = start; i < n; i++) recentTokens += TokenEstimator.estimate(elements.get(i));
+        while (start < n - 1 && recentTokens > recentBudget) {
+            recentTokens -= TokenEstimator.estimate(elements.get(start));
+            start++;
+        }
+
+        List<String> recent = new ArrayList<>(elements.subList(start, n));
+        if (recent.size() == 1 && recentTokens > budget) {
+            recent.set(0, TokenEstimator.truncate(recent.get(0), budget));
+            recentTokens = TokenEstimator.estimate(recent.get(0));
+        }
+
+        return new StoryContext(summarize(digests.subList(0, start), budget - recentTokens), recent);
+    }
+
+    private static String summarize(List<String> digests, int budget) {
+        if (digests.isEmpty() || budget <= 0) {
+            return "";
+        }
+        int used = TokenEstimator.estimate(digests.get(0));
+        if (used > budget) {
+            return TokenEstimator.truncate(digests.get(0), budget);
+        }
+        Deque<String> latest = new ArrayDeque<>();
+        int i = digests.size() - 1;
+        for (; i > 0; i--) {
+            int cost = TokenEstimator.estimate(digests.get(i)) + 1;
+            if (used + cost > budget) break;
+            latest.addFirst(digests.get(i));
+            used += cost;
+        }
+        StringBuilder summary = new StringBuilder(digests.get(0));
+        if (i > 0) {
+            summary.append(" ...");
+        }
+        for (String d : latest) summary.append(' ').append(d);
+        return summary.toString();
+    }
+}
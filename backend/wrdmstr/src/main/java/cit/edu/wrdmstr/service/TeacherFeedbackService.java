@@ -13,8 +13,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.*;
 import java.util.regex.Matcher;
@@ -31,8 +34,6 @@ public class TeacherFeedbackService implements ITeacherFeedbackService {
     @Autowired private GameSessionEntityRepository gameSessionRepository;
     @Autowired private UserRepository userRepository;
     @Autowired private PlayerSessionEntityRepository playerSessionRepository;
-    @Autowired private ChatMessageEntityRepository chatMessageRepository;
-    @Autowired private ScoreRecordEntityRepository scoreRepository;
     @Autowired private AIService aiService;
     @Autowired private ComprehensionCheckService comprehensionCheckService;
     @Autowired private ObjectMapper objectMapper;
@@ -41,6 +42,11 @@ public class TeacherFeedbackService implements ITeacherFeedbackService {
     @Autowired private ComprehensionResultRepository comprehensionResultRepository;
     @Autowired private GrammarResultRepository grammarResultRepo;
     @Autowired private VocabularyResultRepository vocabResultRepo;
+    @Autowired private SessionSummaryService sessionSummaryService;
+    @Autowired private SessionHistoryService sessionHistoryService;
+    @Autowired private SimpMessagingTemplate messagingTemplate;
+    // Proxy of this service, so work continued on another thread runs in its own transaction
+    @Autowired @Lazy private TeacherFeedbackService self;
 
     /**
      * Create or update feedback for a student in a game session
@@ -154,45 +160,23 @@ public class TeacherFeedbackService implements ITeacherFeedbackService {
         
         PlayerSessionEntity playerSession = playerSessions.get(0);
         
-        // Get player messages
-        List<ChatMessageEntity> messages = chatMessageRepository
-            .findBySessionIdAndSenderIdOrderByTimestampAsc(sessionId, studentId);
-        
-        // Get player scores
-        List<ScoreRecordEntity> scores = scoreRepository
-            .findBySessionIdAndUserId(sessionId, studentId);
-        
         // Calculate stats
-        int totalScore = playerSession.getTotalScore();
-        int messageCount = messages.size();
-        int perfectGrammarCount = (int) messages.stream()
-            .filter(m -> m.getGrammarStatus() == ChatMessageEntity.MessageStatus.PERFECT)
-            .count();
-        
-        // Count word bank usage
-        int wordBankUsageCount = (int) scores.stream()
-            .filter(s -> s.getReason() != null && s.getReason().contains("word bank"))
-            .count();
-        
-        // Prepare AI request
-        Map<String, Object> request = new HashMap<>();
-        request.put("task", "generate_feedback");
-        request.put("studentName", student.getFname() + " " + student.getLname()); // Add this line
-        request.put("role", playerSession.getRole() != null ? playerSession.getRole().getName() : "Unknown");
-        request.put("totalScore", totalScore);
-        request.put("messageCount", messageCount);
-        request.put("perfectGrammarCount", perfectGrammarCount);
-        request.put("wordBankUsageCount", wordBankUsageCount);
+        SessionStats stats = getSessionStats(sessionId, studentId, playerSession);
+        int totalScore = stats.totalScore();
+        int messageCount = stats.messageCount();
+        int perfectGrammarCount = stats.perfectGrammarCount();
+        int wordBankUsageCount = stats.wordBankUsageCount();
         
         // Add sample messages (limit to 5 for brevity)
-        List<String> sampleMessages = messages.stream()
+        List<String> sampleMessages = sessionHistoryService
+            .getOpeningMessages(sessionId, studentId).stream()
             .map(ChatMessageEntity::getContent)
-            .limit(5)
             .collect(Collectors.toList());
-        request.put("sampleMessages", sampleMessages);
+        FeedbackInput input = new FeedbackInput(studentId, student.getFname() + " " + student.getLname(),
+            roleName(playerSession), stats, null, sampleMessages);
         
         // Call AI service
-        String aiSuggestion = aiService.callAIModel(request).getResult();
+        String aiSuggestion = aiService.callAIModel(feedbackRequest(input)).getResult();
         
         // Extract scores
         Map<String, Object> extractedScores = extractScoresFromAIFeedback(aiSuggestion);
@@ -216,6 +200,132 @@ public class TeacherFeedbackService implements ITeacherFeedbackService {
         return feedbackDTO;
     }
 
+    /**
+     * Plans suggested feedback for every student in a session who has none yet. The session
+     * aggregate is read once: summaries, chat messages and (for sessions without summaries)
+     * score records are each loaded in a single query and split per student here.
+     */
+    @Transactional(readOnly = true)
+    public ClassFeedbackPlan planClassFeedback(Long sessionId, Authentication auth) {
+        UserEntity teacher = userRepository.findByEmail(auth.getName())
+            .orElseThrow(() -> new RuntimeException("Teacher not found"));
+        
+        GameSessionEntity gameSession = gameSessionRepository.findById(sessionId)
+            .orElseThrow(() -> new RuntimeException("Game session not found"));
+        
+        if (!Objects.equals(gameSession.getTeacher().getId(), teacher.getId())) {
+            throw new RuntimeException("You are not authorized to generate feedback for this session");
+        }
+        
+        Set<Long> reviewed = feedbackRepository.findByGameSessionId(sessionId).stream()
+            .map(fb -> fb.getStudent().getId())
+            .collect(Collectors.toSet());
+        Map<Long, SessionSummaryEntity> summaries = sessionSummaryService.getSummariesByStudent(sessionId);
+        Map<Long, List<ChatMessageEntity>> messagesBySender = sessionHistoryService
+            .getMessages(sessionId).stream()
+            .filter(m -> m.getSender() != null)
+            .collect(Collectors.groupingBy(m -> m.getSender().getId()));
+        Map<Long, Long> wordBankUses = null;
+        
+        List<FeedbackInput> students = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        int alreadyReviewed = 0;
+        for (PlayerSessionEntity player : playerSessionRepository.findBySessionId(sessionId)) {
+            UserEntity student = player.getUser();
+            if (student == null || Objects.equals(student.getId(), teacher.getId()) || !seen.add(student.getId())) {
+                continue;
+            }
+            if (reviewed.contains(student.getId())) {
+                alreadyReviewed++;
+                continue;
+            }
+            List<ChatMessageEntity> messages = messagesBySender.getOrDefault(student.getId(), List.of());
+            SessionSummaryEntity summary = summaries.get(student.getId());
+            SessionStats stats;
+            if (summary != null) {
+                stats = statsFrom(summary);
+            } else {
+                if (wordBankUses == null) {
+                    wordBankUses = sessionHistoryService.getScores(sessionId).stream()
+                        .filter(s -> s.getUser() != null && s.getReason() != null && s.getReason().contains("word bank"))
+                        .collect(Collectors.groupingBy(s -> s.getUser().getId(), Collectors.counting()));
+                }
+                int perfectGrammarCount = (int) messages.stream()
+                    .filter(m -> m.getGrammarStatus() == ChatMessageEntity.MessageStatus.PERFECT)
+                    .count();
+                stats = new SessionStats(player.getTotalScore(), messages.size(), perfectGrammarCount,
+                    wordBankUses.getOrDefault(student.getId(), 0L).intValue());
+            }
+            List<String> sampleMessages = messages.stream()
+                .limit(5)
+                .map(ChatMessageEntity::getContent)
+                .collect(Collectors.toList());
+            students.add(new FeedbackInput(student.getId(), student.getFname() + " " + student.getLname(),
+                roleName(player), stats, summary != null ? summary.getComprehensionScore() : null, sampleMessages));
+        }
+        return new ClassFeedbackPlan(sessionId, teacher.getEmail(), students, alreadyReviewed);
+    }
+
+    /**
+     * Saves an AI suggestion as a draft for the teacher to review. Runs in its own transaction
+     * so each student's draft commits as soon as it is ready; feedback written for the student
+     * since the job was planned is left as it is.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public TeacherFeedbackDTO saveSuggestedDraft(Long sessionId, FeedbackInput input, String aiSuggestion) {
+        Optional<TeacherFeedbackEntity> existing = feedbackRepository
+            .findByGameSessionIdAndStudentId(sessionId, input.studentId());
+        if (existing.isPresent()) {
+            return convertToDTO(existing.get(), true);
+        }
+        
+        GameSessionEntity session = gameSessionRepository.findById(sessionId)
+            .orElseThrow(() -> new RuntimeException("Game session not found"));
+        UserEntity student = userRepository.findById(input.studentId())
+            .orElseThrow(() -> new RuntimeException("Student not found"));
+        
+        TeacherFeedbackEntity feedback = feedbackRepository.save(
+            draftFeedback(session, student, aiSuggestion, input.stats().wordBankUsageCount()));
+        
+        TeacherFeedbackDTO dto = new TeacherFeedbackDTO();
+        dto.setId(feedback.getId());
+        dto.setGameSessionId(sessionId);
+        dto.setStudentId(input.studentId());
+        dto.setStudentName(input.studentName());
+        dto.setFeedback(feedback.getFeedback());
+        dto.setAiSuggestedFeedback(feedback.getAiSuggestedFeedback());
+        dto.setTotalScore(input.stats().totalScore());
+        dto.setMessageCount(input.stats().messageCount());
+        dto.setWordBankUsageCount(input.stats().wordBankUsageCount());
+        dto.setPerfectGrammarCount(input.stats().perfectGrammarCount());
+        dto.setComprehensionScore(feedback.getComprehensionScore());
+        dto.setParticipationScore(feedback.getParticipationScore());
+        dto.setLanguageUseScore(feedback.getLanguageUseScore());
+        dto.setRoleAdherenceScore(feedback.getRoleAdherenceScore());
+        dto.setOverallGrade(feedback.getOverallGrade());
+        return dto;
+    }
+
+    static Map<String, Object> feedbackRequest(FeedbackInput input) {
+        Map<String, Object> request = new HashMap<>();
+        request.put("task", "generate_feedback");
+        request.put("studentName", input.studentName());
+        request.put("role", input.role());
+        request.put("totalScore", input.stats().totalScore());
+        request.put("messageCount", input.stats().messageCount());
+        request.put("perfectGrammarCount", input.stats().perfectGrammarCount());
+        request.put("wordBankUsageCount", input.stats().wordBankUsageCount());
+        if (input.comprehensionPercentage() != null) {
+            request.put("comprehensionPercentage", input.comprehensionPercentage());
+        }
+        request.put("sampleMessages", input.sampleMessages());
+        return request;
+    }
+
+    private static String roleName(PlayerSessionEntity player) {
+        return player.getRole() != null ? player.getRole().getName() : "Unknown";
+    }
+
     // Add this helper method
     private Map<String, Object> extractScoresFromAIFeedback(String aiSuggestion) {
         Map<String, Object> scores = new HashMap<>();
@@ -297,6 +407,7 @@ public class TeacherFeedbackService implements ITeacherFeedbackService {
         
         // Get all players in this session
         List<PlayerSessionEntity> players = playerSessionRepository.findBySessionId(sessionId);
+        Map<Long, SessionSummaryEntity> summaries = sessionSummaryService.getSummariesByStudent(sessionId);
         
         List<Map<String, Object>> result = new ArrayList<>();
         for (PlayerSessionEntity player : players) {
@@ -310,18 +421,24 @@ public class TeacherFeedbackService implements ITeacherFeedbackService {
             playerSummary.put("role", player.getRole() != null ? player.getRole().getName() : "None");
             playerSummary.put("totalScore", player.getTotalScore());
             
-            // Count messages
-            List<ChatMessageEntity> messages = chatMessageRepository
-                .findBySessionIdAndSenderId(sessionId, user.getId());
-            playerSummary.put("messageCount", messages.size());
-            
-            // Grammar statistics
-            Map<String, Long> grammarStats = messages.stream()
-                .collect(Collectors.groupingBy(
-                    msg -> msg.getGrammarStatus().toString(),
-                    Collectors.counting()
-                ));
-            playerSummary.put("grammarStats", grammarStats);
+            SessionSummaryEntity summary = summaries.get(user.getId());
+            if (summary != null) {
+                playerSummary.put("messageCount", summary.getMessageCount());
+                playerSummary.put("grammarStats", toGrammarStats(summary));
+            } else {
+                // Count messages
+                List<ChatMessageEntity> messages = sessionHistoryService
+                    .getMessages(sessionId, user.getId());
+                playerSummary.put("messageCount", messages.size());
+                
+                // Grammar statistics
+                Map<String, Long> grammarStats = messages.stream()
+                    .collect(Collectors.groupingBy(
+                        msg -> msg.getGrammarStatus().toString(),
+                        Collectors.counting()
+                    ));
+                playerSummary.put("grammarStats", grammarStats);
+            }
             
             // Score breakdown by reason
             List<Map<String, Object>> scoreBreakdown = scoreService.getPlayerScoreBreakdown(sessionId, user.getId());
@@ -371,31 +488,72 @@ public class TeacherFeedbackService implements ITeacherFeedbackService {
             .findBySessionIdAndUserId(entity.getGameSession().getId(), entity.getStudent().getId());
         
         if (!playerSessions.isEmpty()) {
-            PlayerSessionEntity player = playerSessions.get(0);
-            dto.setTotalScore(player.getTotalScore());
-            
-            // Count messages
-            List<ChatMessageEntity> messages = chatMessageRepository
-                .findBySessionIdAndSenderId(entity.getGameSession().getId(), entity.getStudent().getId());
-            dto.setMessageCount(messages.size());
-            
-            // Count perfect grammar
-            long perfectGrammarCount = messages.stream()
-                .filter(m -> m.getGrammarStatus() == ChatMessageEntity.MessageStatus.PERFECT)
-                .count();
-            dto.setPerfectGrammarCount((int) perfectGrammarCount);
-            
-            // Count word bank usage
-            long wordBankUsageCount = scoreRepository.findBySessionIdAndUserId(
-                    entity.getGameSession().getId(), entity.getStudent().getId()).stream()
-                .filter(s -> s.getReason() != null && s.getReason().contains("word bank"))
-                .count();
-            dto.setWordBankUsageCount((int) wordBankUsageCount);
+            SessionStats stats = getSessionStats(entity.getGameSession().getId(),
+                entity.getStudent().getId(), playerSessions.get(0));
+            dto.setTotalScore(stats.totalScore());
+            dto.setMessageCount(stats.messageCount());
+            dto.setPerfectGrammarCount(stats.perfectGrammarCount());
+            dto.setWordBankUsageCount(stats.wordBankUsageCount());
         }
         
         return dto;
     }
 
+    public record SessionStats(int totalScore, int messageCount, int perfectGrammarCount, int wordBankUsageCount) {}
+
+    /**
+     * One student's inputs to the generate_feedback prompt.
+     */
+    public record FeedbackInput(Long studentId, String studentName, String role, SessionStats stats,
+                                Double comprehensionPercentage, List<String> sampleMessages) {}
+
+    /**
+     * Everything a class-wide feedback job needs, read up front so the AI calls that follow
+     * never touch the database. Students who already have feedback are left out.
+     */
+    public record ClassFeedbackPlan(Long sessionId, String teacherEmail, List<FeedbackInput> students, int alreadyReviewed) {}
+
+    /**
+     * Headline stats for a student in a session. Finished sessions read the summary
+     * row written at game end; live or legacy sessions fall back to aggregating
+     * chat messages and score records.
+     */
+    private SessionStats getSessionStats(Long sessionId, Long studentId, PlayerSessionEntity player) {
+        Optional<SessionSummaryEntity> summary = sessionSummaryService.findSummary(sessionId, studentId);
+        if (summary.isPresent()) {
+            return statsFrom(summary.get());
+        }
+
+        List<ChatMessageEntity> messages = sessionHistoryService
+            .getMessages(sessionId, studentId);
+        int perfectGrammarCount = (int) messages.stream()
+            .filter(m -> m.getGrammarStatus() == ChatMessageEntity.MessageStatus.PERFECT)
+            .count();
+        int wordBankUsageCount = (int) sessionHistoryService.getScores(sessionId, studentId).stream()
+            .filter(s -> s.getReason() != null && s.getReason().contains("word bank"))
+            .count();
+        return new SessionStats(player.getTotalScore(), messages.size(), perfectGrammarCount, wordBankUsageCount);
+    }
+
+    private static SessionStats statsFrom(SessionSummaryEntity s) {
+        return new SessionStats(s.getFinalScore(), s.getMessageCount(), s.getPerfectCount(), s.getWordBankUsageCount());
+    }
+
+    private Map<String, Long> toGrammarStats(SessionSummaryEntity summary) {
+        Map<String, Long> grammarStats = new HashMap<>();
+        putIfPositive(grammarStats, ChatMessageEntity.MessageStatus.PERFECT, summary.getPerfectCount());
+        putIfPositive(grammarStats, ChatMessageEntity.MessageStatus.MINOR_ERRORS, summary.getMinorErrorsCount());
+        putIfPositive(grammarStats, ChatMessageEntity.MessageStatus.MAJOR_ERRORS, summary.getMajorErrorsCount());
+        putIfPositive(grammarStats, ChatMessageEntity.MessageStatus.PENDING, summary.getPendingCount());
+        return grammarStats;
+    }
+
+    private void putIfPositive(Map<String, Long> stats, ChatMessageEntity.MessageStatus status, int count) {
+        if (count > 0) {
+            stats.put(status.toString(), (long) count);
+        }
+    }
+
     /**
      * Generate comprehension questions for a student (now session-based)
      */
@@ -423,7 +581,12 @@ public class TeacherFeedbackService implements ITeacherFeedbackService {
     /**
      * Submit and grade comprehension answers
      * AUTOMATICALLY generates AI feedback after comprehension quiz completion
+     *
+     * Runs without a transaction: grading may wait up to the inline grading time for the
+     * AI, and the feedback draft is another model call, so only the writes in between
+     * hold a connection.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, Object> submitComprehensionAnswers(
             Long sessionId, 
             Long studentId, 
@@ -431,16 +594,45 @@ public class TeacherFeedbackService implements ITeacherFeedbackService {
             List<Map<String, Object>> answers,
             Authentication auth) {
         
+        // Grade the answers; AI-graded short answers may still be pending
+        ComprehensionCheckService.GradingRun grading = comprehensionCheckService.startGrading(questions, answers);
+        Map<String, Object> gradeResult = grading.getResult();
+        double percentage = (Double) gradeResult.get("percentage");
+        
+        self.saveComprehensionSubmission(sessionId, studentId, questions, answers, percentage);
+
+        if (!grading.isComplete()) {
+            // The submission is committed; the student gets the final grade over WebSocket
+            grading.getCompletion().thenAccept(finalResult ->
+                self.completeComprehensionGrading(sessionId, studentId, finalResult));
+            return gradeResult;
+        }
+        
+        // AUTO-GENERATE AI FEEDBACK after comprehension quiz completion
+        // This creates a draft feedback for teachers to review and adjust
+        try {
+            logger.info("Auto-generating AI feedback for student {} in session {}", studentId, sessionId);
+            autoGenerateTeacherFeedback(sessionId, studentId, percentage);
+        } catch (Exception e) {
+            // Don't fail the comprehension submission if AI feedback generation fails
+            logger.error("Failed to auto-generate teacher feedback: {}", e.getMessage(), e);
+        }
+        
+        // Return the grade result
+        return gradeResult;
+    }
+
+    /**
+     * Store a graded submission and its score, replacing any earlier one by the student
+     */
+    public void saveComprehensionSubmission(Long sessionId, Long studentId, List<Map<String, Object>> questions,
+                                            List<Map<String, Object>> answers, double percentage) {
         GameSessionEntity session = gameSessionRepository.findById(sessionId)
             .orElseThrow(() -> new RuntimeException("Game session not found"));
         
         UserEntity student = userRepository.findById(studentId)
             .orElseThrow(() -> new RuntimeException("Student not found"));
         
-        // Grade the answers
-        Map<String, Object> gradeResult = comprehensionCheckService.gradeComprehensionAnswers(questions, answers);
-        double percentage = (Double) gradeResult.get("percentage");
-        
         try {
             // Find or create comprehension result
             ComprehensionResultEntity result = comprehensionResultRepository
@@ -456,39 +648,79 @@ public class TeacherFeedbackService implements ITeacherFeedbackService {
             
             // Save comprehension result
             comprehensionResultRepository.save(result);
-            
-            // AUTO-GENERATE AI FEEDBACK after comprehension quiz completion
-            // This creates a draft feedback for teachers to review and adjust
-            try {
-                logger.info("Auto-generating AI feedback for student {} in session {}", studentId, sessionId);
-                autoGenerateTeacherFeedback(sessionId, studentId, session, student, percentage);
-            } catch (Exception e) {
-                // Don't fail the comprehension submission if AI feedback generation fails
-                logger.error("Failed to auto-generate teacher feedback: {}", e.getMessage(), e);
-            }
-            
-            // Return the grade result
-            return gradeResult;
+            sessionSummaryService.recordComprehensionScore(sessionId, studentId, percentage);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Error saving comprehension answers", e);
         }
     }
     
+    /**
+     * Store the final grade of a submission whose short answers were graded after it
+     * returned, send it to the student on /user/queue/comprehension and generate the
+     * draft feedback with the final percentage
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void completeComprehensionGrading(Long sessionId, Long studentId, Map<String, Object> finalResult) {
+        try {
+            double percentage = (Double) finalResult.get("percentage");
+            String studentEmail = self.recordFinalComprehensionScore(sessionId, studentId, percentage);
+
+            Map<String, Object> update = new HashMap<>(finalResult);
+            update.put("sessionId", sessionId);
+            messagingTemplate.convertAndSendToUser(studentEmail, "/queue/comprehension", update);
+
+            logger.info("Auto-generating AI feedback for student {} in session {}", studentId, sessionId);
+            autoGenerateTeacherFeedback(sessionId, studentId, percentage);
+        } catch (Exception e) {
+            logger.error("Failed to complete comprehension grading for student {} in session {}: {}",
+                studentId, sessionId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Update the stored percentage once grading has finished; returns the student's email
+     */
+    public String recordFinalComprehensionScore(Long sessionId, Long studentId, double percentage) {
+        UserEntity student = userRepository.findById(studentId)
+            .orElseThrow(() -> new RuntimeException("Student not found"));
+        comprehensionResultRepository.findByGameSessionIdAndStudentId(sessionId, studentId).ifPresent(result -> {
+            result.setComprehensionPercentage(percentage);
+            comprehensionResultRepository.save(result);
+        });
+        sessionSummaryService.recordComprehensionScore(sessionId, studentId, percentage);
+        return student.getEmail();
+    }
+
     /**
      * Auto-generate AI feedback and save it as a draft for teachers to review
-     * This is called automatically after comprehension quiz completion
+     * This is called automatically after comprehension quiz completion; the model call
+     * runs between the read and the write, outside any transaction
      */
-    private void autoGenerateTeacherFeedback(Long sessionId, Long studentId, 
-                                            GameSessionEntity session, UserEntity student,
-                                            double comprehensionPercentage) {
-        // Check if feedback already exists - don't overwrite existing feedback
-        Optional<TeacherFeedbackEntity> existingFeedback = feedbackRepository
-            .findByGameSessionIdAndStudentId(sessionId, studentId);
+    private void autoGenerateTeacherFeedback(Long sessionId, Long studentId, double comprehensionPercentage) {
+        FeedbackInput input = self.planQuizFeedback(sessionId, studentId, comprehensionPercentage);
+        if (input == null) {
+            return;
+        }
+        
+        // Call AI service
+        String aiSuggestion = aiService.callAIModel(feedbackRequest(input)).getResult();
         
-        if (existingFeedback.isPresent()) {
+        // Create and save teacher feedback entity
+        self.saveSuggestedDraft(sessionId, input, aiSuggestion);
+        logger.info("Auto-generated AI feedback saved for student {} in session {}", studentId, sessionId);
+    }
+
+    /**
+     * What the post-quiz feedback draft needs, or null when the student already has
+     * feedback or did not play in the session
+     */
+    @Transactional(readOnly = true)
+    public FeedbackInput planQuizFeedback(Long sessionId, Long studentId, double comprehensionPercentage) {
+        // Check if feedback already exists - don't overwrite existing feedback
+        if (feedbackRepository.findByGameSessionIdAndStudentId(sessionId, studentId).isPresent()) {
             logger.info("Teacher feedback already exists for student {} in session {}, skipping auto-generation", 
                        studentId, sessionId);
-            return;
+            return null;
         }
         
         // Get player session
@@ -497,56 +729,33 @@ public class TeacherFeedbackService implements ITeacherFeedbackService {
         
         if (playerSessions.isEmpty()) {
             logger.warn("Player session not found for student {} in session {}", studentId, sessionId);
-            return;
+            return null;
         }
         
         PlayerSessionEntity playerSession = playerSessions.get(0);
-        
-        // Get player messages
-        List<ChatMessageEntity> messages = chatMessageRepository
-            .findBySessionIdAndSenderIdOrderByTimestampAsc(sessionId, studentId);
-        
-        // Get player scores
-        List<ScoreRecordEntity> scores = scoreRepository
-            .findBySessionIdAndUserId(sessionId, studentId);
+        UserEntity student = userRepository.findById(studentId)
+            .orElseThrow(() -> new RuntimeException("Student not found"));
         
         // Calculate stats
-        int totalScore = playerSession.getTotalScore();
-        int messageCount = messages.size();
-        int perfectGrammarCount = (int) messages.stream()
-            .filter(m -> m.getGrammarStatus() == ChatMessageEntity.MessageStatus.PERFECT)
-            .count();
-        
-        // Count word bank usage
-        int wordBankUsageCount = (int) scores.stream()
-            .filter(s -> s.getReason() != null && s.getReason().contains("word bank"))
-            .count();
-        
-        // Prepare AI request with comprehension data
-        Map<String, Object> request = new HashMap<>();
-        request.put("task", "generate_feedback");
-        request.put("studentName", student.getFname() + " " + student.getLname());
-        request.put("role", playerSession.getRole() != null ? playerSession.getRole().getName() : "Unknown");
-        request.put("totalScore", totalScore);
-        request.put("messageCount", messageCount);
-        request.put("perfectGrammarCount", perfectGrammarCount);
-        request.put("wordBankUsageCount", wordBankUsageCount);
-        request.put("comprehensionPercentage", comprehensionPercentage);
+        SessionStats stats = getSessionStats(sessionId, studentId, playerSession);
         
         // Add sample messages (limit to 5 for brevity)
-        List<String> sampleMessages = messages.stream()
+        List<String> sampleMessages = sessionHistoryService
+            .getOpeningMessages(sessionId, studentId).stream()
             .map(ChatMessageEntity::getContent)
-            .limit(5)
             .collect(Collectors.toList());
-        request.put("sampleMessages", sampleMessages);
-        
-        // Call AI service
-        String aiSuggestion = aiService.callAIModel(request).getResult();
-        
+        return new FeedbackInput(studentId, student.getFname() + " " + student.getLname(),
+            roleName(playerSession), stats, comprehensionPercentage, sampleMessages);
+    }
+
+    /**
+     * A feedback draft pre-populated with the AI suggestion, assigned to the session's teacher.
+     */
+    private TeacherFeedbackEntity draftFeedback(GameSessionEntity session, UserEntity student,
+                                                String aiSuggestion, int wordBankUsageCount) {
         // Extract scores from AI feedback
         Map<String, Object> extractedScores = extractScoresFromAIFeedback(aiSuggestion);
         
-        // Create and save teacher feedback entity
         TeacherFeedbackEntity feedback = new TeacherFeedbackEntity();
         feedback.setGameSession(session);
         feedback.setStudent(student);
@@ -559,9 +768,7 @@ public class TeacherFeedbackService implements ITeacherFeedbackService {
         feedback.setRoleAdherenceScore((Integer) extractedScores.getOrDefault("roleAdherenceScore", 3));
         feedback.setOverallGrade((String) extractedScores.getOrDefault("overallGrade", "B"));
         feedback.setVocabularyScore(wordBankUsageCount);
-        
-        feedbackRepository.save(feedback);
-        logger.info("Auto-generated AI feedback saved for student {} in session {}", studentId, sessionId);
+        return feedback;
     }
 
     /**
@@ -607,26 +814,32 @@ public class TeacherFeedbackService implements ITeacherFeedbackService {
         analytics.put("grammarStreak", playerSession.getGrammarStreak());
         
         // Messages analysis
-        List<ChatMessageEntity> messages = chatMessageRepository
-            .findBySessionIdAndSenderIdOrderByTimestampAsc(sessionId, studentId);
+        List<ChatMessageEntity> messages = sessionHistoryService
+            .getMessages(sessionId, studentId);
         
         analytics.put("messageCount", messages.size());
         
-        // Grammar breakdown
-        Map<String, Long> grammarBreakdown = messages.stream()
-            .collect(Collectors.groupingBy(
-                m -> m.getGrammarStatus().toString(),
-                Collectors.counting()
-            ));
-        analytics.put("grammarBreakdown", grammarBreakdown);
-        
-        // Word usage analysis
-        List<ScoreRecordEntity> wordUsageScores = scoreRepository
-            .findBySessionIdAndUserId(sessionId, studentId).stream()
-            .filter(s -> s.getReason() != null && s.getReason().contains("word bank"))
-            .collect(Collectors.toList());
-        
-        analytics.put("wordBankUsageCount", wordUsageScores.size());
+        SessionSummaryEntity summary = sessionSummaryService.findSummary(sessionId, studentId).orElse(null);
+        if (summary != null) {
+            analytics.put("grammarBreakdown", toGrammarStats(summary));
+            analytics.put("wordBankUsageCount", summary.getWordBankUsageCount());
+        } else {
+            // Grammar breakdown
+            Map<String, Long> grammarBreakdown = messages.stream()
+                .collect(Collectors.groupingBy(
+                    m -> m.getGrammarStatus().toString(),
+                    Collectors.counting()
+                ));
+            analytics.put("grammarBreakdown", grammarBreakdown);
+            
+            // Word usage analysis
+            List<ScoreRecordEntity> wordUsageScores = sessionHistoryService
+                .getScores(sessionId, studentId).stream()
+                .filter(s -> s.getReason() != null && s.getReason().contains("word bank"))
+                .collect(Collectors.toList());
+            
+            analytics.put("wordBankUsageCount", wordUsageScores.size());
+        }
         
         // Message content analysis (sample of messages)
         List<Map<String, Object>> messageAnalysis = messages.stream()
@@ -704,26 +917,30 @@ public class TeacherFeedbackService implements ITeacherFeedbackService {
         List<String> usedWords = new ArrayList<>();
         List<String> usedAdvancedWords = new ArrayList<>();
 
-        for (ChatMessageEntity message : messages) {
-            if (message.getWordUsed() != null && !message.getWordUsed().isEmpty()) {
-                List<String> words = Arrays.asList(message.getWordUsed().split(", "));
-                usedWords.addAll(words);
-                
-                // Analyze which words are considered advanced
-                for (String word : words) {
-                    if (word.length() > 7) {  // Simple criterion for advanced words
-                        usedAdvancedWords.add(word);
-                    }
+        if (summary != null) {
+            usedWords.addAll(summary.getUsedWordsList());
+        } else {
+            for (ChatMessageEntity message : messages) {
+                if (message.getWordUsed() != null && !message.getWordUsed().isEmpty()) {
+                    usedWords.addAll(Arrays.asList(message.getWordUsed().split(", ")));
                 }
             }
         }
+        // Analyze which words are considered advanced
+        for (String word : usedWords) {
+            if (word.length() > 7) {  // Simple criterion for advanced words
+                usedAdvancedWords.add(word);
+            }
+        }
 
         analytics.put("usedWords", usedWords);
         analytics.put("usedAdvancedWords", usedAdvancedWords);
         analytics.put("vocabularyScore", feedback != null ? feedback.getVocabularyScore() : null);
         
-        // Get chat messages for this student
-        List<Map<String, Object>> chatMessages = getStudentChatMessages(sessionId, studentId);
+        // Reuse the already-loaded messages rather than querying them again
+        List<Map<String, Object>> chatMessages = messages.stream()
+            .map(this::convertMessageToMap)
+            .collect(Collectors.toList());
         analytics.put("chatMessages", chatMessages);
         
         return analytics;
@@ -733,8 +950,8 @@ public class TeacherFeedbackService implements ITeacherFeedbackService {
      * Get chat messages for a student in a session
      */
     public List<Map<String, Object>> getStudentChatMessages(Long sessionId, Long studentId) {
-        List<ChatMessageEntity> messages = chatMessageRepository
-            .findBySessionIdAndSenderIdOrderByTimestampAsc(sessionId, studentId);
+        List<ChatMessageEntity> messages = sessionHistoryService
+            .getMessages(sessionId, studentId);
         
         return messages.stream()
             .map(this::convertMessageToMap)
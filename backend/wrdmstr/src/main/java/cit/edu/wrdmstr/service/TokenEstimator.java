@@ -0,0 +1,30 @@
+package cit.edu.wrdmstr.service;
+
+/**
+ * Rough prompt size in model tokens. English text averages about four characters per
+ * token for Gemini's tokenizer, which is close enough for budgeting and metrics.
+ */
+public final class TokenEstimator {
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private TokenEstimator() {}
+
+    public static int estimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        return (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    /**
+     * Cut {@code text} to roughly {@code tokens} tokens, preferring a word boundary.
+     */
+    public static String truncate(String text, int tokens) {
+        int maxChars = Math.max(0, tokens) * CHARS_PER_TOKEN;
+        if (text == null || text.length() <= maxChars) {
+            return text;
+        }
+        int cut = text.lastIndexOf(' ', maxChars);
+        return text.substring(0, cut > maxChars / 2 ? cut : maxChars).trim() + "...";
+    }
+}
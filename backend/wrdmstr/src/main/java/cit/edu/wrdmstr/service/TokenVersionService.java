@@ -0,0 +1,85 @@
+package cit.edu.wrdmstr.service;
+
+import cit.edu.wrdmstr.entity.UserEntity;
+import cit.edu.wrdmstr.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Per-user token version, signed into every JWT as the "ver" claim. A token is accepted
+ * only while its version matches the user's current one, so raising the version revokes
+ * every token issued before it. Versions are cached briefly; the node that revokes drops
+ * its entry at once, other nodes within the TTL.
+ */
+@Service
+public class TokenVersionService {
+    private static final Logger logger = LoggerFactory.getLogger(TokenVersionService.class);
+
+    // Cached for emails with no user, so their tokens never match
+    public static final int UNKNOWN_USER = -1;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private PerformanceMetricsService performanceMetricsService;
+
+    private final Cache<String, Integer> versions;
+
+    public TokenVersionService(@Value("${wordmaster.auth.version-ttl-seconds:30}") long ttlSeconds) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(20_000)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    @PostConstruct
+    void monitorCache() {
+        performanceMetricsService.monitorCache(versions, "token_versions");
+    }
+
+    public int currentVersion(String email) {
+        return versions.get(email, key -> userRepository.findTokenVersionByEmail(key).orElse(UNKNOWN_USER));
+    }
+
+    /**
+     * The version on the user's row, to sign into a new token. Read from the database, not
+     * the cache, which may still hold UNKNOWN_USER for an email that has just registered;
+     * the cached entry is refreshed with it.
+     */
+    public int storedVersion(String email) {
+        int version = userRepository.findTokenVersionByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        versions.put(email, version);
+        return version;
+    }
+
+    /**
+     * Raise the user's version so tokens issued so far stop working. Call before saving
+     * the user; the cached version is dropped once the transaction commits.
+     */
+    public void revoke(UserEntity user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        String email = user.getEmail();
+        logger.info("Revoking tokens for {} (version {})", email, user.getTokenVersion());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    versions.invalidate(email);
+                }
+            });
+        } else {
+            versions.invalidate(email);
+        }
+    }
+}
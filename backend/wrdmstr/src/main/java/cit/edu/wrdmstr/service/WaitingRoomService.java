@@ -1,11 +1,13 @@
 package cit.edu.wrdmstr.service;
 
 import cit.edu.wrdmstr.dto.UserDto;
+import cit.edu.wrdmstr.dto.WaitingRoomEventDTO;
 import cit.edu.wrdmstr.entity.*;
 import cit.edu.wrdmstr.repository.ContentRepository;
 import cit.edu.wrdmstr.repository.GameSessionEntityRepository;
 import cit.edu.wrdmstr.repository.PlayerSessionEntityRepository;
 import cit.edu.wrdmstr.repository.UserRepository;
+import cit.edu.wrdmstr.service.cluster.PresenceStore;
 import cit.edu.wrdmstr.service.gameplay.GameSessionManagerService;
 import cit.edu.wrdmstr.service.gameplay.GameSessionService;
 import cit.edu.wrdmstr.service.interfaces.IWaitingRoomService;
@@ -17,12 +19,12 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors; // Import Collectors for toSet()
 
 @Service
 public class WaitingRoomService implements IWaitingRoomService {
-    private final Map<Long, Set<UserDto>> waitingRooms = new ConcurrentHashMap<>();
+    // In-memory for a single instance, database-backed when running several nodes
+    @Autowired
+    private PresenceStore presenceStore;
 
     @Autowired
     private GameSessionService gameSessionService;
@@ -40,50 +42,39 @@ public class WaitingRoomService implements IWaitingRoomService {
     @Autowired
     private PlayerSessionEntityRepository playerSessionRepository;
 
-    public synchronized void joinWaitingRoom(Long contentId, Long userId, String userName) {
+    // No service-wide lock: membership is per-content in the PresenceStore and join/leave
+    // are idempotent there, so classrooms never wait on each other
+    public void joinWaitingRoom(Long contentId, Long userId, String userName) {
         UserEntity user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         // Only allow students to join waiting room
         if ("USER_STUDENT".equals(user.getRole())) {
-            waitingRooms.putIfAbsent(contentId, ConcurrentHashMap.newKeySet());
-            Set<UserDto> studentsInRoom = waitingRooms.get(contentId);
-
             UserDto userDto = new UserDto();
             userDto.setId(userId);
             userDto.setFname(userName);
             userDto.setRole(user.getRole());
             userDto.setProfilePicture(user.getProfilePicture());
-            // Check if the user is already in the waiting room
-            // This relies on the UserDto's equals and hashCode methods to correctly identify duplicates
-            if (!studentsInRoom.contains(userDto)) {
-                studentsInRoom.add(userDto);
-                // Notify all subscribed clients about the update
-                notifyWaitingRoomUpdate(contentId);
+            // join() is false when the user is already in the waiting room
+            if (presenceStore.join(contentId, userDto)) {
+                // Only the newcomer is sent; clients already hold everyone else
+                notifyWaitingRoomUpdate(contentId, WaitingRoomEventDTO.join(userDto));
             }
         }
     }
     
-    private void notifyWaitingRoomUpdate(Long contentId) {
-        // Ensure the list is not null, send an empty list if no one is in the room
-        List<UserDto> students = new ArrayList<>(waitingRooms.getOrDefault(contentId, Collections.emptySet()));
-        messagingTemplate.convertAndSend("/topic/waiting-room/" + contentId + "/updates", students);
+    private void notifyWaitingRoomUpdate(Long contentId, WaitingRoomEventDTO event) {
+        messagingTemplate.convertAndSend("/topic/waiting-room/" + contentId + "/updates", event);
     }
     
-    public synchronized void removeFromWaitingRoom(Long contentId, Long userId) {
-        Set<UserDto> students = waitingRooms.get(contentId);
-        if (students != null) {
-            // Use stream to remove and ensure it's mutable if it was copied from elsewhere
-            boolean removed = students.removeIf(student -> student.getId().equals(userId));
-            if (removed) {
-                // Notify all subscribed clients about the update
-                notifyWaitingRoomUpdate(contentId);
-            }
+    public void removeFromWaitingRoom(Long contentId, Long userId) {
+        if (presenceStore.leave(contentId, userId)) {
+            notifyWaitingRoomUpdate(contentId, WaitingRoomEventDTO.leave(userId));
         }
     }
     @Transactional
     public List<UserDto> getWaitingStudents(Long contentId) {
-        return new ArrayList<>(waitingRooms.getOrDefault(contentId, ConcurrentHashMap.newKeySet()));
+        return presenceStore.members(contentId);
     }
 
     @Transactional
@@ -91,14 +82,14 @@ public class WaitingRoomService implements IWaitingRoomService {
         ContentEntity content = contentRepository.findById(contentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Content not found"));
 
-        Set<UserDto> waitingStudents = waitingRooms.get(contentId);
-        if (waitingStudents == null || waitingStudents.isEmpty()) {
+        List<UserDto> waitingStudents = presenceStore.members(contentId);
+        if (waitingStudents.isEmpty()) {
             throw new IllegalStateException("No students in waiting room");
         }
 
         int studentsPerGroup = content.getGameConfig().getStudentsPerGroup();
         List<GameSessionEntity> sessions = new ArrayList<>();
-        List<UserDto> studentsList = new ArrayList<>(waitingStudents);
+        List<UserDto> studentsList = waitingStudents;
 
         // Split students into groups and create sessions
         for (int i = 0; i < studentsList.size(); i += studentsPerGroup) {
@@ -136,9 +127,9 @@ public class WaitingRoomService implements IWaitingRoomService {
         }
 
         // Clear waiting room after all sessions are created
-        waitingRooms.remove(contentId);
+        presenceStore.clear(contentId);
         // Crucial: Notify about the cleared waiting room
-        notifyWaitingRoomUpdate(contentId);
+        notifyWaitingRoomUpdate(contentId, WaitingRoomEventDTO.clear());
 
         return sessions;
     }
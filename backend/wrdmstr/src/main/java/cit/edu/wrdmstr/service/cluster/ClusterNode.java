@@ -0,0 +1,46 @@
+package cit.edu.wrdmstr.service.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+/**
+ * Identity of this backend instance. Used as the lease owner for session timers and
+ * exposed to the load balancer so a session can be routed back to its owning node.
+ */
+@Component
+public class ClusterNode {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterNode.class);
+
+    private final String nodeId;
+
+    public ClusterNode(@Value("${wordmaster.cluster.node-id:}") String configuredNodeId) {
+        this.nodeId = configuredNodeId != null && !configuredNodeId.isBlank()
+                ? configuredNodeId.trim()
+                : defaultNodeId();
+        logger.info("Cluster node id: {}", nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isLocal(String otherNodeId) {
+        return nodeId.equals(otherNodeId);
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        // Suffix keeps two JVMs on the same host (local multi-node runs) distinct
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,57 @@
+package cit.edu.wrdmstr.service.cluster;
+
+import cit.edu.wrdmstr.dto.UserDto;
+import cit.edu.wrdmstr.entity.UserEntity;
+import cit.edu.wrdmstr.entity.WaitingRoomPresenceEntity;
+import cit.edu.wrdmstr.repository.WaitingRoomPresenceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "wordmaster.cluster.store", havingValue = "database")
+@Transactional
+public class DatabasePresenceStore implements PresenceStore {
+
+    @Autowired private WaitingRoomPresenceRepository presenceRepository;
+    @Autowired private ClusterNode clusterNode;
+
+    @Override
+    public boolean join(Long contentId, UserDto user) {
+        return presenceRepository.insertIfAbsent(contentId, user.getId(), user.getFname(),
+                clusterNode.getNodeId(), new Date()) > 0;
+    }
+
+    @Override
+    public boolean leave(Long contentId, Long userId) {
+        return presenceRepository.deleteByContentIdAndUserId(contentId, userId) > 0;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDto> members(Long contentId) {
+        return presenceRepository.findByContentIdWithUser(contentId).stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void clear(Long contentId) {
+        presenceRepository.deleteByContentId(contentId);
+    }
+
+    private UserDto toDto(WaitingRoomPresenceEntity presence) {
+        UserEntity user = presence.getUser();
+        UserDto dto = new UserDto();
+        dto.setId(user.getId());
+        dto.setFname(presence.getDisplayName());
+        dto.setRole(user.getRole());
+        dto.setProfilePicture(user.getProfilePicture());
+        return dto;
+    }
+}
@@ -0,0 +1,41 @@
+package cit.edu.wrdmstr.service.cluster;
+
+import cit.edu.wrdmstr.repository.SessionLeaseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "wordmaster.cluster.store", havingValue = "database")
+@Transactional
+public class DatabaseSessionLeaseStore implements SessionLeaseStore {
+
+    @Autowired private SessionLeaseRepository leaseRepository;
+
+    @Override
+    public boolean tryAcquire(Long sessionId, String nodeId, Duration ttl) {
+        Date now = new Date();
+        Date expiresAt = new Date(now.getTime() + ttl.toMillis());
+        if (leaseRepository.claim(sessionId, nodeId, expiresAt, now) > 0) {
+            return true;
+        }
+        // No row yet; if another node inserts first, INSERT IGNORE affects nothing
+        return leaseRepository.insertIfAbsent(sessionId, nodeId, expiresAt, now) > 0;
+    }
+
+    @Override
+    public void release(Long sessionId, String nodeId) {
+        leaseRepository.release(sessionId, nodeId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> ownerOf(Long sessionId) {
+        return leaseRepository.findLiveOwner(sessionId, new Date());
+    }
+}
@@ -0,0 +1,54 @@
+package cit.edu.wrdmstr.service.cluster;
+
+import cit.edu.wrdmstr.dto.UserDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-content rooms keyed by user ID. Join and leave each update one room atomically
+ * through the concurrent map, so there is no lock shared between classrooms or held
+ * across I/O, and a join can never land in a room that a leave is dropping.
+ */
+@Component
+@ConditionalOnProperty(name = "wordmaster.cluster.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryPresenceStore implements PresenceStore {
+    private final ConcurrentMap<Long, ConcurrentMap<Long, UserDto>> rooms = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean join(Long contentId, UserDto user) {
+        boolean[] joined = new boolean[1];
+        // compute() keeps the add atomic with leave() dropping the room once it empties
+        rooms.compute(contentId, (id, room) -> {
+            ConcurrentMap<Long, UserDto> target = room != null ? room : new ConcurrentHashMap<>();
+            joined[0] = target.putIfAbsent(user.getId(), user) == null;
+            return target;
+        });
+        return joined[0];
+    }
+
+    @Override
+    public boolean leave(Long contentId, Long userId) {
+        boolean[] left = new boolean[1];
+        rooms.computeIfPresent(contentId, (id, room) -> {
+            left[0] = room.remove(userId) != null;
+            // Drop empty rooms so abandoned contents don't accumulate
+            return room.isEmpty() ? null : room;
+        });
+        return left[0];
+    }
+
+    @Override
+    public List<UserDto> members(Long contentId) {
+        ConcurrentMap<Long, UserDto> members = rooms.get(contentId);
+        return members != null ? new ArrayList<>(members.values()) : new ArrayList<>();
+    }
+
+    @Override
+    public void clear(Long contentId) {
+        rooms.remove(contentId);
+    }
+}
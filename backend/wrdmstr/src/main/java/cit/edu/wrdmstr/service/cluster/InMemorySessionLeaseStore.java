@@ -0,0 +1,41 @@
+package cit.edu.wrdmstr.service.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@ConditionalOnProperty(name = "wordmaster.cluster.store", havingValue = "memory", matchIfMissing = true)
+public class InMemorySessionLeaseStore implements SessionLeaseStore {
+
+    private record Lease(String owner, long expiresAt) {}
+
+    private final Map<Long, Lease> leases = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean tryAcquire(Long sessionId, String nodeId, Duration ttl) {
+        long now = System.currentTimeMillis();
+        Lease lease = leases.compute(sessionId, (id, current) ->
+                current == null || current.owner().equals(nodeId) || current.expiresAt() < now
+                        ? new Lease(nodeId, now + ttl.toMillis())
+                        : current);
+        return lease.owner().equals(nodeId);
+    }
+
+    @Override
+    public void release(Long sessionId, String nodeId) {
+        leases.computeIfPresent(sessionId, (id, current) -> current.owner().equals(nodeId) ? null : current);
+    }
+
+    @Override
+    public Optional<String> ownerOf(Long sessionId) {
+        Lease lease = leases.get(sessionId);
+        return lease != null && lease.expiresAt() >= System.currentTimeMillis()
+                ? Optional.of(lease.owner())
+                : Optional.empty();
+    }
+}
@@ -0,0 +1,30 @@
+package cit.edu.wrdmstr.service.cluster;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Tags every response with the node that served it. The load balancer pins a game's
+ * traffic to the node named by {@code /api/cluster/sessions/{id}/owner}, using this
+ * header as the routing key.
+ */
+@Component
+public class NodeHeaderFilter extends OncePerRequestFilter {
+    public static final String NODE_HEADER = "X-Wordmaster-Node";
+
+    @Autowired private ClusterNode clusterNode;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        response.setHeader(NODE_HEADER, clusterNode.getNodeId());
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,26 @@
+package cit.edu.wrdmstr.service.cluster;
+
+import cit.edu.wrdmstr.dto.UserDto;
+
+import java.util.List;
+
+/**
+ * Waiting-room membership keyed by content ID. The in-memory implementation is
+ * enough for a single instance; the database one lets every node see the same room.
+ */
+public interface PresenceStore {
+
+    /**
+     * @return true if the user was not already in the room
+     */
+    boolean join(Long contentId, UserDto user);
+
+    /**
+     * @return true if the user was in the room
+     */
+    boolean leave(Long contentId, Long userId);
+
+    List<UserDto> members(Long contentId);
+
+    void clear(Long contentId);
+}
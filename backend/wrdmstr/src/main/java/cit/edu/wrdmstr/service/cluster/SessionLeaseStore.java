@@ -0,0 +1,25 @@
+package cit.edu.wrdmstr.service.cluster;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Time-bounded ownership of a live game session. Only the lease holder runs the
+ * session's turn timer, so two nodes never advance the same game.
+ */
+public interface SessionLeaseStore {
+
+    /**
+     * Acquire a free or expired lease, or extend one this node already holds.
+     *
+     * @return true if {@code nodeId} holds the lease afterwards
+     */
+    boolean tryAcquire(Long sessionId, String nodeId, Duration ttl);
+
+    void release(Long sessionId, String nodeId);
+
+    /**
+     * @return the node holding an unexpired lease, if any
+     */
+    Optional<String> ownerOf(Long sessionId);
+}
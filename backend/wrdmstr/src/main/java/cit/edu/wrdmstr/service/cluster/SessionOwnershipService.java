@@ -0,0 +1,75 @@
+package cit.edu.wrdmstr.service.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which live sessions this node owns. Leases are renewed in the background
+ * so the per-second timer loop only does a local set lookup.
+ */
+@Service
+public class SessionOwnershipService {
+    private static final Logger logger = LoggerFactory.getLogger(SessionOwnershipService.class);
+
+    @Autowired private SessionLeaseStore leaseStore;
+    @Autowired private ClusterNode clusterNode;
+
+    @Value("${wordmaster.cluster.lease-ttl-ms:15000}")
+    private long leaseTtlMs;
+
+    private final Set<Long> ownedSessions = ConcurrentHashMap.newKeySet();
+
+    public boolean claim(Long sessionId) {
+        boolean acquired = leaseStore.tryAcquire(sessionId, clusterNode.getNodeId(), Duration.ofMillis(leaseTtlMs));
+        if (acquired) {
+            ownedSessions.add(sessionId);
+        }
+        return acquired;
+    }
+
+    public boolean owns(Long sessionId) {
+        return ownedSessions.contains(sessionId);
+    }
+
+    public void release(Long sessionId) {
+        ownedSessions.remove(sessionId);
+        try {
+            leaseStore.release(sessionId, clusterNode.getNodeId());
+        } catch (Exception e) {
+            // The lease simply expires if the release is lost
+            logger.warn("Failed to release lease for session {}: {}", sessionId, e.getMessage());
+        }
+    }
+
+    public Optional<String> ownerOf(Long sessionId) {
+        return leaseStore.ownerOf(sessionId);
+    }
+
+    public String getNodeId() {
+        return clusterNode.getNodeId();
+    }
+
+    @Scheduled(fixedDelayString = "${wordmaster.cluster.lease-renew-ms:5000}")
+    public void renewLeases() {
+        for (Long sessionId : ownedSessions) {
+            try {
+                if (!leaseStore.tryAcquire(sessionId, clusterNode.getNodeId(), Duration.ofMillis(leaseTtlMs))) {
+                    ownedSessions.remove(sessionId);
+                    logger.warn("Lost lease for session {} to another node", sessionId);
+                }
+            } catch (Exception e) {
+                // Keep ownership on transient errors; the lease TTL bounds the damage
+                logger.error("Error renewing lease for session {}: {}", sessionId, e.getMessage());
+            }
+        }
+    }
+}
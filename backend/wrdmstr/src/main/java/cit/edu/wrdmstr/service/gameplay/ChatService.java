@@ -6,9 +6,13 @@ import cit.edu.wrdmstr.entity.*;
 import cit.edu.wrdmstr.entity.ChatMessageEntity.MessageStatus;
 import cit.edu.wrdmstr.repository.*;
 import cit.edu.wrdmstr.service.AIService;
+import cit.edu.wrdmstr.service.ContentCatalog;
+import cit.edu.wrdmstr.service.MessageEvaluation;
+import cit.edu.wrdmstr.service.PerformanceMetricsService;
 import cit.edu.wrdmstr.service.ProgressiveFeedbackService;
 import cit.edu.wrdmstr.service.gameplay.ProfanityFilterService;
 import cit.edu.wrdmstr.service.ProgressTrackingService;
+import cit.edu.wrdmstr.service.SessionHistoryService;
 import org.springframework.transaction.annotation.Transactional;
 import org.apache.velocity.exception.ResourceNotFoundException;
 import org.slf4j.Logger;
@@ -25,6 +29,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 
@@ -55,9 +60,16 @@ public class ChatService {
     private ProfanityFilterService profanityFilterService;
     @Autowired
     private OptimizedTextProcessor optimizedTextProcessor; // Add for performance improvements
+    @Autowired
+    private PerformanceMetricsService performanceMetricsService;
+    @Autowired
+    private ContentCatalog contentCatalog;
+    @Autowired
+    private SessionHistoryService sessionHistoryService;
 
 
     public ChatMessageEntity sendMessage(Long sessionId, Long userId, String content) {
+        long stageStart = System.nanoTime();
         // Use the new active-only query
         List<PlayerSessionEntity> players = playerSessionRepository.findActiveBySessionIdAndUserId(sessionId, userId);
         PlayerSessionEntity player = null;
@@ -76,7 +88,9 @@ public class ChatService {
         GameSessionEntity session = player.getSession();
 
         String roleName = player.getRole() != null ? player.getRole().getName() : null;
-        String contextDesc = session.getContent() != null ? session.getContent().getDescription() : "";
+        ContentCatalog.ContentSnapshot catalog = contentCatalog.get(session.getContent().getId());
+        String contextDesc = catalog.getDescription();
+        stageStart = performanceMetricsService.recordChatStage("player_lookup", stageStart);
 
         // Profanity filtering BEFORE any analysis so masked content is stored/broadcast
         ProfanityFilterService.Result profanityResult = profanityFilterService.filter(content);
@@ -85,15 +99,23 @@ public class ChatService {
             scoreService.applyProfanityPenalty(player, profanityResult.getMatches().stream().findFirst().orElse(null));
         }
         content = profanityResult.getFilteredText();
+        stageStart = performanceMetricsService.recordChatStage("profanity", stageStart);
+
+        List<WordBankItem> sessionWordBank = catalog.getWordBank();
+
+        MessageEvaluation evaluation = evaluateMessage(content, roleName, contextDesc, sessionWordBank, player);
+        stageStart = performanceMetricsService.recordChatStage("evaluation", stageStart);
 
         // Grammar check (runs on filtered text; acceptable tradeoff per requirements)
-        GrammarCheckerService.GrammarCheckResult grammarResult = 
-                grammarCheckerService.checkGrammar(content, roleName, contextDesc);
-        
+        GrammarCheckerService.GrammarCheckResult grammarResult =
+                grammarCheckerService.checkGrammar(content, roleName, contextDesc, evaluation);
+        stageStart = performanceMetricsService.recordChatStage("grammar", stageStart);
+
         // Add vocabulary check
-        VocabularyResultDTO vocabResult = 
-                vocabularyCheckerService.checkVocabulary(content, sessionId, userId);
-        
+        VocabularyResultDTO vocabResult =
+                vocabularyCheckerService.checkVocabulary(content, sessionId, userId, evaluation);
+        stageStart = performanceMetricsService.recordChatStage("vocabulary", stageStart);
+
         // Create message with all necessary info
         ChatMessageEntity message = new ChatMessageEntity();
         message.setSession(session);
@@ -141,10 +163,10 @@ public class ChatService {
             vocabResult.getVocabularyScore(),
             vocabResult.getUsedAdvancedWords()
         );
+        stageStart = performanceMetricsService.recordChatStage("scoring", stageStart);
 
         // Check for word bank usage
-        List<WordBankItem> sessionWordBank = wordBankItemRepository.findByContentData(session.getContent().getContentData());
-        List<String> usedWordsFromBank = wordDetectionService.detectWordBankUsage(content, sessionWordBank);
+        List<String> usedWordsFromBank = wordDetectionService.detectWordBankUsage(content, sessionWordBank, evaluation);
 
         if (!usedWordsFromBank.isEmpty()) {
             scoreService.handleWordBankUsage(player, usedWordsFromBank);
@@ -158,13 +180,17 @@ public class ChatService {
         scoreService.handleRoleAppropriateScoring(player, grammarResult.isRoleAppropriate(),
                 grammarResult.getStatus());
         scoreService.handleMessageComplexity(player, content);
+        stageStart = performanceMetricsService.recordChatStage("word_bank", stageStart);
 
         // Save the message
         ChatMessageEntity savedMessage = chatMessageRepository.save(message);
+        stageStart = performanceMetricsService.recordChatStage("save", stageStart);
 
         // Broadcast the message to all players
         broadcastChatMessage(savedMessage);
+        stageStart = performanceMetricsService.recordChatStage("broadcast", stageStart);
         updateProgressMetrics(player, message,session);
+        performanceMetricsService.recordChatStage("progress", stageStart);
 
         // Debug logging
         logger.debug("Word bomb check: player={}, wordBomb='{}', content='{}'", 
@@ -184,6 +210,23 @@ public class ChatService {
         return savedMessage;
     }
     
+    /**
+     * One model round trip for grammar, role, vocabulary and word bank, or none when a
+     * near-duplicate already settled grammar and role. Null when the combined call is
+     * unavailable; each check then falls back to its own call.
+     */
+    private MessageEvaluation evaluateMessage(String content, String roleName, String contextDesc,
+                                              List<WordBankItem> wordBank, PlayerSessionEntity player) {
+        Optional<MessageEvaluation> reused = grammarCheckerService.reusedEvaluation(content, roleName, contextDesc);
+        if (reused.isPresent()) {
+            return reused.get();
+        }
+        List<String> wordBankWords = wordBank.stream().map(WordBankItem::getWord).toList();
+        String studentName = player.getUser().getFname() + " " + player.getUser().getLname();
+        return aiService.evaluateMessage(content, roleName, contextDesc, wordBankWords, studentName)
+                .orElse(null);
+    }
+
     private void updateProgressMetrics(PlayerSessionEntity player, ChatMessageEntity message,GameSessionEntity session) {
         StudentProgress progress = progressRepository.findByStudentIdAndSessionId(
                         player.getUser().getId(), player.getSession().getId())
@@ -297,7 +340,7 @@ public class ChatService {
     // Removed the awardPoints method as it's now in ScoreService
     @Transactional(readOnly = true)
     public List<ChatMessageDTO> getSessionMessages(Long sessionId) {
-        List<ChatMessageEntity> messages = chatMessageRepository.findBySessionIdOrderByTimestampAsc(sessionId);
+        List<ChatMessageEntity> messages = sessionHistoryService.getMessages(sessionId);
 
         List<ChatMessageDTO> messageDTOs = new ArrayList<>();
         for (ChatMessageEntity message : messages) {
@@ -417,16 +460,20 @@ public class ChatService {
         try {
             String content = message.getContent();
             String roleName = player.getRole() != null ? player.getRole().getName() : null;
-            String contextDesc = session.getContent() != null ? session.getContent().getDescription() : "";
-            
+            ContentCatalog.ContentSnapshot catalog = contentCatalog.get(session.getContent().getId());
+            String contextDesc = catalog.getDescription();
+
+            List<WordBankItem> wordBank = catalog.getWordBank();
+            MessageEvaluation evaluation = evaluateMessage(content, roleName, contextDesc, wordBank, player);
+
             // Run grammar and vocabulary checks in parallel
             CompletableFuture<GrammarCheckerService.GrammarCheckResult> grammarFuture = 
                 CompletableFuture.supplyAsync(() -> 
-                    grammarCheckerService.checkGrammar(content, roleName, contextDesc));
+                    grammarCheckerService.checkGrammar(content, roleName, contextDesc, evaluation));
                     
             CompletableFuture<VocabularyResultDTO> vocabFuture = 
                 CompletableFuture.supplyAsync(() -> 
-                    vocabularyCheckerService.checkVocabulary(content, session.getId(), player.getUser().getId()));
+                    vocabularyCheckerService.checkVocabulary(content, session.getId(), player.getUser().getId(), evaluation));
             
             // Wait for both to complete
             CompletableFuture.allOf(grammarFuture, vocabFuture).thenRun(() -> {
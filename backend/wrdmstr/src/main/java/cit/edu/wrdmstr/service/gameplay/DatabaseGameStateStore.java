@@ -0,0 +1,49 @@
+package cit.edu.wrdmstr.service.gameplay;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Store used when sessions are coordinated through the database. Working copies are
+ * still local to the owning node; the shared part is the journal, which lets another
+ * node rebuild a session once the owner's lease lapses.
+ */
+@Component
+@ConditionalOnProperty(name = "wordmaster.cluster.store", havingValue = "database")
+class DatabaseGameStateStore implements GameStateStore {
+    private final Map<Long, GameSessionManagerService.GameState> states = new ConcurrentHashMap<>();
+
+    @Override
+    public GameSessionManagerService.GameState get(Long sessionId) {
+        return states.get(sessionId);
+    }
+
+    @Override
+    public void put(Long sessionId, GameSessionManagerService.GameState state) {
+        states.put(sessionId, state);
+    }
+
+    @Override
+    public void remove(Long sessionId) {
+        states.remove(sessionId);
+    }
+
+    @Override
+    public void evict(Long sessionId) {
+        states.remove(sessionId);
+    }
+
+    @Override
+    public void forEach(BiConsumer<Long, GameSessionManagerService.GameState> action) {
+        states.forEach(action);
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+}
@@ -0,0 +1,153 @@
+package cit.edu.wrdmstr.service.gameplay;
+
+import cit.edu.wrdmstr.entity.GameSessionEntity;
+import cit.edu.wrdmstr.repository.GameSessionEntityRepository;
+import cit.edu.wrdmstr.service.cluster.SessionOwnershipService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Rebuilds live games from the journal. Runs once at startup for sessions left
+ * ACTIVE by a restart and, when leases are cluster-wide, periodically for sessions
+ * whose owning node has gone away.
+ */
+@Service
+public class GameRecoveryService {
+    private static final Logger logger = LoggerFactory.getLogger(GameRecoveryService.class);
+
+    @Autowired private GameSessionEntityRepository gameSessionRepository;
+    @Autowired private GameStateJournal journal;
+    @Autowired private GameStateStore activeGames;
+    @Autowired private SessionOwnershipService sessionOwnership;
+    @Autowired private GameSessionManagerService gameSessionManagerService;
+    @Autowired private SimpMessagingTemplate messagingTemplate;
+
+    // Players need a moment to reconnect after an outage before their turn times out
+    @Value("${wordmaster.recovery.min-remaining-seconds:15}")
+    private int minRemainingSeconds;
+
+    // Whether startup closes ACTIVE sessions that have nothing to resume
+    @Value("${wordmaster.recovery.close-unjournaled:true}")
+    private boolean closeUnjournaled;
+
+    // A session started more recently may still be in setup on another node, its journal not yet written
+    @Value("${wordmaster.cluster.lease-ttl-ms:15000}")
+    private long leaseTtlMs;
+
+    private volatile long lastRecoveryMs;
+    private volatile int lastRecoveredCount;
+    private volatile int lastMaxReplayedEvents;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        recoverActiveSessions(true);
+    }
+
+    @Scheduled(fixedDelayString = "${wordmaster.cluster.adopt-interval-ms:10000}",
+               initialDelayString = "${wordmaster.cluster.adopt-interval-ms:10000}")
+    public void adoptOrphanedSessions() {
+        // Without cluster-wide leases another live node could still own these sessions
+        if (activeGames.isShared()) {
+            recoverActiveSessions(false);
+        }
+    }
+
+    private void recoverActiveSessions(boolean startup) {
+        long start = System.currentTimeMillis();
+        int recovered = 0;
+        int abandoned = 0;
+        int maxReplayed = 0;
+
+        for (GameSessionEntity session : gameSessionRepository.findByStatus(GameSessionEntity.SessionStatus.ACTIVE)) {
+            Long sessionId = session.getId();
+            if (activeGames.get(sessionId) != null || sessionOwnership.ownerOf(sessionId).isPresent()) {
+                continue;
+            }
+            try {
+                if (!sessionOwnership.claim(sessionId)) {
+                    continue;
+                }
+                Optional<GameStateJournal.Restored> restored = journal.restore(sessionId);
+                if (restored.isEmpty()) {
+                    // Started before journaling existed, or never got past setup; nothing to
+                    // resume, so close it instead of leaving it ACTIVE forever
+                    sessionOwnership.release(sessionId);
+                    if (startup && closeUnjournaled && startedBefore(session, start - leaseTtlMs)) {
+                        gameSessionManagerService.endGame(sessionId);
+                        abandoned++;
+                    }
+                    continue;
+                }
+                resume(restored.get());
+                recovered++;
+                maxReplayed = Math.max(maxReplayed, restored.get().replayedEvents());
+            } catch (Exception e) {
+                logger.error("Failed to recover session {}: {}", sessionId, e.getMessage(), e);
+                activeGames.evict(sessionId);
+                sessionOwnership.release(sessionId);
+            }
+        }
+
+        if (recovered > 0 || abandoned > 0 || startup) {
+            lastRecoveryMs = System.currentTimeMillis() - start;
+            lastRecoveredCount = recovered;
+            lastMaxReplayedEvents = maxReplayed;
+            logger.info("Game recovery ({}): {} resumed, {} closed, max tail {} events, took {} ms",
+                    startup ? "startup" : "adoption", recovered, abandoned, maxReplayed, lastRecoveryMs);
+        }
+    }
+
+    private static boolean startedBefore(GameSessionEntity session, long cutoff) {
+        // Sessions from before startedAt was recorded count as old
+        return session.getStartedAt() == null || session.getStartedAt().getTime() < cutoff;
+    }
+
+    private void resume(GameStateJournal.Restored restored) {
+        GameSessionManagerService.GameState state = restored.state();
+        long now = System.currentTimeMillis();
+
+        if (state.getStatus() == GameSessionManagerService.GameState.Status.TURN_IN_PROGRESS && !state.isPaused()) {
+            // Time already spent in the turn when the session was last seen alive; the
+            // outage itself is not charged to the current player
+            long elapsedMs = Math.max(0, restored.lastActivityAt() - state.getLastTurnTime());
+            int remaining = state.getTimePerTurn() - (int) (elapsedMs / 1000);
+            remaining = Math.max(Math.min(minRemainingSeconds, state.getTimePerTurn()), remaining);
+            state.setLastTurnTime(now - (long) (state.getTimePerTurn() - remaining) * 1000L);
+
+            Map<String, Object> timerUpdate = new HashMap<>();
+            timerUpdate.put("timeRemaining", remaining);
+            timerUpdate.put("timestamp", now);
+            timerUpdate.put("paused", false);
+            timerUpdate.put("reset", true);
+            messagingTemplate.convertAndSend("/topic/game/" + state.getSessionId() + "/timer", timerUpdate,
+                    GameSessionManagerService.TIMER_STATE_CHANGE);
+        }
+
+        activeGames.put(state.getSessionId(), state);
+        logger.info("Resumed session {} at turn {} (replayed {} events)", state.getSessionId(),
+                state.getCurrentTurn(), restored.replayedEvents());
+    }
+
+    public long getLastRecoveryMs() {
+        return lastRecoveryMs;
+    }
+
+    public int getLastRecoveredCount() {
+        return lastRecoveredCount;
+    }
+
+    public int getLastMaxReplayedEvents() {
+        return lastMaxReplayedEvents;
+    }
+}
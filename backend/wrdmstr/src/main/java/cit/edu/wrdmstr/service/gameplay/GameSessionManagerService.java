@@ -5,9 +5,15 @@ import cit.edu.wrdmstr.entity.*;
 import cit.edu.wrdmstr.repository.*;
 import cit.edu.wrdmstr.service.AIService;
 import cit.edu.wrdmstr.service.ComprehensionCheckService;
+import cit.edu.wrdmstr.service.ContentCatalog;
+import cit.edu.wrdmstr.service.PerformanceMetricsService;
 import cit.edu.wrdmstr.service.ProgressTrackingService;
+import cit.edu.wrdmstr.service.SessionSummaryService;
+import cit.edu.wrdmstr.service.StoryContextManager;
 import cit.edu.wrdmstr.service.StoryPromptService;
+import cit.edu.wrdmstr.service.cluster.SessionOwnershipService;
 
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,11 +29,14 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 @Service
 public class GameSessionManagerService {
     private static final Logger logger = LoggerFactory.getLogger(GameSessionManagerService.class);
+    // Timer frames that reset, pause or resume the clock must not be coalesced with plain ticks
+    static final Map<String, Object> TIMER_STATE_CHANGE = Map.of("coalesce", "false");
     private final SimpMessagingTemplate messagingTemplate;
     private final GameSessionEntityRepository gameSessionRepository;
     private final PlayerSessionEntityRepository playerRepository;
@@ -38,17 +47,26 @@ public class GameSessionManagerService {
     private final GameSessionService gameSessionService;
     private final UserRepository userRepository;
     @Autowired private StoryPromptService storyPromptService;
+    @Autowired private StoryContextManager storyContextManager;
     private final GrammarCheckerService grammarCheckerService;
     private final AIService aiService;
     @Autowired private ScoreService scoreService;
     @Autowired private WordDetectionService wordDetectionService;
     private final StudentProgressRepository progressRepository;
     @Autowired private GameResultService gameResultService;
+    @Autowired private SessionSummaryService sessionSummaryService;
     @Autowired private ComprehensionCheckService comprehensionCheckService;
     @Autowired
     private ProgressTrackingService progressTrackingService;
     @Autowired private ApplicationEventPublisher eventPublisher;
-    private final Map<Long, GameState> activeGames = new ConcurrentHashMap<>();
+    @Autowired private SessionOwnershipService sessionOwnership;
+    // Live games owned by this node; see GameStateStore for the shared variant
+    @Autowired private GameStateStore activeGames;
+    @Autowired private GameStateJournal journal;
+    // Every command that changes a live game runs through its session's mailbox
+    @Autowired private SessionMailboxes mailboxes;
+    @Autowired private PerformanceMetricsService performanceMetricsService;
+    @Autowired private ContentCatalog contentCatalog;
 
     // Add caching for AI requests
     private final Map<String, String> aiResponseCache = new ConcurrentHashMap<>();
@@ -84,6 +102,22 @@ public class GameSessionManagerService {
         this.progressRepository = progressRepository;
     }
 
+    @PostConstruct
+    void registerGauges() {
+        performanceMetricsService.gauge("wordmaster.game.active", "Games this node is running", () -> {
+            int[] games = {0};
+            activeGames.forEach((id, state) -> games[0]++);
+            return games[0];
+        });
+        performanceMetricsService.gauge("wordmaster.game.players", "Players in games this node is running", () -> {
+            int[] players = {0};
+            activeGames.forEach((id, state) -> {
+                if (state.getPlayers() != null) players[0] += state.getPlayers().size();
+            });
+            return players[0];
+        });
+    }
+
     @Async("gameProcessingExecutor") // Process async for single player
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public CompletableFuture<Void> processWordSubmissionAsync(Long sessionId, Long userId,
@@ -145,11 +179,12 @@ public class GameSessionManagerService {
         int remaining = Math.max(0, gs.getTimePerTurn() - elapsed);
         gs.paused = true;
         gs.pausedRemainingTime = remaining;
+        journal.record(gs, GameStateJournal.EventType.PAUSED, Map.of("remaining", remaining));
         Map<String,Object> payload = new HashMap<>();
         payload.put("timeRemaining", remaining);
         payload.put("paused", true);
         payload.put("timestamp", now);
-        messagingTemplate.convertAndSend("/topic/game/"+sessionId+"/timer", payload);
+        messagingTemplate.convertAndSend("/topic/game/"+sessionId+"/timer", payload, TIMER_STATE_CHANGE);
     }
 
     private void resumeTimer(Long sessionId) {
@@ -160,17 +195,19 @@ public class GameSessionManagerService {
         // Adjust lastTurnTime so countdown continues correctly
         gs.setLastTurnTime(now - (long)(gs.getTimePerTurn() - remaining) * 1000L);
         gs.paused = false;
+        journal.record(gs, GameStateJournal.EventType.RESUMED, Map.of("lastTurnTime", gs.getLastTurnTime()));
         Map<String,Object> payload = new HashMap<>();
         payload.put("timeRemaining", remaining);
         payload.put("paused", false);
         payload.put("timestamp", now);
-        messagingTemplate.convertAndSend("/topic/game/"+sessionId+"/timer", payload);
+        messagingTemplate.convertAndSend("/topic/game/"+sessionId+"/timer", payload, TIMER_STATE_CHANGE);
     }
 
+    // Published from inside a submission these run inline; from elsewhere they queue
     @EventListener
-    public void onPauseEvent(TimerPauseEvent evt){ pauseTimer(evt.sessionId()); }
+    public void onPauseEvent(TimerPauseEvent evt){ mailboxes.tell(evt.sessionId(), "pause", () -> pauseTimer(evt.sessionId())); }
     @EventListener
-    public void onResumeEvent(TimerResumeEvent evt){ resumeTimer(evt.sessionId()); }
+    public void onResumeEvent(TimerResumeEvent evt){ mailboxes.tell(evt.sessionId(), "resume", () -> resumeTimer(evt.sessionId())); }
 
     @Async("backgroundProcessingExecutor")
     private void processSubmissionInBackground(Long sessionId, Long userId, WordSubmissionDTO submission) {
@@ -182,8 +219,11 @@ public class GameSessionManagerService {
         }
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public boolean submitWordOptimized(Long sessionId, Long userId, WordSubmissionDTO submission) {
+        return mailboxes.call(sessionId, "submit", () -> submitWordOptimizedQueued(sessionId, userId, submission));
+    }
+
+    private boolean submitWordOptimizedQueued(Long sessionId, Long userId, WordSubmissionDTO submission) {
         GameSessionEntity session = gameSessionRepository.findById(sessionId)
             .orElseThrow(() -> new IllegalStateException("Session not found"));
         // Skip some validations for single player to improve speed
@@ -235,19 +275,23 @@ public class GameSessionManagerService {
             session.setCurrentCycle(nextTurn);
 
             resetTurnTimer(session);
-            // Generate story prompt asynchronously
+            // Generate story prompt asynchronously; only applying it goes through the mailbox
             CompletableFuture.runAsync(() -> {
                 String storyElement = generateStoryElementCached(session, nextTurn);
-                gameState.setStoryPrompt(storyElement);
-
-                Map<String, Object> storyUpdate = new HashMap<>();
-                storyUpdate.put("type", "storyUpdate");
-                storyUpdate.put("content", storyElement);
-                messagingTemplate.convertAndSend("/topic/game/" + sessionId + "/updates", storyUpdate);
+                mailboxes.tell(sessionId, "story", () -> {
+                    gameState.setStoryPrompt(storyElement);
+                    journal.record(gameState, GameStateJournal.EventType.STORY_PROMPT, Map.of("prompt", storyElement));
+
+                    Map<String, Object> storyUpdate = new HashMap<>();
+                    storyUpdate.put("type", "storyUpdate");
+                    storyUpdate.put("content", storyElement);
+                    messagingTemplate.convertAndSend("/topic/game/" + sessionId + "/updates", storyUpdate);
+                });
             });
             // Broadcast turn update
             broadcastTurnUpdate(sessionId, gameState, session);
             gameSessionRepository.save(session); // Persist session changes
+            journalTurnStarted(gameState);
         }
     }
     
@@ -275,8 +319,11 @@ public class GameSessionManagerService {
         });
     }
 
-    @Transactional
     public void startGame(Long sessionId) {
+        mailboxes.execute(sessionId, "start", () -> startGameQueued(sessionId));
+    }
+
+    private void startGameQueued(Long sessionId) {
         GameSessionEntity session = gameSessionRepository.findById(sessionId)
                 .orElseThrow(() -> new RuntimeException("Game session not found"));
         
@@ -284,6 +331,11 @@ public class GameSessionManagerService {
             logger.warn("Game session {} is already active", sessionId);
             return;
         }
+        if (!sessionOwnership.claim(sessionId)) {
+            logger.warn("Game session {} is owned by node {}", sessionId,
+                    sessionOwnership.ownerOf(sessionId).orElse("unknown"));
+            return;
+        }
 
         session.setStatus(GameSessionEntity.SessionStatus.ACTIVE);
         session.setStartedAt(new Date());
@@ -306,7 +358,7 @@ public class GameSessionManagerService {
         if (session.getContent() != null && session.getContent().getContentData() != null) {
             gameState.setBackgroundImage(session.getContent().getContentData().getBackgroundImage());
         }
-        gameState.setUsedWords(new ArrayList<>());
+        gameState.setUsedWords(new CopyOnWriteArrayList<>());
         Map<String, Object> contentInfo = new HashMap<>();
         if (session.getContent() != null) {
             contentInfo.put("id", session.getContent().getId());
@@ -386,7 +438,7 @@ public class GameSessionManagerService {
         logger.info("Game Initialized for session {}: SinglePlayer={}, TotalTurns={}, CurrentTurn=1, CurrentCycle=1, ConfiguredCycles={}",
             session.getId(), isSinglePlayer, totalTurns, configuredTurnCycles);
         
-        List<Role> roles = roleRepository.findByContentDataContentId(session.getContent().getId());
+        List<Role> roles = contentCatalog.get(session.getContent().getId()).getRoles();
         if (!roles.isEmpty()) {
             assignRoles(players, roles);
         }
@@ -501,8 +553,8 @@ public class GameSessionManagerService {
     @Transactional(propagation = Propagation.REQUIRED)
     private String generateStoryElement(GameSessionEntity session, int turnNumber) {
         try {
-            // Get previous story elements for continuity
-            List<Map<String, Object>> previousElements = storyPromptService.getStoryPrompts(session.getId());
+            // Latest story elements verbatim plus a digest of older ones, within the prompt budget
+            StoryContextManager.StoryContext storyContext = storyContextManager.forStoryPrompt(session.getId());
             
             // Get current players and their roles
             List<PlayerSessionEntity> players = playerRepository.findBySessionId(session.getId());
@@ -527,12 +579,9 @@ public class GameSessionManagerService {
             // We just need to pass the role information for context
             
             // Include previous story for continuity and progression
-            if (!previousElements.isEmpty()) {
-                List<String> previousStory = previousElements.stream()
-                    .map(element -> (String) element.get("prompt"))
-                    .limit(3) // Only last 3 for context
-                    .collect(Collectors.toList());
-                request.put("previousStory", previousStory);
+            if (!storyContext.getRecent().isEmpty()) {
+                request.put("previousStory", storyContext.getRecent());
+                request.put("storySummary", storyContext.getSummary());
                 request.put("needsProgression", true);
             } else {
                 request.put("needsProgression", false);
@@ -677,8 +726,16 @@ public class GameSessionManagerService {
         }
     }
     
-    @Transactional(propagation = Propagation.REQUIRED)
     public void startNextTurn(Long sessionId) {
+        long start = System.nanoTime();
+        try {
+            mailboxes.execute(sessionId, "advance", () -> startNextTurnUntimed(sessionId));
+        } finally {
+            performanceMetricsService.recordGameStep("advance", System.nanoTime() - start);
+        }
+    }
+
+    private void startNextTurnUntimed(Long sessionId) {
         GameSessionEntity session = gameSessionRepository.findById(sessionId)
                 .orElseThrow(() -> new IllegalStateException("Game session not found for starting next turn: " + sessionId));
         GameState gameState = activeGames.get(sessionId);
@@ -693,7 +750,7 @@ public class GameSessionManagerService {
         initialTimerUpdate.put("timestamp", System.currentTimeMillis());
         initialTimerUpdate.put("reset", true); // Flag to indicate timer reset
         
-        messagingTemplate.convertAndSend("/topic/game/" + sessionId + "/timer", initialTimerUpdate);
+        messagingTemplate.convertAndSend("/topic/game/" + sessionId + "/timer", initialTimerUpdate, TIMER_STATE_CHANGE);
 
         // Remove automatic story generation here - only generate at cycle boundaries
         // Only broadcast existing story prompt, don't generate new one
@@ -705,10 +762,20 @@ public class GameSessionManagerService {
         }
 
         broadcastTurnUpdate(sessionId, gameState, session);
+        journalTurnStarted(gameState);
         logger.info("Turn {} started for player {} in session {}", gameState.getCurrentTurn(), 
                     session.getCurrentPlayer().getId(), sessionId);
     }
 
+    private void journalTurnStarted(GameState gameState) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("turn", gameState.getCurrentTurn());
+        data.put("cycle", gameState.getCurrentCycle());
+        data.put("playerId", gameState.getCurrentPlayerId());
+        data.put("lastTurnTime", gameState.getLastTurnTime());
+        journal.record(gameState, GameStateJournal.EventType.TURN_STARTED, data);
+    }
+
     // Method to broadcast turn updates, can be customized further
     private void broadcastTurnUpdate(Long sessionId, GameState gameState, GameSessionEntity session) {
         if (session.getCurrentPlayer() == null) {
@@ -744,8 +811,16 @@ public class GameSessionManagerService {
         return questions;
     }
 
-    @Transactional
     public boolean submitWord(Long sessionId, Long userId, WordSubmissionDTO submission) {
+        long start = System.nanoTime();
+        try {
+            return mailboxes.call(sessionId, "submit", () -> submitWordUntimed(sessionId, userId, submission));
+        } finally {
+            performanceMetricsService.recordGameStep("submit", System.nanoTime() - start);
+        }
+    }
+
+    private boolean submitWordUntimed(Long sessionId, Long userId, WordSubmissionDTO submission) {
         logger.info("Attempting to submit word for session {} by user {}: {}", sessionId, userId, submission.getWord());
         GameState gameState = activeGames.get(sessionId);
         if (gameState == null) {
@@ -796,8 +871,7 @@ public class GameSessionManagerService {
         
         GameSessionEntity session = gameSessionRepository.findById(sessionId)
             .orElseThrow(() -> new RuntimeException("Game session not found"));
-        List<WordBankItem> wordBankItems = wordBankRepository.findByContentData(
-            session.getContent().getContentData());
+        List<WordBankItem> wordBankItems = contentCatalog.get(session.getContent().getId()).getWordBank();
         List<String> usedWordsFromBank = wordDetectionService.detectWordBankUsage(
             submission.getWord(), wordBankItems);
         if (!usedWordsFromBank.isEmpty()) {
@@ -805,6 +879,8 @@ public class GameSessionManagerService {
         } else {
              gameState.getUsedWords().add(lowercaseWord); // Add the submission itself if no bank words found in it
         }
+        journal.record(gameState, GameStateJournal.EventType.WORDS_USED,
+                Map.of("words", usedWordsFromBank.isEmpty() ? List.of(lowercaseWord) : usedWordsFromBank));
 
         try {
             // Pause timer while synchronous processing occurs (multiplayer path)
@@ -898,6 +974,7 @@ public class GameSessionManagerService {
                 
                 // Clear used words for new cycle
                 gameState.getUsedWords().clear();
+                journal.record(gameState, GameStateJournal.EventType.CYCLE_CHANGED, Map.of("cycle", newCycle));
                 Map<String, Object> cycleUpdate = new HashMap<>();
                 cycleUpdate.put("type", "cycleChange");
                 cycleUpdate.put("cycle", newCycle);
@@ -919,6 +996,7 @@ public class GameSessionManagerService {
         try {
             String newStoryElement = generateStoryElementCached(session, turnNumber);
             gameState.setStoryPrompt(newStoryElement);
+            journal.record(gameState, GameStateJournal.EventType.STORY_PROMPT, Map.of("prompt", newStoryElement));
             
             Map<String, Object> storyUpdate = new HashMap<>();
             storyUpdate.put("type", "storyUpdate");
@@ -938,6 +1016,10 @@ public class GameSessionManagerService {
     }
 
     public void endGame(Long sessionId) {
+        mailboxes.execute(sessionId, "end", () -> endGameQueued(sessionId));
+    }
+
+    private void endGameQueued(Long sessionId) {
         GameState gameState = activeGames.get(sessionId);
         if (gameState == null) {
             GameSessionEntity sessionCheck = gameSessionRepository.findById(sessionId).orElse(null);
@@ -946,13 +1028,18 @@ public class GameSessionManagerService {
                 sessionCheck.setEndedAt(new Date());
                 gameSessionRepository.save(sessionCheck);
                 logger.info("Game session {} marked as COMPLETED", sessionId);
+                writeSessionSummaries(sessionId);
             }
+            journal.discard(sessionId);
             return;
         }
 
         if (gameState.getStatus() == GameState.Status.COMPLETED) {
             logger.info("Game {} already ended.", sessionId);
             activeGames.remove(sessionId);
+            sessionOwnership.release(sessionId);
+            journal.discard(sessionId);
+            mailboxes.forget(sessionId);
             // Clear comprehension cache when game ends
             comprehensionCheckService.clearSessionQuestionsCache(sessionId);
             return;
@@ -972,7 +1059,11 @@ public class GameSessionManagerService {
         messagingTemplate.convertAndSend("/topic/game/" + sessionId + "/status", endMessage);
 
         gameResultService.processEndGameResults(sessionId);
+        writeSessionSummaries(sessionId);
         activeGames.remove(sessionId);
+        sessionOwnership.release(sessionId);
+        journal.discard(sessionId);
+        mailboxes.forget(sessionId);
         
         // Clear comprehension cache when game ends
         comprehensionCheckService.clearSessionQuestionsCache(sessionId);
@@ -980,13 +1071,23 @@ public class GameSessionManagerService {
         logger.info("Game {} ended and caches cleared.", sessionId);
     }
 
-    @Transactional
+    private void writeSessionSummaries(Long sessionId) {
+        try {
+            sessionSummaryService.writeSessionSummaries(sessionId);
+        } catch (Exception e) {
+            // Read side falls back to live aggregation when no summary exists
+            logger.error("Failed to write session summaries for session {}: {}", sessionId, e.getMessage(), e);
+        }
+    }
+
     public void joinGame(Long sessionId, Long userId) {
-        logger.info("Player {} joining game {}", userId, sessionId);
-        List<PlayerSessionDTO> playerDTOs = gameSessionService.getSessionPlayerDTOs(sessionId);
-        
-        logger.info("Found {} players in session", playerDTOs.size());
-        messagingTemplate.convertAndSend("/topic/game/" + sessionId + "/players", playerDTOs);
+        mailboxes.execute(sessionId, "join", () -> {
+            logger.info("Player {} joining game {}", userId, sessionId);
+            List<PlayerSessionDTO> playerDTOs = gameSessionService.getSessionPlayerDTOs(sessionId);
+
+            logger.info("Found {} players in session", playerDTOs.size());
+            messagingTemplate.convertAndSend("/topic/game/" + sessionId + "/players", playerDTOs);
+        });
     }
     
     @Transactional(readOnly = true)
@@ -994,7 +1095,8 @@ public class GameSessionManagerService {
         return gameSessionService.getSessionPlayerDTOs(sessionId);
     }
 
-    private List<WordBankItemDTO> enrichWordBankItems(List<WordBankItem> wordBankItems) {
+    // Catalog items are shared snapshots: enrichment updates the stored row and drops the snapshot
+    private List<WordBankItemDTO> enrichWordBankItems(Long contentId, List<WordBankItem> wordBankItems) {
         return wordBankItems.stream()
                 .map(item -> {
                     if (item.getDescription() == null || item.getExampleUsage() == null) {
@@ -1010,10 +1112,13 @@ public class GameSessionManagerService {
                                 String description = parts[0].trim();
                                 String exampleUsage = parts[1].trim();
 
-                                // Update the entity
-                                item.setDescription(description);
-                                item.setExampleUsage(exampleUsage);
-                                wordBankRepository.save(item);
+                                // Update the stored item
+                                wordBankRepository.findById(item.getId()).ifPresent(stored -> {
+                                    stored.setDescription(description);
+                                    stored.setExampleUsage(exampleUsage);
+                                    wordBankRepository.save(stored);
+                                });
+                                contentCatalog.invalidate(contentId);
 
                                 return new WordBankItemDTO(item.getId(), item.getWord(), description, exampleUsage);
                             }
@@ -1054,19 +1159,16 @@ public class GameSessionManagerService {
         dto.setPlayers(playerDTOs);
 
         if (session.getContent() != null) {
+            ContentCatalog.ContentSnapshot catalog = contentCatalog.get(session.getContent().getId());
             Map<String, Object> contentInfo = new HashMap<>();
-            contentInfo.put("id", session.getContent().getId());
-            contentInfo.put("title", session.getContent().getTitle());
-            contentInfo.put("description", session.getContent().getDescription());
+            contentInfo.put("id", catalog.getContentId());
+            contentInfo.put("title", catalog.getTitle());
+            contentInfo.put("description", catalog.getDescription());
             dto.setContentInfo(contentInfo);
-            if (session.getContent().getContentData() != null) {
-                dto.setBackgroundImage(session.getContent().getContentData().getBackgroundImage());
-            }
-            if (session.getContent() != null && session.getContent().getContentData() != null) {
-                List<WordBankItem> wordBankItems = wordBankRepository.findByContentData(session.getContent().getContentData());
-                List<WordBankItemDTO> wordBankDTOs = enrichWordBankItems(wordBankItems);
-                dto.setWordBank(wordBankDTOs);
+            if (catalog.getBackgroundImage() != null) {
+                dto.setBackgroundImage(catalog.getBackgroundImage());
             }
+            dto.setWordBank(enrichWordBankItems(catalog.getContentId(), catalog.getWordBank()));
         }
         // Add player cards to game state
 
@@ -1148,84 +1250,112 @@ public class GameSessionManagerService {
           .collect(Collectors.toList());
     }
 
-    // Optimized timer checking - reduce frequency for single player
+    // Optimized timer checking - reduce frequency for single player. Each session's check
+    // is queued on its mailbox, so sessions are checked in parallel and never mid-command.
     @Scheduled(fixedRate = 1000) // Back to 1 second for better timer accuracy
-    @Transactional(propagation = Propagation.REQUIRED)
     public void checkTurnTimersOptimized() {
-        long currentTime = System.currentTimeMillis();
-        List<Long> sessionsToRemove = new ArrayList<>();
+        long tickStart = System.nanoTime();
+        List<Long> sessionsToEvict = new ArrayList<>();
         
         activeGames.forEach((sessionId, gameState) -> {
-            try {
-                if (gameState.getStatus() == GameState.Status.TURN_IN_PROGRESS) {
-                    if (gameState.paused) {
-                        // Periodically rebroadcast paused remaining time to keep clients synced
-                        Map<String,Object> pausedUpdate = new HashMap<>();
-                        pausedUpdate.put("timeRemaining", gameState.pausedRemainingTime);
-                        pausedUpdate.put("timestamp", currentTime);
-                        pausedUpdate.put("paused", true);
-                        messagingTemplate.convertAndSend("/topic/game/" + sessionId + "/timer", pausedUpdate);
-                        return; // Skip countdown while paused
-                    }
-                    GameSessionEntity session = gameSessionRepository.findById(sessionId).orElse(null);
-                    if (session == null) {
-                        logger.warn("Timer check: Session {} not found, removing from active games.", sessionId);
-                        sessionsToRemove.add(sessionId);
-                        return;
-                    }
+            if (!sessionOwnership.owns(sessionId)) {
+                // Lease lapsed and another node took over; stop driving this timer
+                sessionsToEvict.add(sessionId);
+                return;
+            }
+            // A session still busy with a submission is checked on the next tick instead
+            if (gameState.getStatus() == GameState.Status.TURN_IN_PROGRESS && !mailboxes.isBusy(sessionId)) {
+                mailboxes.tell(sessionId, "tick", () -> checkTurnTimer(sessionId));
+            }
+        });
+        
+        sessionsToEvict.forEach(id -> mailboxes.tell(id, "evict", () -> {
+            activeGames.evict(id);
+            mailboxes.forget(id);
+        }));
+        performanceMetricsService.recordGameStep("tick", System.nanoTime() - tickStart);
+    }
+
+    private void checkTurnTimer(Long sessionId) {
+        GameState gameState = activeGames.get(sessionId);
+        if (gameState == null) {
+            return; // ended while the check was queued
+        }
+        long currentTime = System.currentTimeMillis();
+        try {
+            if (gameState.getStatus() == GameState.Status.TURN_IN_PROGRESS) {
+                if (gameState.paused) {
+                    // Periodically rebroadcast paused remaining time to keep clients synced
+                    Map<String,Object> pausedUpdate = new HashMap<>();
+                    pausedUpdate.put("timeRemaining", gameState.pausedRemainingTime);
+                    pausedUpdate.put("timestamp", currentTime);
+                    pausedUpdate.put("paused", true);
+                    messagingTemplate.convertAndSend("/topic/game/" + sessionId + "/timer", pausedUpdate);
+                    return; // Skip countdown while paused
+                }
+                GameSessionEntity session = gameSessionRepository.findById(sessionId).orElse(null);
+                if (session == null) {
+                    logger.warn("Timer check: Session {} not found, removing from active games.", sessionId);
+                    activeGames.remove(sessionId);
+                    sessionOwnership.release(sessionId);
+                    journal.discard(sessionId);
+                    mailboxes.forget(sessionId);
+                    return;
+                }
 
-                    boolean isSinglePlayer = session.getPlayers().size() == 1;
-                    long turnStartTimeMs = gameState.getLastTurnTime();
-                    int timePerTurnSec = gameState.getTimePerTurn();
-                    long elapsedSec = (currentTime - turnStartTimeMs) / 1000;
-                    int timeRemaining = timePerTurnSec - (int) elapsedSec;
-                    
-                    // Always update timer for consistency
-                    Map<String, Object> timerUpdate = new HashMap<>();
-                    timerUpdate.put("timeRemaining", Math.max(0, timeRemaining));
-                    timerUpdate.put("timestamp", currentTime);
-                    timerUpdate.put("paused", false);
-                    
-                    // Send timer updates more frequently when time is running low
-                    boolean shouldSendUpdate = timeRemaining <= 10 || // Always send when low
-                                         timeRemaining % (isSinglePlayer ? 2 : 1) == 0; // Every 2s for single, 1s for multi
+                boolean isSinglePlayer = session.getPlayers().size() == 1;
+                long turnStartTimeMs = gameState.getLastTurnTime();
+                int timePerTurnSec = gameState.getTimePerTurn();
+                long elapsedSec = (currentTime - turnStartTimeMs) / 1000;
+                int timeRemaining = timePerTurnSec - (int) elapsedSec;
                 
-                    if (shouldSendUpdate) {
-                        messagingTemplate.convertAndSend(
-                            "/topic/game/" + sessionId + "/timer",
-                            timerUpdate
-                        );
-                    }
-                    
-                    if (timeRemaining <= 0) {
-                        if (isSinglePlayer) {
-                            logger.info("Time up for single player in session {}. Advancing turn.", sessionId);
-                            handleSinglePlayerTurnAdvancement(sessionId);
-                        } else {
-                            logger.info("Time up for player {} in session {}. Advancing turn.", 
-                                      gameState.getCurrentPlayerId(), sessionId);
-                            
-                            // Award penalty points
-                            PlayerSessionEntity player = playerRepository.findById(gameState.getCurrentPlayerId()).orElse(null);
-                            if (player != null) {
-                                awardPoints(sessionId, player.getUser().getId(), -5, "Missed turn");
-                            }
-                            advanceToNextPlayer(sessionId);
+                // Always update timer for consistency
+                Map<String, Object> timerUpdate = new HashMap<>();
+                timerUpdate.put("timeRemaining", Math.max(0, timeRemaining));
+                timerUpdate.put("timestamp", currentTime);
+                timerUpdate.put("paused", false);
+                
+                // Send timer updates more frequently when time is running low
+                boolean shouldSendUpdate = timeRemaining <= 10 || // Always send when low
+                                     timeRemaining % (isSinglePlayer ? 2 : 1) == 0; // Every 2s for single, 1s for multi
+            
+                if (shouldSendUpdate) {
+                    messagingTemplate.convertAndSend(
+                        "/topic/game/" + sessionId + "/timer",
+                        timerUpdate
+                    );
+                }
+                
+                if (timeRemaining <= 0) {
+                    if (isSinglePlayer) {
+                        logger.info("Time up for single player in session {}. Advancing turn.", sessionId);
+                        handleSinglePlayerTurnAdvancement(sessionId);
+                    } else {
+                        logger.info("Time up for player {} in session {}. Advancing turn.", 
+                                  gameState.getCurrentPlayerId(), sessionId);
+                        
+                        // Award penalty points
+                        PlayerSessionEntity player = playerRepository.findById(gameState.getCurrentPlayerId()).orElse(null);
+                        if (player != null) {
+                            awardPoints(sessionId, player.getUser().getId(), -5, "Missed turn");
                         }
+                        advanceToNextPlayer(sessionId);
                     }
                 }
-            } catch (Exception e) {
-                logger.error("Error in timer check for session " + sessionId, e);
             }
-        });
-        
-        // Clean up invalid sessions
-        sessionsToRemove.forEach(activeGames::remove);
+        } catch (Exception e) {
+            logger.error("Error in timer check for session " + sessionId, e);
+        }
     }
 
     @Transactional
     private void awardPoints(Long sessionId, Long userId, int points, String reason) {
         scoreService.awardPoints(sessionId, userId, points, reason);
+        GameState gameState = activeGames.get(sessionId);
+        if (gameState != null) {
+            journal.record(gameState, GameStateJournal.EventType.SCORE,
+                    Map.of("userId", userId, "points", points, "reason", reason));
+        }
 
         Map<String, Object> scoreUpdate = new HashMap<>();
         scoreUpdate.put("points", points);
@@ -1251,17 +1381,21 @@ public class GameSessionManagerService {
         private int currentTurn;
         private int totalTurns;
         private int timePerTurn;
-        private Status status;
+        // Written only by the session's mailbox; volatile where read from outside it
+        private volatile Status status;
         private Date turnStartTime;
         private long lastTurnTime;
         private String backgroundImage;
-        private List<String> usedWords = new ArrayList<>();
+        private List<String> usedWords = new CopyOnWriteArrayList<>();
         private Map<String, Object> contentInfo;
         private int currentCycle;
         private String storyPrompt;
         private int configuredTurnCycles;
-        private boolean paused;
+        private volatile boolean paused;
         private int pausedRemainingTime;
+        // Journal position: last event written and last one covered by a snapshot
+        private long journalSeq;
+        private long snapshotSeq;
 
         enum Status {
             WAITING_TO_START,
@@ -1292,7 +1426,7 @@ public class GameSessionManagerService {
         public String getBackgroundImage() { return backgroundImage; }
         public void setBackgroundImage(String backgroundImage) { this.backgroundImage = backgroundImage; }
         public List<String> getUsedWords() { return usedWords; }
-        public void setUsedWords(List<String> usedWords) { this.usedWords = usedWords; }
+        public void setUsedWords(List<String> usedWords) { this.usedWords = new CopyOnWriteArrayList<>(usedWords); }
         public Map<String, Object> getContentInfo() { return contentInfo; }
         public void setContentInfo(Map<String, Object> contentInfo) { this.contentInfo = contentInfo; }
         public int getCurrentCycle() { return currentCycle; }
@@ -1305,5 +1439,9 @@ public class GameSessionManagerService {
         public void setPaused(boolean paused) { this.paused = paused; }
         public int getPausedRemainingTime() { return pausedRemainingTime; }
         public void setPausedRemainingTime(int pausedRemainingTime) { this.pausedRemainingTime = pausedRemainingTime; }
+        public long getJournalSeq() { return journalSeq; }
+        public void setJournalSeq(long journalSeq) { this.journalSeq = journalSeq; }
+        public long getSnapshotSeq() { return snapshotSeq; }
+        public void setSnapshotSeq(long snapshotSeq) { this.snapshotSeq = snapshotSeq; }
     }
 }
\ No newline at end of file
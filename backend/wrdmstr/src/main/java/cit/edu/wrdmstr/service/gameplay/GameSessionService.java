@@ -4,6 +4,7 @@ import cit.edu.wrdmstr.entity.*;
 import cit.edu.wrdmstr.repository.*;
 import cit.edu.wrdmstr.service.AIService;
 import cit.edu.wrdmstr.service.ComprehensionCheckService;
+import cit.edu.wrdmstr.service.ContentCatalog;
 import cit.edu.wrdmstr.service.StoryPromptService;
 import cit.edu.wrdmstr.dto.GameSessionDTO;
 import cit.edu.wrdmstr.dto.PlayerSessionDTO;
@@ -32,6 +33,7 @@ public class GameSessionService {
     @Autowired private ClassroomRepository classroomRepository;
     @Autowired private WordBankItemRepository wordBankItemRepository;
     @Autowired private RoleRepository roleRepository;
+    @Autowired private ContentCatalog contentCatalog;
     @Autowired private AIService aiService;
     @Autowired private ChatMessageEntityRepository chatmessageRepository;
     @Autowired private TeacherFeedbackRepository teacherfeedbackRepository;
@@ -39,6 +41,7 @@ public class GameSessionService {
     @Autowired private GrammarResultRepository grammarResultRepository;
     @Autowired private VocabularyResultRepository vocabularyResultRepository;
     @Autowired private ComprehensionResultRepository comprehensionResultRepository;
+    @Autowired private SessionSummaryRepository sessionSummaryRepository;
     @Autowired private PlayerCardRepository playerCardRepository;
     
     // Add this field
@@ -341,6 +344,9 @@ public class GameSessionService {
 
         // Delete all comprehension results for this session
         comprehensionResultRepository.deleteByGameSessionId(sessionId);
+
+        // Delete all session summaries for this session
+        sessionSummaryRepository.deleteByGameSessionId(sessionId);
         
         // Finally delete the session itself
         gameSessionRepository.delete(session);
@@ -501,7 +507,7 @@ public class GameSessionService {
         
         // Get content for this session
         ContentEntity content = session.getContent();
-        List<WordBankItem> wordBank = wordBankItemRepository.findByContentData(content.getContentData());
+        List<WordBankItem> wordBank = contentCatalog.get(content.getId()).getWordBank();
         
         if (wordBank.isEmpty()) {
             throw new IllegalStateException("No words available in word bank");
@@ -0,0 +1,329 @@
+package cit.edu.wrdmstr.service.gameplay;
+
+import cit.edu.wrdmstr.entity.GameSessionEntity;
+import cit.edu.wrdmstr.entity.GameSessionEventEntity;
+import cit.edu.wrdmstr.entity.GameStateCheckpointEntity;
+import cit.edu.wrdmstr.repository.GameSessionEntityRepository;
+import cit.edu.wrdmstr.repository.GameSessionEventRepository;
+import cit.edu.wrdmstr.repository.GameStateCheckpointRepository;
+import cit.edu.wrdmstr.repository.PlayerSessionEntityRepository;
+import cit.edu.wrdmstr.service.PerformanceMetricsService;
+import cit.edu.wrdmstr.service.cluster.ClusterNode;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Append-only journal of game state changes with periodic compact snapshots. A
+ * session's state is rebuilt from its latest snapshot plus at most
+ * {@code snapshotEvery} journal entries, which bounds recovery time per session.
+ *
+ * Recording only queues the entry; {@link #flush()} writes the queue every
+ * {@code journal-flush-ms} in batches of one transaction each, so a turn never waits on
+ * a journal write. A crash loses at most the last flush interval of entries, which
+ * recovery treats like any other gap in the tail.
+ */
+@Service
+class GameStateJournal {
+    private static final Logger logger = LoggerFactory.getLogger(GameStateJournal.class);
+
+    enum EventType {
+        TURN_STARTED,
+        WORDS_USED,
+        CYCLE_CHANGED,
+        STORY_PROMPT,
+        PAUSED,
+        RESUMED,
+        SCORE
+    }
+
+    /**
+     * Rebuilt state plus when the session was last known to be alive, so the caller
+     * can work out how much of the current turn had elapsed before the outage.
+     */
+    record Restored(GameSessionManagerService.GameState state, long lastActivityAt, int replayedEvents) {}
+
+    @Autowired private GameSessionEventRepository eventRepository;
+    @Autowired private GameStateCheckpointRepository snapshotRepository;
+    @Autowired private GameSessionEntityRepository gameSessionRepository;
+    @Autowired private PlayerSessionEntityRepository playerRepository;
+    @Autowired private ClusterNode clusterNode;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private PerformanceMetricsService performanceMetricsService;
+
+    @Value("${wordmaster.recovery.snapshot-every:20}")
+    private int snapshotEvery;
+
+    @Value("${wordmaster.recovery.journal-batch-size:500}")
+    private int batchSize;
+
+    // An event, and the snapshot taken with it if it was due
+    private record Entry(GameSessionEventEntity event, GameStateCheckpointEntity snapshot) {}
+
+    private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    // Serializes batch writes with discard(), so a flush never writes rows for a discarded game
+    private final Object writeLock = new Object();
+    private final TransactionTemplate batchTransaction;
+
+    GameStateJournal(PlatformTransactionManager transactionManager) {
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void registerGauges() {
+        performanceMetricsService.gauge("wordmaster.game.journal.pending", "Journal entries waiting to be written",
+                pendingCount::get);
+    }
+
+    /**
+     * Append an event that has already been applied to {@code state}. The first event
+     * of a game and every {@code snapshotEvery}-th one also take a snapshot, copied from
+     * the state now and written with the event.
+     */
+    public void record(GameSessionManagerService.GameState state, EventType type, Map<String, Object> data) {
+        try {
+            GameSessionEventEntity event = new GameSessionEventEntity();
+            event.setSessionId(state.getSessionId());
+            event.setEventType(type.name());
+            event.setPayload(objectMapper.writeValueAsString(data));
+            event.setCreatedAt(System.currentTimeMillis());
+
+            GameStateCheckpointEntity snapshot = null;
+            synchronized (state) {
+                long seq = state.getJournalSeq() + 1;
+                state.setJournalSeq(seq);
+                event.setSeq(seq);
+                if (state.getSnapshotSeq() == 0 || seq - state.getSnapshotSeq() >= snapshotEvery) {
+                    snapshot = snapshotOf(state, seq);
+                    state.setSnapshotSeq(seq);
+                }
+            }
+            pending.add(new Entry(event, snapshot));
+            pendingCount.incrementAndGet();
+        } catch (Exception e) {
+            // The game keeps running; only recovery fidelity is affected
+            logger.error("Failed to journal {} for session {}: {}", type, state.getSessionId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Write everything queued so far.
+     */
+    @Scheduled(fixedDelayString = "${wordmaster.recovery.journal-flush-ms:250}")
+    public void flush() {
+        synchronized (writeLock) {
+            while (!pending.isEmpty()) {
+                List<Entry> batch = new ArrayList<>();
+                Entry entry;
+                while (batch.size() < Math.max(1, batchSize) && (entry = pending.poll()) != null) {
+                    batch.add(entry);
+                }
+                pendingCount.addAndGet(-batch.size());
+                try {
+                    batchTransaction.executeWithoutResult(status -> write(batch));
+                } catch (Exception e) {
+                    logger.error("Failed to journal {} entries: {}", batch.size(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private void write(List<Entry> batch) {
+        // Only the newest snapshot per session is written; it makes the entries before it redundant
+        Map<Long, GameStateCheckpointEntity> snapshots = new HashMap<>();
+        for (Entry entry : batch) {
+            if (entry.snapshot() != null) {
+                snapshots.merge(entry.snapshot().getSessionId(), entry.snapshot(),
+                        (older, newer) -> newer.getLastEventSeq() > older.getLastEventSeq() ? newer : older);
+            }
+        }
+        List<GameSessionEventEntity> events = new ArrayList<>();
+        for (Entry entry : batch) {
+            GameStateCheckpointEntity snapshot = snapshots.get(entry.event().getSessionId());
+            if (snapshot == null || entry.event().getSeq() > snapshot.getLastEventSeq()) {
+                events.add(entry.event());
+            }
+        }
+        eventRepository.saveAll(events);
+        for (GameStateCheckpointEntity snapshot : snapshots.values()) {
+            snapshotRepository.save(snapshot);
+            // Compact: everything up to the snapshot is now redundant
+            eventRepository.deleteUpTo(snapshot.getSessionId(), snapshot.getLastEventSeq());
+        }
+    }
+
+    private GameStateCheckpointEntity snapshotOf(GameSessionManagerService.GameState state, long seq) {
+        GameStateCheckpointEntity snapshot = new GameStateCheckpointEntity();
+        snapshot.setSessionId(state.getSessionId());
+        snapshot.setStatus(state.getStatus().name());
+        snapshot.setCurrentPlayerId(state.getCurrentPlayerId());
+        snapshot.setCurrentTurn(state.getCurrentTurn());
+        snapshot.setTotalTurns(state.getTotalTurns());
+        snapshot.setTimePerTurn(state.getTimePerTurn());
+        snapshot.setCurrentCycle(state.getCurrentCycle());
+        snapshot.setConfiguredTurnCycles(state.getConfiguredTurnCycles());
+        snapshot.setStoryPrompt(state.getStoryPrompt());
+        snapshot.setUsedWords(state.getUsedWords() != null ? String.join(",", state.getUsedWords()) : "");
+        snapshot.setLastTurnTime(state.getLastTurnTime());
+        snapshot.setPaused(state.isPaused());
+        snapshot.setPausedRemainingTime(state.getPausedRemainingTime());
+        snapshot.setOwnerNode(clusterNode.getNodeId());
+        snapshot.setLastEventSeq(seq);
+        return snapshot;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Restored> restore(Long sessionId) {
+        Optional<GameStateCheckpointEntity> snapshot = snapshotRepository.findById(sessionId);
+        Optional<GameSessionEntity> session = gameSessionRepository.findById(sessionId);
+        if (snapshot.isEmpty() || session.isEmpty()) {
+            return Optional.empty();
+        }
+
+        GameSessionManagerService.GameState state = fromSnapshot(snapshot.get(), session.get());
+        long lastActivityAt = snapshot.get().getUpdatedAt() != null ? snapshot.get().getUpdatedAt().getTime() : 0L;
+
+        List<GameSessionEventEntity> tail = eventRepository
+                .findBySessionIdAndSeqGreaterThanOrderBySeqAsc(sessionId, snapshot.get().getLastEventSeq());
+        for (GameSessionEventEntity event : tail) {
+            try {
+                apply(state, EventType.valueOf(event.getEventType()),
+                        objectMapper.readValue(event.getPayload(), new TypeReference<Map<String, Object>>() {}));
+            } catch (Exception e) {
+                logger.warn("Skipping unreadable journal entry {} for session {}: {}",
+                        event.getSeq(), sessionId, e.getMessage());
+            }
+            state.setJournalSeq(event.getSeq());
+            lastActivityAt = Math.max(lastActivityAt, event.getCreatedAt());
+        }
+        return Optional.of(new Restored(state, lastActivityAt, tail.size()));
+    }
+
+    @Transactional
+    public void discard(Long sessionId) {
+        synchronized (writeLock) {
+            int dropped = 0;
+            for (Iterator<Entry> it = pending.iterator(); it.hasNext(); ) {
+                if (sessionId.equals(it.next().event().getSessionId())) {
+                    it.remove();
+                    dropped++;
+                }
+            }
+            pendingCount.addAndGet(-dropped);
+            eventRepository.deleteBySessionId(sessionId);
+            if (snapshotRepository.existsById(sessionId)) {
+                snapshotRepository.deleteById(sessionId);
+            }
+        }
+    }
+
+    /**
+     * Replay one journal entry onto a state. Must mirror what the game service does
+     * before it records the event.
+     */
+    static void apply(GameSessionManagerService.GameState state, EventType type, Map<String, Object> data) {
+        switch (type) {
+            case TURN_STARTED -> {
+                state.setStatus(GameSessionManagerService.GameState.Status.TURN_IN_PROGRESS);
+                state.setCurrentTurn(asInt(data.get("turn")));
+                state.setCurrentCycle(asInt(data.get("cycle")));
+                state.setCurrentPlayerId(asLong(data.get("playerId")));
+                state.setLastTurnTime(asMillis(data.get("lastTurnTime")));
+                state.setTurnStartTime(new Date(state.getLastTurnTime()));
+                state.setPaused(false);
+            }
+            case WORDS_USED -> {
+                Object words = data.get("words");
+                if (words instanceof Collection<?> list) {
+                    list.forEach(word -> state.getUsedWords().add(String.valueOf(word)));
+                }
+            }
+            case CYCLE_CHANGED -> {
+                state.setCurrentCycle(asInt(data.get("cycle")));
+                state.getUsedWords().clear();
+            }
+            case STORY_PROMPT -> state.setStoryPrompt((String) data.get("prompt"));
+            case PAUSED -> {
+                state.setPaused(true);
+                state.setPausedRemainingTime(asInt(data.get("remaining")));
+            }
+            case RESUMED -> {
+                state.setPaused(false);
+                state.setLastTurnTime(asMillis(data.get("lastTurnTime")));
+            }
+            case SCORE -> {
+                // Scores live on player_sessions; the entry is kept for auditing only
+            }
+        }
+    }
+
+    private GameSessionManagerService.GameState fromSnapshot(GameStateCheckpointEntity snapshot,
+                                                             GameSessionEntity session) {
+        GameSessionManagerService.GameState state = new GameSessionManagerService.GameState();
+        state.setSessionId(snapshot.getSessionId());
+        state.setPlayers(playerRepository.findActiveBySessionId(snapshot.getSessionId()));
+        state.setStatus(GameSessionManagerService.GameState.Status.valueOf(snapshot.getStatus()));
+        state.setCurrentPlayerId(snapshot.getCurrentPlayerId());
+        state.setCurrentTurn(snapshot.getCurrentTurn());
+        state.setTotalTurns(snapshot.getTotalTurns());
+        state.setTimePerTurn(snapshot.getTimePerTurn());
+        state.setCurrentCycle(snapshot.getCurrentCycle());
+        state.setConfiguredTurnCycles(snapshot.getConfiguredTurnCycles());
+        state.setStoryPrompt(snapshot.getStoryPrompt());
+        List<String> usedWords = new ArrayList<>();
+        if (snapshot.getUsedWords() != null && !snapshot.getUsedWords().isEmpty()) {
+            usedWords.addAll(Arrays.asList(snapshot.getUsedWords().split(",")));
+        }
+        state.setUsedWords(usedWords);
+        state.setLastTurnTime(snapshot.getLastTurnTime());
+        state.setTurnStartTime(new Date(snapshot.getLastTurnTime()));
+        state.setPaused(snapshot.isPaused());
+        state.setPausedRemainingTime(snapshot.getPausedRemainingTime());
+        state.setJournalSeq(snapshot.getLastEventSeq());
+        state.setSnapshotSeq(snapshot.getLastEventSeq());
+
+        Map<String, Object> contentInfo = new HashMap<>();
+        if (session.getContent() != null) {
+            contentInfo.put("id", session.getContent().getId());
+            contentInfo.put("title", session.getContent().getTitle());
+            contentInfo.put("description", session.getContent().getDescription());
+            if (session.getContent().getContentData() != null) {
+                state.setBackgroundImage(session.getContent().getContentData().getBackgroundImage());
+            }
+        }
+        state.setContentInfo(contentInfo);
+        return state;
+    }
+
+    private static int asInt(Object value) {
+        return value instanceof Number n ? n.intValue() : 0;
+    }
+
+    private static Long asLong(Object value) {
+        return value instanceof Number n ? n.longValue() : null;
+    }
+
+    private static long asMillis(Object value) {
+        return value instanceof Number n ? n.longValue() : System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,33 @@
+package cit.edu.wrdmstr.service.gameplay;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Holds the live {@link GameSessionManagerService.GameState} of sessions this node
+ * owns. The working copy is always local; durable state lives in the
+ * {@link GameStateJournal}, from which any node holding the lease can rebuild it.
+ */
+interface GameStateStore {
+
+    GameSessionManagerService.GameState get(Long sessionId);
+
+    void put(Long sessionId, GameSessionManagerService.GameState state);
+
+    /**
+     * Game over: drop the local copy.
+     */
+    void remove(Long sessionId);
+
+    /**
+     * Ownership moved elsewhere: drop the local copy; the journal stays for the new owner.
+     */
+    void evict(Long sessionId);
+
+    void forEach(BiConsumer<Long, GameSessionManagerService.GameState> action);
+
+    /**
+     * Whether sessions are coordinated across nodes, so this node may adopt sessions
+     * whose owner stopped renewing its lease.
+     */
+    boolean isShared();
+}
@@ -3,9 +3,12 @@ package cit.edu.wrdmstr.service.gameplay;
 import cit.edu.wrdmstr.entity.ChatMessageEntity;
 import org.springframework.stereotype.Service;
 import cit.edu.wrdmstr.service.AIService;
+import cit.edu.wrdmstr.service.MessageEvaluation;
 import cit.edu.wrdmstr.entity.ChatMessageEntity.MessageStatus;
+import cit.edu.wrdmstr.service.gameplay.NearDuplicateVerdictCache.Kind;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,6 +23,7 @@ import java.util.concurrent.ConcurrentMap;
 public class GrammarCheckerService {
     private static final Logger logger = LoggerFactory.getLogger(GrammarCheckerService.class);
     private final AIService aiService;
+    private final NearDuplicateVerdictCache verdictCache;
     
     @Value("${features.role-check.min-length:6}")
     private int roleCheckMinLength;
@@ -33,8 +37,9 @@ public class GrammarCheckerService {
     // Cache last normalized text per (role|context) to skip duplicate role_check calls
     private final ConcurrentMap<String, String> lastRoleContextText = new ConcurrentHashMap<>();
 
-    public GrammarCheckerService(AIService aiService) {
+    public GrammarCheckerService(AIService aiService, NearDuplicateVerdictCache verdictCache) {
         this.aiService = aiService;
+        this.verdictCache = verdictCache;
     }
 
     /**
@@ -60,11 +65,64 @@ public class GrammarCheckerService {
      * Uses AI for both grammar status and role checking
      */
     public GrammarCheckResult checkGrammar(String text, String role, String contextDescription) {
+        return checkGrammar(text, role, contextDescription, null);
+    }
+
+    /**
+     * Grammar status and role verdict for {@code text} from near-duplicates already checked
+     * in the same scope, or empty when either one still needs the model. On a hit callers
+     * skip the combined evaluation and pass this one to the checks instead.
+     */
+    public Optional<MessageEvaluation> reusedEvaluation(String text, String role, String contextDescription) {
+        String grammarScope = contextDescription == null ? "" : contextDescription;
+        Optional<String> grammar = verdictCache.lookup(Kind.GRAMMAR, grammarScope, text);
+        if (grammar.isEmpty()) {
+            return Optional.empty();
+        }
+        Boolean roleAppropriate = null;
+        if (role != null && !role.isEmpty() && contextDescription != null && text != null) {
+            String normalized = text.trim().toLowerCase().replaceAll("\\s+", " ");
+            String key = role + '|' + contextDescription;
+            boolean isDuplicate = skipDuplicateRoleChecks && normalized.equals(lastRoleContextText.get(key));
+            // Otherwise checkGrammar would skip the role check anyway
+            if (normalized.length() >= roleCheckMinLength && !isDuplicate) {
+                Optional<String> reusedRole = verdictCache.lookup(Kind.ROLE, key, text);
+                if (reusedRole.isEmpty()) {
+                    return Optional.empty();
+                }
+                roleAppropriate = Boolean.parseBoolean(reusedRole.get());
+                verdictCache.maybeAudit(Kind.ROLE, reusedRole.get(),
+                        () -> String.valueOf(aiRoleAppropriate(text, role, contextDescription)));
+            }
+        }
+        verdictCache.maybeAudit(Kind.GRAMMAR, grammar.get(), () -> aiGrammarStatus(text).name());
+        return Optional.of(MessageEvaluation.reused(grammar.get(), roleAppropriate));
+    }
+
+    /**
+     * Same as {@link #checkGrammar(String, String, String)}, but takes the grammar status
+     * and role verdict from a combined message evaluation when it has them
+     */
+    public GrammarCheckResult checkGrammar(String text, String role, String contextDescription,
+                                           MessageEvaluation evaluation) {
         try {
-            // Use AI for grammar status checking (now returns: STATUS | Tip)
-            String aiResponse = aiService.checkGrammarStatus(text);
-            String[] parts = aiResponse.split("\\|", 2);
-            MessageStatus grammarStatus = parseStatusString(parts[0]);
+            String grammarScope = contextDescription == null ? "" : contextDescription;
+            MessageStatus grammarStatus;
+            if (evaluation != null && evaluation.hasGrammar()) {
+                grammarStatus = parseStatusString(evaluation.getGrammarStatus());
+                if (!evaluation.isReused()) {
+                    verdictCache.record(Kind.GRAMMAR, grammarScope, text, grammarStatus.name());
+                }
+            } else {
+                Optional<String> reused = verdictCache.lookup(Kind.GRAMMAR, grammarScope, text);
+                if (reused.isPresent()) {
+                    grammarStatus = MessageStatus.valueOf(reused.get());
+                    verdictCache.maybeAudit(Kind.GRAMMAR, reused.get(), () -> aiGrammarStatus(text).name());
+                } else {
+                    grammarStatus = aiGrammarStatus(text);
+                    verdictCache.record(Kind.GRAMMAR, grammarScope, text, grammarStatus.name());
+                }
+            }
             // Use detailed feedback for reports/admin view
             String detailedFeedback = generateDetailedFeedback(grammarStatus);
             
@@ -77,32 +135,26 @@ public class GrammarCheckerService {
                 String key = role + '|' + contextDescription;
                 boolean isDuplicate = skipDuplicateRoleChecks && normalized.equals(lastRoleContextText.get(key));
 
-                if (lengthOk && !isDuplicate) {
-                    Map<String, Object> request = new HashMap<>();
-                    request.put("task", "role_check");
-                    request.put("text", text);
-                    request.put("role", role);
-                    request.put("context", contextDescription);
+                boolean hasEvaluatedRole = evaluation != null && evaluation.hasRoleVerdict();
+                Optional<String> reusedRole = lengthOk && !isDuplicate && !hasEvaluatedRole
+                        ? verdictCache.lookup(Kind.ROLE, key, text) : Optional.empty();
 
+                if (lengthOk && hasEvaluatedRole) {
+                    isRoleAppropriate = evaluation.getRoleAppropriate();
+                    lastRoleContextText.put(key, normalized);
+                    if (!evaluation.isReused()) {
+                        verdictCache.record(Kind.ROLE, key, text, String.valueOf(isRoleAppropriate));
+                    }
+                } else if (reusedRole.isPresent()) {
+                    isRoleAppropriate = Boolean.parseBoolean(reusedRole.get());
+                    verdictCache.maybeAudit(Kind.ROLE, reusedRole.get(),
+                            () -> String.valueOf(aiRoleAppropriate(text, role, contextDescription)));
+                } else if (lengthOk && !isDuplicate) {
                     try {
-                        String roleCheckResponse = aiService.callAIModel(request).getResult();
-                        if (roleCheckResponse != null) {
-                            String trimmedResponse = roleCheckResponse.trim();
-                            String upperResponse = trimmedResponse.toUpperCase();
-
-                            // Strict: only treat as appropriate if starts with APPROPRIATE
-                            if (upperResponse.startsWith("APPROPRIATE")) {
-                                isRoleAppropriate = true;
-                            } else if (upperResponse.startsWith("NOT APPROPRIATE")) {
-                                isRoleAppropriate = false;
-                            } else {
-                                // Unknown format -> default to appropriate but log
-                                logger.debug("Unrecognized role_check format: {}", trimmedResponse);
-                                isRoleAppropriate = true;
-                            }
-                        }
+                        isRoleAppropriate = aiRoleAppropriate(text, role, contextDescription);
                         // Update last seen on success path
                         lastRoleContextText.put(key, normalized);
+                        verdictCache.record(Kind.ROLE, key, text, String.valueOf(isRoleAppropriate));
                     } catch (Exception roleCheckException) {
                         logger.warn("Role check failed, assuming appropriate: {}", roleCheckException.getMessage());
                         isRoleAppropriate = true; // Default to appropriate if role check fails
@@ -150,6 +202,43 @@ public class GrammarCheckerService {
         }
     }
 
+    /**
+     * Grammar status from the grammar_status_check task (response: STATUS | Tip)
+     */
+    private MessageStatus aiGrammarStatus(String text) {
+        String aiResponse = aiService.checkGrammarStatus(text);
+        String[] parts = aiResponse.split("\\|", 2);
+        return parseStatusString(parts[0]);
+    }
+
+    /**
+     * Role verdict from the role_check task
+     */
+    private boolean aiRoleAppropriate(String text, String role, String contextDescription) {
+        Map<String, Object> request = new HashMap<>();
+        request.put("task", "role_check");
+        request.put("text", text);
+        request.put("role", role);
+        request.put("context", contextDescription);
+
+        String roleCheckResponse = aiService.callAIModel(request).getResult();
+        if (roleCheckResponse == null) {
+            return true;
+        }
+        String trimmedResponse = roleCheckResponse.trim();
+        String upperResponse = trimmedResponse.toUpperCase();
+
+        // Strict: only treat as appropriate if starts with APPROPRIATE
+        if (upperResponse.startsWith("APPROPRIATE")) {
+            return true;
+        } else if (upperResponse.startsWith("NOT APPROPRIATE")) {
+            return false;
+        }
+        // Unknown format -> default to appropriate but log
+        logger.debug("Unrecognized role_check format: {}", trimmedResponse);
+        return true;
+    }
+
     /**
      * Parse status string from AI response
      */
@@ -4,6 +4,7 @@ import cit.edu.wrdmstr.entity.*;
 import cit.edu.wrdmstr.repository.GameSessionEntityRepository;
 import cit.edu.wrdmstr.repository.PlayerSessionEntityRepository;
 import cit.edu.wrdmstr.repository.RoleRepository;
+import cit.edu.wrdmstr.service.ContentCatalog;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,6 +23,9 @@ public class GroupManagementService {
     
     @Autowired
     private RoleRepository roleRepository;
+
+    @Autowired
+    private ContentCatalog contentCatalog;
     
     @Transactional
     public List<Map<String, Object>> organizeGroups(Long sessionId) {
@@ -49,7 +53,7 @@ public class GroupManagementService {
         List<Map<String, Object>> groups = new ArrayList<>();
         
         // Get roles for this content
-        List<Role> availableRoles = roleRepository.findByContentDataContentId(session.getContent().getId());
+        List<Role> availableRoles = contentCatalog.get(session.getContent().getId()).getRoles();
         System.out.println("Creating " + numGroups + " groups with " + availableRoles.size() + " available roles");
        
         // Create groups
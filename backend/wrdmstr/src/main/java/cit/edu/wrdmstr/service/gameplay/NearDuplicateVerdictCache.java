@@ -0,0 +1,252 @@
+package cit.edu.wrdmstr.service.gameplay;
+
+import cit.edu.wrdmstr.service.PerformanceMetricsService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reuses grammar and role verdicts for messages that are near-duplicates of one already
+ * checked in the same scope (content context, plus role for role verdicts). Messages are
+ * fingerprinted with MinHash over word unigrams and bigrams; mid-sentence capitalized
+ * words are folded to one placeholder so sentences that differ only by a name match
+ * exactly. Role fingerprints ignore punctuation and case; grammar fingerprints keep both,
+ * since a missing capital or full stop is what changes the grammar verdict.
+ *
+ * A sample of hits is re-checked in the background to measure how often a reused
+ * verdict disagrees with a fresh one.
+ */
+@Component
+public class NearDuplicateVerdictCache {
+    private static final Logger logger = LoggerFactory.getLogger(NearDuplicateVerdictCache.class);
+
+    public enum Kind { GRAMMAR, ROLE }
+
+    static final int NUM_HASHES = 64;
+    // Below this many words a signature is too coarse to trust
+    static final int MIN_TOKENS = 3;
+    private static final long[] SEEDS = new long[NUM_HASHES];
+    static {
+        SplittableRandom random = new SplittableRandom(0x5eed_c0de_2024L);
+        for (int i = 0; i < NUM_HASHES; i++) SEEDS[i] = random.nextLong();
+    }
+
+    @Value("${wordmaster.verdict-cache.enabled:true}")
+    private boolean enabled;
+
+    // Grammar hinges on single words, so it needs a much closer match than role fit
+    @Value("${wordmaster.verdict-cache.grammar-threshold:0.9}")
+    private double grammarThreshold;
+
+    @Value("${wordmaster.verdict-cache.role-threshold:0.75}")
+    private double roleThreshold;
+
+    @Value("${wordmaster.verdict-cache.entries-per-scope:300}")
+    private int entriesPerScope;
+
+    @Value("${wordmaster.verdict-cache.audit-rate:0.05}")
+    private double auditRate;
+
+    @Autowired
+    @Qualifier("backgroundProcessingExecutor")
+    private TaskExecutor auditExecutor;
+
+    @Autowired
+    private PerformanceMetricsService performanceMetricsService;
+
+    private final Cache<String, Deque<Entry>> scopes = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfterAccess(Duration.ofHours(2))
+            .recordStats()
+            .build();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder audits = new LongAdder();
+    private final LongAdder falseReuses = new LongAdder();
+
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}']+|[^\\s\\p{L}\\p{N}']");
+    private static final Pattern PUNCTUATION = Pattern.compile("[^\\p{L}\\p{N}']");
+
+    private record Entry(long[] signature, String verdict) {}
+
+    @PostConstruct
+    void monitorCache() {
+        performanceMetricsService.monitorCache(scopes, "verdict_scopes");
+    }
+
+    /**
+     * Verdict of the most similar cached message in scope, if it clears the threshold
+     * for {@code kind}.
+     */
+    public Optional<String> lookup(Kind kind, String scope, String text) {
+        long[] signature = enabled ? signature(kind, text) : null;
+        if (signature == null) {
+            return Optional.empty();
+        }
+        Deque<Entry> entries = scopes.getIfPresent(kind + "|" + scope);
+        double threshold = kind == Kind.GRAMMAR ? grammarThreshold : roleThreshold;
+        String best = null;
+        double bestSimilarity = threshold;
+        if (entries != null) {
+            synchronized (entries) {
+                for (Entry entry : entries) {
+                    double similarity = similarity(signature, entry.signature());
+                    if (similarity >= bestSimilarity) {
+                        bestSimilarity = similarity;
+                        best = entry.verdict();
+                    }
+                }
+            }
+        }
+        if (best == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(best);
+    }
+
+    public void record(Kind kind, String scope, String text, String verdict) {
+        long[] signature = enabled ? signature(kind, text) : null;
+        if (signature == null || verdict == null) {
+            return;
+        }
+        Deque<Entry> entries = scopes.get(kind + "|" + scope, key -> new ArrayDeque<>());
+        synchronized (entries) {
+            entries.addFirst(new Entry(signature, verdict));
+            while (entries.size() > entriesPerScope) {
+                entries.removeLast();
+            }
+        }
+    }
+
+    /**
+     * For a sampled fraction of hits, compute the verdict for real in the background and
+     * count disagreements. The fresh verdict is not fed back to the caller.
+     */
+    public void maybeAudit(Kind kind, String reusedVerdict, Supplier<String> freshVerdict) {
+        if (ThreadLocalRandom.current().nextDouble() >= auditRate) {
+            return;
+        }
+        try {
+            auditExecutor.execute(() -> {
+                String fresh = freshVerdict.get();
+                audits.increment();
+                if (fresh != null && !fresh.equals(reusedVerdict)) {
+                    falseReuses.increment();
+                    logger.debug("Near-duplicate {} verdict {} disagreed with fresh {}", kind, reusedVerdict, fresh);
+                }
+            });
+        } catch (Exception e) {
+            // Executor saturated; skip this sample
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ai.latency.logging.interval-ms:60000}")
+    public void report() {
+        long h = hits.sumThenReset();
+        long m = misses.sumThenReset();
+        long a = audits.sumThenReset();
+        long f = falseReuses.sumThenReset();
+        if (h + m == 0) return;
+        logger.info("[AI METRICS] verdict-cache hits={} misses={} hitRate={}% audited={} falseReuse={}",
+                h, m, String.format("%.1f", h * 100.0 / (h + m)), a, f);
+    }
+
+    /**
+     * MinHash signature over unigram and bigram shingles, or null for very short text.
+     */
+    static long[] signature(Kind kind, String text) {
+        List<String> tokens = tokens(kind, text);
+        if (tokens.stream().filter(t -> !PUNCTUATION.matcher(t).matches()).count() < MIN_TOKENS) {
+            return null;
+        }
+        long[] signature = new long[NUM_HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (int t = 0; t < tokens.size(); t++) {
+            addShingle(signature, "u:" + tokens.get(t));
+            if (t > 0) {
+                addShingle(signature, "b:" + tokens.get(t - 1) + ' ' + tokens.get(t));
+            }
+        }
+        return signature;
+    }
+
+    static double similarity(long[] a, long[] b) {
+        int same = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) same++;
+        }
+        return same / (double) NUM_HASHES;
+    }
+
+    private static void addShingle(long[] signature, String shingle) {
+        long base = shingle.hashCode() * 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            long h = mix(base ^ SEEDS[i]);
+            if (h < signature[i]) signature[i] = h;
+        }
+    }
+
+    // MurmurHash3 64-bit finalizer
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Words in order, with mid-sentence capitalized words folded to {@code #name}. For
+     * {@link Kind#GRAMMAR} words keep their case and punctuation marks are tokens of
+     * their own; for {@link Kind#ROLE} words are lowercased and punctuation is dropped.
+     */
+    static List<String> tokens(Kind kind, String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        boolean surface = kind == Kind.GRAMMAR;
+        boolean sentenceStart = true;
+        Matcher matcher = TOKEN.matcher(text);
+        while (matcher.find()) {
+            String token = matcher.group();
+            if (PUNCTUATION.matcher(token).matches()) {
+                if (surface) {
+                    tokens.add(token);
+                }
+                if (token.equals(".") || token.equals("!") || token.equals("?")) {
+                    sentenceStart = true;
+                }
+                continue;
+            }
+            boolean capitalized = Character.isUpperCase(token.charAt(0)) && !token.equals("I");
+            if (capitalized && !sentenceStart) {
+                tokens.add("#name");
+            } else {
+                tokens.add(surface ? token : token.toLowerCase());
+            }
+            sentenceStart = false;
+        }
+        return tokens;
+    }
+}
@@ -2,6 +2,7 @@ package cit.edu.wrdmstr.service.gameplay;
 
 import cit.edu.wrdmstr.entity.*;
 import cit.edu.wrdmstr.repository.*;
+import cit.edu.wrdmstr.service.ContentCatalog;
 //import cit.edu.wrdmstr.service.CardService;
 import jakarta.transaction.Transactional;
 import org.apache.velocity.exception.ResourceNotFoundException;
@@ -21,14 +22,14 @@ public class PlayerService {
     @Autowired private UserRepository userRepository;
     @Autowired private WordBankItemRepository wordBankItemRepository;
     @Autowired private RoleRepository roleRepository;
+    @Autowired private ContentCatalog contentCatalog;
    // @Autowired private CardService cardService;
 
     public PlayerSessionEntity assignNewWordBomb(Long playerId) {
         PlayerSessionEntity player = playerSessionRepository.findById(playerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Player not found"));
 
-        ContentData contentData = player.getSession().getContent().getContentData();
-        List<WordBankItem> wordBank = wordBankItemRepository.findByContentData(contentData);
+        List<WordBankItem> wordBank = contentCatalog.get(player.getSession().getContent().getId()).getWordBank();
 
         if (wordBank.isEmpty()) {
             throw new IllegalStateException("No words available in word bank");
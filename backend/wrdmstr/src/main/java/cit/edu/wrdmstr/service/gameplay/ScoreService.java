@@ -5,6 +5,7 @@ import cit.edu.wrdmstr.entity.PlayerSessionEntity;
 import cit.edu.wrdmstr.entity.ScoreRecordEntity;
 import cit.edu.wrdmstr.repository.PlayerSessionEntityRepository;
 import cit.edu.wrdmstr.repository.ScoreRecordEntityRepository;
+import cit.edu.wrdmstr.service.SessionHistoryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +14,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,15 +25,18 @@ public class ScoreService {
     private final ScoreRecordEntityRepository scoreRepository;
     private final PlayerSessionEntityRepository playerRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final SessionHistoryService sessionHistoryService;
     
     @Autowired
     public ScoreService(
             ScoreRecordEntityRepository scoreRepository,
             PlayerSessionEntityRepository playerRepository,
-            SimpMessagingTemplate messagingTemplate) {
+            SimpMessagingTemplate messagingTemplate,
+            SessionHistoryService sessionHistoryService) {
         this.scoreRepository = scoreRepository;
         this.playerRepository = playerRepository;
         this.messagingTemplate = messagingTemplate;
+        this.sessionHistoryService = sessionHistoryService;
     }
     
     /**
@@ -273,6 +278,9 @@ public class ScoreService {
      */
     public List<Map<String, Object>> getSessionLeaderboard(Long sessionId) {
         List<Object[]> totalScores = scoreRepository.getTotalScoresByUser(sessionId);
+        if (totalScores.isEmpty() && sessionHistoryService.isArchived(sessionId)) {
+            totalScores = sumPoints(sessionHistoryService.getScores(sessionId), s -> s.getUser().getId());
+        }
         
         return totalScores.stream()
             .map(score -> {
@@ -289,6 +297,9 @@ public class ScoreService {
      */
     public List<Map<String, Object>> getPlayerScoreBreakdown(Long sessionId, Long playerId) {
         List<Object[]> breakdown = scoreRepository.getScoreBreakdown(sessionId, playerId);
+        if (breakdown.isEmpty() && sessionHistoryService.isArchived(sessionId)) {
+            breakdown = sumPoints(sessionHistoryService.getScores(sessionId, playerId), ScoreRecordEntity::getReason);
+        }
         
         return breakdown.stream()
             .map(entry -> {
@@ -304,7 +315,16 @@ public class ScoreService {
      * Get all score records for a session
      */
     public List<ScoreRecordEntity> getSessionScoreHistory(Long sessionId) {
-        return scoreRepository.findBySessionIdOrderByTimestampAsc(sessionId);
+        return sessionHistoryService.getScores(sessionId);
+    }
+
+    // The GROUP BY ... SUM(points) rows of an archived session, folded in memory
+    private static List<Object[]> sumPoints(List<ScoreRecordEntity> records, Function<ScoreRecordEntity, Object> key) {
+        return records.stream()
+            .collect(Collectors.groupingBy(key, LinkedHashMap::new, Collectors.summingLong(ScoreRecordEntity::getPoints)))
+            .entrySet().stream()
+            .map(e -> new Object[] { e.getKey(), e.getValue() })
+            .collect(Collectors.toList());
     }
     
     /**
@@ -0,0 +1,273 @@
+package cit.edu.wrdmstr.service.gameplay;
+
+import cit.edu.wrdmstr.service.PerformanceMetricsService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * One serial mailbox per live session. Every command that changes a session's
+ * {@link GameSessionManagerService.GameState} (submit, timer tick, pause/resume, start,
+ * join, end) goes through it, so a session's commands run one at a time and in arrival
+ * order while different sessions run in parallel. Nothing inside a command needs a lock.
+ *
+ * {@link #call} and {@link #execute} wait for the command. When the session is idle and
+ * nothing is queued ahead of it, the command runs on the calling thread, inside the
+ * caller's transaction if it has one; otherwise it is queued and the caller waits its
+ * turn. Other commands never run on a caller's thread, so their failures cannot roll back
+ * the caller's transaction. {@link #tell} never waits and always runs on
+ * {@code gameActorExecutor}. A command sent to the session whose mailbox is already
+ * running on this thread (an event published from inside a command) runs inline.
+ *
+ * Mailboxes are created on the first command and dropped once drained, so ended games
+ * leave nothing behind.
+ */
+@Component
+public class SessionMailboxes {
+    private static final Logger logger = LoggerFactory.getLogger(SessionMailboxes.class);
+
+    // Session whose command this thread is running, for re-entrant sends
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    public record MailboxStats(Long sessionId, int depth, long processed, double avgRunMs, double maxRunMs) {}
+
+    private final TaskExecutor executor;
+    // REQUIRED: a command run on the caller's thread joins the caller's transaction
+    private final TransactionTemplate commandTransaction;
+    private final PerformanceMetricsService performanceMetricsService;
+    private final Map<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    // Run counts outlive the mailbox, which is dropped whenever it drains; cleared when the game ends
+    private final Map<Long, RunStats> runStats = new ConcurrentHashMap<>();
+
+    @Value("${wordmaster.game.mailbox.call-timeout-ms:30000}")
+    private long callTimeoutMs;
+
+    public SessionMailboxes(@Qualifier("gameActorExecutor") TaskExecutor executor,
+                            PlatformTransactionManager transactionManager,
+                            PerformanceMetricsService performanceMetricsService) {
+        this.executor = executor;
+        this.commandTransaction = new TransactionTemplate(transactionManager);
+        this.performanceMetricsService = performanceMetricsService;
+    }
+
+    @PostConstruct
+    void registerGauges() {
+        performanceMetricsService.gauge("wordmaster.game.mailbox.depth", "Commands queued across all session mailboxes",
+                () -> mailboxes.values().stream().mapToInt(m -> m.depth.get()).sum());
+        performanceMetricsService.gauge("wordmaster.game.mailbox.depth.max", "Deepest session mailbox",
+                () -> mailboxes.values().stream().mapToInt(m -> m.depth.get()).max().orElse(0));
+    }
+
+    /**
+     * Run {@code action} as the session's next command and wait for its result. Throws
+     * IllegalStateException if the command has not finished within the call timeout; a
+     * command still queued at that point is dropped.
+     */
+    public <T> T call(Long sessionId, String command, Supplier<T> action) {
+        if (Objects.equals(CURRENT.get(), sessionId)) {
+            return action.get();
+        }
+        Envelope<T> envelope = new Envelope<>(command, action, true);
+        Mailbox mailbox = enqueue(sessionId, envelope);
+        if (mailbox.claim()) {
+            if (mailbox.queue.peek() == envelope) {
+                mailbox.drain(envelope);
+            } else {
+                // Commands queued ahead of this one run on the executor, each in its own transaction
+                executor.execute(() -> mailbox.drain(null));
+            }
+        }
+        try {
+            return envelope.result.get(callTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            envelope.result.cancel(false);
+            throw new IllegalStateException("Session " + sessionId + " did not process " + command
+                    + " within " + callTimeoutMs + " ms");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for session " + sessionId);
+        }
+    }
+
+    /**
+     * {@link #call} for a command with no result.
+     */
+    public void execute(Long sessionId, String command, Runnable action) {
+        call(sessionId, command, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Queue {@code action} as the session's next command without waiting for it.
+     */
+    public void tell(Long sessionId, String command, Runnable action) {
+        if (Objects.equals(CURRENT.get(), sessionId)) {
+            action.run();
+            return;
+        }
+        Mailbox mailbox = enqueue(sessionId, new Envelope<>(command, () -> {
+            action.run();
+            return null;
+        }, false));
+        if (mailbox.claim()) {
+            executor.execute(() -> mailbox.drain(null));
+        }
+    }
+
+    /**
+     * Whether the session has a command running or waiting; the timer skips such sessions
+     * rather than pile ticks up behind a slow submission.
+     */
+    public boolean isBusy(Long sessionId) {
+        Mailbox mailbox = mailboxes.get(sessionId);
+        return mailbox != null && (mailbox.running.get() || mailbox.depth.get() > 0);
+    }
+
+    /**
+     * The game is over or moved to another node; forget its run counts. Counts left behind
+     * by a command that arrived after the game ended are dropped once stale.
+     */
+    public void forget(Long sessionId) {
+        runStats.remove(sessionId);
+        long staleBefore = System.nanoTime() - TimeUnit.HOURS.toNanos(1);
+        runStats.entrySet().removeIf(e -> e.getValue().lastRunAt - staleBefore < 0 && !mailboxes.containsKey(e.getKey()));
+    }
+
+    public List<MailboxStats> snapshot() {
+        List<MailboxStats> stats = new ArrayList<>();
+        runStats.forEach((sessionId, run) -> {
+            Mailbox mailbox = mailboxes.get(sessionId);
+            long processed = run.processed.get();
+            stats.add(new MailboxStats(sessionId, mailbox != null ? mailbox.depth.get() : 0, processed,
+                    processed > 0 ? run.totalRunNanos.get() / processed / 1e6 : 0, run.maxRunNanos.get() / 1e6));
+        });
+        return stats;
+    }
+
+    private Mailbox enqueue(Long sessionId, Envelope<?> envelope) {
+        // compute() keeps this atomic with a drained mailbox being dropped
+        Mailbox mailbox = mailboxes.compute(sessionId, (id, current) -> {
+            Mailbox target = current != null ? current : new Mailbox(id);
+            target.queue.add(envelope);
+            target.depth.incrementAndGet();
+            return target;
+        });
+        runStats.computeIfAbsent(sessionId, id -> new RunStats());
+        return mailbox;
+    }
+
+    private static final class Envelope<T> {
+        final String command;
+        final Supplier<T> action;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final boolean awaited;
+        final long queuedAt = System.nanoTime();
+
+        Envelope(String command, Supplier<T> action, boolean awaited) {
+            this.command = command;
+            this.action = action;
+            this.awaited = awaited;
+        }
+    }
+
+    private static final class RunStats {
+        final AtomicLong processed = new AtomicLong();
+        final AtomicLong totalRunNanos = new AtomicLong();
+        final AtomicLong maxRunNanos = new AtomicLong();
+        volatile long lastRunAt = System.nanoTime();
+    }
+
+    private final class Mailbox {
+        final Long sessionId;
+        final Queue<Envelope<?>> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger depth = new AtomicInteger();
+        final AtomicBoolean running = new AtomicBoolean();
+
+        Mailbox(Long sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        boolean claim() {
+            return running.compareAndSet(false, true);
+        }
+
+        /**
+         * Run queued commands on this thread. A caller draining for its own command (which
+         * is at the head of the queue) stops once that command is done and hands whatever
+         * is left to the executor.
+         */
+        void drain(Envelope<?> until) {
+            Envelope<?> envelope;
+            while ((until == null || !until.result.isDone()) && (envelope = queue.poll()) != null) {
+                depth.decrementAndGet();
+                run(envelope);
+            }
+            running.set(false);
+            if (!queue.isEmpty()) {
+                if (claim()) {
+                    executor.execute(() -> drain(null));
+                }
+                return;
+            }
+            mailboxes.computeIfPresent(sessionId, (id, mailbox) ->
+                    mailbox == this && queue.isEmpty() && !running.get() ? null : mailbox);
+        }
+
+        private <T> void run(Envelope<T> envelope) {
+            if (envelope.result.isDone()) {
+                return; // caller gave up waiting
+            }
+            long started = System.nanoTime();
+            Long previous = CURRENT.get();
+            CURRENT.set(sessionId);
+            try {
+                envelope.result.complete(commandTransaction.execute(status -> envelope.action.get()));
+            } catch (Throwable t) {
+                if (!envelope.awaited) {
+                    // Nobody is waiting to see it
+                    logger.error("Session {} command {} failed", sessionId, envelope.command, t);
+                }
+                envelope.result.completeExceptionally(t);
+            } finally {
+                if (previous != null) CURRENT.set(previous); else CURRENT.remove();
+                long runNanos = System.nanoTime() - started;
+                RunStats run = runStats.get(sessionId);
+                if (run != null) { // null once the game ended in this command
+                    run.processed.incrementAndGet();
+                    run.totalRunNanos.addAndGet(runNanos);
+                    run.maxRunNanos.accumulateAndGet(runNanos, Math::max);
+                    run.lastRunAt = System.nanoTime();
+                }
+                performanceMetricsService.recordMailboxCommand(envelope.command, started - envelope.queuedAt, runNanos);
+            }
+        }
+    }
+}
@@ -4,6 +4,9 @@ import cit.edu.wrdmstr.dto.VocabularyResultDTO;
 import cit.edu.wrdmstr.entity.*;
 import cit.edu.wrdmstr.repository.*;
 import cit.edu.wrdmstr.service.AIService;
+import cit.edu.wrdmstr.service.ContentCatalog;
+import cit.edu.wrdmstr.service.MessageEvaluation;
+import cit.edu.wrdmstr.service.SessionHistoryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,7 +24,6 @@ public class VocabularyCheckerService {
     
     @Autowired private GameSessionEntityRepository gameSessionRepository;
     @Autowired private UserRepository userRepository;
-    @Autowired private ChatMessageEntityRepository chatMessageRepository;
     @Autowired private AIService aiService;
     @Autowired private GrammarCheckerService grammarCheckerService;
     @Autowired private VocabularyResultRepository vocabularyResultRepository;
@@ -29,12 +31,23 @@ public class VocabularyCheckerService {
     @Autowired private VocabularyAnalysisService vocabularyAnalysisService;
     @Autowired private WordBankItemRepository wordBankItemRepository;
     @Autowired private WordDetectionService wordDetectionService; // Add this field with other @Autowired fields
+    @Autowired private ContentCatalog contentCatalog;
+    @Autowired private SessionHistoryService sessionHistoryService;
 
     
      /**
      * Analyze vocabulary usage in a message
      */
     public VocabularyResultDTO checkVocabulary(String text, Long sessionId, Long userId) {
+        return checkVocabulary(text, sessionId, userId, null);
+    }
+
+    /**
+     * Same as {@link #checkVocabulary(String, Long, Long)}, reusing the word-bank matches and
+     * vocabulary feedback of a combined message evaluation when present
+     */
+    public VocabularyResultDTO checkVocabulary(String text, Long sessionId, Long userId,
+                                               MessageEvaluation evaluation) {
         // Existing code to identify used words from word bank
         List<String> usedWords = new ArrayList<>();
         List<String> usedAdvancedWords = new ArrayList<>();
@@ -59,8 +72,8 @@ public class VocabularyCheckerService {
         */
         
         // NEW CODE:
-        List<WordBankItem> wordBankItems = wordBankItemRepository.findByContentData(content.getContentData());
-        List<String> detectedWords = wordDetectionService.detectWordBankUsage(text, wordBankItems);
+        List<WordBankItem> wordBankItems = contentCatalog.get(content.getId()).getWordBank();
+        List<String> detectedWords = wordDetectionService.detectWordBankUsage(text, wordBankItems, evaluation);
 
         for (String detectedWord : detectedWords) {
             usedWords.add(detectedWord);
@@ -91,21 +104,29 @@ public class VocabularyCheckerService {
             }
         }
         
-        // Get AI feedback on vocabulary usage
-        Map<String, Object> request = new HashMap<>();
-        request.put("task", "vocabulary_check");
-        request.put("text", text);
-        request.put("usedWords", usedWords);
-        // Add the analysis results to the AI request
-        request.put("vocabularyAnalysis", analysis);
+        String feedback;
+        if (evaluation != null && evaluation.hasVocabularyFeedback()) {
+            feedback = evaluation.getVocabularyFeedback();
+        } else if (evaluation != null && evaluation.isReused()) {
+            // Verdicts came from a near-duplicate; don't spend a model call on feedback alone
+            feedback = localFeedback(analysis, usedWords, usedAdvancedWords);
+        } else {
+            // Get AI feedback on vocabulary usage
+            Map<String, Object> request = new HashMap<>();
+            request.put("task", "vocabulary_check");
+            request.put("text", text);
+            request.put("usedWords", usedWords);
+            // Add the analysis results to the AI request
+            request.put("vocabularyAnalysis", analysis);
+
+            UserEntity user = userRepository.findById(userId).orElse(null);
+            if (user != null) {
+                request.put("studentName", user.getFname() + " " + user.getLname());
+            }
 
-        UserEntity user = userRepository.findById(userId).orElse(null);
-        if (user != null) {
-            request.put("studentName", user.getFname() + " " + user.getLname());
+            feedback = aiService.callAIModel(request).getResult();
         }
         
-        String feedback = aiService.callAIModel(request).getResult();
-        
         // Calculate score - now include the advanced analysis
         int baseScore = usedWords.size() * 2;
         int advancedScore = usedAdvancedWords.size() * 3;
@@ -130,6 +151,29 @@ public class VocabularyCheckerService {
         return convertToDTO(totalScore, feedback, usedWords, usedAdvancedWords, sessionId, userId);
     }
     
+    /**
+     * Feedback from the local analysis, in the numbered layout of the vocabulary_check task
+     */
+    private String localFeedback(Map<String, Object> analysis, List<String> usedWords,
+                                 List<String> usedAdvancedWords) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("1. VOCABULARY LEVEL: ").append(analysis.getOrDefault("vocabularyLevel", "Basic")).append("\n\n");
+        List<String> strengths = new ArrayList<>();
+        if (!usedWords.isEmpty()) {
+            strengths.add("Used word bank words: " + String.join(", ", usedWords));
+        }
+        if (!usedAdvancedWords.isEmpty()) {
+            strengths.add("Used advanced words: " + String.join(", ", usedAdvancedWords));
+        }
+        if (!strengths.isEmpty()) {
+            sb.append("2. STRENGTHS:\n");
+            for (int i = 0; i < strengths.size(); i++) {
+                sb.append("   2.").append(i + 1).append(". ").append(strengths.get(i)).append('\n');
+            }
+        }
+        return sb.toString().trim();
+    }
+
     /**
      * Calculate vocabulary score based on word usage and complexity
      */
@@ -162,11 +206,11 @@ public class VocabularyCheckerService {
             .orElseThrow(() -> new RuntimeException("Student not found"));
             
         // Get word bank for the session
-        List<WordBankItem> wordBank = wordBankRepository.findByContentData(session.getContent().getContentData());
+        List<WordBankItem> wordBank = contentCatalog.get(session.getContent().getId()).getWordBank();
         
         // Get student's messages to analyze vocabulary usage
-        List<ChatMessageEntity> messages = chatMessageRepository
-            .findBySessionIdAndSenderIdOrderByTimestampAsc(sessionId, studentId);
+        List<ChatMessageEntity> messages = sessionHistoryService
+            .getMessages(sessionId, studentId);
             
         // Identify words the student has already used
         Set<String> usedWords = new HashSet<>();
@@ -2,6 +2,7 @@ package cit.edu.wrdmstr.service.gameplay;
 
 import cit.edu.wrdmstr.entity.WordBankItem;
 import cit.edu.wrdmstr.service.AIService;
+import cit.edu.wrdmstr.service.MessageEvaluation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +26,15 @@ public class WordDetectionService {
      * and accidental awarding of points.
      */
     public List<String> detectWordBankUsage(String text, List<WordBankItem> wordBankItems) {
+        return detectWordBankUsage(text, wordBankItems, null);
+    }
+
+    /**
+     * Same as {@link #detectWordBankUsage(String, List)}, but uses the words found by a
+     * combined message evaluation instead of a separate word_bank_detection call
+     */
+    public List<String> detectWordBankUsage(String text, List<WordBankItem> wordBankItems,
+                                            MessageEvaluation evaluation) {
         if (text == null || text.trim().isEmpty() || wordBankItems == null || wordBankItems.isEmpty()) {
             return Collections.emptyList();
         }
@@ -57,6 +67,12 @@ public class WordDetectionService {
             return new ArrayList<>(foundLocal);
         }
 
+        if (evaluation != null && evaluation.hasWordBankUsage()) {
+            Set<String> combined = new HashSet<>(foundLocal);
+            combined.addAll(evaluation.getWordBankUsed());
+            return new ArrayList<>(combined);
+        }
+
         // 3. Call AI to detect irregular forms and complex variations
         // AI will find: irregular verbs (saw→see, ate→eat, bought→buy), plurals, etc.
         try {
@@ -0,0 +1,209 @@
+package cit.edu.wrdmstr.service.loadtest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Canned answers for the local Gemini stand-in used in load tests. The task is recognised
+ * from the opening of the prompt AIService builds for it, and the answer has the shape
+ * that task's parser expects. Answers depend only on the prompt, so caches in front of
+ * the AI behave as they would against the real model.
+ *
+ * Latency is log-normal, set by its median and p99; a share of calls fails with 500 or
+ * 429 the way Gemini does under load.
+ */
+@Service
+@Profile("loadtest")
+public class GeminiStandIn {
+    private static final Pattern QUOTED_TEXT = Pattern.compile("(?:Message|Text|Analyze): \"(.*?)\"", Pattern.DOTALL);
+    private static final Pattern WORD_BANK = Pattern.compile("Word Bank: \\[?([^\\]\\n]*)\\]?");
+    private static final Pattern ROLE_COUNT = Pattern.compile("Generate (\\d+) simple role names");
+    private static final Pattern SHORT_ANSWER_ITEM = Pattern.compile("(?m)^(\\d+)\\. Question: ");
+    private static final String[] GRAMMAR_TIPS = {
+            "PERFECT | Great sentence, keep it up!",
+            "MINOR_ERRORS | Add a period at the end",
+            "MAJOR_ERRORS | Form a complete sentence"
+    };
+
+    @Value("${wordmaster.ai-stub.latency.median-ms:600}")
+    private long medianMs;
+
+    @Value("${wordmaster.ai-stub.latency.p99-ms:4000}")
+    private long p99Ms;
+
+    @Value("${wordmaster.ai-stub.error-rate:0.01}")
+    private double errorRate;
+
+    @Value("${wordmaster.ai-stub.throttle-rate:0.01}")
+    private double throttleRate;
+
+    public enum Outcome { OK, ERROR, THROTTLED }
+
+    public long sampleLatencyMs() {
+        return sampleLatencyMs(medianMs, p99Ms, ThreadLocalRandom.current().nextGaussian());
+    }
+
+    public Outcome sampleOutcome() {
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < errorRate) return Outcome.ERROR;
+        if (roll < errorRate + throttleRate) return Outcome.THROTTLED;
+        return Outcome.OK;
+    }
+
+    /**
+     * Log-normal latency with the given median and 99th percentile, for a standard normal
+     * sample {@code z}.
+     */
+    static long sampleLatencyMs(long medianMs, long p99Ms, double z) {
+        if (medianMs <= 0) {
+            return 0;
+        }
+        double sigma = Math.log(Math.max(p99Ms, medianMs) / (double) medianMs) / 2.326;
+        return Math.round(medianMs * Math.exp(sigma * z));
+    }
+
+    /**
+     * The AIService task a prompt was built for, or "unknown".
+     */
+    static String classify(String prompt) {
+        if (prompt == null) return "unknown";
+        if (prompt.startsWith("Analyze: \"")) return "grammar_status_check";
+        if (prompt.startsWith("Role: ") && prompt.contains("COHERENT English sentence")) return "role_check";
+        if (prompt.startsWith("Give a single short")) return "role_prompt";
+        if (prompt.contains("collaborative story prompts")) return "story_prompt";
+        if (prompt.startsWith("Generate one vocabulary word")) return "word_generation";
+        if (prompt.startsWith("You are an English language assistant")) return "word_enrichment";
+        if (prompt.startsWith("Generate exactly 20 ENGLISH vocabulary words")) return "content_generation";
+        if (prompt.contains("providing feedback to a Grade 8-9")) return "generate_feedback";
+        if (prompt.startsWith("TASK: Detect word bank usage")) return "word_bank_detection";
+        if (prompt.contains("creating comprehension questions")) return "comprehension_questions";
+        if (prompt.startsWith("Analyze Grade 8-9 Filipino student's English vocabulary")) return "vocabulary_check";
+        if (prompt.startsWith("Evaluate one chat message")) return "message_evaluation";
+        if (prompt.contains("Check if this text is written in ENGLISH")) return "language_validation";
+        if (prompt.startsWith("Grade short answers")) return "evaluate_short_answers";
+        if (ROLE_COUNT.matcher(prompt).find()) return "role_generation";
+        return "unknown";
+    }
+
+    public String answer(String prompt) {
+        String task = classify(prompt);
+        String text = quoted(prompt);
+        int variant = Math.floorMod(text.hashCode(), 20);
+        switch (task) {
+            case "grammar_status_check":
+                // Mostly clean sentences, like a real class
+                return GRAMMAR_TIPS[variant < 14 ? 0 : variant < 19 ? 1 : 2];
+            case "role_check":
+                return variant < 19 ? "APPROPRIATE - fits the scene" : "NOT APPROPRIATE - unrelated to the context";
+            case "role_prompt":
+                return "You are doing well in your role. Share one more idea with your team.";
+            case "story_prompt":
+                return "The team reaches an old bridge near the market. A vendor says the bridge is closed today. "
+                        + "The group must find another way before the rain starts. What should the team do next?";
+            case "word_generation":
+                return "collaborate";
+            case "word_enrichment":
+                return "To work together with others to reach a goal | Example: The students collaborate on the science project.";
+            case "content_generation":
+                return "Words: analyze, compare, describe, observe, predict, evaluate, investigate, collaborate, "
+                        + "consequently, furthermore, significant, substantial, prevalent, intricate, formulate, "
+                        + "interpret, demonstrate, synthesize, juxtapose, paradigm\n"
+                        + "Description: Students explore a busy town market and solve small problems together.\n"
+                        + "Roles:\n- Vendor\n- Shopper\n- Guide\n- Reporter\n- Mayor";
+            case "generate_feedback":
+                return "You worked hard in this game and your sentences were clear. Keep using new words from the "
+                        + "word bank, and check your verb tenses before you send.";
+            case "word_bank_detection": {
+                List<String> used = usedWords(text, wordBank(prompt));
+                return used.isEmpty() ? "none" : String.join(", ", used);
+            }
+            case "comprehension_questions":
+                return comprehensionQuestions();
+            case "vocabulary_check":
+                return "1. VOCABULARY LEVEL: Intermediate\n\n"
+                        + "2. STRENGTHS:\n   2.1. Uses clear everyday words.\n   2.2. Stays on the topic.\n\n"
+                        + "3. AREAS FOR IMPROVEMENT:\n   3.1. Try a more precise verb.\n   3.2. Add a linking word.\n\n"
+                        + "4. TEACHING RECOMMENDATIONS:\n   4.1. Practice synonyms.\n   4.2. Write one longer sentence.";
+            case "message_evaluation":
+                return messageEvaluation(variant, usedWords(text, wordBank(prompt)));
+            case "language_validation":
+                return "ENGLISH";
+            case "evaluate_short_answers": {
+                StringBuilder verdicts = new StringBuilder();
+                Matcher m = SHORT_ANSWER_ITEM.matcher(prompt);
+                while (m.find()) {
+                    verdicts.append(m.group(1)).append(variant < 15 ? ": CORRECT\n" : ": INCORRECT\n");
+                }
+                return verdicts.toString();
+            }
+            case "role_generation": {
+                Matcher m = ROLE_COUNT.matcher(prompt);
+                int count = m.find() ? Integer.parseInt(m.group(1)) : 3;
+                StringBuilder roles = new StringBuilder();
+                for (int i = 1; i <= count; i++) roles.append("- Helper ").append(i).append('\n');
+                return roles.toString();
+            }
+            default:
+                return "OK";
+        }
+    }
+
+    private static String messageEvaluation(int variant, List<String> used) {
+        String status = GRAMMAR_TIPS[variant < 14 ? 0 : variant < 19 ? 1 : 2].split(" \\| ")[0];
+        StringBuilder words = new StringBuilder();
+        for (String word : used) {
+            if (words.length() > 0) words.append(',');
+            words.append('"').append(word.replace("\"", "")).append('"');
+        }
+        return "{\"grammar\":{\"status\":\"" + status + "\",\"tip\":\"Keep your sentences clear\"},"
+                + "\"role\":{\"appropriate\":" + (variant < 19) + ",\"reason\":\"fits the scene\"},"
+                + "\"vocabulary\":{\"level\":\"Intermediate\",\"strengths\":[\"Clear words\",\"Stays on topic\"],"
+                + "\"improvements\":[\"Use a precise verb\",\"Add a linking word\"],"
+                + "\"recommendations\":[\"Practice synonyms\",\"Write a longer sentence\"]},"
+                + "\"wordBankUsed\":[" + words + "]}";
+    }
+
+    private static String comprehensionQuestions() {
+        StringBuilder questions = new StringBuilder();
+        for (int i = 1; i <= 5; i++) {
+            questions.append(i).append(". What was the main goal of the team in part ").append(i).append("?\n")
+                    .append("A. To go home early\n")
+                    .append("B. To solve the problem together\n")
+                    .append("C. To buy food\n")
+                    .append("D. To find a lost pet\n")
+                    .append("Correct Answer: B\n\n");
+        }
+        return questions.toString();
+    }
+
+    private static String quoted(String prompt) {
+        Matcher m = QUOTED_TEXT.matcher(prompt == null ? "" : prompt);
+        return m.find() ? m.group(1) : "";
+    }
+
+    private static List<String> wordBank(String prompt) {
+        Matcher m = WORD_BANK.matcher(prompt);
+        List<String> words = new ArrayList<>();
+        if (m.find()) {
+            for (String word : m.group(1).split(",")) {
+                if (!word.isBlank()) words.add(word.trim());
+            }
+        }
+        return words;
+    }
+
+    static List<String> usedWords(String text, List<String> wordBank) {
+        Set<String> tokens = new HashSet<>(Arrays.asList(text.toLowerCase().split("[^\\p{L}']+")));
+        List<String> used = new ArrayList<>();
+        for (String word : wordBank) {
+            if (tokens.contains(word.toLowerCase())) used.add(word);
+        }
+        return used;
+    }
+}
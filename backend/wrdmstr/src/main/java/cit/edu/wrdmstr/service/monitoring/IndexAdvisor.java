@@ -0,0 +1,155 @@
+package cit.edu.wrdmstr.service.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs EXPLAIN on the SQL behind the hot repository queries and reports every table they
+ * read with a full scan. Meant for a database seeded with realistic data (a load-test run
+ * or a copy of production): on a near-empty database MySQL scans small tables on purpose,
+ * so scans under {@code min-rows} estimated rows are not reported. In CI, set
+ * {@code fail-on-full-scan} so a query shape that loses its index stops the build.
+ *
+ * Findings go to the {@code wordmaster.sql} log as one key=value line each, next to the
+ * query guard's N+1 reports.
+ */
+@Service
+public class IndexAdvisor {
+    private static final Logger logger = LoggerFactory.getLogger(IndexAdvisor.class);
+    private static final Logger sqlLog = LoggerFactory.getLogger("wordmaster.sql");
+
+    /**
+     * One repository query as MySQL sees it, written the way Hibernate generates it: derived
+     * queries on an association join the parent table and filter on its key. Parameters are
+     * named after the sample value bound to them: {@code session}, {@code user}, {@code player}.
+     * IndexAdvisorShapesTest checks every shape against its repository method's SQL.
+     */
+    record QueryShape(String name, String sql, List<String> params) {}
+
+    public record FullScan(String query, String table, String type, long rows) {}
+
+    static final List<QueryShape> SHAPES = List.of(
+        new QueryShape("PlayerSessionEntityRepository.findActiveBySessionIdAndUserId",
+            "SELECT * FROM player_sessions WHERE session_id = ? AND user_id = ? AND is_active = true",
+            List.of("session", "user")),
+        new QueryShape("PlayerSessionEntityRepository.findBySessionId",
+            "SELECT p.* FROM player_sessions p LEFT JOIN game_sessions s ON s.id = p.session_id WHERE s.id = ?",
+            List.of("session")),
+        new QueryShape("ChatMessageEntityRepository.findBySessionIdOrderByTimestampAsc",
+            "SELECT m.* FROM chat_messages m LEFT JOIN game_sessions s ON s.id = m.session_id WHERE s.id = ? "
+                + "ORDER BY m.timestamp", List.of("session")),
+        new QueryShape("ChatMessageEntityRepository.findBySessionIdAndSenderIdOrderByTimestampAsc",
+            "SELECT m.* FROM chat_messages m LEFT JOIN game_sessions s ON s.id = m.session_id "
+                + "LEFT JOIN user_entity u ON u.user_id = m.user_id WHERE s.id = ? AND u.user_id = ? ORDER BY m.timestamp",
+            List.of("session", "user")),
+        new QueryShape("ChatMessageEntityRepository.findByGrammarStatus",
+            "SELECT * FROM chat_messages WHERE session_id = ? AND grammar_status = 'PERFECT'", List.of("session")),
+        new QueryShape("ChatMessageEntityRepository.countByPlayerSessionId",
+            "SELECT COUNT(m.id) FROM chat_messages m LEFT JOIN player_sessions p ON p.id = m.player_session_id "
+                + "WHERE p.id = ?", List.of("player")),
+        new QueryShape("ScoreRecordEntityRepository.getTotalScoresByUser",
+            "SELECT user_id, SUM(points) FROM score_records WHERE session_id = ? GROUP BY user_id", List.of("session")),
+        new QueryShape("ScoreRecordEntityRepository.getScoreBreakdown",
+            "SELECT reason, SUM(points) FROM score_records WHERE session_id = ? AND user_id = ? GROUP BY reason",
+            List.of("session", "user")),
+        new QueryShape("ScoreRecordEntityRepository.findBySessionIdOrderByTimestampAsc",
+            "SELECT r.* FROM score_records r LEFT JOIN game_sessions s ON s.id = r.session_id WHERE s.id = ? "
+                + "ORDER BY r.timestamp", List.of("session")),
+        new QueryShape("StudentProgressRepository.findByStudentIdAndSessionId",
+            "SELECT p.* FROM student_progress p LEFT JOIN user_entity u ON u.user_id = p.student_id "
+                + "LEFT JOIN game_sessions s ON s.id = p.session_id WHERE u.user_id = ? AND s.id = ?",
+            List.of("user", "session")),
+        new QueryShape("SessionSummaryRepository.findByGameSessionId",
+            "SELECT ss.* FROM session_summaries ss LEFT JOIN game_sessions s ON s.id = ss.session_id WHERE s.id = ?",
+            List.of("session")),
+        new QueryShape("GameSessionEntityRepository.findArchivableSessionIds",
+            "SELECT g.id FROM game_sessions g WHERE g.status = 'COMPLETED' AND g.ended_at < NOW() "
+                + "AND NOT EXISTS (SELECT a.session_id FROM session_archives a WHERE a.session_id = g.id) "
+                + "ORDER BY g.ended_at LIMIT 20",
+            List.of()));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${wordmaster.index-advisor.enabled:false}")
+    private boolean enabled;
+
+    @Value("${wordmaster.index-advisor.min-rows:1000}")
+    private long minRows;
+
+    @Value("${wordmaster.index-advisor.fail-on-full-scan:false}")
+    private boolean failOnFullScan;
+
+    public IndexAdvisor(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void adviseOnStartup() {
+        if (!enabled) return;
+        List<FullScan> scans = advise();
+        if (!scans.isEmpty() && failOnFullScan) {
+            throw new IllegalStateException(scans.size() + " repository queries read a table with a full scan; see the wordmaster.sql log");
+        }
+    }
+
+    /**
+     * Explains every known query shape with ids taken from the most recent player session.
+     */
+    public List<FullScan> advise() {
+        List<Map<String, Object>> sample = jdbcTemplate.queryForList(
+            "SELECT id, session_id, user_id FROM player_sessions ORDER BY id DESC LIMIT 1");
+        if (sample.isEmpty()) {
+            logger.info("Index advisor: no player sessions to sample ids from, skipped");
+            return List.of();
+        }
+        Map<String, Object> values = Map.of(
+            "player", sample.get(0).get("id"),
+            "session", sample.get(0).get("session_id"),
+            "user", sample.get(0).get("user_id"));
+
+        List<FullScan> scans = new ArrayList<>();
+        for (QueryShape shape : SHAPES) {
+            Object[] args = shape.params().stream().map(values::get).toArray();
+            try {
+                for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + shape.sql(), args)) {
+                    FullScan scan = fullScan(shape.name(), row, minRows);
+                    if (scan != null) {
+                        scans.add(scan);
+                        sqlLog.warn("event=full_scan query={} table={} type={} rows={} sql=\"{}\"",
+                                scan.query(), scan.table(), scan.type(), scan.rows(), shape.sql());
+                    }
+                }
+            } catch (Exception e) {
+                logger.warn("Index advisor could not explain {}: {}", shape.name(), e.getMessage());
+            }
+        }
+        logger.info("Index advisor: {} query shapes explained, {} full scans", SHAPES.size(), scans.size());
+        return scans;
+    }
+
+    /**
+     * A full table scan ({@code ALL}) or full index scan ({@code index}) over at least
+     * {@code minRows} estimated rows, or null.
+     */
+    static FullScan fullScan(String query, Map<String, Object> explainRow, long minRows) {
+        Object type = explainRow.get("type");
+        if (!"ALL".equals(type) && !"index".equals(type)) {
+            return null;
+        }
+        Object rows = explainRow.get("rows");
+        long estimated = rows instanceof Number n ? n.longValue() : 0;
+        if (estimated < minRows) {
+            return null;
+        }
+        return new FullScan(query, String.valueOf(explainRow.get("table")), (String) type, estimated);
+    }
+}
@@ -0,0 +1,36 @@
+package cit.edu.wrdmstr.service.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements each HTTP request issues, keyed by method and the matched
+ * route pattern (so /api/sessions/42 and /api/sessions/43 share one series).
+ */
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    @Autowired private QueryGuard queryGuard;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryScope scope = queryGuard.begin("http", request.getMethod());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (scope != null) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                queryGuard.finish(scope.renamed(request.getMethod() + " " + (pattern != null ? pattern : "unmapped")));
+            }
+        }
+    }
+}
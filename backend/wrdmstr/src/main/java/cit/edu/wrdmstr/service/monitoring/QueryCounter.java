@@ -0,0 +1,45 @@
+package cit.edu.wrdmstr.service.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Hibernate statement inspector that attributes every statement Hibernate prepares to
+ * the {@link QueryScope}s open on the current thread. Scopes nest: a block measured in
+ * a test inside a request counts toward both. Statements outside any scope are not
+ * counted.
+ */
+public class QueryCounter implements StatementInspector {
+    private static final ThreadLocal<Deque<QueryScope>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public String inspect(String sql) {
+        for (QueryScope scope : SCOPES.get()) {
+            scope.record(sql);
+        }
+        return sql;
+    }
+
+    public static QueryScope open(String kind, String name) {
+        QueryScope scope = new QueryScope(kind, name);
+        SCOPES.get().push(scope);
+        return scope;
+    }
+
+    /**
+     * Innermost open scope on this thread, or null.
+     */
+    public static QueryScope current() {
+        return SCOPES.get().peek();
+    }
+
+    static void close(QueryScope scope) {
+        Deque<QueryScope> scopes = SCOPES.get();
+        scopes.remove(scope);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package cit.edu.wrdmstr.service.monitoring;
+
+import cit.edu.wrdmstr.service.PerformanceMetricsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * Opens and closes statement-counting scopes for HTTP requests, STOMP messages and
+ * scheduled tasks. Each finished scope is recorded as a metric; scopes that repeat one
+ * statement shape or exceed the statement budget are written to the {@code wordmaster.sql}
+ * log as one key=value line per suspect.
+ */
+@Service
+public class QueryGuard {
+    private static final Logger logger = LoggerFactory.getLogger(QueryGuard.class);
+    // Separate logger so the slow-query log can be routed on its own
+    private static final Logger sqlLog = LoggerFactory.getLogger("wordmaster.sql");
+
+    @Autowired
+    private PerformanceMetricsService performanceMetricsService;
+
+    @Value("${wordmaster.query-guard.enabled:true}")
+    private boolean enabled;
+
+    // Same statement shape this many times in one unit of work is reported as N+1
+    @Value("${wordmaster.query-guard.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Value("${wordmaster.query-guard.statement-budget:40}")
+    private int statementBudget;
+
+    public QueryScope begin(String kind, String name) {
+        return enabled ? QueryCounter.open(kind, name) : null;
+    }
+
+    public void finish(QueryScope scope) {
+        if (scope == null) {
+            return;
+        }
+        scope.close();
+        try {
+            performanceMetricsService.recordStatements(scope.getKind(), scope.getName(), scope.getStatementCount());
+            report(scope);
+        } catch (Exception e) {
+            logger.debug("Could not record statement count for {} {}: {}", scope.getKind(), scope.getName(), e.getMessage());
+        }
+    }
+
+    private void report(QueryScope scope) {
+        Map<String, Integer> suspects = scope.getRepeatedShapes(repeatThreshold);
+        for (Map.Entry<String, Integer> suspect : suspects.entrySet()) {
+            sqlLog.warn("event=n_plus_one kind={} name=\"{}\" statements={} repeats={} elapsedMs={} sql=\"{}\"",
+                    scope.getKind(), scope.getName(), scope.getStatementCount(), suspect.getValue(),
+                    scope.getElapsedMs(), suspect.getKey());
+        }
+        if (suspects.isEmpty() && scope.getStatementCount() > statementBudget) {
+            sqlLog.warn("event=over_budget kind={} name=\"{}\" statements={} budget={} elapsedMs={}",
+                    scope.getKind(), scope.getName(), scope.getStatementCount(), statementBudget, scope.getElapsedMs());
+        }
+    }
+}
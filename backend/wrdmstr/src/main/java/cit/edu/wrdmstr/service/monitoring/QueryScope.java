@@ -0,0 +1,107 @@
+package cit.edu.wrdmstr.service.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL statements issued on one thread while a unit of work (HTTP request, STOMP message,
+ * scheduled task, or a block under test) was running. Statements are grouped by shape -
+ * the SQL with literals and IN-list lengths folded - so the same query run once per row
+ * shows up as one shape with a high count.
+ *
+ * Also the test-time API for pinning a code path to a statement budget:
+ * <pre>
+ * try (QueryScope scope = QueryCounter.open("test", "getGameState")) {
+ *     gameSessionManagerService.getGameState(sessionId);
+ *     scope.assertAtMost(6);
+ *     scope.assertNoRepeatsAbove(1);
+ * }
+ * </pre>
+ */
+public final class QueryScope implements AutoCloseable {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private final String kind;
+    private String name;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+    private int statements;
+    private boolean closed;
+
+    QueryScope(String kind, String name) {
+        this.kind = kind;
+        this.name = name;
+    }
+
+    // The route of an HTTP request is only known once it has been handled
+    QueryScope renamed(String name) {
+        this.name = name;
+        return this;
+    }
+
+    void record(String sql) {
+        statements++;
+        shapes.merge(shape(sql), 1, Integer::sum);
+    }
+
+    public String getKind() { return kind; }
+    public String getName() { return name; }
+    public int getStatementCount() { return statements; }
+    public long getElapsedMs() { return (System.nanoTime() - startNanos) / 1_000_000; }
+
+    /**
+     * Shapes run at least {@code times} times, most repeated first. With a threshold above
+     * one these are the N+1 suspects.
+     */
+    public Map<String, Integer> getRepeatedShapes(int times) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.entrySet().stream()
+                .filter(e -> e.getValue() >= times)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(e -> repeated.put(e.getKey(), e.getValue()));
+        return repeated;
+    }
+
+    public void assertAtMost(int budget) {
+        if (statements > budget) {
+            throw new AssertionError(name + " issued " + statements + " SQL statements, budget is " + budget
+                    + describe(getRepeatedShapes(1)));
+        }
+    }
+
+    public void assertNoRepeatsAbove(int times) {
+        Map<String, Integer> repeated = getRepeatedShapes(times + 1);
+        if (!repeated.isEmpty()) {
+            throw new AssertionError(name + " repeated a statement more than " + times + " time(s)"
+                    + describe(repeated));
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            QueryCounter.close(this);
+        }
+    }
+
+    static String shape(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim().toLowerCase();
+    }
+
+    private static String describe(Map<String, Integer> shapes) {
+        StringBuilder text = new StringBuilder();
+        shapes.forEach((shape, count) -> text.append("\n  ").append(count).append("x ").append(shape));
+        return text.toString();
+    }
+}
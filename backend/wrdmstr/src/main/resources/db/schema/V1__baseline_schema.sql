@@ -0,0 +1,517 @@
+-- Tables as the entities map them, for a new database. Databases that Hibernate's schema
+-- update built before migrations existed already have these and are baselined at this
+-- version, so they skip it. Later table and column changes are new versions; Hibernate only
+-- validates the schema against the entities.
+
+CREATE TABLE chat_message_details (
+    id BIGINT NOT NULL,
+    grammar_feedback TEXT,
+    vocabulary_feedback TEXT,
+    word_variations TEXT,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE chat_messages (
+    contains_word_bomb BIT,
+    role_appropriate BIT,
+    vocabulary_score INTEGER,
+    detail_id BIGINT,
+    id BIGINT NOT NULL,
+    player_session_id BIGINT,
+    session_id BIGINT NOT NULL,
+    timestamp DATETIME(6) NOT NULL,
+    user_id BIGINT NOT NULL,
+    content TEXT NOT NULL,
+    grammar_status ENUM ('MAJOR_ERRORS','MINOR_ERRORS','PENDING','PERFECT'),
+    word_used TEXT,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE classroom_students (
+    classroom_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    PRIMARY KEY (classroom_id, student_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE classroom_entity (
+    deleted_at DATETIME(6),
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    teacher_id BIGINT,
+    description VARCHAR(255),
+    enrollment_code VARCHAR(255),
+    name VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE comprehension_results (
+    comprehension_percentage FLOAT(53),
+    created_at DATETIME(6),
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    session_id BIGINT,
+    student_id BIGINT,
+    comprehension_answers TEXT,
+    comprehension_questions TEXT,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE content_data (
+    content_id BIGINT,
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    background_image LONGTEXT,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE content_entity (
+    is_published BIT,
+    classroom_id BIGINT,
+    content_id BIGINT NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6) NOT NULL,
+    deleted_at DATETIME(6),
+    updated_at DATETIME(6),
+    user_id BIGINT NOT NULL,
+    description VARCHAR(1000),
+    title VARCHAR(255) NOT NULL,
+    background_theme TINYTEXT,
+    PRIMARY KEY (content_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE game_config (
+    students_per_group INTEGER,
+    time_per_turn INTEGER,
+    turn_cycles INTEGER,
+    content_id BIGINT,
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE game_session_events (
+    created_at BIGINT NOT NULL,
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    seq BIGINT NOT NULL,
+    session_id BIGINT NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    payload TEXT,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE game_sessions (
+    current_cycle INTEGER,
+    current_turn INTEGER,
+    time_per_turn INTEGER,
+    total_turns INTEGER,
+    content_id BIGINT NOT NULL,
+    current_player_id BIGINT,
+    ended_at DATETIME(6),
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    started_at DATETIME(6),
+    teacher_id BIGINT,
+    session_code VARCHAR(255) NOT NULL,
+    status ENUM ('ACTIVE','COMPLETED','PENDING','WAITING'),
+    story_prompts TEXT,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE game_state_checkpoints (
+    configured_turn_cycles INTEGER,
+    current_cycle INTEGER,
+    current_turn INTEGER,
+    paused BIT,
+    paused_remaining_time INTEGER,
+    time_per_turn INTEGER,
+    total_turns INTEGER,
+    current_player_id BIGINT,
+    last_event_seq BIGINT,
+    last_turn_time BIGINT,
+    session_id BIGINT NOT NULL,
+    updated_at DATETIME(6),
+    owner_node VARCHAR(255),
+    status VARCHAR(255) NOT NULL,
+    story_prompt TEXT,
+    used_words TEXT,
+    PRIMARY KEY (session_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE grammar_results (
+    grammar_accuracy FLOAT(53),
+    grammar_streak INTEGER,
+    major_errors_count INTEGER,
+    minor_errors_count INTEGER,
+    perfect_count INTEGER,
+    created_at DATETIME(6) NOT NULL,
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    session_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE id_sequences (
+    next_val BIGINT,
+    sequence_name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (sequence_name)
+) ENGINE=InnoDB;
+
+-- Pooled id generators; IdSequenceInitializer raises them past ids already in the tables
+INSERT INTO id_sequences (sequence_name, next_val) VALUES ('score_records', 0);
+INSERT INTO id_sequences (sequence_name, next_val) VALUES ('vocabulary_results', 0);
+INSERT INTO id_sequences (sequence_name, next_val) VALUES ('chat_messages', 0);
+INSERT INTO id_sequences (sequence_name, next_val) VALUES ('progress_snapshots', 0);
+INSERT INTO id_sequences (sequence_name, next_val) VALUES ('player_cards', 0);
+
+CREATE TABLE message_reactions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    message_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    emoji VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE otp_verification (
+    verified BIT NOT NULL,
+    expiry DATETIME(6),
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    email VARCHAR(255),
+    otp VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE outbound_mail (
+    attempts INTEGER NOT NULL,
+    claimed_at DATETIME(6),
+    created_at DATETIME(6) NOT NULL,
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    next_attempt_at DATETIME(6) NOT NULL,
+    sent_at DATETIME(6),
+    last_error VARCHAR(500),
+    html_body TEXT,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    text_body TEXT,
+    status ENUM ('FAILED','PENDING','SENDING','SENT') NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE password_reset_tokens (
+    expiry_date DATETIME(6),
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    token VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE player_cards (
+    activated BIT NOT NULL,
+    used BIT NOT NULL,
+    card_id BIGINT NOT NULL,
+    id BIGINT NOT NULL,
+    player_session_id BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE player_sessions (
+    grammar_streak INTEGER,
+    group_number INTEGER,
+    is_active BIT NOT NULL,
+    is_cards_drawn BIT NOT NULL,
+    total_score INTEGER,
+    word_bomb_used BIT,
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    role_id BIGINT,
+    session_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    avatar VARCHAR(255),
+    current_word_bomb VARCHAR(255),
+    profile_picture LONGTEXT,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE powerup_cards (
+    points_bonus INTEGER NOT NULL,
+    content_data_id BIGINT,
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    description TEXT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    rarity VARCHAR(255) NOT NULL,
+    trigger_condition VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE progress_snapshots (
+    metric_value FLOAT(53),
+    id BIGINT NOT NULL,
+    progress_id BIGINT NOT NULL,
+    recorded_at DATETIME(6) NOT NULL,
+    metric_type VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE roles (
+    content_data_id BIGINT,
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE score_records (
+    points INTEGER NOT NULL,
+    id BIGINT NOT NULL,
+    session_id BIGINT NOT NULL,
+    timestamp DATETIME(6) NOT NULL,
+    user_id BIGINT NOT NULL,
+    reason VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE session_archives (
+    message_count INTEGER NOT NULL,
+    score_count INTEGER NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    session_id BIGINT NOT NULL,
+    messages LONGBLOB,
+    scores LONGBLOB,
+    PRIMARY KEY (session_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE session_leases (
+    acquired_at DATETIME(6),
+    expires_at DATETIME(6) NOT NULL,
+    session_id BIGINT NOT NULL,
+    owner_node VARCHAR(255) NOT NULL,
+    PRIMARY KEY (session_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE session_summaries (
+    avg_response_time FLOAT(53),
+    comprehension_score FLOAT(53),
+    final_score INTEGER,
+    grammar_streak INTEGER,
+    major_errors_count INTEGER,
+    message_count INTEGER,
+    minor_errors_count INTEGER,
+    partial_results BIT NOT NULL,
+    pending_count INTEGER,
+    perfect_count INTEGER,
+    progress_comprehension_score FLOAT(53),
+    progress_grammar_accuracy FLOAT(53),
+    role_appropriate_count INTEGER,
+    turn_completion_rate FLOAT(53),
+    vocabulary_score INTEGER,
+    word_bank_usage_count INTEGER,
+    word_bomb_usage_rate FLOAT(53),
+    created_at DATETIME(6) NOT NULL,
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    session_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    role_name VARCHAR(255),
+    vocabulary_level VARCHAR(255),
+    used_words TEXT,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE student_progress (
+    avg_response_time FLOAT(53),
+    comprehension_score FLOAT(53),
+    grammar_accuracy FLOAT(53),
+    messages_sent INTEGER,
+    perfect_grammar_count INTEGER,
+    total_messages INTEGER,
+    total_perfect_grammar INTEGER,
+    total_response_time FLOAT(53),
+    total_score FLOAT(53),
+    total_turns_taken INTEGER,
+    total_word_bombs_used INTEGER,
+    total_words_used INTEGER,
+    turn_completion_rate FLOAT(53),
+    word_bomb_usage_rate FLOAT(53),
+    words_used INTEGER,
+    created_at DATETIME(6) NOT NULL,
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    session_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE student_enrollment_entity (
+    enrollment_date DATE,
+    classroom_id BIGINT,
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    student_id BIGINT,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE teacher_feedback (
+    comprehension_percentage FLOAT(53),
+    comprehension_score INTEGER,
+    language_use_score INTEGER,
+    participation_score INTEGER,
+    role_adherence_score INTEGER,
+    vocabulary_score INTEGER,
+    created_at DATETIME(6),
+    game_session_id BIGINT,
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    student_id BIGINT,
+    teacher_id BIGINT,
+    updated_at DATETIME(6),
+    ai_suggested_feedback TEXT,
+    comprehension_answers TEXT,
+    comprehension_questions TEXT,
+    feedback TEXT,
+    overall_grade VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE user_entity (
+    active BOOLEAN DEFAULT TRUE NOT NULL,
+    token_version INT DEFAULT 0 NOT NULL,
+    verified BOOLEAN DEFAULT FALSE NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    user_id BIGINT NOT NULL AUTO_INCREMENT,
+    email VARCHAR(255),
+    fname VARCHAR(255),
+    lname VARCHAR(255),
+    password VARCHAR(255),
+    role VARCHAR(255),
+    profile_picture LONGTEXT,
+    PRIMARY KEY (user_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE vocabulary_results (
+    vocabulary_score INTEGER,
+    created_at DATETIME(6) NOT NULL,
+    id BIGINT NOT NULL,
+    session_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    feedback TEXT,
+    used_advanced_words TEXT,
+    used_words TEXT,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE waiting_room_presence (
+    content_id BIGINT NOT NULL,
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    joined_at DATETIME(6) NOT NULL,
+    user_id BIGINT NOT NULL,
+    display_name VARCHAR(255),
+    node_id VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE word_bank_items (
+    complexity INTEGER NOT NULL,
+    content_data_id BIGINT,
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    description TEXT,
+    example_usage TEXT,
+    rarity VARCHAR(255) NOT NULL,
+    word VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_chat_session_time ON chat_messages (session_id, timestamp);
+
+CREATE INDEX idx_chat_session_sender_time ON chat_messages (session_id, user_id, timestamp);
+
+CREATE INDEX idx_chat_session_status ON chat_messages (session_id, grammar_status);
+
+ALTER TABLE chat_messages ADD CONSTRAINT UK9vwk6xygpa732gdtisqdahp3g UNIQUE (detail_id);
+
+ALTER TABLE content_data ADD CONSTRAINT UKatmvelg51nrwf9b8pbc4lhsof UNIQUE (content_id);
+
+ALTER TABLE game_config ADD CONSTRAINT UK7ggkvh0jb3cr1ttkmw37cjq31 UNIQUE (content_id);
+
+CREATE INDEX idx_game_event_session_seq ON game_session_events (session_id, seq);
+
+CREATE INDEX idx_outbound_mail_due ON outbound_mail (status, next_attempt_at);
+
+CREATE INDEX idx_session_summary_partial ON session_summaries (partial_results);
+
+ALTER TABLE session_summaries ADD CONSTRAINT uk_session_summary_student UNIQUE (session_id, student_id);
+
+ALTER TABLE waiting_room_presence ADD CONSTRAINT uk_waiting_room_user UNIQUE (content_id, user_id);
+
+ALTER TABLE chat_messages ADD CONSTRAINT FK4ljjhpeuermnisx6w22540qxf FOREIGN KEY (player_session_id) REFERENCES player_sessions (id);
+
+ALTER TABLE chat_messages ADD CONSTRAINT FKesycgl8ilmly1cu4l33yxd7fy FOREIGN KEY (user_id) REFERENCES user_entity (user_id);
+
+ALTER TABLE chat_messages ADD CONSTRAINT FKbnj1moe7gh1oj090wsnn4rxf3 FOREIGN KEY (session_id) REFERENCES game_sessions (id);
+
+ALTER TABLE classroom_students ADD CONSTRAINT FK5svkrqp6pul4y5gkokp22h19v FOREIGN KEY (student_id) REFERENCES user_entity (user_id);
+
+ALTER TABLE classroom_students ADD CONSTRAINT FKndhqhgtd57rfdsibi6nv260v7 FOREIGN KEY (classroom_id) REFERENCES classroom_entity (id);
+
+ALTER TABLE classroom_entity ADD CONSTRAINT FK23l8e6b4wg5rs3fe62l1ethyt FOREIGN KEY (teacher_id) REFERENCES user_entity (user_id);
+
+ALTER TABLE comprehension_results ADD CONSTRAINT FKru7026r6ugausd2buja6g66aj FOREIGN KEY (session_id) REFERENCES game_sessions (id);
+
+ALTER TABLE comprehension_results ADD CONSTRAINT FKto74lild0w6ktm81lx5ptox4k FOREIGN KEY (student_id) REFERENCES user_entity (user_id);
+
+ALTER TABLE content_data ADD CONSTRAINT FKnlgk9migvgp3gyrvvlfqjpqym FOREIGN KEY (content_id) REFERENCES content_entity (content_id);
+
+ALTER TABLE content_entity ADD CONSTRAINT FKmlevdsx0hejvjudb6dsfw3ugi FOREIGN KEY (classroom_id) REFERENCES classroom_entity (id);
+
+ALTER TABLE content_entity ADD CONSTRAINT FKe4t1bwu9im540m8oytcyx6rtx FOREIGN KEY (user_id) REFERENCES user_entity (user_id);
+
+ALTER TABLE game_config ADD CONSTRAINT FKhweeb0xxvmymr3v02ijjeoo83 FOREIGN KEY (content_id) REFERENCES content_entity (content_id);
+
+ALTER TABLE game_sessions ADD CONSTRAINT FKcwr3x8hs9ydwkt4snh7aogcw0 FOREIGN KEY (content_id) REFERENCES content_entity (content_id);
+
+ALTER TABLE game_sessions ADD CONSTRAINT FKeily1gswsit7i60qqdh7bud05 FOREIGN KEY (current_player_id) REFERENCES player_sessions (id);
+
+ALTER TABLE game_sessions ADD CONSTRAINT FK2ghew892nr9jyx1pn28uewiaw FOREIGN KEY (teacher_id) REFERENCES user_entity (user_id);
+
+ALTER TABLE grammar_results ADD CONSTRAINT FKds4mhk7t18w4eh2datbvuarr1 FOREIGN KEY (session_id) REFERENCES game_sessions (id);
+
+ALTER TABLE grammar_results ADD CONSTRAINT FK7c8mclm084l743y37l9jjiw50 FOREIGN KEY (student_id) REFERENCES user_entity (user_id);
+
+ALTER TABLE message_reactions ADD CONSTRAINT FKl0wgr4m59s18ykhnsp6a55icw FOREIGN KEY (message_id) REFERENCES chat_messages (id);
+
+ALTER TABLE message_reactions ADD CONSTRAINT FKqypx3er68prjfa49uy1q8ts4u FOREIGN KEY (user_id) REFERENCES user_entity (user_id);
+
+ALTER TABLE password_reset_tokens ADD CONSTRAINT FKmgf31gu99o6ocy2w6kib7s6eq FOREIGN KEY (user_id) REFERENCES user_entity (user_id);
+
+ALTER TABLE player_cards ADD CONSTRAINT FK437nx2lk6xune4fhug08j828g FOREIGN KEY (card_id) REFERENCES powerup_cards (id);
+
+ALTER TABLE player_cards ADD CONSTRAINT FK6kghuifl2g3h5wvbhpqloejp8 FOREIGN KEY (player_session_id) REFERENCES player_sessions (id);
+
+ALTER TABLE player_sessions ADD CONSTRAINT FKbkhrcgj5apmdqd4kuk5f3ksug FOREIGN KEY (role_id) REFERENCES roles (id);
+
+ALTER TABLE player_sessions ADD CONSTRAINT FKr4gmhxfpb2pqh5q2xmonk8ft2 FOREIGN KEY (session_id) REFERENCES game_sessions (id);
+
+ALTER TABLE player_sessions ADD CONSTRAINT FKm0i8gffpju36agm01gy6hjcub FOREIGN KEY (user_id) REFERENCES user_entity (user_id);
+
+ALTER TABLE powerup_cards ADD CONSTRAINT FKnlw3kv91nkjmjsjb2mr56gq1e FOREIGN KEY (content_data_id) REFERENCES content_data (id);
+
+ALTER TABLE progress_snapshots ADD CONSTRAINT FKcyjjtpkoydv8i5csd589qdfpw FOREIGN KEY (progress_id) REFERENCES student_progress (id);
+
+ALTER TABLE roles ADD CONSTRAINT FK4m76mssaw9x1ei59l3o87fkvl FOREIGN KEY (content_data_id) REFERENCES content_data (id);
+
+ALTER TABLE score_records ADD CONSTRAINT FKel9ll3ixa19hya9y29pvd0iuy FOREIGN KEY (session_id) REFERENCES game_sessions (id);
+
+ALTER TABLE score_records ADD CONSTRAINT FKd5x689ysocdx3n1tf2jd5o2xs FOREIGN KEY (user_id) REFERENCES user_entity (user_id);
+
+ALTER TABLE session_summaries ADD CONSTRAINT FKsxk3yfx5070wm2f2kr4tkaqhn FOREIGN KEY (session_id) REFERENCES game_sessions (id);
+
+ALTER TABLE session_summaries ADD CONSTRAINT FKh42i0yx1srgjkrj122nylyu5 FOREIGN KEY (student_id) REFERENCES user_entity (user_id);
+
+ALTER TABLE student_progress ADD CONSTRAINT FKkqxf66xves3hp6bpuxjc8j3eu FOREIGN KEY (session_id) REFERENCES game_sessions (id);
+
+ALTER TABLE student_progress ADD CONSTRAINT FKjdqbxjopltv525kh3t8q5f3kh FOREIGN KEY (student_id) REFERENCES user_entity (user_id);
+
+ALTER TABLE student_enrollment_entity ADD CONSTRAINT FKl0t30x3ewnhv1uc5pj5ubbinw FOREIGN KEY (classroom_id) REFERENCES classroom_entity (id);
+
+ALTER TABLE student_enrollment_entity ADD CONSTRAINT FKcxhcb51fbq1hpbjkd1axoctxw FOREIGN KEY (student_id) REFERENCES user_entity (user_id);
+
+ALTER TABLE teacher_feedback ADD CONSTRAINT FKgxwsnx0x2hvb456cabvhcudot FOREIGN KEY (game_session_id) REFERENCES game_sessions (id);
+
+ALTER TABLE teacher_feedback ADD CONSTRAINT FKf0bd2f1035962vn9jgyj1de20 FOREIGN KEY (student_id) REFERENCES user_entity (user_id);
+
+ALTER TABLE teacher_feedback ADD CONSTRAINT FKgghdtw0upacxqb5m5n1w9qksa FOREIGN KEY (teacher_id) REFERENCES user_entity (user_id);
+
+ALTER TABLE vocabulary_results ADD CONSTRAINT FKgril9100fnvu16td82k3m4630 FOREIGN KEY (session_id) REFERENCES game_sessions (id);
+
+ALTER TABLE vocabulary_results ADD CONSTRAINT FKsespng1983jk08dv2pckyqtg3 FOREIGN KEY (student_id) REFERENCES user_entity (user_id);
+
+ALTER TABLE waiting_room_presence ADD CONSTRAINT FK41vg2vbwr6fj4v28ylmoheu40 FOREIGN KEY (user_id) REFERENCES user_entity (user_id);
+
+ALTER TABLE word_bank_items ADD CONSTRAINT FK34ij6hpids0vllhamj9akjg52 FOREIGN KEY (content_data_id) REFERENCES content_data (id);
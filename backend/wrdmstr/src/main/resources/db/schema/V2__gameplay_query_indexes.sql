@@ -0,0 +1,17 @@
+-- Composite indexes for the gameplay and analytics query shapes. Tables and columns still
+-- come from Hibernate's schema update; version 1 is the schema as it stood before these.
+
+-- PlayerSessionEntityRepository.findActiveBySessionIdAndUserId / findBySessionIdAndUserId
+CREATE INDEX idx_player_session_user_active ON player_sessions (session_id, user_id, is_active);
+
+-- ScoreRecordEntityRepository.getScoreBreakdown / findBySessionIdAndUserId
+CREATE INDEX idx_score_session_user_reason ON score_records (session_id, user_id, reason);
+
+-- ScoreRecordEntityRepository.findBySessionIdOrderByTimestampAsc
+CREATE INDEX idx_score_session_time ON score_records (session_id, timestamp);
+
+-- StudentProgressRepository.findByStudentIdAndSessionId / findByStudentId
+CREATE INDEX idx_progress_student_session ON student_progress (student_id, session_id);
+
+-- GameSessionEntityRepository.findArchivableSessionIds
+CREATE INDEX idx_game_session_status_ended ON game_sessions (status, ended_at);
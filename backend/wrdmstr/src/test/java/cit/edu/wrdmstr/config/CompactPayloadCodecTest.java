@@ -0,0 +1,98 @@
+package cit.edu.wrdmstr.config;
+
+import cit.edu.wrdmstr.service.PerformanceMetricsService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+public class CompactPayloadCodecTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CompactPayloadCodec codec = newCodec();
+
+    private CompactPayloadCodec newCodec() {
+        PerformanceMetricsService metrics = new PerformanceMetricsService();
+        metrics.setMeterRegistry(registry);
+        return new CompactPayloadCodec(metrics);
+    }
+
+    private void connect(String sessionId, boolean nativeTransport, String encoding) {
+        StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+        connect.setSessionId(sessionId);
+        Map<String, Object> attributes = new HashMap<>();
+        if (nativeTransport) {
+            attributes.put(CompactPayloadCodec.NATIVE_TRANSPORT_ATTRIBUTE, Boolean.TRUE);
+        }
+        connect.setSessionAttributes(attributes);
+        if (encoding != null) {
+            connect.setNativeHeader(CompactPayloadCodec.ENCODING_HEADER, encoding);
+        }
+        connect.setLeaveMutable(true);
+        codec.negotiation().preSend(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()), null);
+    }
+
+    private Message<byte[]> broadcast(String sessionId, byte[] payload) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setDestination("/topic/game/1/state");
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(payload, headers.getMessageHeaders());
+    }
+
+    @Test
+    void negotiatedSessionsReceiveCborAndOthersJson() throws Exception {
+        connect("cbor", true, "cbor");
+        connect("json", true, null);
+        connect("sockjs", false, "cbor");
+        byte[] json = "{\"timeRemaining\":42,\"wordVariations\":[\"run\",\"ran\"]}".getBytes(StandardCharsets.UTF_8);
+
+        Message<?> compact = codec.preSend(broadcast("cbor", json), null);
+        JsonNode decoded = new CBORMapper().readTree((byte[]) compact.getPayload());
+        Assertions.assertEquals(new ObjectMapper().readTree(json), decoded);
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(compact);
+        Assertions.assertEquals(MimeTypeUtils.APPLICATION_OCTET_STREAM, accessor.getContentType());
+        Assertions.assertEquals("cbor", accessor.getFirstNativeHeader(CompactPayloadCodec.ENCODING_HEADER));
+
+        Assertions.assertSame(json, codec.preSend(broadcast("json", json), null).getPayload());
+        Assertions.assertSame(json, codec.preSend(broadcast("sockjs", json), null).getPayload());
+    }
+
+    @Test
+    void sharedBroadcastIsTranscodedOnce() {
+        connect("a", true, "cbor");
+        connect("b", true, "cbor");
+        byte[] json = "{\"grammarFeedback\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+
+        Object first = codec.preSend(broadcast("a", json), null).getPayload();
+        Object second = codec.preSend(broadcast("b", json), null).getPayload();
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, registry.get("wordmaster.stomp.payload.size").tag("encoding", "cbor").summary().count());
+    }
+
+    @Test
+    void disconnectForgetsTheEncoding() {
+        connect("a", true, "cbor");
+        StompHeaderAccessor disconnect = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        disconnect.setSessionId("a");
+        disconnect.setLeaveMutable(true);
+        codec.negotiation().preSend(MessageBuilder.createMessage(new byte[0], disconnect.getMessageHeaders()), null);
+
+        byte[] json = "{}".getBytes(StandardCharsets.UTF_8);
+        Assertions.assertSame(json, codec.preSend(broadcast("a", json), null).getPayload());
+    }
+}
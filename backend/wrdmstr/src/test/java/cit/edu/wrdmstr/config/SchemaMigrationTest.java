@@ -0,0 +1,52 @@
+package cit.edu.wrdmstr.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A new database gets its tables from the migrations alone, so they must hold every table
+ * and column the entities map. H2 reports MySQL's column types differently from Hibernate's
+ * expectations, so names and nullability are compared against the schema Hibernate creates.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:entityschema;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class SchemaMigrationTest {
+
+    @Autowired private JdbcTemplate entitySchema;
+
+    private static Set<String> columns(JdbcTemplate jdbc) {
+        List<String> rows = jdbc.query("SELECT table_name, column_name, is_nullable FROM information_schema.columns "
+                        + "WHERE table_schema = 'public' AND table_name <> 'flyway_schema_history'",
+                (rs, i) -> rs.getString(1) + "." + rs.getString(2) + (rs.getString(3).equals("NO") ? " not null" : ""));
+        return new TreeSet<>(rows);
+    }
+
+    @Test
+    void migrationsBuildTheTablesTheEntitiesMap() {
+        DataSource migrated = new DriverManagerDataSource(
+                "jdbc:h2:mem:migratedschema;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(migrated).locations(SchemaMigrationConfig.LOCATION).load().migrate();
+        JdbcTemplate migratedSchema = new JdbcTemplate(migrated);
+
+        assertEquals(columns(entitySchema), columns(migratedSchema));
+        assertEquals(Set.copyOf(IdSequenceInitializer.POOLED_TABLES), Set.copyOf(migratedSchema.queryForList(
+                "SELECT sequence_name FROM id_sequences", String.class)));
+    }
+}
@@ -0,0 +1,136 @@
+package cit.edu.wrdmstr.config;
+
+import cit.edu.wrdmstr.service.PerformanceMetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SlowConsumerGuardTest {
+
+    private final List<Message<?>> redelivered = new ArrayList<>();
+    private final SlowConsumerGuard guard = newGuard();
+
+    private SlowConsumerGuard newGuard() {
+        PerformanceMetricsService metrics = new PerformanceMetricsService();
+        metrics.setMeterRegistry(new SimpleMeterRegistry());
+        SlowConsumerGuard guard = new SlowConsumerGuard(metrics, List.of("/topic/game/*/timer"), 2);
+        guard.setRedeliveryChannel((message, timeout) -> redelivered.add(message));
+        guard.sessionStarted("s1");
+        return guard;
+    }
+
+    private Message<byte[]> message(String destination, String body) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId("s1");
+        headers.setDestination(destination);
+        return MessageBuilder.createMessage(body.getBytes(StandardCharsets.UTF_8), headers.getMessageHeaders());
+    }
+
+    private Message<byte[]> stateChange(String destination, String body) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId("s1");
+        headers.setDestination(destination);
+        headers.setNativeHeader(SlowConsumerGuard.COALESCE_HEADER, "false");
+        return MessageBuilder.createMessage(body.getBytes(StandardCharsets.UTF_8), headers.getMessageHeaders());
+    }
+
+    // What the outbound channel does for one message: preSend on publish, then the handler
+    private Message<?> deliver(Message<?> message) {
+        Message<?> handled = guard.beforeHandle(message, null, null);
+        if (handled != null) {
+            guard.afterMessageHandled(handled, null, null, null);
+        }
+        return handled;
+    }
+
+    @Test
+    void queuedTimerTickIsSupersededByANewerOne() {
+        Message<byte[]> older = message("/topic/game/1/timer", "{\"timeRemaining\":10}");
+        Message<byte[]> newer = message("/topic/game/1/timer", "{\"timeRemaining\":9}");
+        guard.preSend(older, null);
+        guard.preSend(newer, null);
+
+        Assertions.assertNull(deliver(older));
+        Assertions.assertSame(newer, deliver(newer));
+    }
+
+    @Test
+    void otherDestinationsAreNeverCoalesced() {
+        Message<byte[]> first = message("/topic/game/1/chat", "a");
+        Message<byte[]> second = message("/topic/game/1/chat", "b");
+        guard.preSend(first, null);
+        guard.preSend(second, null);
+
+        Assertions.assertSame(first, deliver(first));
+        Assertions.assertSame(second, deliver(second));
+    }
+
+    @Test
+    void laggingSessionParksLatestTickAndResendsItOnceDrained() {
+        for (String body : List.of("a", "b")) {
+            Message<byte[]> chat = message("/topic/game/1/chat", body);
+            guard.preSend(chat, null);
+            deliver(chat);
+        }
+        Assertions.assertEquals(2, guard.getBuffered("s1"));
+
+        Message<byte[]> tick = message("/topic/game/1/timer", "{\"timeRemaining\":10}");
+        Message<byte[]> newerTick = message("/topic/game/1/timer", "{\"timeRemaining\":9}");
+        guard.preSend(tick, null);
+        Assertions.assertNull(deliver(tick));
+        guard.preSend(newerTick, null);
+        Assertions.assertNull(deliver(newerTick));
+
+        guard.frameWritten("s1");
+        Assertions.assertEquals(List.of(newerTick), redelivered);
+    }
+
+    @Test
+    void onlyMessageFramesCount() {
+        Assertions.assertTrue(SlowConsumerGuard.isMessageFrame(new TextMessage("MESSAGE\ndestination:/topic/x\n\n{}\u0000")));
+        Assertions.assertTrue(SlowConsumerGuard.isMessageFrame(new BinaryMessage("MESSAGE\n\n".getBytes(StandardCharsets.UTF_8))));
+        Assertions.assertFalse(SlowConsumerGuard.isMessageFrame(new TextMessage("\n")));
+        Assertions.assertFalse(SlowConsumerGuard.isMessageFrame(new TextMessage("CONNECTED\nversion:1.2\n\n\u0000")));
+    }
+
+    @Test
+    void timerResetIsNotSupersededByALaterTick() {
+        Message<byte[]> reset = stateChange("/topic/game/1/timer", "{\"timeRemaining\":45,\"reset\":true}");
+        Message<byte[]> tick = message("/topic/game/1/timer", "{\"timeRemaining\":44}");
+        guard.preSend(reset, null);
+        guard.preSend(tick, null);
+
+        Assertions.assertSame(reset, deliver(reset));
+        Assertions.assertSame(tick, deliver(tick));
+    }
+
+    @Test
+    void pauseGoesThroughALaggingSessionAndDropsTheParkedTick() {
+        for (String body : List.of("a", "b")) {
+            Message<byte[]> chat = message("/topic/game/1/chat", body);
+            guard.preSend(chat, null);
+            deliver(chat);
+        }
+        Message<byte[]> tick = message("/topic/game/1/timer", "{\"timeRemaining\":10}");
+        guard.preSend(tick, null);
+        Assertions.assertNull(deliver(tick), "parked while lagging");
+
+        Message<byte[]> pause = stateChange("/topic/game/1/timer", "{\"timeRemaining\":10,\"paused\":true}");
+        guard.preSend(pause, null);
+        Assertions.assertSame(pause, deliver(pause));
+
+        guard.frameWritten("s1");
+        guard.frameWritten("s1");
+        Assertions.assertEquals(List.of(), redelivered, "the running tick would undo the pause");
+    }
+}
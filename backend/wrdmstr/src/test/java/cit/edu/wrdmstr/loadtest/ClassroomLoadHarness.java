@@ -0,0 +1,347 @@
+package cit.edu.wrdmstr.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.*;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.*;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Classroom load test. Registers a teacher and students per classroom, creates content,
+ * puts every student in the waiting room over STOMP/SockJS, starts the games and has each
+ * student submit a sentence whenever it is their turn, until all games end.
+ *
+ * Run the server with the {@code loadtest} profile (AI calls go to the local Gemini
+ * stand-in and Hibernate statistics are on), then:
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dexec.args="--classrooms=10 --students=25"
+ * </pre>
+ *
+ * Options: --base (http://localhost:8080), --classrooms (5), --students per classroom
+ * (20), --group size (5), --cycles per game (3), --think-ms before answering (1500),
+ * --timeout-min (15).
+ *
+ * Reports turn latency (submit to the next turn broadcast) percentiles, STOMP frames
+ * delivered per second, and the server's SQL statement and broker counters for the run.
+ */
+public class ClassroomLoadHarness {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String[] SENTENCES = {
+            "I think we should %s before the market closes.",
+            "Can you help me %s the map near the bridge?",
+            "My role is to %s and keep the team together.",
+            "We need to %s because the rain is coming soon.",
+            "Let us %s the problem one step at a time."
+    };
+
+    private final String base;
+    private final int classrooms;
+    private final int studentsPerClassroom;
+    private final int groupSize;
+    private final int cycles;
+    private final long thinkMs;
+    private final long timeoutMinutes;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final RestTemplate rest = new RestTemplate();
+    private final WebSocketStompClient stompClient;
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(8);
+
+    // Submit time of the turn each session is waiting on, in nanos
+    private final ConcurrentMap<Long, Long> pendingSubmits = new ConcurrentHashMap<>();
+    private final List<Long> turnLatenciesMs = Collections.synchronizedList(new ArrayList<>());
+    private final Set<Long> liveSessions = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch sessionsStarted;
+    private final AtomicLong framesReceived = new AtomicLong();
+    private final AtomicInteger submits = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+
+    ClassroomLoadHarness(Map<String, String> options) {
+        this.base = options.getOrDefault("base", "http://localhost:8080");
+        this.classrooms = Integer.parseInt(options.getOrDefault("classrooms", "5"));
+        this.studentsPerClassroom = Integer.parseInt(options.getOrDefault("students", "20"));
+        this.groupSize = Integer.parseInt(options.getOrDefault("group", "5"));
+        this.cycles = Integer.parseInt(options.getOrDefault("cycles", "3"));
+        this.thinkMs = Long.parseLong(options.getOrDefault("think-ms", "1500"));
+        this.timeoutMinutes = Long.parseLong(options.getOrDefault("timeout-min", "15"));
+        this.sessionsStarted = new CountDownLatch(classrooms);
+
+        stompClient = new WebSocketStompClient(new SockJsClient(
+                List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        new ClassroomLoadHarness(options).run();
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        JsonNode statsBefore = stats();
+        long started = System.nanoTime();
+
+        ExecutorService classroomPool = Executors.newFixedThreadPool(Math.min(classrooms, 16));
+        for (int c = 0; c < classrooms; c++) {
+            int index = c;
+            classroomPool.submit(() -> {
+                try {
+                    runClassroom(index);
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                    System.err.println("Classroom " + index + " failed: " + e.getMessage());
+                } finally {
+                    sessionsStarted.countDown();
+                }
+            });
+        }
+
+        sessionsStarted.await(timeoutMinutes, TimeUnit.MINUTES);
+        long deadline = started + TimeUnit.MINUTES.toNanos(timeoutMinutes);
+        while (!liveSessions.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(500);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        classroomPool.shutdownNow();
+        scheduler.shutdownNow();
+
+        report(seconds, statsBefore, stats());
+    }
+
+    private void runClassroom(int c) throws Exception {
+        String prefix = "lt-" + runId + "-c" + c;
+        String teacherToken = register("teacher", prefix + "-teacher@loadtest.local", "Teacher", "C" + c)
+                .path("token").asText();
+
+        JsonNode classroom = post("/api/classrooms", teacherToken,
+                Map.of("name", "Load test " + prefix, "description", "Generated by the load harness"));
+        long classroomId = classroom.path("id").asLong();
+        String enrollmentCode = classroom.path("enrollmentCode").asText();
+
+        List<String> words = List.of("explore", "collaborate", "observe", "predict", "describe", "compare");
+        List<Map<String, Object>> wordBank = new ArrayList<>();
+        for (String word : words) wordBank.add(Map.of("word", word));
+        Map<String, Object> content = new HashMap<>();
+        content.put("title", "Market Day " + prefix);
+        content.put("description", "The class runs a busy town market and solves small problems together.");
+        content.put("contentData", Map.of("wordBank", wordBank,
+                "roles", List.of(Map.of("name", "Vendor"), Map.of("name", "Shopper"), Map.of("name", "Guide"))));
+        content.put("gameConfig", Map.of("studentsPerGroup", groupSize, "timePerTurn", 60, "turnCycles", cycles));
+        long contentId = post("/api/content/classroom/" + classroomId, teacherToken, content).path("id").asLong();
+        exchange(HttpMethod.PUT, "/api/content/" + contentId + "/publish", teacherToken, null);
+
+        List<StudentBot> bots = new ArrayList<>();
+        for (int s = 0; s < studentsPerClassroom; s++) {
+            String email = prefix + "-s" + s + "@loadtest.local";
+            JsonNode account = register("student", email, "Student", "C" + c + "S" + s);
+            String token = account.path("token").asText();
+            exchange(HttpMethod.POST, "/api/classrooms/enroll?enrollmentCode=" + enrollmentCode, token, null);
+            StudentBot bot = new StudentBot(token, account.path("id").asLong(), words);
+            bot.connect(contentId);
+            exchange(HttpMethod.POST, "/api/waiting-room/content/" + contentId + "/join", token, null);
+            bots.add(bot);
+        }
+
+        JsonNode sessions = exchange(HttpMethod.POST, "/api/waiting-room/content/" + contentId + "/start", teacherToken, null);
+        for (JsonNode session : sessions) {
+            liveSessions.add(session.path("id").asLong());
+        }
+        System.out.printf("Classroom %d: %d students in %d sessions%n", c, bots.size(), sessions.size());
+    }
+
+    /**
+     * One simulated student: joins the waiting room, follows its game's turns and answers
+     * when the turn is theirs.
+     */
+    private class StudentBot {
+        private final String token;
+        private final List<String> words;
+        private final long userId;
+        private StompSession stomp;
+        private volatile Long playerId;
+
+        StudentBot(String token, long userId, List<String> words) {
+            this.token = token;
+            this.userId = userId;
+            this.words = words;
+        }
+
+        void connect(long contentId) throws Exception {
+            StompHeaders connectHeaders = new StompHeaders();
+            connectHeaders.add("Authorization", "Bearer " + token);
+            stomp = stompClient.connectAsync(base + "/ws?token=" + token, new WebSocketHttpHeaders(),
+                    connectHeaders, new StompSessionHandlerAdapter() {
+                        @Override
+                        public void handleTransportError(StompSession session, Throwable exception) {
+                            errors.incrementAndGet();
+                        }
+                    }).get(30, TimeUnit.SECONDS);
+            subscribe("/topic/game-start/" + contentId, frame -> {
+                long sessionId = frame.path("sessionId").asLong();
+                if (playerId == null) {
+                    joinGame(sessionId);
+                }
+            });
+        }
+
+        private void joinGame(long sessionId) {
+            JsonNode players;
+            try {
+                players = exchange(HttpMethod.GET, "/api/sessions/" + sessionId + "/players", token, null);
+            } catch (Exception e) {
+                errors.incrementAndGet();
+                return;
+            }
+            for (JsonNode player : players) {
+                if (player.path("userId").asLong() == userId) {
+                    playerId = player.path("id").asLong();
+                }
+            }
+            if (playerId == null) {
+                return; // another group's session
+            }
+
+            subscribe("/topic/game/" + sessionId + "/turn", turn -> onTurn(sessionId, turn.path("playerId").asLong()));
+            subscribe("/topic/game/" + sessionId + "/status", status -> {
+                if ("gameEnded".equals(status.path("event").asText())) {
+                    liveSessions.remove(sessionId);
+                }
+            });
+            subscribe("/topic/game/" + sessionId + "/updates", update -> { });
+            subscribe("/topic/game/" + sessionId + "/scores", scores -> { });
+            stomp.send("/app/game/" + sessionId + "/join", Map.of());
+
+            // The first turn may have been broadcast before the subscription was in place
+            try {
+                JsonNode state = exchange(HttpMethod.GET, "/api/sessions/" + sessionId + "/state", token, null);
+                if (state.path("currentPlayer").path("userId").asLong() == userId) {
+                    scheduleSubmit(sessionId);
+                }
+            } catch (Exception e) {
+                errors.incrementAndGet();
+            }
+        }
+
+        private void onTurn(long sessionId, long turnPlayerId) {
+            Long submittedAt = pendingSubmits.remove(sessionId);
+            if (submittedAt != null) {
+                turnLatenciesMs.add((System.nanoTime() - submittedAt) / 1_000_000);
+            }
+            if (playerId != null && playerId == turnPlayerId) {
+                scheduleSubmit(sessionId);
+            }
+        }
+
+        private void scheduleSubmit(long sessionId) {
+            long jitter = ThreadLocalRandom.current().nextLong(thinkMs / 2 + 1);
+            scheduler.schedule(() -> {
+                String word = words.get(ThreadLocalRandom.current().nextInt(words.size()));
+                String sentence = String.format(SENTENCES[ThreadLocalRandom.current().nextInt(SENTENCES.length)], word);
+                pendingSubmits.put(sessionId, System.nanoTime());
+                submits.incrementAndGet();
+                stomp.send("/app/game/" + sessionId + "/submit", Map.of("word", sentence, "sessionId", sessionId));
+            }, thinkMs / 2 + jitter, TimeUnit.MILLISECONDS);
+        }
+
+        private void subscribe(String destination, java.util.function.Consumer<JsonNode> handler) {
+            stomp.subscribe(destination, new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return JsonNode.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    framesReceived.incrementAndGet();
+                    handler.accept((JsonNode) payload);
+                }
+            });
+        }
+    }
+
+    private JsonNode register(String kind, String email, String fname, String lname) throws Exception {
+        Map<String, Object> request = Map.of("email", email, "password", "LoadTest#2024",
+                "fname", fname, "lname", lname);
+        return exchange(HttpMethod.POST, "/api/auth/register/" + kind, null, request);
+    }
+
+    private JsonNode post(String path, String token, Object body) throws Exception {
+        return exchange(HttpMethod.POST, path, token, body);
+    }
+
+    private JsonNode exchange(HttpMethod method, String path, String token, Object body) throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (token != null) headers.setBearerAuth(token);
+        ResponseEntity<String> response = rest.exchange(base + path, method, new HttpEntity<>(body, headers), String.class);
+        String json = response.getBody();
+        return json == null || json.isEmpty() ? MAPPER.createObjectNode() : MAPPER.readTree(json);
+    }
+
+    private JsonNode stats() {
+        try {
+            return exchange(HttpMethod.GET, "/dev/loadtest/stats", null, null);
+        } catch (Exception e) {
+            System.err.println("Server stats unavailable (is the loadtest profile active?): " + e.getMessage());
+            return MAPPER.createObjectNode();
+        }
+    }
+
+    private void report(double seconds, JsonNode before, JsonNode after) {
+        List<Long> latencies;
+        synchronized (turnLatenciesMs) {
+            latencies = new ArrayList<>(turnLatenciesMs);
+        }
+        Collections.sort(latencies);
+
+        System.out.println();
+        System.out.println("=== Classroom load test ===");
+        System.out.printf("classrooms=%d students/classroom=%d group=%d cycles=%d duration=%.1fs%n",
+                classrooms, studentsPerClassroom, groupSize, cycles, seconds);
+        System.out.printf("submits=%d turns measured=%d unfinished sessions=%d client errors=%d%n",
+                submits.get(), latencies.size(), liveSessions.size(), errors.get());
+        System.out.printf("turn latency ms: p50=%d p95=%d p99=%d max=%d%n",
+                percentile(latencies, 50), percentile(latencies, 95), percentile(latencies, 99),
+                latencies.isEmpty() ? 0 : latencies.get(latencies.size() - 1));
+        System.out.printf("broker: %.1f frames/s delivered to clients (%d total)%n",
+                framesReceived.get() / seconds, framesReceived.get());
+
+        long statements = after.path("db").path("statements").asLong() - before.path("db").path("statements").asLong();
+        long queries = after.path("db").path("queries").asLong() - before.path("db").path("queries").asLong();
+        System.out.printf("db: %d SQL statements (%d HQL/JPQL queries), %.1f statements per submit%n",
+                statements, queries, submits.get() == 0 ? 0.0 : statements / (double) submits.get());
+        JsonNode broker = after.path("broker");
+        if (!broker.isMissingNode()) {
+            System.out.println("server sessions: " + broker.path("sessions"));
+            System.out.println("server stomp:    " + broker.path("stomp"));
+            System.out.println("server inbound:  " + broker.path("inbound").asText());
+            System.out.println("server outbound: " + broker.path("outbound").asText());
+        }
+    }
+
+    static long percentile(List<Long> sorted, int p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+}
@@ -0,0 +1,96 @@
+package cit.edu.wrdmstr.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AIRequestSchedulerTest {
+
+    private final ExecutorService pool = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AIRequestScheduler scheduler = new AIRequestScheduler(new PerformanceMetricsService());
+
+    {
+        // Two slots, one of them kept for interactive calls
+        ReflectionTestUtils.setField(scheduler, "maxConcurrency", 2);
+        ReflectionTestUtils.setField(scheduler, "reservedInteractive", 1);
+    }
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        pool.shutdownNow();
+    }
+
+    private long in(long ms) {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ms);
+    }
+
+    // Holds a slot until the test releases it
+    private CompletableFuture<String> hold(String task) {
+        return CompletableFuture.supplyAsync(() -> scheduler.run(task, in(5000), () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return task;
+        }), pool);
+    }
+
+    private void awaitInFlight(int expected) throws InterruptedException {
+        for (int i = 0; i < 200 && scheduler.getInFlight() != expected; i++) Thread.sleep(10);
+        assertEquals(expected, scheduler.getInFlight());
+    }
+
+    @Test
+    void tasksAreClassified() {
+        assertEquals(AIRequestScheduler.Priority.INTERACTIVE, AIRequestScheduler.priorityOf("role_check"));
+        assertEquals(AIRequestScheduler.Priority.INTERACTIVE, AIRequestScheduler.priorityOf("grammar_status_check"));
+        assertEquals(AIRequestScheduler.Priority.INTERACTIVE, AIRequestScheduler.priorityOf("word_bank_detection"));
+        assertEquals(AIRequestScheduler.Priority.BACKGROUND, AIRequestScheduler.priorityOf("content_generation"));
+        assertEquals(AIRequestScheduler.Priority.BACKGROUND, AIRequestScheduler.priorityOf("word_enrichment"));
+    }
+
+    @Test
+    void backgroundNeverTakesTheReservedSlot() throws Exception {
+        hold("content_generation");
+        awaitInFlight(1);
+
+        assertThrows(AIRequestScheduler.DeadlineExceededException.class,
+                () -> scheduler.run("role_generation", in(100), () -> "late"));
+        assertEquals("ok", scheduler.run("role_check", in(100), () -> "ok"));
+        assertEquals(0, scheduler.getQueued(AIRequestScheduler.Priority.BACKGROUND));
+    }
+
+    @Test
+    void queuedInteractiveCallsGoFirst() throws Exception {
+        hold("role_check");
+        hold("role_check");
+        awaitInFlight(2);
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        CompletableFuture<String> background = CompletableFuture.supplyAsync(
+                () -> scheduler.run("generate_feedback", in(5000), () -> { order.add("background"); return ""; }), pool);
+        for (int i = 0; i < 200 && scheduler.getQueued(AIRequestScheduler.Priority.BACKGROUND) == 0; i++) Thread.sleep(10);
+        CompletableFuture<String> interactive = CompletableFuture.supplyAsync(
+                () -> scheduler.run("grammar_status_check", in(5000), () -> { order.add("interactive"); return ""; }), pool);
+        for (int i = 0; i < 200 && scheduler.getQueued(AIRequestScheduler.Priority.INTERACTIVE) == 0; i++) Thread.sleep(10);
+
+        release.countDown();
+        CompletableFuture.allOf(background, interactive).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("interactive", "background"), order);
+        assertEquals(0, scheduler.getInFlight());
+    }
+}
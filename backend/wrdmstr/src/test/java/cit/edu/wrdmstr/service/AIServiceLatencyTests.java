@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -20,7 +21,8 @@ public class AIServiceLatencyTests {
 
     private AIService newService() {
         RestTemplate rt = new RestTemplate();
-        AIService svc = new AIService(rt, new NoOpPerf(null));
+        NoOpPerf perf = new NoOpPerf(null);
+        AIService svc = new AIService(rt, perf, new AIRequestScheduler(perf));
         return svc;
     }
 
@@ -62,4 +64,36 @@ public class AIServiceLatencyTests {
         Assertions.assertTrue(elapsed < 10, "Cache hit should return immediately");
         Assertions.assertEquals(first.getResult(), second.getResult());
     }
+
+    // The model calls every message in role; only the local heuristics can say otherwise
+    private AIService newServiceWithModelReply(String reply) {
+        NoOpPerf perf = new NoOpPerf(null);
+        return new AIService(new RestTemplate(), perf, new AIRequestScheduler(perf)) {
+            @Override
+            public AIResponse callAIModel(Map<String, Object> request) {
+                AIResponse response = new AIResponse();
+                response.setResult(reply);
+                return response;
+            }
+        };
+    }
+
+    @Test
+    void combinedEvaluationKeepsRoleHeuristics() {
+        AIService svc = newServiceWithModelReply(
+                "{\"grammar\":{\"status\":\"PERFECT\"},\"role\":{\"appropriate\":true}}");
+        List<String> noWords = List.of();
+
+        MessageEvaluation wordList = svc.evaluateMessage("fish rod", "Merchant", "Harbour", noWords, "Ana Cruz")
+                .orElseThrow();
+        Assertions.assertFalse(wordList.getRoleAppropriate(), "2-3 words with no sentence structure");
+        Assertions.assertEquals("PERFECT", wordList.getGrammarStatus(), "grammar stays the model's");
+
+        Assertions.assertFalse(svc.evaluateMessage("Hindi ko alam where the boat is", "Merchant", "Harbour",
+                noWords, "Ana Cruz").orElseThrow().getRoleAppropriate());
+        Assertions.assertFalse(svc.evaluateMessage("As the captain I will sail the boat", "Merchant", "Harbour",
+                noWords, "Ana Cruz").orElseThrow().getRoleAppropriate());
+        Assertions.assertTrue(svc.evaluateMessage("I sell the freshest fish in town", "Merchant", "Harbour",
+                noWords, "Ana Cruz").orElseThrow().getRoleAppropriate());
+    }
 }
@@ -0,0 +1,40 @@
+package cit.edu.wrdmstr.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ComprehensionGradingTest {
+
+    @Test
+    void verdictLinesAreParsedByNumber() {
+        Map<Integer, Boolean> verdicts = ComprehensionCheckService.parseShortAnswerVerdicts(
+                "1: CORRECT\n2. incorrect\n 3) Correct - close enough\nnot a verdict");
+        Assertions.assertEquals(Map.of(1, true, 2, false, 3, true), verdicts);
+        Assertions.assertTrue(ComprehensionCheckService.parseShortAnswerVerdicts(null).isEmpty());
+    }
+
+    @Test
+    void fallbackMatchesTheExpectedAnswerAsWholeWords() {
+        Assertions.assertTrue(ComprehensionCheckService.matchesExpectedAnswer("They crossed the bridge.", "the bridge"));
+        Assertions.assertTrue(ComprehensionCheckService.matchesExpectedAnswer("Market", "market"));
+        Assertions.assertFalse(ComprehensionCheckService.matchesExpectedAnswer("supermarkets", "market"));
+        Assertions.assertFalse(ComprehensionCheckService.matchesExpectedAnswer("anything", ""));
+    }
+
+    @Test
+    void pendingAnswersDoNotCountYet() {
+        Map<String, Object> choice = new HashMap<>(Map.of("isCorrect", true));
+        Map<String, Object> pending = new HashMap<>(Map.of("isCorrect", false, "pending", true));
+        Map<String, Object> wrong = new HashMap<>(Map.of("isCorrect", false));
+
+        Map<String, Object> result = ComprehensionCheckService.summarizeGrading(4, List.of(choice, pending, wrong));
+
+        Assertions.assertEquals(1, result.get("correctAnswers"));
+        Assertions.assertEquals(1, result.get("pendingAnswers"));
+        Assertions.assertEquals(25.0, result.get("percentage"));
+    }
+}
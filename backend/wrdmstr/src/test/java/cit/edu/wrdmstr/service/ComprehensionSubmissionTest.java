@@ -0,0 +1,128 @@
+package cit.edu.wrdmstr.service;
+
+import cit.edu.wrdmstr.dto.TeacherFeedbackDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A quiz submission grades and drafts feedback outside any transaction; only the writes
+ * in between run in one.
+ */
+public class ComprehensionSubmissionTest {
+
+    private static final Long SESSION_ID = 7L;
+    private static final Long STUDENT_ID = 3L;
+
+    private final List<String> steps = new CopyOnWriteArrayList<>();
+    private final CompletableFuture<Map<String, Object>> shortAnswers = new CompletableFuture<>();
+    private Map<String, Object> gradeResult;
+
+    private final ComprehensionCheckService grader = new ComprehensionCheckService() {
+        @Override
+        public GradingRun startGrading(List<Map<String, Object>> questions, List<Map<String, Object>> answers) {
+            steps.add("grade");
+            return new GradingRun(gradeResult, shortAnswers);
+        }
+    };
+
+    private final AIService aiService = new AIService(null, null, null) {
+        @Override
+        public AIResponse callAIModel(Map<String, Object> request) {
+            steps.add("ai " + request.get("comprehensionPercentage"));
+            AIResponse response = new AIResponse();
+            response.setResult("Good work");
+            return response;
+        }
+    };
+
+    private final TeacherFeedbackService feedbackService = new TeacherFeedbackService() {
+        @Override
+        public void saveComprehensionSubmission(Long sessionId, Long studentId, List<Map<String, Object>> questions,
+                                                List<Map<String, Object>> answers, double percentage) {
+            steps.add("save " + percentage);
+        }
+
+        @Override
+        public String recordFinalComprehensionScore(Long sessionId, Long studentId, double percentage) {
+            steps.add("final " + percentage);
+            return "student@example.com";
+        }
+
+        @Override
+        public FeedbackInput planQuizFeedback(Long sessionId, Long studentId, double comprehensionPercentage) {
+            return new FeedbackInput(studentId, "Ana Cruz", "Vendor", new SessionStats(10, 4, 2, 1),
+                    comprehensionPercentage, List.of("Hello!"));
+        }
+
+        @Override
+        public TeacherFeedbackDTO saveSuggestedDraft(Long sessionId, FeedbackInput input, String aiSuggestion) {
+            steps.add("draft");
+            return new TeacherFeedbackDTO();
+        }
+    };
+
+    {
+        ReflectionTestUtils.setField(feedbackService, "self", feedbackService);
+        ReflectionTestUtils.setField(feedbackService, "comprehensionCheckService", grader);
+        ReflectionTestUtils.setField(feedbackService, "aiService", aiService);
+        ReflectionTestUtils.setField(feedbackService, "messagingTemplate", new SimpMessagingTemplate((message, timeout) -> {
+            steps.add("sent");
+            return true;
+        }));
+    }
+
+    private static Map<String, Object> grade(double percentage, int pending) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("percentage", percentage);
+        result.put("pendingAnswers", pending);
+        return result;
+    }
+
+    private Map<String, Object> submit() {
+        return feedbackService.submitComprehensionAnswers(SESSION_ID, STUDENT_ID, List.of(), List.of(), null);
+    }
+
+    @Test
+    void submissionAndCompletionRunOutsideTheClassTransaction() {
+        for (String name : List.of("submitComprehensionAnswers", "completeComprehensionGrading")) {
+            Transactional tx = Arrays.stream(TeacherFeedbackService.class.getMethods())
+                    .filter(m -> m.getName().equals(name))
+                    .findFirst().orElseThrow()
+                    .getAnnotation(Transactional.class);
+            assertEquals(Propagation.NOT_SUPPORTED, tx.propagation(), name);
+        }
+    }
+
+    @Test
+    void fullyGradedSubmissionSavesThenDrafts() {
+        gradeResult = grade(80.0, 0);
+
+        assertSame(gradeResult, submit());
+
+        assertEquals(List.of("grade", "save 80.0", "ai 80.0", "draft"), steps);
+    }
+
+    @Test
+    void pendingShortAnswersFinishAfterTheResponse() {
+        gradeResult = grade(50.0, 1);
+
+        assertSame(gradeResult, submit());
+        assertEquals(List.of("grade", "save 50.0"), steps);
+
+        shortAnswers.complete(grade(75.0, 0));
+
+        assertEquals(List.of("grade", "save 50.0", "final 75.0", "sent", "ai 75.0", "draft"), steps);
+    }
+}
@@ -0,0 +1,160 @@
+package cit.edu.wrdmstr.service;
+
+import cit.edu.wrdmstr.dto.ContentDTO;
+import cit.edu.wrdmstr.dto.ContentDataDTO;
+import cit.edu.wrdmstr.dto.GameConfigDTO;
+import cit.edu.wrdmstr.dto.WordBankItemDTO;
+import cit.edu.wrdmstr.entity.ContentData;
+import cit.edu.wrdmstr.entity.ContentEntity;
+import cit.edu.wrdmstr.entity.GameConfig;
+import cit.edu.wrdmstr.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Edits go through ContentService the way the controllers call it, each in its own
+ * transaction, and the next read must see them.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "ai.api.key=test",
+        "ai.api.url=http://localhost:1"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ContentCatalog.class, ContentService.class, PurgeService.class, AIService.class, AIRequestScheduler.class,
+        PerformanceMetricsService.class, ContentCatalogTest.Beans.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ContentCatalogTest {
+
+    @TestConfiguration
+    static class Beans {
+        @Bean
+        RestTemplate restTemplate() {
+            return new RestTemplate();
+        }
+    }
+
+    @Autowired private ContentCatalog catalog;
+    @Autowired private ContentService contentService;
+    @Autowired private EntityManager entityManager;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private Authentication teacher;
+    private Long contentId;
+
+    @BeforeEach
+    void seed() {
+        String email = "teacher-" + System.nanoTime() + "@example.com";
+        teacher = new UsernamePasswordAuthenticationToken(email, null);
+        contentId = new TransactionTemplate(transactionManager).execute(status -> {
+            UserEntity user = new UserEntity();
+            user.setEmail(email);
+            user.setRole("USER_TEACHER");
+            entityManager.persist(user);
+
+            ContentEntity content = new ContentEntity();
+            content.setTitle("Original");
+            content.setCreator(user);
+            ContentData data = new ContentData();
+            data.setContent(content);
+            data.addWord("apple", "a fruit", "I ate an apple");
+            content.setContentData(data);
+            GameConfig config = new GameConfig();
+            config.setStudentsPerGroup(1);
+            config.setTimePerTurn(30);
+            config.setTurnCycles(3);
+            config.setContent(content);
+            content.setGameConfig(config);
+            entityManager.persist(content);
+            return content.getId();
+        });
+    }
+
+    @Test
+    void snapshotIsCachedUntilInvalidated() {
+        ContentCatalog.ContentSnapshot first = catalog.get(contentId);
+        assertEquals("Original", first.getTitle());
+        assertEquals(1, first.getWordBank().size());
+        assertSame(first, catalog.get(contentId));
+    }
+
+    @Test
+    void updateIsSeenByTheNextRead() {
+        ContentCatalog.ContentSnapshot before = catalog.get(contentId);
+
+        ContentDTO dto = new ContentDTO();
+        dto.setTitle("Edited");
+        ContentDataDTO data = new ContentDataDTO();
+        WordBankItemDTO pear = new WordBankItemDTO();
+        pear.setWord("pear");
+        WordBankItemDTO plum = new WordBankItemDTO();
+        plum.setWord("plum");
+        data.setWordBank(List.of(pear, plum));
+        dto.setContentData(data);
+        GameConfigDTO config = new GameConfigDTO();
+        config.setStudentsPerGroup(1);
+        config.setTimePerTurn(45);
+        config.setTurnCycles(3);
+        dto.setGameConfig(config);
+        contentService.updateContent(contentId, dto, teacher);
+
+        ContentCatalog.ContentSnapshot after = catalog.get(contentId);
+        assertNotSame(before, after);
+        assertEquals("Edited", after.getTitle());
+        assertEquals(45, after.getTimePerTurn());
+        assertEquals(List.of("pear", "plum"), after.getWordBank().stream().map(w -> w.getWord()).sorted().toList());
+    }
+
+    @Test
+    void publishIsSeenByTheNextRead() {
+        ContentCatalog.ContentSnapshot before = catalog.get(contentId);
+
+        contentService.publishContent(contentId, teacher);
+
+        assertNotSame(before, catalog.get(contentId));
+    }
+
+    @Test
+    void deletedContentIsNoLongerServed() {
+        catalog.get(contentId);
+
+        contentService.deleteContent(contentId, teacher);
+
+        assertThrows(EntityNotFoundException.class, () -> catalog.get(contentId));
+    }
+
+    @Test
+    void loadingInsideATransactionKeepsItUsable() {
+        String title = new TransactionTemplate(transactionManager).execute(status -> {
+            ContentEntity content = entityManager.find(ContentEntity.class, contentId);
+            ContentCatalog.ContentSnapshot snapshot = catalog.get(contentId);
+            // The caller's own entity stays managed by the caller's session
+            assertTrue(entityManager.contains(content));
+            assertNotSame(content.getContentData().getWordBank().get(0), snapshot.getWordBank().get(0));
+            return snapshot.getTitle();
+        });
+        assertEquals("Original", title);
+    }
+}
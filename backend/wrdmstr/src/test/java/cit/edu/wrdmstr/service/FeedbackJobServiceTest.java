@@ -0,0 +1,157 @@
+package cit.edu.wrdmstr.service;
+
+import cit.edu.wrdmstr.dto.TeacherFeedbackDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FeedbackJobServiceTest {
+
+    private static final Long SESSION_ID = 11L;
+    private static final Long FAILING_STUDENT = 4L;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(8);
+    private final Authentication teacher = new UsernamePasswordAuthenticationToken("teacher@example.com", null);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final Map<Long, AtomicInteger> draftsSaved = new ConcurrentHashMap<>();
+    private final List<Map<?, ?>> events = new CopyOnWriteArrayList<>();
+
+    // Answers every generate_feedback call after a short delay, except for one student
+    private final AIService aiService = new AIService(null, null, null) {
+        @Override
+        public AIResponse callAIModel(Map<String, Object> request) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+                if ("Student 4".equals(request.get("studentName"))) {
+                    throw new IllegalStateException("model unavailable");
+                }
+                AIResponse response = new AIResponse();
+                response.setResult("Well done, " + request.get("studentName"));
+                return response;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    };
+
+    private final TeacherFeedbackService teacherFeedbackService = new TeacherFeedbackService() {
+        @Override
+        public ClassFeedbackPlan planClassFeedback(Long sessionId, Authentication auth) {
+            List<FeedbackInput> students = new ArrayList<>();
+            for (long id = 1; id <= 10; id++) {
+                students.add(new FeedbackInput(id, "Student " + id, "Vendor",
+                        new SessionStats(10, 5, 2, 1), null, List.of("Hello!")));
+            }
+            return new ClassFeedbackPlan(sessionId, auth.getName(), students, 2);
+        }
+
+        @Override
+        public TeacherFeedbackDTO saveSuggestedDraft(Long sessionId, FeedbackInput input, String aiSuggestion) {
+            draftsSaved.computeIfAbsent(input.studentId(), id -> new AtomicInteger()).incrementAndGet();
+            TeacherFeedbackDTO draft = new TeacherFeedbackDTO();
+            draft.setStudentId(input.studentId());
+            draft.setFeedback(aiSuggestion);
+            return draft;
+        }
+    };
+
+    private final FeedbackJobService jobs = new FeedbackJobService();
+
+    {
+        ReflectionTestUtils.setField(jobs, "teacherFeedbackService", teacherFeedbackService);
+        ReflectionTestUtils.setField(jobs, "aiService", aiService);
+        ReflectionTestUtils.setField(jobs, "messagingTemplate", new SimpMessagingTemplate((message, timeout) -> {
+            events.add((Map<?, ?>) message.getPayload());
+            return true;
+        }));
+        ReflectionTestUtils.setField(jobs, "aiBackgroundExecutor", pool);
+        ReflectionTestUtils.setField(jobs, "concurrency", 3);
+    }
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private Map<String, Object> awaitFinished(String jobId) throws InterruptedException {
+        Map<String, Object> status = jobs.getJobStatus(jobId, teacher);
+        for (int i = 0; i < 500 && !"COMPLETED".equals(status.get("status")); i++) {
+            Thread.sleep(10);
+            status = jobs.getJobStatus(jobId, teacher);
+        }
+        return status;
+    }
+
+    @Test
+    void draftsEveryStudentWithBoundedConcurrency() throws Exception {
+        Map<String, Object> started = jobs.startClassFeedback(SESSION_ID, teacher);
+        assertEquals("RUNNING", started.get("status"));
+        assertEquals(10, started.get("total"));
+        assertEquals(2, started.get("alreadyReviewed"));
+
+        Map<String, Object> finished = awaitFinished((String) started.get("jobId"));
+
+        assertEquals("COMPLETED", finished.get("status"));
+        assertEquals(9, finished.get("completed"));
+        assertEquals(1, finished.get("failed"));
+        assertTrue(maxInFlight.get() <= 3, "at most 3 calls at a time, saw " + maxInFlight.get());
+        for (long id = 1; id <= 10; id++) {
+            AtomicInteger saved = draftsSaved.get(id);
+            if (id == FAILING_STUDENT) {
+                assertNull(saved);
+            } else {
+                assertEquals(1, saved.get(), "one draft for student " + id);
+            }
+        }
+    }
+
+    @Test
+    void teacherIsToldAboutEveryStudentAndTheEnd() throws Exception {
+        String jobId = (String) jobs.startClassFeedback(SESSION_ID, teacher).get("jobId");
+        awaitFinished(jobId);
+        // The final event goes out just after the job is marked finished
+        for (int i = 0; i < 500 && !"COMPLETED".equals(events.get(events.size() - 1).get("status")); i++) {
+            Thread.sleep(10);
+        }
+
+        List<Map<?, ?>> perStudent = events.stream().filter(e -> e.containsKey("studentId")).toList();
+        assertEquals(10, perStudent.size());
+        assertEquals(1, perStudent.stream().filter(e -> "FAILED".equals(e.get("studentStatus"))).count());
+        assertEquals(FAILING_STUDENT, perStudent.stream()
+                .filter(e -> "FAILED".equals(e.get("studentStatus"))).findFirst().orElseThrow().get("studentId"));
+        Map<?, ?> last = events.get(events.size() - 1);
+        assertEquals("COMPLETED", last.get("status"));
+        assertFalse(last.containsKey("studentId"));
+    }
+
+    @Test
+    void aSecondStartJoinsTheRunningJob() throws Exception {
+        String first = (String) jobs.startClassFeedback(SESSION_ID, teacher).get("jobId");
+        String second = (String) jobs.startClassFeedback(SESSION_ID, teacher).get("jobId");
+        assertEquals(first, second);
+        awaitFinished(first);
+
+        // Once finished, a new request starts a new job
+        assertNotEquals(first, jobs.startClassFeedback(SESSION_ID, teacher).get("jobId"));
+    }
+}
@@ -0,0 +1,35 @@
+package cit.edu.wrdmstr.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class FeedbackRequestTest {
+
+    private TeacherFeedbackService.FeedbackInput input(Double comprehension) {
+        return new TeacherFeedbackService.FeedbackInput(7L, "Ana Cruz", "Vendor",
+                new TeacherFeedbackService.SessionStats(42, 9, 4, 3), comprehension, List.of("Hello!", "Buy fish."));
+    }
+
+    @Test
+    void plannedInputBecomesAGenerateFeedbackRequest() {
+        Map<String, Object> request = TeacherFeedbackService.feedbackRequest(input(80.0));
+
+        Assertions.assertEquals("generate_feedback", request.get("task"));
+        Assertions.assertEquals("Ana Cruz", request.get("studentName"));
+        Assertions.assertEquals("Vendor", request.get("role"));
+        Assertions.assertEquals(42, request.get("totalScore"));
+        Assertions.assertEquals(9, request.get("messageCount"));
+        Assertions.assertEquals(4, request.get("perfectGrammarCount"));
+        Assertions.assertEquals(3, request.get("wordBankUsageCount"));
+        Assertions.assertEquals(80.0, request.get("comprehensionPercentage"));
+        Assertions.assertEquals(List.of("Hello!", "Buy fish."), request.get("sampleMessages"));
+    }
+
+    @Test
+    void comprehensionIsLeftOutUntilTheQuizIsGraded() {
+        Assertions.assertFalse(TeacherFeedbackService.feedbackRequest(input(null)).containsKey("comprehensionPercentage"));
+    }
+}
@@ -0,0 +1,120 @@
+package cit.edu.wrdmstr.service;
+
+import cit.edu.wrdmstr.entity.UserEntity;
+import cit.edu.wrdmstr.repository.UserRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jwt;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "jwt.secret=" + JwtServiceTest.SECRET,
+        "jwt.expiration=60000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JwtService.class, TokenVersionService.class, PerformanceMetricsService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class JwtServiceTest {
+
+    static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+    @Autowired private JwtService jwtService;
+    @Autowired private TokenVersionService tokenVersionService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private String newUser() {
+        UserEntity user = new UserEntity();
+        user.setEmail("student-" + System.nanoTime() + "@example.com");
+        user.setRole("USER_STUDENT");
+        return userRepository.save(user).getEmail();
+    }
+
+    private UserDetails details(String email) {
+        return User.withUsername(email).password("").authorities("USER_STUDENT").build();
+    }
+
+    // A token signed the way tokens were before the "ver" claim existed
+    private String unversionedToken(String email) {
+        return Jwts.builder()
+                .setSubject(email)
+                .claim("role", "USER_STUDENT")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Test
+    void tokenIsRejectedAfterRevoke() {
+        String email = newUser();
+        String token = jwtService.generateToken(details(email));
+        assertNotNull(jwtService.authenticate(token));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            UserEntity user = userRepository.findByEmail(email).orElseThrow();
+            tokenVersionService.revoke(user);
+            userRepository.save(user);
+        });
+
+        assertNull(jwtService.authenticate(token));
+        JwtService.VerifiedToken fresh = jwtService.authenticate(jwtService.generateToken(details(email)));
+        assertNotNull(fresh);
+        assertEquals(1, fresh.version());
+    }
+
+    @Test
+    void tokenWithoutVersionCountsAsVersionZero() {
+        String email = newUser();
+
+        JwtService.VerifiedToken verified = jwtService.authenticate(unversionedToken(email));
+
+        assertNotNull(verified);
+        assertEquals(0, verified.version());
+        assertEquals(email, verified.username());
+    }
+
+    @Test
+    void tokenForUnknownEmailIsRejected() {
+        String email = "nobody-" + System.nanoTime() + "@example.com";
+
+        assertNull(jwtService.authenticate(unversionedToken(email)));
+        assertThrows(UsernameNotFoundException.class, () -> jwtService.generateToken(details(email)));
+    }
+
+    @Test
+    void tokenIssuedRightAfterRegistrationIsAccepted() {
+        String email = "late-" + System.nanoTime() + "@example.com";
+        // Caches UNKNOWN_USER for the email
+        assertNull(jwtService.authenticate(unversionedToken(email)));
+
+        UserEntity user = new UserEntity();
+        user.setEmail(email);
+        user.setRole("USER_STUDENT");
+        userRepository.save(user);
+
+        JwtService.VerifiedToken verified = jwtService.authenticate(jwtService.generateToken(details(email)));
+        assertNotNull(verified);
+        assertEquals(0, verified.version(), "signed with the stored version, not the cached UNKNOWN_USER");
+    }
+}
@@ -0,0 +1,141 @@
+package cit.edu.wrdmstr.service;
+
+import cit.edu.wrdmstr.entity.OutboundMailEntity;
+import cit.edu.wrdmstr.repository.OutboundMailRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Delivery through the queue with an SMTP server that drops the first attempt, and a
+ * worker pool that is full when the first wake-up arrives.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mailqueue;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        // Retries are due at once so the second drain picks them up
+        "wordmaster.mail.retry-base-seconds=0"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({MailQueueService.class, MailQueueDeliveryTest.Beans.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class MailQueueDeliveryTest {
+
+    static final AtomicInteger sends = new AtomicInteger();
+    static final AtomicBoolean failNextSend = new AtomicBoolean();
+    static final AtomicBoolean rejectNextTask = new AtomicBoolean();
+
+    @TestConfiguration
+    static class Beans {
+        // Runs tasks on the caller, or rejects one the way a saturated pool does
+        @Bean
+        TaskExecutor mailExecutor() {
+            return task -> {
+                if (rejectNextTask.getAndSet(false)) {
+                    throw new TaskRejectedException("mail pool full");
+                }
+                task.run();
+            };
+        }
+
+        @Bean
+        JavaMailSender mailSender() {
+            return new JavaMailSenderImpl() {
+                @Override
+                public void send(MimeMessage... mimeMessages) {
+                    sends.incrementAndGet();
+                    if (failNextSend.getAndSet(false)) {
+                        throw new MailSendException("connection reset");
+                    }
+                }
+            };
+        }
+    }
+
+    @Autowired private MailQueueService mailQueue;
+    @Autowired private OutboundMailRepository mailRepository;
+
+    @BeforeEach
+    void reset() {
+        mailRepository.deleteAll();
+        sends.set(0);
+        failNextSend.set(false);
+        rejectNextTask.set(false);
+    }
+
+    private List<OutboundMailEntity> mails() {
+        return mailRepository.findAll();
+    }
+
+    @Test
+    void failedSendIsRetriedOnTheNextDrain() {
+        failNextSend.set(true);
+        mailQueue.enqueue("ana@example.com", "Welcome", "Hello", null);
+
+        OutboundMailEntity failed = mails().get(0);
+        assertEquals(OutboundMailEntity.Status.PENDING, failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+        assertEquals("connection reset", failed.getLastError());
+
+        mailQueue.drain();
+
+        OutboundMailEntity sent = mails().get(0);
+        assertEquals(OutboundMailEntity.Status.SENT, sent.getStatus());
+        assertEquals(2, sent.getAttempts());
+        assertNotNull(sent.getSentAt());
+        assertEquals(2, sends.get());
+    }
+
+    @Test
+    void rejectedWakeUpDoesNotBlockLaterOnes() {
+        rejectNextTask.set(true);
+        mailQueue.enqueue("ana@example.com", "Welcome", "Hello", null);
+        assertEquals(0, sends.get(), "the wake-up was rejected");
+
+        mailQueue.enqueue("ben@example.com", "Welcome", "Hello", null);
+
+        assertTrue(mails().stream().allMatch(m -> m.getStatus() == OutboundMailEntity.Status.SENT));
+        assertEquals(1, sends.get(), "both mails went out in one batch");
+    }
+
+    @Test
+    void rejectedBatchIsHandedBackToThePoll() {
+        mailRepository.save(pending("ben@example.com"));
+
+        rejectNextTask.set(true);
+        mailQueue.drain();
+        assertEquals(OutboundMailEntity.Status.PENDING, mails().get(0).getStatus());
+
+        mailQueue.drain();
+        assertEquals(OutboundMailEntity.Status.SENT, mails().get(0).getStatus());
+    }
+
+    private OutboundMailEntity pending(String to) {
+        OutboundMailEntity mail = new OutboundMailEntity();
+        mail.setRecipient(to);
+        mail.setSubject("Welcome");
+        mail.setTextBody("Hello");
+        return mail;
+    }
+}
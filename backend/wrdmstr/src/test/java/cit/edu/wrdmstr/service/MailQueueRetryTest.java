@@ -0,0 +1,26 @@
+package cit.edu.wrdmstr.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MailQueueRetryTest {
+
+    private static final Duration BASE = Duration.ofSeconds(30);
+    private static final Duration CAP = Duration.ofMinutes(30);
+
+    @Test
+    void delayDoublesPerAttempt() {
+        assertEquals(Duration.ofSeconds(30), MailQueueService.retryDelay(1, BASE, CAP));
+        assertEquals(Duration.ofSeconds(60), MailQueueService.retryDelay(2, BASE, CAP));
+        assertEquals(Duration.ofSeconds(120), MailQueueService.retryDelay(3, BASE, CAP));
+    }
+
+    @Test
+    void delayIsCapped() {
+        assertEquals(CAP, MailQueueService.retryDelay(10, BASE, CAP));
+        assertEquals(CAP, MailQueueService.retryDelay(500, BASE, CAP));
+    }
+}
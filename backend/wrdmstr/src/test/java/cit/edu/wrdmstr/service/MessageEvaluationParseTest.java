@@ -0,0 +1,50 @@
+package cit.edu.wrdmstr.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MessageEvaluationParseTest {
+
+    private static final List<String> WORD_BANK = List.of("Run", "book", "see");
+
+    @Test
+    void parsesAllSections() {
+        String raw = "```json\n{\"grammar\":{\"status\":\"minor_errors\",\"tip\":\"Add a period\"}," +
+                "\"role\":{\"appropriate\":false,\"reason\":\"Claims another role\"}," +
+                "\"vocabulary\":{\"level\":\"Intermediate\",\"strengths\":[\"Uses 'ran' correctly\"]," +
+                "\"improvements\":[\"Try linking words\"],\"recommendations\":[]}," +
+                "\"wordBankUsed\":[\"run\",\"see\",\"castle\"]}\n```";
+
+        MessageEvaluation eval = MessageEvaluation.parse(raw, WORD_BANK).orElseThrow();
+
+        assertEquals("MINOR_ERRORS", eval.getGrammarStatus());
+        assertFalse(eval.getRoleAppropriate());
+        assertTrue(eval.getVocabularyFeedback().startsWith("1. VOCABULARY LEVEL: Intermediate"));
+        assertTrue(eval.getVocabularyFeedback().contains("2.1. Uses 'ran' correctly"));
+        // Words outside the bank are dropped; bank spelling is kept
+        assertEquals(List.of("Run", "see"), eval.getWordBankUsed());
+    }
+
+    @Test
+    void missingSectionsAreLeftForFallback() {
+        MessageEvaluation eval = MessageEvaluation.parse(
+                "{\"grammar\":{\"status\":\"PERFECT\"},\"role\":{\"appropriate\":\"NOT APPROPRIATE\"}}", WORD_BANK)
+                .orElseThrow();
+
+        assertTrue(eval.hasGrammar());
+        assertFalse(eval.getRoleAppropriate());
+        assertFalse(eval.hasVocabularyFeedback());
+        assertFalse(eval.hasWordBankUsage());
+    }
+
+    @Test
+    void garbageIsEmpty() {
+        assertEquals(Optional.empty(), MessageEvaluation.parse(null, WORD_BANK));
+        assertEquals(Optional.empty(), MessageEvaluation.parse("MINOR_ERRORS | Add a period", WORD_BANK));
+        assertEquals(Optional.empty(), MessageEvaluation.parse("{\"unrelated\":1}", WORD_BANK));
+    }
+}
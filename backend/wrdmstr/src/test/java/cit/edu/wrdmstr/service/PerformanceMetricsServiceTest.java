@@ -0,0 +1,59 @@
+package cit.edu.wrdmstr.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PerformanceMetricsServiceTest {
+
+    private PerformanceMetricsService newService(SimpleMeterRegistry registry) {
+        PerformanceMetricsService metrics = new PerformanceMetricsService();
+        metrics.setMeterRegistry(registry);
+        return metrics;
+    }
+
+    @Test
+    void broadcastDestinationsFoldIds() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PerformanceMetricsService metrics = newService(registry);
+
+        metrics.recordBroadcast("/topic/game/42/turn", 120);
+        metrics.recordBroadcast("/topic/game/7/turn", 80);
+        metrics.recordBroadcast("/topic/game/7", 10);
+
+        Assertions.assertEquals(2, registry.get("wordmaster.stomp.broadcast.size")
+                .tag("destination", "/topic/game/{id}/turn").summary().count());
+        Assertions.assertEquals(200, registry.get("wordmaster.stomp.broadcast.size")
+                .tag("destination", "/topic/game/{id}/turn").summary().totalAmount());
+        Assertions.assertEquals(1, registry.get("wordmaster.stomp.broadcast.size")
+                .tag("destination", "/topic/game/{id}").summary().count());
+    }
+
+    @Test
+    void chatStagesChainFromPreviousStage() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PerformanceMetricsService metrics = newService(registry);
+
+        long start = System.nanoTime();
+        long next = metrics.recordChatStage("profanity", start);
+        metrics.recordChatStage("save", next);
+
+        Assertions.assertTrue(next >= start);
+        Assertions.assertEquals(1, registry.get("wordmaster.chat.stage").tag("stage", "profanity").timer().count());
+        Assertions.assertEquals(1, registry.get("wordmaster.chat.stage").tag("stage", "save").timer().count());
+    }
+
+    @Test
+    void aiTasksAreTaggedByOutcome() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PerformanceMetricsService metrics = newService(registry);
+
+        metrics.recordAiTask("role_check", 1_000_000, true);
+        metrics.recordAiTask(null, 1_000_000, false);
+
+        Assertions.assertEquals(1, registry.get("wordmaster.ai.task")
+                .tags("task", "role_check", "outcome", "ok").timer().count());
+        Assertions.assertEquals(1, registry.get("wordmaster.ai.task")
+                .tags("task", "unknown", "outcome", "error").timer().count());
+    }
+}
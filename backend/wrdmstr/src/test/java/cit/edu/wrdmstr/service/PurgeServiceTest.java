@@ -0,0 +1,210 @@
+package cit.edu.wrdmstr.service;
+
+import cit.edu.wrdmstr.entity.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Purges against an embedded database that enforces the same foreign keys as MySQL, so a
+ * step out of child-to-parent order fails the test.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:purge;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        // Two chunks for the three sessions seeded per content
+        "wordmaster.purge.sessions-per-transaction=2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PurgeService.class, ContentCatalog.class, PerformanceMetricsService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PurgeServiceTest {
+
+    // Everything a content or classroom owns; users survive a purge
+    private static final List<String> OWNED = List.of(
+            "ClassroomEntity", "StudentEnrollmentEntity", "ContentEntity", "ContentData", "GameConfig",
+            "WordBankItem", "Role", "PowerupCard", "GameSessionEntity", "PlayerSessionEntity", "PlayerCard",
+            "ChatMessageEntity", "ChatMessageDetailEntity", "MessageReactionEntity", "ScoreRecordEntity",
+            "StudentProgress", "ProgressSnapshot", "GrammarResultEntity", "SessionSummaryEntity",
+            "TeacherFeedbackEntity");
+
+    @Autowired private PurgeService purgeService;
+    @Autowired private EntityManager entityManager;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+
+    private long count(String entity) {
+        return inTransaction(() -> entityManager
+                .createQuery("SELECT COUNT(e) FROM " + entity + " e", Long.class)
+                .getSingleResult());
+    }
+
+    private void assertNothingLeft() {
+        for (String entity : OWNED) {
+            assertEquals(0, count(entity), entity + " rows left after purge");
+        }
+    }
+
+    private UserEntity user(String role) {
+        UserEntity user = new UserEntity();
+        user.setEmail(role.toLowerCase() + "-" + System.nanoTime() + "@example.com");
+        user.setRole(role);
+        entityManager.persist(user);
+        return user;
+    }
+
+    // A content with three played sessions and every kind of row a game leaves behind
+    private Long seedContent(UserEntity teacher, UserEntity student, ClassroomEntity classroom) {
+        ContentEntity content = new ContentEntity();
+        content.setTitle("Purge me");
+        content.setCreator(teacher);
+        content.setClassroom(classroom);
+        ContentData data = new ContentData();
+        data.setContent(content);
+        data.addWord("apple", "a fruit", "I ate an apple");
+        data.addRole("Baker");
+        content.setContentData(data);
+        GameConfig config = new GameConfig();
+        config.setContent(content);
+        content.setGameConfig(config);
+        entityManager.persist(content);
+
+        PowerupCard card = new PowerupCard();
+        card.setName("Double");
+        card.setDescription("Double points for an adjective");
+        card.setTriggerCondition("USE_ADJECTIVE");
+        card.setRarity("COMMON");
+        card.setContentData(data);
+        entityManager.persist(card);
+
+        for (int i = 0; i < 3; i++) {
+            GameSessionEntity session = new GameSessionEntity();
+            session.setContent(content);
+            session.setTeacher(teacher);
+            session.setSessionCode("S" + System.nanoTime());
+            entityManager.persist(session);
+
+            PlayerSessionEntity player = new PlayerSessionEntity();
+            player.setSession(session);
+            player.setUser(student);
+            player.setRole(data.getRoles().get(0));
+            entityManager.persist(player);
+            session.setCurrentPlayer(player);
+
+            PlayerCard playerCard = new PlayerCard();
+            playerCard.setPlayerSession(player);
+            playerCard.setCard(card);
+            entityManager.persist(playerCard);
+
+            ChatMessageEntity message = new ChatMessageEntity();
+            message.setSession(session);
+            message.setSender(student);
+            message.setPlayerSession(player);
+            message.setContent("The baker bakes bread.");
+            message.setTimestamp(new Date());
+            message.setGrammarFeedback("Perfect");
+            entityManager.persist(message);
+
+            MessageReactionEntity reaction = new MessageReactionEntity();
+            reaction.setMessage(message);
+            reaction.setUser(teacher);
+            reaction.setEmoji("👍");
+            entityManager.persist(reaction);
+
+            ScoreRecordEntity score = new ScoreRecordEntity();
+            score.setSession(session);
+            score.setUser(student);
+            score.setPoints(5);
+            score.setReason("grammar");
+            score.setTimestamp(new Date());
+            entityManager.persist(score);
+
+            StudentProgress progress = new StudentProgress();
+            progress.setStudent(student);
+            progress.setSession(session);
+            entityManager.persist(progress);
+            ProgressSnapshot snapshot = new ProgressSnapshot();
+            snapshot.setProgress(progress);
+            snapshot.setMetricType("GRAMMAR");
+            entityManager.persist(snapshot);
+
+            GrammarResultEntity grammar = new GrammarResultEntity();
+            grammar.setGameSession(session);
+            grammar.setStudent(student);
+            entityManager.persist(grammar);
+
+            SessionSummaryEntity summary = new SessionSummaryEntity();
+            summary.setGameSession(session);
+            summary.setStudent(student);
+            entityManager.persist(summary);
+
+            TeacherFeedbackEntity feedback = new TeacherFeedbackEntity();
+            feedback.setGameSession(session);
+            feedback.setStudent(student);
+            feedback.setTeacher(teacher);
+            entityManager.persist(feedback);
+        }
+        return content.getId();
+    }
+
+    @Test
+    void purgeContentRemovesEverythingItOwns() {
+        Long contentId = inTransaction(() -> seedContent(user("USER_TEACHER"), user("USER_STUDENT"), null));
+        assertEquals(3, count("GameSessionEntity"));
+        assertEquals(3, count("ChatMessageDetailEntity"));
+        long users = count("UserEntity");
+
+        purgeService.purgeContent(contentId);
+
+        assertNothingLeft();
+        assertEquals(users, count("UserEntity"));
+        // Idempotent: a second run finds nothing to do
+        assertDoesNotThrow(() -> purgeService.purgeContent(contentId));
+    }
+
+    @Test
+    void purgeClassroomRemovesItsContentsAndEnrollments() {
+        Long classroomId = inTransaction(() -> {
+            UserEntity teacher = user("USER_TEACHER");
+            UserEntity student = user("USER_STUDENT");
+            ClassroomEntity classroom = new ClassroomEntity();
+            classroom.setName("Purge class");
+            classroom.setTeacher(teacher);
+            classroom.getStudents().add(student);
+            entityManager.persist(classroom);
+            StudentEnrollmentEntity enrollment = new StudentEnrollmentEntity();
+            enrollment.setClassroom(classroom);
+            enrollment.setStudent(student);
+            entityManager.persist(enrollment);
+            seedContent(teacher, student, classroom);
+            seedContent(teacher, student, classroom);
+            return classroom.getId();
+        });
+        assertEquals(6, count("GameSessionEntity"));
+
+        purgeService.purgeClassroom(classroomId);
+
+        assertNothingLeft();
+        assertEquals(0L, inTransaction(() -> ((Number) entityManager
+                .createNativeQuery("SELECT COUNT(*) FROM classroom_students")
+                .getSingleResult()).longValue()));
+    }
+}
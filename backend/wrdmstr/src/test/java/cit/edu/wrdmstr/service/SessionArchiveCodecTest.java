@@ -0,0 +1,48 @@
+package cit.edu.wrdmstr.service;
+
+import cit.edu.wrdmstr.entity.ChatMessageEntity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+public class SessionArchiveCodecTest {
+
+    private SessionHistoryService.ArchivedMessage message(long id, long senderId, String content) {
+        return new SessionHistoryService.ArchivedMessage(id, senderId, 100 + senderId, content,
+                ChatMessageEntity.MessageStatus.PERFECT, "Good.", false, true, new Date(1_700_000_000_000L + id),
+                "market", "market", 3, null, List.of(new SessionHistoryService.ArchivedReaction(9L, 2L, "👍")));
+    }
+
+    @Test
+    void messagesSurviveARoundTrip() {
+        List<SessionHistoryService.ArchivedMessage> messages = List.of(message(1, 7, "Hello!"), message(2, 8, "Buy fish."));
+
+        byte[] archive = SessionHistoryService.encode(messages);
+        List<SessionHistoryService.ArchivedMessage> decoded =
+                SessionHistoryService.decode(archive, SessionHistoryService.ArchivedMessage.class, m -> true);
+
+        Assertions.assertEquals(messages, decoded);
+    }
+
+    @Test
+    void decodingKeepsOnlyTheFilteredRecords() {
+        List<SessionHistoryService.ArchivedScore> scores = List.of(
+                new SessionHistoryService.ArchivedScore(1L, 7L, 5, "word bank", new Date(1L)),
+                new SessionHistoryService.ArchivedScore(2L, 8L, 3, "grammar", new Date(2L)),
+                new SessionHistoryService.ArchivedScore(3L, 7L, 2, "grammar", new Date(3L)));
+
+        List<SessionHistoryService.ArchivedScore> decoded = SessionHistoryService.decode(
+                SessionHistoryService.encode(scores), SessionHistoryService.ArchivedScore.class, s -> s.userId() == 7L);
+
+        Assertions.assertEquals(List.of(scores.get(0), scores.get(2)), decoded);
+    }
+
+    @Test
+    void anEmptyArchiveDecodesToNothing() {
+        Assertions.assertTrue(SessionHistoryService.decode(null, SessionHistoryService.ArchivedScore.class, s -> true).isEmpty());
+        Assertions.assertTrue(SessionHistoryService.decode(SessionHistoryService.encode(List.of()),
+                SessionHistoryService.ArchivedScore.class, s -> true).isEmpty());
+    }
+}
@@ -0,0 +1,243 @@
+package cit.edu.wrdmstr.service;
+
+import cit.edu.wrdmstr.entity.*;
+import cit.edu.wrdmstr.service.gameplay.VocabularyAnalysisService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A game that ends while grammar analysis is still running, and the summary that has to
+ * catch up with it.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:summaries;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SessionSummaryService.class, SessionHistoryService.class, VocabularyAnalysisService.class,
+        PerformanceMetricsService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SessionSummaryServiceTest {
+
+    @Autowired private SessionSummaryService summaryService;
+    @Autowired private SessionHistoryService historyService;
+    @Autowired private EntityManager entityManager;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private Long sessionId;
+    private Long studentId;
+    private Long pendingMessageId;
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+
+    private ChatMessageEntity message(GameSessionEntity session, PlayerSessionEntity player, String text,
+                                      ChatMessageEntity.MessageStatus status) {
+        ChatMessageEntity message = new ChatMessageEntity();
+        message.setSession(session);
+        message.setSender(player.getUser());
+        message.setPlayerSession(player);
+        message.setContent(text);
+        message.setTimestamp(new Date());
+        message.setGrammarStatus(status);
+        entityManager.persist(message);
+        return message;
+    }
+
+    @BeforeEach
+    void seed() {
+        inTransaction(() -> {
+            UserEntity teacher = new UserEntity();
+            teacher.setEmail("teacher-" + System.nanoTime() + "@example.com");
+            teacher.setRole("USER_TEACHER");
+            entityManager.persist(teacher);
+            UserEntity student = new UserEntity();
+            student.setEmail("student-" + System.nanoTime() + "@example.com");
+            student.setRole("USER_STUDENT");
+            entityManager.persist(student);
+            ContentEntity content = new ContentEntity();
+            content.setTitle("Market day");
+            content.setCreator(teacher);
+            entityManager.persist(content);
+
+            GameSessionEntity session = new GameSessionEntity();
+            session.setContent(content);
+            session.setTeacher(teacher);
+            session.setSessionCode("S" + System.nanoTime());
+            session.setStatus(GameSessionEntity.SessionStatus.COMPLETED);
+            entityManager.persist(session);
+            PlayerSessionEntity player = new PlayerSessionEntity();
+            player.setSession(session);
+            player.setUser(student);
+            entityManager.persist(player);
+
+            message(session, player, "I sell fresh apples at the market.", ChatMessageEntity.MessageStatus.PERFECT)
+                    .setWordUsed("apples, market");
+            message(session, player, "Apples are sweet.", ChatMessageEntity.MessageStatus.MINOR_ERRORS)
+                    .setWordUsed("apples");
+            // Sent just before the game ended; its analysis is still running
+            pendingMessageId = message(session, player, "The pears is cheap.",
+                    ChatMessageEntity.MessageStatus.PENDING).getId();
+
+            StudentProgress progress = new StudentProgress();
+            progress.setStudent(student);
+            progress.setSession(session);
+            progress.setTotalMessages(3);
+            progress.setGrammarAccuracy(85.0);
+            progress.setComprehensionScore(50.0);
+            entityManager.persist(progress);
+            sessionId = session.getId();
+            studentId = student.getId();
+            return null;
+        });
+    }
+
+    // The context is shared between tests, so the default is put back after each one
+    @AfterEach
+    void restoreGrace() {
+        setPendingGraceMs(600000L);
+    }
+
+    private void setPendingGraceMs(long graceMs) {
+        SessionSummaryService target = AopTestUtils.getTargetObject(summaryService);
+        ReflectionTestUtils.setField(target, "pendingGraceMs", graceMs);
+    }
+
+    private SessionSummaryEntity summary() {
+        return summaryService.findSummary(sessionId, studentId).orElseThrow();
+    }
+
+    private void analysisFinishes(ChatMessageEntity.MessageStatus status) {
+        inTransaction(() -> {
+            entityManager.find(ChatMessageEntity.class, pendingMessageId).setGrammarStatus(status);
+            return null;
+        });
+    }
+
+    @Test
+    void summaryIsRewrittenOnceAnalysisFinishes() {
+        summaryService.writeSessionSummaries(sessionId);
+        SessionSummaryEntity partial = summary();
+        assertTrue(partial.isPartial());
+        assertEquals(1, partial.getPerfectCount());
+        assertEquals(1, partial.getMinorErrorsCount());
+        assertEquals(1, partial.getPendingCount());
+        assertEquals(50.0, partial.getGrammarAccuracy(), "PENDING messages are not counted as assessed");
+
+        // Still pending: nothing to rewrite yet
+        summaryService.refreshPartialSummaries();
+        assertEquals(partial.getId(), summary().getId());
+
+        inTransaction(() -> {
+            summaryService.recordComprehensionScore(sessionId, studentId, 80.0);
+            return null;
+        });
+        analysisFinishes(ChatMessageEntity.MessageStatus.MAJOR_ERRORS);
+        summaryService.refreshPartialSummaries();
+
+        SessionSummaryEntity settled = summary();
+        assertFalse(settled.isPartial());
+        assertEquals(3, settled.getMessageCount());
+        assertEquals(1, settled.getPerfectCount());
+        assertEquals(1, settled.getMajorErrorsCount());
+        assertEquals(0, settled.getPendingCount());
+        assertEquals(100.0 / 3, settled.getGrammarAccuracy(), 0.001);
+        assertEquals(80.0, settled.getComprehensionScore(), "comprehension score survives the rewrite");
+    }
+
+    @Test
+    void summaryIsSettledWhenAnalysisNeverFinishes() throws Exception {
+        summaryService.writeSessionSummaries(sessionId);
+        setPendingGraceMs(0L);
+        Thread.sleep(5);
+
+        summaryService.refreshPartialSummaries();
+
+        SessionSummaryEntity settled = summary();
+        assertFalse(settled.isPartial());
+        assertEquals(1, settled.getPendingCount());
+    }
+
+    @Test
+    void summaryWithNothingPendingIsFinalAtOnce() {
+        analysisFinishes(ChatMessageEntity.MessageStatus.PERFECT);
+
+        summaryService.writeSessionSummaries(sessionId);
+
+        assertFalse(summary().isPartial());
+        assertEquals(2, summary().getPerfectCount());
+    }
+
+    @Test
+    void summaryKeepsTheProgressViewsDefinitions() {
+        summaryService.writeSessionSummaries(sessionId);
+
+        SessionSummaryEntity summary = summary();
+        // StudentProgress gives partial credit for errors; the summary counts alone would say 50
+        assertEquals(85.0, summary.getProgressGrammarAccuracy());
+        assertEquals(50.0, summary.getProgressComprehensionScore());
+        assertNull(summary.getComprehensionScore(), "the quiz score is a separate column");
+        // One entry per use, repeats included, as the feedback view listed them
+        assertEquals(List.of("apples", "market", "apples"), summary.getUsedWordsList());
+    }
+
+    @Test
+    void archivingSettlesSummariesWhileMessagesArePending() {
+        historyService.archiveSession(sessionId);
+
+        SessionSummaryEntity archived = summary();
+        assertFalse(archived.isPartial(), "no analysis can land once the messages are archived");
+        assertEquals(3, archived.getMessageCount());
+        assertEquals(1, archived.getPerfectCount());
+        assertEquals(1, archived.getPendingCount());
+        assertEquals(0L, inTransaction(() -> entityManager
+                .createQuery("SELECT COUNT(m) FROM ChatMessageEntity m WHERE m.session.id = :id", Long.class)
+                .setParameter("id", sessionId)
+                .getSingleResult()));
+
+        // The hot table is empty now; the refresh must not rebuild from it
+        summaryService.refreshPartialSummaries();
+        assertEquals(archived.getId(), summary().getId());
+        assertEquals(3, summary().getMessageCount());
+    }
+
+    @Test
+    void archivingRewritesAPartialSummaryFromTheHistory() {
+        summaryService.writeSessionSummaries(sessionId);
+        assertTrue(summary().isPartial());
+        inTransaction(() -> {
+            summaryService.recordComprehensionScore(sessionId, studentId, 70.0);
+            return null;
+        });
+
+        historyService.archiveSession(sessionId);
+
+        SessionSummaryEntity archived = summary();
+        assertFalse(archived.isPartial());
+        assertEquals(3, archived.getMessageCount());
+        assertEquals(1, archived.getPerfectCount());
+        assertEquals(1, archived.getPendingCount());
+        assertEquals(70.0, archived.getComprehensionScore());
+    }
+}
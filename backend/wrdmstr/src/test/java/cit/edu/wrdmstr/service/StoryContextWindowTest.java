@@ -0,0 +1,66 @@
+package cit.edu.wrdmstr.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StoryContextWindowTest {
+
+    private static List<String> story(int turns) {
+        List<String> elements = new ArrayList<>();
+        for (int i = 1; i <= turns; i++) {
+            elements.add("In part " + i + " the group reaches a new place on the island and finds something odd. "
+                    + "They have only a little time before dark. What should the team do next?");
+        }
+        return elements;
+    }
+
+    private static List<String> digests(List<String> elements) {
+        List<String> out = new ArrayList<>();
+        for (String e : elements) out.add(StoryContextManager.digest(e));
+        return out;
+    }
+
+    @Test
+    void digestDropsClosingQuestion() {
+        assertEquals("The gate opens.", StoryContextManager.digest("The gate opens. What now?"));
+        assertEquals("What now?", StoryContextManager.digest("What now?"));
+    }
+
+    @Test
+    void keepsLatestVerbatimAndSummarizesOlder() {
+        List<String> elements = story(5);
+        StoryContextManager.StoryContext ctx = StoryContextManager.window(elements, digests(elements), 2, 350);
+
+        assertEquals(elements.subList(3, 5), ctx.getRecent());
+        assertTrue(ctx.getSummary().startsWith("In part 1 "));
+        assertFalse(ctx.getSummary().contains("?"));
+    }
+
+    @Test
+    void promptSizeStaysFlatAsTheStoryGrows() {
+        int budget = 350;
+        List<String> early = story(3);
+        List<String> late = story(60);
+        int earlyTokens = StoryContextManager.window(early, digests(early), 2, budget).getEstimatedTokens();
+        int lateTokens = StoryContextManager.window(late, digests(late), 2, budget).getEstimatedTokens();
+        int fullStoryTokens = late.stream().mapToInt(TokenEstimator::estimate).sum();
+
+        assertTrue(earlyTokens <= budget);
+        assertTrue(lateTokens <= budget, "late context " + lateTokens + " over budget");
+        assertTrue(lateTokens * 5 < fullStoryTokens);
+    }
+
+    @Test
+    void comprehensionWindowFoldsOldestFirst() {
+        List<String> elements = story(40);
+        StoryContextManager.StoryContext ctx = StoryContextManager.window(elements, digests(elements), elements.size(), 1200);
+
+        assertTrue(ctx.getEstimatedTokens() <= 1200);
+        assertEquals(elements.get(39), ctx.getRecent().get(ctx.getRecent().size() - 1));
+        assertTrue(ctx.getRecent().size() < 40);
+    }
+}
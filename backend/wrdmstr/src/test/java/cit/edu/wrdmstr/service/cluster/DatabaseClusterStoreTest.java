@@ -0,0 +1,95 @@
+package cit.edu.wrdmstr.service.cluster;
+
+import cit.edu.wrdmstr.dto.UserDto;
+import cit.edu.wrdmstr.entity.UserEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two logical nodes sharing one embedded database, the same way two backend
+ * instances share MySQL in production.
+ */
+@DataJpaTest(properties = {
+        "wordmaster.cluster.store=database",
+        "spring.datasource.url=jdbc:h2:mem:cluster;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // db/schema migrations are MySQL-only; the slice builds its schema from the entities
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ClusterNode.class, DatabaseSessionLeaseStore.class, DatabasePresenceStore.class})
+public class DatabaseClusterStoreTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    @Autowired private SessionLeaseStore leaseStore;
+    @Autowired private PresenceStore presenceStore;
+    @Autowired private TestEntityManager entityManager;
+
+    @Test
+    void onlyOneNodeHoldsASessionLease() {
+        assertTrue(leaseStore.tryAcquire(1L, "node-a", TTL));
+        assertFalse(leaseStore.tryAcquire(1L, "node-b", TTL));
+        assertTrue(leaseStore.tryAcquire(1L, "node-a", TTL), "owner can renew");
+        assertEquals("node-a", leaseStore.ownerOf(1L).orElseThrow());
+    }
+
+    @Test
+    void expiredLeaseIsTakenOver() {
+        assertTrue(leaseStore.tryAcquire(2L, "node-a", Duration.ofMillis(-1000)));
+        assertTrue(leaseStore.ownerOf(2L).isEmpty());
+        assertTrue(leaseStore.tryAcquire(2L, "node-b", TTL));
+        assertEquals("node-b", leaseStore.ownerOf(2L).orElseThrow());
+    }
+
+    @Test
+    void releaseOnlyAffectsOwnLease() {
+        assertTrue(leaseStore.tryAcquire(3L, "node-a", TTL));
+        leaseStore.release(3L, "node-b");
+        assertEquals("node-a", leaseStore.ownerOf(3L).orElseThrow());
+        leaseStore.release(3L, "node-a");
+        assertTrue(leaseStore.tryAcquire(3L, "node-b", TTL));
+    }
+
+    @Test
+    void presenceIsSharedAndIdempotent() {
+        UserDto alice = student("alice");
+        UserDto bob = student("bob");
+
+        assertTrue(presenceStore.join(10L, alice));
+        assertFalse(presenceStore.join(10L, alice), "second join from another node is a no-op");
+        assertTrue(presenceStore.join(10L, bob));
+
+        List<UserDto> members = presenceStore.members(10L);
+        assertEquals(List.of(alice.getId(), bob.getId()), members.stream().map(UserDto::getId).toList());
+
+        assertTrue(presenceStore.leave(10L, alice.getId()));
+        assertFalse(presenceStore.leave(10L, alice.getId()));
+        presenceStore.clear(10L);
+        assertTrue(presenceStore.members(10L).isEmpty());
+    }
+
+    private UserDto student(String name) {
+        UserEntity user = new UserEntity();
+        user.setEmail(name + "@example.com");
+        user.setFname(name);
+        user.setRole("USER_STUDENT");
+        user = entityManager.persistAndFlush(user);
+
+        UserDto dto = new UserDto();
+        dto.setId(user.getId());
+        dto.setFname(name);
+        dto.setRole(user.getRole());
+        return dto;
+    }
+}
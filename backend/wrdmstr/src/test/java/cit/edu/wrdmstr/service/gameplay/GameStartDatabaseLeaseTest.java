@@ -0,0 +1,185 @@
+package cit.edu.wrdmstr.service.gameplay;
+
+import cit.edu.wrdmstr.entity.*;
+import cit.edu.wrdmstr.repository.*;
+import cit.edu.wrdmstr.service.AIService;
+import cit.edu.wrdmstr.service.ContentCatalog;
+import cit.edu.wrdmstr.service.PerformanceMetricsService;
+import cit.edu.wrdmstr.service.cluster.ClusterNode;
+import cit.edu.wrdmstr.service.cluster.DatabaseSessionLeaseStore;
+import cit.edu.wrdmstr.service.cluster.SessionOwnershipService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts a game the way the start endpoint does, with session leases kept in the
+ * database. The lease is claimed inside the start command's transaction, after the
+ * session has been loaded with its content still a lazy proxy.
+ */
+@DataJpaTest(properties = {
+        "wordmaster.cluster.store=database",
+        "spring.datasource.url=jdbc:h2:mem:gamestart;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "wordmaster.cluster.node-id=node-a"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ClusterNode.class, DatabaseSessionLeaseStore.class, SessionOwnershipService.class, SessionMailboxes.class,
+        DatabaseGameStateStore.class, GameStateJournal.class, ContentCatalog.class, PerformanceMetricsService.class,
+        JacksonAutoConfiguration.class, GameStartDatabaseLeaseTest.Beans.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class GameStartDatabaseLeaseTest {
+
+    @TestConfiguration
+    static class Beans {
+        @Bean
+        TaskExecutor gameActorExecutor() {
+            return new SyncTaskExecutor();
+        }
+    }
+
+    @Autowired private GameSessionEntityRepository gameSessionRepository;
+    @Autowired private PlayerSessionEntityRepository playerRepository;
+    @Autowired private WordBankItemRepository wordBankRepository;
+    @Autowired private RoleRepository roleRepository;
+    @Autowired private ScoreRecordEntityRepository scoreRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private StudentProgressRepository progressRepository;
+    @Autowired private SessionOwnershipService sessionOwnership;
+    @Autowired private GameStateStore activeGames;
+    @Autowired private GameStateJournal journal;
+    @Autowired private SessionMailboxes mailboxes;
+    @Autowired private PerformanceMetricsService performanceMetricsService;
+    @Autowired private ContentCatalog contentCatalog;
+    @Autowired private EntityManager entityManager;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private GameSessionManagerService games;
+    private Long sessionId;
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+
+    // Only what the start path touches; the story prompt falls back when the model is out
+    private GameSessionManagerService newGames() {
+        AIService aiService = new AIService(null, null, null) {
+            @Override
+            public AIResponse callAIModel(Map<String, Object> request) {
+                throw new IllegalStateException("model unavailable");
+            }
+        };
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate((message, timeout) -> true);
+        GameSessionManagerService games = new GameSessionManagerService(messagingTemplate, gameSessionRepository,
+                playerRepository, wordBankRepository, roleRepository, scoreRepository, null, null, null,
+                aiService, userRepository, progressRepository);
+        ReflectionTestUtils.setField(games, "sessionOwnership", sessionOwnership);
+        ReflectionTestUtils.setField(games, "activeGames", activeGames);
+        ReflectionTestUtils.setField(games, "journal", journal);
+        ReflectionTestUtils.setField(games, "mailboxes", mailboxes);
+        ReflectionTestUtils.setField(games, "performanceMetricsService", performanceMetricsService);
+        ReflectionTestUtils.setField(games, "contentCatalog", contentCatalog);
+        return games;
+    }
+
+    private UserEntity user(String name, String role) {
+        UserEntity user = new UserEntity();
+        user.setEmail(name + "-" + System.nanoTime() + "@example.com");
+        user.setFname(name);
+        user.setLname("Test");
+        user.setRole(role);
+        entityManager.persist(user);
+        return user;
+    }
+
+    @BeforeEach
+    void seed() {
+        games = newGames();
+        sessionId = inTransaction(() -> {
+            UserEntity teacher = user("Teacher", "USER_TEACHER");
+            ContentEntity content = new ContentEntity();
+            content.setTitle("Harbour market");
+            content.setCreator(teacher);
+            ContentData data = new ContentData();
+            data.setContent(content);
+            data.addWord("anchor", "holds a ship in place", "Drop the anchor");
+            data.addRole("Fisher");
+            data.addRole("Merchant");
+            content.setContentData(data);
+            GameConfig config = new GameConfig();
+            config.setStudentsPerGroup(2);
+            config.setTimePerTurn(45);
+            config.setTurnCycles(2);
+            config.setContent(content);
+            content.setGameConfig(config);
+            entityManager.persist(content);
+
+            GameSessionEntity session = new GameSessionEntity();
+            session.setContent(content);
+            session.setTeacher(teacher);
+            session.setSessionCode("G" + System.nanoTime());
+            entityManager.persist(session);
+            for (String name : new String[] {"Ana", "Ben"}) {
+                PlayerSessionEntity player = new PlayerSessionEntity();
+                player.setSession(session);
+                player.setUser(user(name, "USER_STUDENT"));
+                entityManager.persist(player);
+            }
+            return session.getId();
+        });
+    }
+
+    @Test
+    void startGameClaimsTheLeaseAndStartsTheFirstTurn() {
+        games.startGame(sessionId);
+
+        assertTrue(sessionOwnership.owns(sessionId));
+        assertEquals("node-a", sessionOwnership.ownerOf(sessionId).orElseThrow());
+
+        GameSessionManagerService.GameState state = activeGames.get(sessionId);
+        assertNotNull(state, "game state registered");
+        assertEquals(GameSessionManagerService.GameState.Status.TURN_IN_PROGRESS, state.getStatus());
+        assertEquals(4, state.getTotalTurns());
+        assertEquals(45, state.getTimePerTurn());
+        assertEquals("Harbour market", state.getContentInfo().get("title"));
+        assertTrue(state.getStoryPrompt().contains("Harbour market"));
+
+        GameSessionEntity session = gameSessionRepository.findById(sessionId).orElseThrow();
+        assertEquals(GameSessionEntity.SessionStatus.ACTIVE, session.getStatus());
+        assertEquals(1, session.getCurrentTurn());
+        assertEquals(2, playerRepository.findBySessionId(sessionId).stream()
+                .filter(p -> p.getRole() != null).count(), "every player got a role");
+    }
+
+    @Test
+    void secondStartIsANoOp() {
+        games.startGame(sessionId);
+        GameSessionManagerService.GameState first = activeGames.get(sessionId);
+
+        games.startGame(sessionId);
+
+        assertSame(first, activeGames.get(sessionId));
+    }
+}
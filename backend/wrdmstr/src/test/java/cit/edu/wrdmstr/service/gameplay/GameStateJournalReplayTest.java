@@ -0,0 +1,67 @@
+package cit.edu.wrdmstr.service.gameplay;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameStateJournalReplayTest {
+
+    private GameSessionManagerService.GameState snapshot() {
+        GameSessionManagerService.GameState state = new GameSessionManagerService.GameState();
+        state.setSessionId(7L);
+        state.setStatus(GameSessionManagerService.GameState.Status.TURN_IN_PROGRESS);
+        state.setCurrentTurn(3);
+        state.setCurrentCycle(1);
+        state.setCurrentPlayerId(11L);
+        state.setTimePerTurn(60);
+        state.setLastTurnTime(1_000L);
+        state.setUsedWords(new ArrayList<>(List.of("castle")));
+        return state;
+    }
+
+    @Test
+    void tailReplaysOnTopOfSnapshot() {
+        GameSessionManagerService.GameState state = snapshot();
+
+        GameStateJournal.apply(state, GameStateJournal.EventType.WORDS_USED, Map.of("words", List.of("dragon")));
+        GameStateJournal.apply(state, GameStateJournal.EventType.CYCLE_CHANGED, Map.of("cycle", 2));
+        GameStateJournal.apply(state, GameStateJournal.EventType.STORY_PROMPT, Map.of("prompt", "The gate opens. What now?"));
+        GameStateJournal.apply(state, GameStateJournal.EventType.TURN_STARTED,
+                Map.of("turn", 4, "cycle", 2, "playerId", 12, "lastTurnTime", 5_000L));
+        GameStateJournal.apply(state, GameStateJournal.EventType.WORDS_USED, Map.of("words", List.of("knight")));
+
+        assertEquals(4, state.getCurrentTurn());
+        assertEquals(2, state.getCurrentCycle());
+        assertEquals(12L, state.getCurrentPlayerId());
+        assertEquals(5_000L, state.getLastTurnTime());
+        assertEquals("The gate opens. What now?", state.getStoryPrompt());
+        // Cycle change clears words used before it
+        assertEquals(List.of("knight"), state.getUsedWords());
+    }
+
+    @Test
+    void pauseAndResumeRestoreTimer() {
+        GameSessionManagerService.GameState state = snapshot();
+
+        GameStateJournal.apply(state, GameStateJournal.EventType.PAUSED, Map.of("remaining", 42));
+        assertTrue(state.isPaused());
+        assertEquals(42, state.getPausedRemainingTime());
+
+        GameStateJournal.apply(state, GameStateJournal.EventType.RESUMED, Map.of("lastTurnTime", 9_000L));
+        assertFalse(state.isPaused());
+        assertEquals(9_000L, state.getLastTurnTime());
+    }
+
+    @Test
+    void scoreEntriesDoNotChangeState() {
+        GameSessionManagerService.GameState state = snapshot();
+        GameStateJournal.apply(state, GameStateJournal.EventType.SCORE,
+                Map.of("userId", 5, "points", -5, "reason", "Missed turn"));
+        assertEquals(3, state.getCurrentTurn());
+        assertEquals(List.of("castle"), state.getUsedWords());
+    }
+}
@@ -0,0 +1,147 @@
+package cit.edu.wrdmstr.service.gameplay;
+
+import cit.edu.wrdmstr.entity.ContentEntity;
+import cit.edu.wrdmstr.entity.GameSessionEntity;
+import cit.edu.wrdmstr.entity.GameSessionEventEntity;
+import cit.edu.wrdmstr.entity.GameStateCheckpointEntity;
+import cit.edu.wrdmstr.entity.PlayerSessionEntity;
+import cit.edu.wrdmstr.entity.UserEntity;
+import cit.edu.wrdmstr.service.PerformanceMetricsService;
+import cit.edu.wrdmstr.service.cluster.ClusterNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Records a game through the journal, writes it out and rebuilds it, the way a restarted
+ * node would.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:journal;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "wordmaster.recovery.snapshot-every=5",
+        // Several batches for the seven entries below
+        "wordmaster.recovery.journal-batch-size=3"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({GameStateJournal.class, ClusterNode.class, PerformanceMetricsService.class, JacksonAutoConfiguration.class})
+public class GameStateJournalTest {
+
+    @Autowired private GameStateJournal journal;
+    @Autowired private TestEntityManager entityManager;
+
+    private Long sessionId;
+
+    @BeforeEach
+    void seed() {
+        UserEntity teacher = new UserEntity();
+        teacher.setEmail("teacher-" + System.nanoTime() + "@example.com");
+        teacher.setRole("USER_TEACHER");
+        entityManager.persist(teacher);
+        ContentEntity content = new ContentEntity();
+        content.setTitle("The Castle");
+        content.setCreator(teacher);
+        entityManager.persist(content);
+        GameSessionEntity session = new GameSessionEntity();
+        session.setContent(content);
+        session.setTeacher(teacher);
+        session.setSessionCode("J" + System.nanoTime());
+        session.setStatus(GameSessionEntity.SessionStatus.ACTIVE);
+        entityManager.persist(session);
+        PlayerSessionEntity player = new PlayerSessionEntity();
+        player.setSession(session);
+        player.setUser(teacher);
+        entityManager.persist(player);
+        sessionId = session.getId();
+    }
+
+    private GameSessionManagerService.GameState newGame() {
+        GameSessionManagerService.GameState state = new GameSessionManagerService.GameState();
+        state.setSessionId(sessionId);
+        state.setStatus(GameSessionManagerService.GameState.Status.WAITING_TO_START);
+        state.setTimePerTurn(60);
+        state.setTotalTurns(12);
+        state.setConfiguredTurnCycles(3);
+        state.setUsedWords(new ArrayList<>());
+        return state;
+    }
+
+    // What the game service does: change the state, then journal the change
+    private void step(GameSessionManagerService.GameState state, GameStateJournal.EventType type, Map<String, Object> data) {
+        GameStateJournal.apply(state, type, data);
+        journal.record(state, type, data);
+    }
+
+    private long count(Class<?> entity) {
+        return entityManager.getEntityManager()
+                .createQuery("SELECT COUNT(e) FROM " + entity.getSimpleName() + " e WHERE e.sessionId = :id", Long.class)
+                .setParameter("id", sessionId)
+                .getSingleResult();
+    }
+
+    @Test
+    void restoresSnapshotPlusTail() {
+        GameSessionManagerService.GameState live = newGame();
+        step(live, GameStateJournal.EventType.TURN_STARTED, Map.of("turn", 1, "cycle", 1, "playerId", 21, "lastTurnTime", 1_000L));
+        step(live, GameStateJournal.EventType.STORY_PROMPT, Map.of("prompt", "A dragon guards the gate."));
+        step(live, GameStateJournal.EventType.WORDS_USED, Map.of("words", List.of("dragon")));
+        step(live, GameStateJournal.EventType.TURN_STARTED, Map.of("turn", 2, "cycle", 1, "playerId", 22, "lastTurnTime", 2_000L));
+        step(live, GameStateJournal.EventType.WORDS_USED, Map.of("words", List.of("gate")));
+        // Sixth entry: second snapshot
+        step(live, GameStateJournal.EventType.PAUSED, Map.of("remaining", 40));
+        step(live, GameStateJournal.EventType.RESUMED, Map.of("lastTurnTime", 9_000L));
+        assertEquals(0, count(GameSessionEventEntity.class), "nothing is written before a flush");
+
+        journal.flush();
+        // The batches joined the test's transaction; push them out before reading back
+        entityManager.flush();
+        entityManager.clear();
+
+        // Compacted down to the one entry after the latest snapshot
+        assertEquals(1, count(GameSessionEventEntity.class));
+        assertEquals(6, entityManager.find(GameStateCheckpointEntity.class, sessionId).getLastEventSeq());
+
+        GameStateJournal.Restored restored = journal.restore(sessionId).orElseThrow();
+        GameSessionManagerService.GameState state = restored.state();
+        assertEquals(1, restored.replayedEvents());
+        assertEquals(7, state.getJournalSeq());
+        assertEquals(live.getStatus(), state.getStatus());
+        assertEquals(2, state.getCurrentTurn());
+        assertEquals(1, state.getCurrentCycle());
+        assertEquals(22L, state.getCurrentPlayerId());
+        assertEquals(List.of("dragon", "gate"), state.getUsedWords());
+        assertEquals("A dragon guards the gate.", state.getStoryPrompt());
+        assertFalse(state.isPaused());
+        assertEquals(9_000L, state.getLastTurnTime());
+        assertEquals(12, state.getTotalTurns());
+        assertEquals(1, state.getPlayers().size());
+        assertEquals("The Castle", state.getContentInfo().get("title"));
+    }
+
+    @Test
+    void discardDropsEntriesNotYetWritten() {
+        GameSessionManagerService.GameState live = newGame();
+        step(live, GameStateJournal.EventType.TURN_STARTED, Map.of("turn", 1, "cycle", 1, "playerId", 21, "lastTurnTime", 1_000L));
+        journal.flush();
+        step(live, GameStateJournal.EventType.WORDS_USED, Map.of("words", List.of("dragon")));
+
+        journal.discard(sessionId);
+        journal.flush();
+
+        assertEquals(0, count(GameSessionEventEntity.class));
+        assertTrue(journal.restore(sessionId).isEmpty());
+    }
+}
@@ -0,0 +1,87 @@
+package cit.edu.wrdmstr.service.gameplay;
+
+import cit.edu.wrdmstr.entity.ChatMessageEntity.MessageStatus;
+import cit.edu.wrdmstr.service.AIService;
+import cit.edu.wrdmstr.service.MessageEvaluation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Near-duplicate reuse ahead of the combined evaluation: a hit must settle grammar and
+ * role without any model call.
+ */
+public class GrammarCheckerServiceTest {
+
+    private static final String CONTEXT = "A busy harbour market";
+    private static final String ROLE = "Merchant";
+
+    private final AtomicInteger modelCalls = new AtomicInteger();
+    private GrammarCheckerService grammarChecker;
+
+    @BeforeEach
+    void setUp() {
+        AIService aiService = new AIService(null, null, null) {
+            @Override
+            public AIResponse callAIModel(Map<String, Object> request) {
+                modelCalls.incrementAndGet();
+                throw new IllegalStateException("model unavailable");
+            }
+
+            @Override
+            public String checkGrammarStatus(String text) {
+                modelCalls.incrementAndGet();
+                throw new IllegalStateException("model unavailable");
+            }
+        };
+        NearDuplicateVerdictCache verdictCache = new NearDuplicateVerdictCache();
+        ReflectionTestUtils.setField(verdictCache, "enabled", true);
+        ReflectionTestUtils.setField(verdictCache, "grammarThreshold", 0.9);
+        ReflectionTestUtils.setField(verdictCache, "roleThreshold", 0.75);
+        ReflectionTestUtils.setField(verdictCache, "entriesPerScope", 300);
+        ReflectionTestUtils.setField(verdictCache, "auditRate", 0.0);
+        grammarChecker = new GrammarCheckerService(aiService, verdictCache);
+        ReflectionTestUtils.setField(grammarChecker, "roleCheckMinLength", 6);
+        ReflectionTestUtils.setField(grammarChecker, "skipDuplicateRoleChecks", true);
+
+        MessageEvaluation evaluated = MessageEvaluation.parse(
+                "{\"grammar\":{\"status\":\"PERFECT\"},\"role\":{\"appropriate\":false}}", List.of()).orElseThrow();
+        grammarChecker.checkGrammar("Can Maria buy fresh fish at my stall today?", ROLE, CONTEXT, evaluated);
+    }
+
+    @Test
+    void nearDuplicateSkipsTheModel() {
+        Optional<MessageEvaluation> reused =
+                grammarChecker.reusedEvaluation("Can Pedro buy fresh fish at my stall today?", ROLE, CONTEXT);
+
+        assertTrue(reused.isPresent());
+        assertTrue(reused.get().isReused());
+        assertEquals("PERFECT", reused.get().getGrammarStatus());
+        assertEquals(Boolean.FALSE, reused.get().getRoleAppropriate());
+
+        GrammarCheckerService.GrammarCheckResult result = grammarChecker.checkGrammar(
+                "Can Pedro buy fresh fish at my stall today?", ROLE, CONTEXT, reused.get());
+        assertEquals(MessageStatus.PERFECT, result.getStatus());
+        assertFalse(result.isRoleAppropriate());
+        assertEquals(0, modelCalls.get());
+    }
+
+    @Test
+    void lostCapitalAndQuestionMarkNeedTheModel() {
+        assertTrue(grammarChecker.reusedEvaluation("can Pedro buy fresh fish at my stall today", ROLE, CONTEXT)
+                .isEmpty());
+    }
+
+    @Test
+    void missingRoleVerdictNeedsTheModel() {
+        assertTrue(grammarChecker.reusedEvaluation("Can Pedro buy fresh fish at my stall today?", "Fisher", CONTEXT)
+                .isEmpty());
+    }
+}
@@ -0,0 +1,69 @@
+package cit.edu.wrdmstr.service.gameplay;
+
+import cit.edu.wrdmstr.service.gameplay.NearDuplicateVerdictCache.Kind;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NearDuplicateVerdictCacheTest {
+
+    private static double similarity(Kind kind, String a, String b) {
+        return NearDuplicateVerdictCache.similarity(
+                NearDuplicateVerdictCache.signature(kind, a), NearDuplicateVerdictCache.signature(kind, b));
+    }
+
+    @Test
+    void roleTokensIgnoreCasePunctuationAndNames() {
+        assertEquals(List.of("can", "you", "help", "#name", "find", "the", "key"),
+                NearDuplicateVerdictCache.tokens(Kind.ROLE, "Can you help Maria find the key?"));
+        assertEquals(List.of("hello", "i", "am", "here"),
+                NearDuplicateVerdictCache.tokens(Kind.ROLE, "Hello!  I am here."));
+    }
+
+    @Test
+    void grammarTokensKeepCaseAndPunctuation() {
+        assertEquals(List.of("Can", "you", "help", "#name", "find", "the", "key", "?"),
+                NearDuplicateVerdictCache.tokens(Kind.GRAMMAR, "Can you help Maria find the key?"));
+        assertEquals(List.of("Hello", "!", "I", "am", "here", "."),
+                NearDuplicateVerdictCache.tokens(Kind.GRAMMAR, "Hello!  I am here."));
+        assertEquals(List.of("i", "am", "here"),
+                NearDuplicateVerdictCache.tokens(Kind.GRAMMAR, "i am here"));
+    }
+
+    @Test
+    void nameSwapIsAnExactMatch() {
+        assertEquals(1.0, similarity(Kind.ROLE, "Can you help Maria find the key?", "can you help Pedro find the key"));
+        assertEquals(1.0, similarity(Kind.GRAMMAR, "Can you help Maria find the key?", "Can you help Pedro find the key?"));
+    }
+
+    @Test
+    void missingCapitalOrFullStopStaysBelowGrammarThreshold() {
+        assertTrue(similarity(Kind.GRAMMAR, "We sell fish at the market every day.",
+                "we sell fish at the market every day.") < 0.9);
+        assertTrue(similarity(Kind.GRAMMAR, "We sell fish at the market every day.",
+                "We sell fish at the market every day") < 0.9);
+        assertEquals(1.0, similarity(Kind.ROLE, "We sell fish at the market every day.",
+                "we sell fish at the market every day"));
+    }
+
+    @Test
+    void singleWordGrammarChangeStaysBelowGrammarThreshold() {
+        assertTrue(similarity(Kind.GRAMMAR, "I goes to the market every day", "I go to the market every day") < 0.9);
+    }
+
+    @Test
+    void unrelatedMessagesAreDissimilar() {
+        assertTrue(similarity(Kind.ROLE, "We should build a shelter near the river",
+                "The doctor checks the patient before lunch") < 0.2);
+    }
+
+    @Test
+    void shortMessagesAreNotFingerprinted() {
+        assertNull(NearDuplicateVerdictCache.signature(Kind.ROLE, "Yes okay"));
+        // Punctuation does not count towards the minimum
+        assertNull(NearDuplicateVerdictCache.signature(Kind.GRAMMAR, "Yes, okay!"));
+        assertNull(NearDuplicateVerdictCache.signature(Kind.GRAMMAR, null));
+    }
+}
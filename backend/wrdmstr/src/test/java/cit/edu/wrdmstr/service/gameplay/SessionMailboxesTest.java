@@ -0,0 +1,160 @@
+package cit.edu.wrdmstr.service.gameplay;
+
+import cit.edu.wrdmstr.service.PerformanceMetricsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionMailboxesTest {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+    private final SessionMailboxes mailboxes = newMailboxes();
+
+    private SessionMailboxes newMailboxes() {
+        PlatformTransactionManager noTransactions = new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {}
+
+            @Override
+            public void rollback(TransactionStatus status) {}
+        };
+        SessionMailboxes mailboxes = new SessionMailboxes(pool::execute, noTransactions, new PerformanceMetricsService());
+        ReflectionTestUtils.setField(mailboxes, "callTimeoutMs", 5000L);
+        return mailboxes;
+    }
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void commandsForOneSessionRunOneAtATimeInOrder() throws Exception {
+        List<Integer> seen = new ArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(500);
+
+        for (int i = 0; i < 500; i++) {
+            int n = i;
+            mailboxes.tell(1L, "test", () -> {
+                if (running.incrementAndGet() > 1) overlaps.incrementAndGet();
+                seen.add(n);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(0, overlaps.get());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, seen.get(i));
+        }
+    }
+
+    @Test
+    void callWaitsBehindQueuedCommandsAndReturnsItsResult() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = new ArrayList<>();
+        mailboxes.tell(1L, "slow", () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            order.add("slow");
+        });
+        assertTrue(mailboxes.isBusy(1L));
+
+        pool.execute(release::countDown);
+        String result = mailboxes.call(1L, "call", () -> {
+            order.add("call");
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(List.of("slow", "call"), order);
+    }
+
+    @Test
+    void commandsSentFromInsideACommandRunInline() {
+        int result = mailboxes.call(1L, "outer", () -> mailboxes.call(1L, "inner", () -> 42));
+        assertEquals(42, result);
+        assertFalse(mailboxes.isBusy(1L));
+    }
+
+    @Test
+    void failuresReachTheCaller() {
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> mailboxes.call(2L, "fail", () -> { throw new IllegalStateException("boom"); }));
+        assertEquals("boom", thrown.getMessage());
+        assertEquals(1, mailboxes.snapshot().get(0).processed());
+    }
+
+    @Test
+    void aFailingQueuedCommandDoesNotRunInTheCallersTransaction() throws Exception {
+        Set<Thread> rolledBack = ConcurrentHashMap.newKeySet();
+        PlatformTransactionManager tracking = new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {}
+
+            @Override
+            public void rollback(TransactionStatus status) {
+                rolledBack.add(Thread.currentThread());
+            }
+        };
+        // Hold the queued tell back until the call has been sent
+        CountDownLatch sent = new CountDownLatch(1);
+        SessionMailboxes gated = new SessionMailboxes(task -> pool.execute(() -> {
+            try {
+                sent.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            task.run();
+        }), tracking, new PerformanceMetricsService());
+        ReflectionTestUtils.setField(gated, "callTimeoutMs", 5000L);
+
+        Set<Thread> failedOn = ConcurrentHashMap.newKeySet();
+        gated.tell(3L, "tick", () -> {
+            failedOn.add(Thread.currentThread());
+            throw new IllegalStateException("tick failed");
+        });
+        pool.execute(() -> {
+            while (gated.snapshot().isEmpty() || gated.snapshot().get(0).depth() < 2) Thread.onSpinWait();
+            sent.countDown();
+        });
+        String result = gated.call(3L, "submit", () -> "ok");
+
+        assertEquals("ok", result);
+        assertEquals(1, failedOn.size());
+        assertFalse(failedOn.contains(Thread.currentThread()));
+        assertFalse(rolledBack.contains(Thread.currentThread()));
+    }
+}
@@ -0,0 +1,48 @@
+package cit.edu.wrdmstr.service.loadtest;
+
+import cit.edu.wrdmstr.service.MessageEvaluation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeminiStandInTest {
+
+    @Test
+    void classifiesPromptsByTheirOpening() {
+        assertEquals("grammar_status_check", GeminiStandIn.classify("Analyze: \"I go home.\"\n\nReturn in format: STATUS | Tip"));
+        assertEquals("role_check", GeminiStandIn.classify("Role: Vendor | Context: market\nMessage: \"hi\"\n\nIs this a COHERENT English sentence?"));
+        assertEquals("message_evaluation", GeminiStandIn.classify("Evaluate one chat message from a Grade 8-9 Filipino student"));
+        assertEquals("role_generation", GeminiStandIn.classify("Generate 4 simple role names for Grade 8-9 Filipino students"));
+        assertEquals("evaluate_short_answers", GeminiStandIn.classify("Grade short answers from a Grade 8-9 Filipino student's English comprehension check."));
+        assertEquals("unknown", GeminiStandIn.classify("Hello"));
+    }
+
+    @Test
+    void messageEvaluationAnswerParses() {
+        String prompt = "Evaluate one chat message from a Grade 8-9 Filipino student practicing English.\n\n"
+                + "Role: Vendor | Context: market\nMessage: \"We should explore the market\"\n"
+                + "Word Bank: [explore, predict]\n\n";
+        MessageEvaluation evaluation = MessageEvaluation.parse(new GeminiStandIn().answer(prompt),
+                List.of("explore", "predict")).orElseThrow();
+        assertTrue(evaluation.hasGrammar());
+        assertTrue(evaluation.hasRoleVerdict());
+        assertEquals(List.of("explore"), evaluation.getWordBankUsed());
+    }
+
+    @Test
+    void sameTextGetsSameGrammarAnswer() {
+        GeminiStandIn standIn = new GeminiStandIn();
+        String prompt = "Analyze: \"The team walks to the bridge.\"\n\n";
+        assertEquals(standIn.answer(prompt), standIn.answer(prompt));
+    }
+
+    @Test
+    void latencyFollowsMedianAndP99() {
+        assertEquals(600, GeminiStandIn.sampleLatencyMs(600, 4000, 0));
+        long p99 = GeminiStandIn.sampleLatencyMs(600, 4000, 2.326);
+        assertTrue(Math.abs(p99 - 4000) < 5, "p99 was " + p99);
+        assertEquals(0, GeminiStandIn.sampleLatencyMs(0, 4000, 1));
+    }
+}
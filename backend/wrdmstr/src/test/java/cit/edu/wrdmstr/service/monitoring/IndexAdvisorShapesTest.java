@@ -0,0 +1,175 @@
+package cit.edu.wrdmstr.service.monitoring;
+
+import cit.edu.wrdmstr.entity.ChatMessageEntity;
+import cit.edu.wrdmstr.repository.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The advisor explains hand-written SQL, so each shape is checked against the statement
+ * Hibernate generates for the repository method it is named after: same table, same
+ * filtered columns, same grouping and ordering. A shape that drifts from its query would
+ * otherwise keep reporting on an index the application no longer uses.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:indexshapes;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=cit.edu.wrdmstr.service.monitoring.QueryCounter"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class IndexAdvisorShapesTest {
+
+    private static final Pattern SUBQUERY = Pattern.compile("\\(\\s*(select [^()]*)\\)");
+    private static final Pattern SOURCE = Pattern.compile(
+            "\\b(?:from|join) (\\w+)(?: (?!where\\b|left\\b|inner\\b|join\\b|on\\b|group\\b|order\\b|limit\\b)(\\w+))?");
+    private static final Pattern CLAUSE_END = Pattern.compile(" (?:group by|order by|limit|offset|fetch) ");
+    private static final Pattern FILTER = Pattern.compile("([\\w.]+)\\s*(?:=|<>|<=|>=|<|>| in\\b| is\\b)");
+
+    @Autowired private PlayerSessionEntityRepository playerRepository;
+    @Autowired private ChatMessageEntityRepository chatRepository;
+    @Autowired private ScoreRecordEntityRepository scoreRepository;
+    @Autowired private StudentProgressRepository progressRepository;
+    @Autowired private SessionSummaryRepository summaryRepository;
+    @Autowired private GameSessionEntityRepository gameSessionRepository;
+
+    /**
+     * Tables read, filtered columns, grouping and ordering of one statement, with aliases
+     * resolved to their tables and subqueries compared on their own.
+     */
+    record Structure(String table, Set<String> joins, Set<String> filters, List<String> grouping,
+                     List<String> ordering, List<Structure> subqueries) {}
+
+    static Structure structure(String sql) {
+        return structure(sql.toLowerCase().replaceAll("\\s+", " ").trim() + " ", Map.of());
+    }
+
+    private static Structure structure(String sql, Map<String, String> outerAliases) {
+        List<String> subqueries = new ArrayList<>();
+        Matcher subquery = SUBQUERY.matcher(sql);
+        StringBuilder outer = new StringBuilder();
+        while (subquery.find()) {
+            subqueries.add(subquery.group(1) + " ");
+            subquery.appendReplacement(outer, "?");
+        }
+        subquery.appendTail(outer);
+        String s = outer.toString();
+
+        Map<String, String> aliases = new HashMap<>(outerAliases);
+        List<String> tables = new ArrayList<>();
+        Matcher source = SOURCE.matcher(s);
+        while (source.find()) {
+            tables.add(source.group(1));
+            aliases.put(source.group(2) != null ? source.group(2) : source.group(1), source.group(1));
+        }
+        assertFalse(tables.isEmpty(), "no table in " + sql);
+        String table = tables.get(0);
+        Function<String, String> column = name -> {
+            int dot = name.indexOf('.');
+            return dot < 0 ? table + "." + name : aliases.getOrDefault(name.substring(0, dot), name.substring(0, dot))
+                    + name.substring(dot);
+        };
+
+        Set<String> filters = new TreeSet<>();
+        int where = s.indexOf(" where ");
+        if (where >= 0) {
+            Matcher filter = FILTER.matcher(clause(s.substring(where + 7)));
+            while (filter.find()) {
+                filters.add(column.apply(filter.group(1)));
+            }
+        }
+        return new Structure(table, new TreeSet<>(tables.subList(1, tables.size())), filters,
+                columns(s, " group by ", column), columns(s, " order by ", column),
+                subqueries.stream().map(q -> structure(q, aliases)).toList());
+    }
+
+    private static String clause(String rest) {
+        Matcher end = CLAUSE_END.matcher(" " + rest);
+        return end.find() ? rest.substring(0, Math.max(0, end.start() - 1)) : rest;
+    }
+
+    private static List<String> columns(String sql, String keyword, Function<String, String> column) {
+        int start = sql.indexOf(keyword);
+        if (start < 0) {
+            return List.of();
+        }
+        List<String> columns = new ArrayList<>();
+        for (String name : clause(sql.substring(start + keyword.length())).split(",")) {
+            columns.add(column.apply(name.trim().replaceAll(" (?:asc|desc)$", "")));
+        }
+        return columns;
+    }
+
+    private Map<String, Runnable> repositoryCalls() {
+        Map<String, Runnable> calls = new HashMap<>();
+        calls.put("PlayerSessionEntityRepository.findActiveBySessionIdAndUserId",
+                () -> playerRepository.findActiveBySessionIdAndUserId(1L, 1L));
+        calls.put("PlayerSessionEntityRepository.findBySessionId", () -> playerRepository.findBySessionId(1L));
+        calls.put("ChatMessageEntityRepository.findBySessionIdOrderByTimestampAsc",
+                () -> chatRepository.findBySessionIdOrderByTimestampAsc(1L));
+        calls.put("ChatMessageEntityRepository.findBySessionIdAndSenderIdOrderByTimestampAsc",
+                () -> chatRepository.findBySessionIdAndSenderIdOrderByTimestampAsc(1L, 1L));
+        calls.put("ChatMessageEntityRepository.findByGrammarStatus",
+                () -> chatRepository.findByGrammarStatus(1L, ChatMessageEntity.MessageStatus.PERFECT));
+        calls.put("ChatMessageEntityRepository.countByPlayerSessionId", () -> chatRepository.countByPlayerSessionId(1L));
+        calls.put("ScoreRecordEntityRepository.getTotalScoresByUser", () -> scoreRepository.getTotalScoresByUser(1L));
+        calls.put("ScoreRecordEntityRepository.getScoreBreakdown", () -> scoreRepository.getScoreBreakdown(1L, 1L));
+        calls.put("ScoreRecordEntityRepository.findBySessionIdOrderByTimestampAsc",
+                () -> scoreRepository.findBySessionIdOrderByTimestampAsc(1L));
+        calls.put("StudentProgressRepository.findByStudentIdAndSessionId",
+                () -> progressRepository.findByStudentIdAndSessionId(1L, 1L));
+        calls.put("SessionSummaryRepository.findByGameSessionId", () -> summaryRepository.findByGameSessionId(1L));
+        calls.put("GameSessionEntityRepository.findArchivableSessionIds",
+                () -> gameSessionRepository.findArchivableSessionIds(new Date(), PageRequest.of(0, 20)));
+        return calls;
+    }
+
+    @Test
+    void everyShapeMatchesTheSqlOfItsRepositoryMethod() {
+        Map<String, Runnable> calls = repositoryCalls();
+        for (IndexAdvisor.QueryShape shape : IndexAdvisor.SHAPES) {
+            Runnable call = calls.get(shape.name());
+            assertNotNull(call, "no repository call for " + shape.name());
+            Set<String> generated;
+            try (QueryScope scope = QueryCounter.open("test", shape.name())) {
+                call.run();
+                generated = scope.getRepeatedShapes(1).keySet();
+            }
+            assertEquals(1, generated.size(), shape.name() + " issued " + generated);
+            assertEquals(structure(generated.iterator().next()), structure(shape.sql()), shape.name());
+        }
+    }
+
+    @Test
+    void structureResolvesAliasesAndIgnoresLiterals() {
+        Structure generated = structure("select sre1_0.reason,sum(sre1_0.points) from score_records sre1_0 "
+                + "left join game_sessions s1_0 on s1_0.id=sre1_0.session_id where s1_0.id=? and sre1_0.user_id=? "
+                + "and not exists(select a1_0.session_id from session_archives a1_0 where a1_0.session_id=s1_0.id) "
+                + "group by sre1_0.reason order by sre1_0.timestamp desc limit ?");
+        Structure written = structure("SELECT reason, SUM(points) FROM score_records LEFT JOIN game_sessions g "
+                + "ON g.id = score_records.session_id WHERE g.id = 7 AND user_id = ? AND NOT EXISTS (SELECT a.session_id "
+                + "FROM session_archives a WHERE a.session_id = g.id) GROUP BY reason ORDER BY timestamp LIMIT 20");
+
+        assertEquals(generated, written);
+        assertEquals(Set.of("game_sessions.id", "score_records.user_id"), generated.filters());
+        assertEquals(List.of("score_records.timestamp"), generated.ordering());
+        assertEquals(Set.of("session_archives.session_id"), generated.subqueries().get(0).filters());
+    }
+
+    @Test
+    void structureTellsAJoinedKeyFromTheForeignKey() {
+        assertNotEquals(structure("SELECT * FROM player_sessions WHERE session_id = ?"),
+                structure("select p.id from player_sessions p left join game_sessions s on s.id=p.session_id where s.id=?"));
+    }
+}
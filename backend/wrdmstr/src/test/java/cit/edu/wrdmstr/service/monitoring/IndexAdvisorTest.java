@@ -0,0 +1,31 @@
+package cit.edu.wrdmstr.service.monitoring;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class IndexAdvisorTest {
+
+    @Test
+    void largeTableAndIndexScansAreReported() {
+        IndexAdvisor.FullScan scan = IndexAdvisor.fullScan("q", Map.of("table", "score_records", "type", "ALL", "rows", 52000L), 1000);
+        Assertions.assertEquals(new IndexAdvisor.FullScan("q", "score_records", "ALL", 52000L), scan);
+        Assertions.assertNotNull(IndexAdvisor.fullScan("q", Map.of("table", "chat_messages", "type", "index", "rows", 4000), 1000));
+    }
+
+    @Test
+    void indexLookupsAndSmallScansAreNot() {
+        Assertions.assertNull(IndexAdvisor.fullScan("q", Map.of("table", "score_records", "type", "ref", "rows", 40L), 1000));
+        Assertions.assertNull(IndexAdvisor.fullScan("q", Map.of("table", "roles", "type", "ALL", "rows", 12L), 1000));
+    }
+
+    @Test
+    void everyShapeBindsOnlyKnownSamples() {
+        for (IndexAdvisor.QueryShape shape : IndexAdvisor.SHAPES) {
+            Assertions.assertEquals((long) shape.params().size(), shape.sql().chars().filter(c -> c == '?').count(), shape.name());
+            Assertions.assertTrue(List.of("session", "user", "player").containsAll(shape.params()), shape.name());
+        }
+    }
+}
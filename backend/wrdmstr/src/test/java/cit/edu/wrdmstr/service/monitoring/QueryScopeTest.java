@@ -0,0 +1,55 @@
+package cit.edu.wrdmstr.service.monitoring;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+public class QueryScopeTest {
+
+    private final QueryCounter inspector = new QueryCounter();
+
+    @Test
+    void shapeFoldsLiteralsAndInLists() {
+        Assertions.assertEquals(
+                QueryScope.shape("select * from users u where u.id = 42 and u.email = 'a@b.c'"),
+                QueryScope.shape("SELECT *  FROM users u\n where u.id = 7 and u.email = 'x''y@z'"));
+        Assertions.assertEquals(
+                QueryScope.shape("select p.id from player_sessions p where p.id in (?, ?)"),
+                QueryScope.shape("select p.id from player_sessions p where p.id in (?,?,?,?)"));
+        Assertions.assertEquals("select t1.id from t1 where t1.x=?", QueryScope.shape("select t1.id from t1 where t1.x=?"));
+    }
+
+    @Test
+    void repeatedShapeIsReportedAsSuspect() {
+        try (QueryScope scope = QueryCounter.open("test", "getGameState")) {
+            inspector.inspect("select s.id from game_sessions s where s.id=?");
+            for (int i = 0; i < 6; i++) {
+                inspector.inspect("select p.id from player_sessions p where p.id=?");
+            }
+            Map<String, Integer> suspects = scope.getRepeatedShapes(5);
+            Assertions.assertEquals(1, suspects.size());
+            Assertions.assertEquals(6, suspects.values().iterator().next());
+            Assertions.assertEquals(7, scope.getStatementCount());
+            Assertions.assertThrows(AssertionError.class, () -> scope.assertNoRepeatsAbove(1));
+            Assertions.assertThrows(AssertionError.class, () -> scope.assertAtMost(6));
+            scope.assertAtMost(7);
+        }
+    }
+
+    @Test
+    void nestedScopesBothCountAndCloseInAnyOrder() {
+        QueryScope outer = QueryCounter.open("http", "GET /api/sessions/{id}");
+        QueryScope inner = QueryCounter.open("test", "block");
+        inspector.inspect("select 1");
+        Assertions.assertSame(inner, QueryCounter.current());
+        inner.close();
+        inspector.inspect("select 2");
+        outer.close();
+        inspector.inspect("select 3");
+
+        Assertions.assertEquals(1, inner.getStatementCount());
+        Assertions.assertEquals(2, outer.getStatementCount());
+        Assertions.assertNull(QueryCounter.current());
+    }
+}
@@ -145,12 +145,23 @@ const WaitingRoomPage = () => {
           }
         });
 
-        // Subscribe to waiting room updates
+        // Subscribe to waiting room updates (JOIN/LEAVE/CLEAR deltas)
         client.subscribe(`/topic/waiting-room/${contentId}/updates`, (message) => {
-          const updatedStudents = JSON.parse(message.body);
-          setStudents(updatedStudents);
+          const update = JSON.parse(message.body);
+          if (Array.isArray(update)) {
+            setStudents(update);
+          } else if (update.type === 'JOIN') {
+            setStudents(prev => prev.some(s => s.id === update.userId) ? prev : [...prev, update.student]);
+          } else if (update.type === 'LEAVE') {
+            setStudents(prev => prev.filter(s => s.id !== update.userId));
+          } else if (update.type === 'CLEAR') {
+            setStudents([]);
+          }
         });
 
+        // Re-sync the snapshot so joins made before the subscription aren't missed
+        fetchStudents();
+
         // Join the waiting room when connected
         //joinWaitingRoom(client, token);
       },